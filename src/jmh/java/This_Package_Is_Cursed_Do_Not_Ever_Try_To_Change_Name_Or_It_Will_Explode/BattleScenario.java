@@ -0,0 +1,61 @@
+package This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode;
+
+import interfaces.Attackable;
+import turrets.TurretType;
+import units.Unit;
+import units.UnitType;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds repeatable mid-battle game states for the benchmarks.
+ * <p>
+ * Units and bases get enough hp that nothing dies during a measurement, units are pinned in
+ * place with zero speed and the enemy AI never spawns, so the unit counts and positions stay
+ * as built for the whole iteration however many ticks run. The requested projectiles are
+ * parked with zero speed far from their targets so they stay in flight; shots fired by the
+ * units and turrets come and go on top of them at a steady rate.
+ * </p>
+ */
+final class BattleScenario {
+
+    private static final int UNKILLABLE_HP = 1_000_000_000;
+
+    private BattleScenario() { }
+
+    static GameManager create(int unitsPerSide, int projectiles) {
+        GameManager gm = new GameManager(1_000_000, UNKILLABLE_HP, 1234);
+        gm.holdEnemySpawns();
+        Random layout = new Random(1234);
+        UnitType[] types = UnitType.values();
+
+        for (int i = 0; i < unitsPerSide; i++) {
+            Unit player = pin(types[i % types.length].create());
+            gm.spawnPlayerUnit(player);
+            player.setCoordinate(200 + layout.nextDouble() * 1300);
+
+            Unit enemy = pin(types[(i + 1) % types.length].create());
+            gm.spawnEnemyUnit(enemy);
+            enemy.setCoordinate(1500 + layout.nextDouble() * 1300);
+        }
+
+        gm.upgradeBaseCapacity(800);
+        gm.placePlayerTurret(TurretType.STANDARD.create());
+        gm.placePlayerTurret(TurretType.LONG_RANGE.create());
+
+        List<Unit> enemies = gm.getEnemyUnits();
+        for (int i = 0; i < projectiles; i++) {
+            Attackable target = enemies.isEmpty() ? gm.getEnemyBase() : enemies.get(i % enemies.size());
+            gm.getProjectiles().fire(20 + (i % 50), 840, 0.0, 10, target, i % 2 == 0 ? "ARROW" : "TURRET", false);
+        }
+        return gm;
+    }
+
+    private static Unit pin(Unit unit) {
+        unit.setMaxHp(UNKILLABLE_HP);
+        unit.setHp(UNKILLABLE_HP);
+        unit.setSpeed(0);
+        return unit;
+    }
+}
@@ -0,0 +1,38 @@
+package This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures saving a snapshot of a battle into a reused buffer and restoring it again.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SnapshotBenchmark {
+
+    @Param({"100", "1000"})
+    public int unitsPerSide;
+
+    private GameManager gm;
+    private ByteBuffer buffer;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        gm = BattleScenario.create(unitsPerSide, unitsPerSide);
+        buffer = gm.saveSnapshot(null);
+    }
+
+    @Benchmark
+    public ByteBuffer save() {
+        return buffer = gm.saveSnapshot(buffer);
+    }
+
+    @Benchmark
+    public GameManager restore() {
+        gm.restoreSnapshot(buffer.duplicate());
+        return gm;
+    }
+}
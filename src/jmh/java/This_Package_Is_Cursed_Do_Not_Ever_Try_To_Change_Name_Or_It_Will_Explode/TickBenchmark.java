@@ -0,0 +1,32 @@
+package This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one full {@link GameManager#tick()} on a battle of the given size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TickBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int unitsPerSide;
+
+    @Param({"0", "1000"})
+    public int projectiles;
+
+    private GameManager gm;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        gm = BattleScenario.create(unitsPerSide, projectiles);
+    }
+
+    @Benchmark
+    public GameManager.GameState tick() {
+        return gm.tick();
+    }
+}
@@ -0,0 +1,51 @@
+package objects;
+
+import base.Base;
+import org.openjdk.jmh.annotations.*;
+import units.MeleeUnit;
+import units.Unit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single {@link Projectile#tick()} against a unit and against a base, and one
+ * fire-and-recycle round trip through a {@link ProjectileStore}.
+ * The ticked projectiles crawl so slowly that they never arrive during a measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProjectileBenchmark {
+
+    private Projectile atUnit;
+    private Projectile atBase;
+    private Unit target;
+    private final ProjectileStore store = new ProjectileStore();
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        target = new MeleeUnit(100, 10, 10, 10, 80, 1);
+        target.setCoordinate(2000);
+        atUnit = new Projectile(100, 840, 1e-9, 10, target, "ARROW", false);
+        atBase = new Projectile(100, 670, 1e-9, 10, new Base(1000), "TURRET", false);
+    }
+
+    @Benchmark
+    public double tickTowardsUnit() {
+        atUnit.tick();
+        return atUnit.getX();
+    }
+
+    @Benchmark
+    public double tickTowardsBase() {
+        atBase.tick();
+        return atBase.getX();
+    }
+
+    @Benchmark
+    public int fireAndRecycle() {
+        Projectile p = store.fire(100, 840, 10.0, 10, target, "ARROW", false);
+        p.setHit(true);
+        return store.removeFinished();
+    }
+}
@@ -0,0 +1,82 @@
+package systems;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import units.MeleeUnit;
+import units.Unit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the lane index against the all-pairs scan it replaced in the unit update.
+ * <p>
+ * Both methods answer the same three questions for every unit on one side: the first enemy
+ * in range, whether an enemy blocks it, and whether an ally is directly in front.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LaneIndexBenchmark {
+
+    private static final double COLLISION_RADIUS = 75.0;
+
+    @Param({"100", "1000", "10000"})
+    public int unitsPerSide;
+
+    private List<Unit> allies;
+    private List<Unit> enemies;
+    private final LaneIndex allyLane = new LaneIndex();
+    private final LaneIndex enemyLane = new LaneIndex();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(99);
+        allies = new ArrayList<>();
+        enemies = new ArrayList<>();
+        for (int i = 0; i < unitsPerSide; i++) {
+            Unit ally = new MeleeUnit(100, 10, 10, 10, 80, 1);
+            ally.setCoordinate(150 + random.nextDouble() * 1400);
+            allies.add(ally);
+            Unit enemy = new MeleeUnit(100, 10, 10, 10, 80, 1);
+            enemy.setCoordinate(1450 + random.nextDouble() * 1400);
+            enemies.add(enemy);
+        }
+    }
+
+    @Benchmark
+    public void indexed(Blackhole bh) {
+        allyLane.rebuild(allies);
+        enemyLane.rebuild(enemies);
+        for (Unit unit : allies) {
+            double position = unit.getCoordinate();
+            bh.consume(enemyLane.firstInRange(position, unit.getRange()));
+            bh.consume(enemyLane.anyWithin(position, COLLISION_RADIUS));
+            bh.consume(allyLane.anyAhead(position, COLLISION_RADIUS, 1));
+        }
+    }
+
+    @Benchmark
+    public void linearScan(Blackhole bh) {
+        for (Unit unit : allies) {
+            Unit target = null;
+            boolean blocked = false;
+            for (Unit enemy : enemies) {
+                if (!enemy.isAlive()) continue;
+                double dist = Math.abs(unit.getCoordinate() - enemy.getCoordinate());
+                if (dist <= unit.getRange() && target == null) target = enemy;
+                if (dist <= COLLISION_RADIUS) blocked = true;
+            }
+            for (Unit ally : allies) {
+                if (ally == unit || !ally.isAlive()) continue;
+                double relativeDist = ally.getCoordinate() - unit.getCoordinate();
+                if (relativeDist > 0 && relativeDist < COLLISION_RADIUS) blocked = true;
+            }
+            bh.consume(target);
+            bh.consume(blocked);
+        }
+    }
+}
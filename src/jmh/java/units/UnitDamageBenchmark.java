@@ -0,0 +1,46 @@
+package units;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the damage paths of every attacker and target type pairing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UnitDamageBenchmark {
+
+    @Param({"MELEE", "RANGED", "ANTI_ARMORED", "ARMORED"})
+    public UnitType attackerType;
+
+    @Param({"MELEE", "RANGED", "ANTI_ARMORED", "ARMORED"})
+    public UnitType targetType;
+
+    private Unit attacker;
+    private Unit target;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        attacker = attackerType.create();
+        target = targetType.create();
+    }
+
+    @Benchmark
+    public int calculateDamage() {
+        return attacker.calculateDamage(target);
+    }
+
+    @Benchmark
+    public int takeDamage() {
+        target.setHp(1_000_000);
+        return target.takeDamage(25);
+    }
+
+    @Benchmark
+    public int attack() {
+        target.setHp(1_000_000);
+        return attacker.attack(target);
+    }
+}
@@ -3,19 +3,33 @@ package This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode
 import abilities.NukeAbility;
 import abilities.SpecialAbility;
 import base.Base;
+import events.GameEventListener;
+import events.SimulationEvents;
+import events.TickEvent;
 import interfaces.Attackable;
 import systems.CurrencySystem;
+import systems.DamageEventBuffer;
+import systems.DamageEventBuffer.DamageType;
+import systems.LaneIndex;
+import systems.MatchRandom;
+import systems.SimulationClock;
+import systems.TickProfiler;
+import systems.TickProfiler.Phase;
 import systems.UpgradeSystem;
 import turrets.Turret;
+import turrets.TurretType;
 import turrets.LongRangeTurret;
 import units.*;
 import objects.Projectile;
+import objects.ProjectileStore;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
-import java.util.Random;
+import java.util.function.LongConsumer;
 
 /**
  * The core logic engine for the game.
@@ -24,6 +38,31 @@ import java.util.Random;
  * bases, projectiles, and currency. It handles the game loop (tick) updates,
  * enemy AI spawning, combat calculations, and win/loss conditions.
  * </p>
+ * <p>
+ * The simulation runs in fixed steps driven by a {@link SimulationClock}; every timer
+ * in the game is measured in simulated time, never in wall-clock time.
+ * </p>
+ * <p>
+ * All mutable state, including upgrades and the random streams, belongs to the instance,
+ * so independent matches can run on different threads at the same time.
+ * </p>
+ * <p>
+ * Randomness comes from a match seed split into one {@link MatchRandom} stream per subsystem:
+ * damage variance of units and bases, turret variance and enemy AI rolls. Two matches with
+ * the same seed that receive the same commands at the same steps play out identically.
+ * </p>
+ * <p>
+ * The whole live state of a match can be written to a {@link ByteBuffer} with
+ * {@link #saveSnapshot(ByteBuffer)} and read back with {@link #restoreSnapshot(ByteBuffer)} or
+ * {@link #fromSnapshot(ByteBuffer)}. A snapshot is a flat run of fixed-width fields of a few
+ * dozen bytes per unit, cheap enough to take every simulated second. Damage events and profiler
+ * timings are not part of the state and are left as they are.
+ * </p>
+ * <p>
+ * Changes to the battlefield are published to every registered {@link GameEventListener}
+ * as they happen: units spawning and dying, projectiles being fired and resolved, turrets
+ * being placed and sold, and bases taking damage.
+ * </p>
  */
 public class GameManager {
     public enum GameState { PLAYER_WIN, ENEMY_WIN, ONGOING }
@@ -40,22 +79,29 @@ public class GameManager {
     private final Base playerBase;
     private final Base enemyBase;
 
-    private final List<Unit> playerUnits;
-    private final List<Unit> enemyUnits;
+    private final UnitStore playerUnits;
+    private final UnitStore enemyUnits;
+    private final LaneIndex playerLane = new LaneIndex();
+    private final LaneIndex enemyLane = new LaneIndex();
     private final List<Turret> playerTurrets;
     private final List<Turret> enemyTurrets;
 
-    private final List<Projectile> projectiles;
+    private final ProjectileStore projectiles;
 
     private final List<SpecialAbility> abilities;
     private final NukeAbility nukeAbility;
     private final Queue<Unit> trainingQueue;
+    private final SimulationClock clock = new SimulationClock();
+    private final TickProfiler profiler = new TickProfiler();
     private static final int MAX_QUEUE_SIZE = 5;
     private Unit currentTrainingUnit = null;
     private long trainingStartTime = 0;
     private long lastCurrencyRegenTime = 0;
     private static final long CURRENCY_REGEN_INTERVAL = 1_000_000_000L;
-    private final Random random = new Random();
+    private final long seed;
+    private final MatchRandom damageRandom;
+    private final MatchRandom turretRandom;
+    private final MatchRandom aiRandom;
     private long nextEnemySpawnTime = 0;
 
     private static final long DELAY_AFTER_MELEE = 2_500_000_000L;
@@ -63,8 +109,23 @@ public class GameManager {
     private static final long DELAY_AFTER_ANTI_ARMOR = 3_500_000_000L;
     private static final long DELAY_AFTER_ARMORED = 5_500_000_000L;
 
-    public record DamageEvent(double x, double y, int amount, boolean isCritical, String damageType, boolean isBase) {}
-    private final List<DamageEvent> recentDamageEvents = new ArrayList<>();
+    private final DamageEventBuffer damageEvents = new DamageEventBuffer();
+
+    // Replaced on every change, so a listener can add or remove listeners while it is being called.
+    private GameEventListener[] listeners = new GameEventListener[0];
+
+    private static final int SNAPSHOT_MAGIC = 0x50445350; // "PDSP"
+    private static final byte SNAPSHOT_VERSION = 1;
+    private static final int SNAPSHOT_HEADER_BYTES = 4 + 1 + 4 + 8 + 8;
+    private static final int SNAPSHOT_UNIT_BYTES = 1 + 6 * 4 + 2 * 8;
+    private static final int SNAPSHOT_TURRET_BYTES = 1 + 3 * 4 + 2 * 8 + 1;
+    private static final int SNAPSHOT_PROJECTILE_BYTES = 3 * 8 + 4 + 1 + 4 + 1 + 2;
+
+    private static final byte TARGET_NONE = 0;
+    private static final byte TARGET_PLAYER_BASE = 1;
+    private static final byte TARGET_ENEMY_BASE = 2;
+    private static final byte TARGET_PLAYER_UNIT = 3;
+    private static final byte TARGET_ENEMY_UNIT = 4;
 
     /**
      * Initializes the game manager with starting currency and base health.
@@ -72,16 +133,35 @@ public class GameManager {
      * @param baseHp The maximum and initial health for both player and enemy bases.
      */
     public GameManager(int startingCurrency, int baseHp) {
+        this(startingCurrency, baseHp, MatchRandom.newSeed());
+    }
+
+    /**
+     * Initializes the game manager with a fixed seed, so the match can be reproduced.
+     * @param startingCurrency The initial amount of currency for the player.
+     * @param baseHp The maximum and initial health for both player and enemy bases.
+     * @param seed The seed all random streams of the match are split from.
+     */
+    public GameManager(int startingCurrency, int baseHp, long seed) {
+        this.seed = seed;
+        MatchRandom root = new MatchRandom(seed);
+        this.damageRandom = root.split();
+        this.turretRandom = root.split();
+        this.aiRandom = root.split();
         this.currencySystem = new CurrencySystem(startingCurrency);
         this.upgradeSystem = new UpgradeSystem(this.currencySystem);
         this.playerBase = new Base(baseHp);
         this.enemyBase = new Base(baseHp);
+        this.playerBase.setRandom(damageRandom);
+        this.enemyBase.setRandom(damageRandom);
 
-        this.playerUnits = new ArrayList<>();
-        this.enemyUnits = new ArrayList<>();
+        this.playerUnits = new UnitStore();
+        this.enemyUnits = new UnitStore();
+        this.playerUnits.setRandom(damageRandom);
+        this.enemyUnits.setRandom(damageRandom);
         this.playerTurrets = new ArrayList<>();
         this.enemyTurrets = new ArrayList<>();
-        this.projectiles = new ArrayList<>();
+        this.projectiles = new ProjectileStore();
 
         this.abilities = new ArrayList<>();
         this.nukeAbility = new NukeAbility(1500, 60, 9999);
@@ -90,45 +170,146 @@ public class GameManager {
     }
 
     /**
-     * Updates the game state for a single frame (tick).
+     * Advances the game by exactly one fixed simulation step.
+     * @return The current state of the game (ONGOING, PLAYER_WIN, or ENEMY_WIN).
+     */
+    public GameState tick() {
+        return tick(clock.getStepNanos());
+    }
+
+    /**
+     * Advances the game by the given amount of real time.
+     * <p>
+     * The elapsed time is added to the simulation clock's accumulator and as many fixed
+     * steps as are due are run back to back; the remainder carries over to the next call.
+     * Damage events from every step are published to {@link #getDamageEvents()}, where each
+     * consumer reads them at its own pace.
+     * </p>
+     * @param dtNanos The real time elapsed since the previous call, in nanoseconds.
+     * @return The current state of the game (ONGOING, PLAYER_WIN, or ENEMY_WIN).
+     */
+    public GameState tick(long dtNanos) {
+        return tick(dtNanos, null);
+    }
+
+    /**
+     * Advances the game by the given amount of real time, calling back before every step.
      * <p>
-     * This method handles currency regeneration, cooldowns, unit training,
+     * The callback receives the number of steps run so far and may issue player commands,
+     * which then take effect in exactly the same step as when they were first issued.
+     * </p>
+     * @param dtNanos The real time elapsed since the previous call, in nanoseconds.
+     * @param beforeStep Called before each step with the current step count, or {@code null}.
+     * @return The current state of the game (ONGOING, PLAYER_WIN, or ENEMY_WIN).
+     */
+    public GameState tick(long dtNanos, LongConsumer beforeStep) {
+        TickEvent tickEvent = SimulationEvents.beginTick();
+        int steps = clock.advance(dtNanos);
+
+        GameState state = evaluateState();
+        for (int i = 0; i < steps; i++) {
+            if (beforeStep != null) beforeStep.accept(clock.getStepCount());
+            state = step(clock.step());
+            if (state != GameState.ONGOING) break;
+        }
+        SimulationEvents.endTick(tickEvent, steps, clock.getStepCount(), playerUnits.size(), enemyUnits.size(), projectiles.size());
+        return state;
+    }
+
+    /**
+     * Runs a single fixed simulation step.
+     * <p>
+     * This method remembers unit positions for render interpolation, then
+     * handles currency regeneration, cooldowns, unit training,
      * enemy AI spawning, turret updates, unit movement and collision,
      * projectile updates, and win/loss condition checks.
      * </p>
-     * @return The current state of the game (ONGOING, PLAYER_WIN, or ENEMY_WIN).
+     * @param now The simulated time at the end of this step, in nanoseconds.
+     * @return The state of the game after the step.
      */
-    public GameState tick() {
-        long now = System.nanoTime();
-        recentDamageEvents.clear();
+    private GameState step(long now) {
+        long stepStart = profiler.begin();
+        long t = stepStart;
+        // Projectiles remember their own position as they tick.
+        playerUnits.savePositions();
+        enemyUnits.savePositions();
+        updateCurrency(now);
+        t = profiler.record(Phase.CURRENCY, t);
+        updateTraining(now);
+        t = profiler.record(Phase.TRAINING, t);
+        updateEnemyAI(now);
+        t = profiler.record(Phase.ENEMY_AI, t);
+        indexLanes();
+        t = profiler.record(Phase.INDEX_LANES, t);
+        updateTurrets(now);
+        t = profiler.record(Phase.TURRETS, t);
+        updateUnits(now);
+        t = profiler.record(Phase.UNITS, t);
+        updateProjectiles();
+        t = profiler.record(Phase.PROJECTILES, t);
+        removeDeadUnits();
+        profiler.record(Phase.CLEANUP, t);
 
+        GameState state = evaluateState();
+        profiler.record(Phase.STEP, stepStart);
+        return state;
+    }
+
+    /*
+     * The phases of a step are package-private so benchmarks in this package can drive them one at a time.
+     */
+
+    void updateCurrency(long now) {
         if (now - lastCurrencyRegenTime >= CURRENCY_REGEN_INTERVAL) {
             currencySystem.earn(1);
             for (SpecialAbility ability : abilities) ability.tickCooldown();
             lastCurrencyRegenTime = now;
         }
+    }
 
-        updateTraining(now);
-        updateEnemyAI(now);
-
-        updateTurrets(playerTurrets, enemyUnits, now);
-        updateTurrets(enemyTurrets, playerUnits, now);
+    void indexLanes() {
+        playerLane.rebuild(playerUnits);
+        enemyLane.rebuild(enemyUnits);
+    }
 
-        updateUnits(playerUnits, enemyUnits, enemyBase, 1, now);
-        updateUnits(enemyUnits, playerUnits, playerBase, -1, now);
+    void updateTurrets(long now) {
+        updateTurrets(playerTurrets, enemyLane, now);
+        updateTurrets(enemyTurrets, playerLane, now);
+    }
 
-        updateProjectiles();
+    void updateUnits(long now) {
+        updateUnits(playerUnits, playerLane, enemyLane, enemyBase, 1, now);
+        updateUnits(enemyUnits, enemyLane, playerLane, playerBase, -1, now);
+    }
 
-        playerUnits.removeIf(u -> !u.isAlive());
-        enemyUnits.removeIf(u -> {
-            if(!u.isAlive()) {
-                int reward = (int)(u.getCost() * 1.25);
+    void removeDeadUnits() {
+        for (int i = 0; i < playerUnits.size(); i++) {
+            if (!playerUnits.isAlive(i)) {
+                SimulationEvents.unitDied(SimulationEvents.PLAYER, playerUnits.get(i));
+                for (GameEventListener l : listeners) l.unitDied(playerUnits.get(i), true);
+            }
+        }
+        playerUnits.removeDead();
+        for (int i = 0; i < enemyUnits.size(); i++) {
+            if (!enemyUnits.isAlive(i)) {
+                int reward = (int)(enemyUnits.getCost(i) * 1.25);
                 currencySystem.earn(reward);
-                return true;
+                SimulationEvents.unitDied(SimulationEvents.ENEMY, enemyUnits.get(i));
+                for (GameEventListener l : listeners) l.unitDied(enemyUnits.get(i), false);
             }
-            return false;
-        });
+        }
+        enemyUnits.removeDead();
+    }
+
+    /**
+     * Returns the state of the match without advancing it.
+     * @return The current GameState.
+     */
+    public GameState getGameState() {
+        return evaluateState();
+    }
 
+    private GameState evaluateState() {
         if (!playerBase.isAlive()) return GameState.ENEMY_WIN;
         if (!enemyBase.isAlive()) return GameState.PLAYER_WIN;
 
@@ -144,15 +325,23 @@ public class GameManager {
      *     are recorded for visual feedback, and the projectile is removed.
      * </p>
      * <p>
+     *     Finished projectiles are marked as hit during the pass and returned to the
+     *     {@link ProjectileStore} pool together at the end, keeping the rest in firing order.
+     * </p>
+     * <p>
      *     Hit detection accounts for different target types by using distinct distance
      *     thresholds and impact positions for units and bases.
      * </p>
      */
-    private void updateProjectiles() {
-        projectiles.removeIf(p -> {
+    void updateProjectiles() {
+        for (int i = 0; i < projectiles.size(); i++) {
+            Projectile p = projectiles.get(i);
             p.tick();
 
-            if (p.hasHit()) return true;
+            if (p.hasHit()) {
+                resolveProjectile(p, false, 0);
+                continue;
+            }
 
             Attackable target = p.getTarget();
             if (target != null && target.isAlive()) {
@@ -175,14 +364,26 @@ public class GameManager {
                 if (dist < threshold) {
                     int actualDealt = target.takeDamage(p.getDamage());
                     double popupY = isBaseTarget ? 650 : 820;
-                    recentDamageEvents.add(new DamageEvent(targetX, popupY, actualDealt, p.isCritical(), "RANGE", isBaseTarget));
-                    return true;
+                    publishDamage(targetX, popupY, actualDealt, p.isCritical(), DamageType.RANGE, isBaseTarget);
+                    if (isBaseTarget) baseDamaged((Base) target, actualDealt);
+                    p.setHit(true);
+                    resolveProjectile(p, true, actualDealt);
                 }
             } else {
-                return true;
+                p.setHit(true);
+                resolveProjectile(p, false, 0);
             }
-            return false;
-        });
+        }
+        projectiles.removeFinished();
+    }
+
+    private void resolveProjectile(Projectile p, boolean hit, int damageDealt) {
+        SimulationEvents.projectileResolved(p.getImagePath(), p.getX(), hit, damageDealt);
+        for (GameEventListener l : listeners) l.projectileResolved(p);
+    }
+
+    private void baseDamaged(Base base, int amount) {
+        for (GameEventListener l : listeners) l.baseDamaged(base, amount);
     }
 
     /**
@@ -196,14 +397,14 @@ public class GameManager {
      * <p>
      *     Target distance is measured relative to the owning side’s base position, and
      *     projectile spawn positions are offset based on turret order and ownership.
+     *     The closest target is looked up in the opposing side's {@link LaneIndex}.
      * </p>
      *
      * @param turrets the list of turrets to update
-     * @param targets the list of potential unit targets
-     * @param now     the current time in nanoseconds, typically obtained from
-     *                {@link System#nanoTime()}
+     * @param targets the lane index of potential unit targets
+     * @param now     the current simulated time in nanoseconds
      */
-    private void updateTurrets(List<Turret> turrets, List<Unit> targets, long now) {
+    private void updateTurrets(List<Turret> turrets, LaneIndex targets, long now) {
         boolean isPlayer = (turrets == playerTurrets);
         double baseX = isPlayer ? PLAYER_BASE_X : ENEMY_BASE_X;
 
@@ -211,21 +412,10 @@ public class GameManager {
             Turret turret = turrets.get(i);
             if (!turret.canFire(now)) continue;
 
-            Unit closestTarget = null;
-            double closestDist = Double.MAX_VALUE;
-
-            for (Unit target : targets) {
-                if (!target.isAlive()) continue;
-                double dist = Math.abs(target.getCoordinate() - baseX);
-                if (dist <= turret.getRange()) {
-                    if (dist < closestDist) {
-                        closestDist = dist;
-                        closestTarget = target;
-                    }
-                }
-            }
+            Unit closestTarget = targets.nearestTo(baseX, turret.getRange());
 
             if (closestTarget != null) {
+                double closestDist = Math.abs(closestTarget.getCoordinate() - baseX);
                 int damage;
                 if (turret instanceof LongRangeTurret lrt) {
                     damage = lrt.calculateDamageWithDistance((int) closestDist);
@@ -243,7 +433,9 @@ public class GameManager {
                 }
 
                 double speed = 12.0;
-                projectiles.add(new Projectile(startX + 70, startY, speed, damage, closestTarget, "TURRET", false));
+                Projectile fired = projectiles.fire(startX + 70, startY, speed, damage, closestTarget, "TURRET", false);
+                for (GameEventListener l : listeners) l.projectileFired(fired);
+                SimulationEvents.projectileFired(isPlayer ? SimulationEvents.PLAYER : SimulationEvents.ENEMY, "TURRET", startX + 70, damage, closestTarget);
 
                 turret.resetCooldown(now);
             }
@@ -255,7 +447,9 @@ public class GameManager {
      *     Each allied unit attempts to move forward in the specified direction unless
      *     blocked by enemy units, allied units, or the target base. Units search for
      *     valid targets within range, prioritizing enemy units over the base when
-     *     applicable.
+     *     applicable. Collision and targeting queries go through the lane indexes, and
+     *     the allied index is kept up to date as each unit moves so later units see the
+     *     same positions a scan of the list would.
      * </p>
      * <p>
      *     If a unit is able to attack and its cooldown has elapsed, it performs either
@@ -264,46 +458,45 @@ public class GameManager {
      *     feedback. Counter and critical hit logic is applied where appropriate.
      * </p>
      *
-     * @param allies     the list of units to update
-     * @param enemies    the list of opposing units used for collision and targeting
+     * @param allies     the store of units to update
+     * @param allyLane   the lane index built from {@code allies}
+     * @param enemyLane  the lane index of opposing units used for collision and targeting
      * @param targetBase the base that hostile units are attacking
      * @param direction  the movement direction of the units
      *                  ({@code 1} for right, {@code -1} for left)
-     * @param now        the current time in nanoseconds, typically obtained from
-     *                  {@link System#nanoTime()}
+     * @param now        the current simulated time in nanoseconds
      */
-    private void updateUnits(List<Unit> allies, List<Unit> enemies, Base targetBase, int direction, long now) {
+    private void updateUnits(UnitStore allies, LaneIndex allyLane, LaneIndex enemyLane, Base targetBase, int direction, long now) {
         double baseTargetX = (targetBase == playerBase) ? PLAYER_SPAWN_X : ENEMY_SPAWN_X;
 
-        for (Unit unit : allies) {
-            double nextPos = unit.getCoordinate() + (unit.getSpeed() * direction * 0.1);
+        for (int i = 0; i < allies.size(); i++) {
+            double position = allies.getCoordinate(i);
+            int range = allies.getRange(i);
+            double nextPos = position + (allies.getSpeed(i) * direction * 0.1);
             boolean blocked = false;
             Attackable target = null;
             double distToBase = Math.abs(nextPos - baseTargetX);
             if (distToBase <= BASE_HITBOX_DIST) blocked = true;
-            if (distToBase <= unit.getRange()) target = targetBase;
+            if (distToBase <= range) target = targetBase;
 
-            for (Unit enemy : enemies) {
-                if (!enemy.isAlive()) continue;
-                double dist = Math.abs(unit.getCoordinate() - enemy.getCoordinate());
-                if (dist <= unit.getRange()) {
-                    if (target == null || target == targetBase) target = enemy;
-                }
-                if (dist <= COLLISION_RADIUS) blocked = true;
-            }
-            for (Unit ally : allies) {
-                if (ally == unit || !ally.isAlive()) continue;
-                double relativeDist = (ally.getCoordinate() - unit.getCoordinate()) * direction;
-                if (relativeDist > 0 && relativeDist < COLLISION_RADIUS) blocked = true;
-            }
+            Unit enemyInRange = enemyLane.firstInRange(position, range);
+            if (enemyInRange != null) target = enemyInRange;
+            if (!blocked) blocked = enemyLane.anyWithin(position, COLLISION_RADIUS);
+            if (!blocked) blocked = allyLane.anyAhead(position, COLLISION_RADIUS, direction);
 
-            if (!blocked) unit.setCoordinate(nextPos);
+            if (!blocked) {
+                allies.setCoordinate(i, nextPos);
+                allyLane.move(i, nextPos);
+            }
 
-            if (target != null && unit.canAttack(now)) {
+            if (target != null && allies.canAttack(i, now)) {
+                Unit unit = allies.get(i);
                 if (unit instanceof RangedUnit) {
                     int dmg = unit.calculateDamage(target);
                     boolean isCrit = (target instanceof AntiArmoredUnit);
-                    projectiles.add(new Projectile(unit.getCoordinate(), 840, 10.0 * direction, dmg, target, "ARROW", isCrit));
+                    Projectile fired = projectiles.fire(allies.getCoordinate(i), 840, 10.0 * direction, dmg, target, "ARROW", isCrit);
+                    for (GameEventListener l : listeners) l.projectileFired(fired);
+                    SimulationEvents.projectileFired(direction > 0 ? SimulationEvents.PLAYER : SimulationEvents.ENEMY, "ARROW", allies.getCoordinate(i), dmg, target);
                 } else {
                     int damageDealt = unit.attack(target);
                     double targetX = (target instanceof Unit u) ? u.getCoordinate() + 32.5 : baseTargetX + 32.5;
@@ -312,12 +505,18 @@ public class GameManager {
 
                     boolean isCrit = isCounter(unit, target);
 
-                    recentDamageEvents.add(new DamageEvent(targetX, popupY, damageDealt, isCrit, "MELEE", isBase));
+                    publishDamage(targetX, popupY, damageDealt, isCrit, DamageType.MELEE, isBase);
+                    if (isBase) baseDamaged(targetBase, damageDealt);
                 }
             }
         }
     }
 
+    private void publishDamage(double x, double y, int amount, boolean isCritical, DamageType type, boolean isBase) {
+        damageEvents.publish(x, y, amount, isCritical, type, isBase);
+        SimulationEvents.damageDealt(type.name(), x, amount, isCritical, isBase);
+    }
+
     /**
      * Determines whether the attacking unit has a type advantage over the target.
      * <p>
@@ -338,10 +537,15 @@ public class GameManager {
         return false;
     }
 
-    private void updateEnemyAI(long now) {
+    // Stops the enemy AI from ever spawning again, so benchmarks keep the battle at the size they built.
+    void holdEnemySpawns() {
+        nextEnemySpawnTime = Long.MAX_VALUE;
+    }
+
+    void updateEnemyAI(long now) {
         if (nextEnemySpawnTime == 0) nextEnemySpawnTime = now + 2_000_000_000L;
         if (now >= nextEnemySpawnTime) {
-            int roll = random.nextInt(4);
+            int roll = aiRandom.nextInt(4);
             long delay = 0;
             switch (roll) {
                 case 0: spawnEnemyUnit(new MeleeUnit(100, 20, 20, 50, 80, 2)); delay = DELAY_AFTER_MELEE; break;
@@ -365,7 +569,7 @@ public class GameManager {
         } return false;
     }
 
-    private void updateTraining(long now) {
+    void updateTraining(long now) {
         if (currentTrainingUnit == null && !trainingQueue.isEmpty()) {
             currentTrainingUnit = trainingQueue.poll(); trainingStartTime = now;
         }
@@ -375,16 +579,27 @@ public class GameManager {
     }
 
     /**
-     * Spawns a player unit at the player's spawn coordinate.
+     * Spawns a player unit at the player's spawn coordinate, applying the unit upgrades of this match.
      * @param unit The unit to spawn.
      */
-    public void spawnPlayerUnit(Unit unit) { unit.setCoordinate(PLAYER_SPAWN_X); playerUnits.add(unit); }
+    public void spawnPlayerUnit(Unit unit) {
+        upgradeSystem.applyTo(unit);
+        unit.setCoordinate(PLAYER_SPAWN_X);
+        playerUnits.add(unit);
+        SimulationEvents.unitSpawned(SimulationEvents.PLAYER, unit);
+        for (GameEventListener l : listeners) l.unitSpawned(unit, true);
+    }
 
     /**
      * Spawns an enemy unit at the enemy's spawn coordinate.
      * @param unit The unit to spawn.
      */
-    public void spawnEnemyUnit(Unit unit) { unit.setCoordinate(ENEMY_SPAWN_X); enemyUnits.add(unit); }
+    public void spawnEnemyUnit(Unit unit) {
+        unit.setCoordinate(ENEMY_SPAWN_X);
+        enemyUnits.add(unit);
+        SimulationEvents.unitSpawned(SimulationEvents.ENEMY, unit);
+        for (GameEventListener l : listeners) l.unitSpawned(unit, false);
+    }
 
     /**
      * Places a turret on the player's base if the player can afford it and the base has capacity.
@@ -394,7 +609,13 @@ public class GameManager {
     public int placePlayerTurret(Turret turret) {
         if (currencySystem.canAfford(turret.getCost())) {
             int slot = playerBase.addTurret(turret);
-            if (slot != -1) { currencySystem.spend(turret.getCost()); playerTurrets.add(turret); }
+            if (slot != -1) {
+                currencySystem.spend(turret.getCost());
+                upgradeSystem.applyTo(turret);
+                turret.setRandom(turretRandom);
+                playerTurrets.add(turret);
+                for (GameEventListener l : listeners) l.turretPlaced(turret, slot);
+            }
             return slot;
         } return -1;
     }
@@ -409,6 +630,7 @@ public class GameManager {
             Turret t = turrets.get(slotIndex);
             playerBase.removeTurret(t); playerTurrets.remove(t);
             currencySystem.earn(t.getCost() / 2);
+            for (GameEventListener l : listeners) l.turretSold(t, slotIndex);
         }
     }
 
@@ -422,7 +644,9 @@ public class GameManager {
         if (ability.isReady() && currencySystem.spend(ability.getCost())) {
             if (ability instanceof NukeAbility nuke)
             {
+                int alive = countAlive(targets);
                 nuke.activate(targets);
+                SimulationEvents.nuke(alive, nuke.getDamage(), alive - countAlive(targets));
             }
             else
             {
@@ -432,29 +656,35 @@ public class GameManager {
         } return false;
     }
 
+    private static int countAlive(List<Unit> units) {
+        int alive = 0;
+        for (Unit u : units) if (u.isAlive()) alive++;
+        return alive;
+    }
+
     /**
      * Upgrades the attack power of all current and future player units.
      * @param cost The cost of the upgrade.
      */
-    public void upgradeUnitAttack(int cost) { if (upgradeSystem.upgradeUnitAttack(cost) && Unit.isUpgradedAttack()) for (Unit u : playerUnits) u.setAttack((int)(u.getAttack() * 1.2)); }
+    public void upgradeUnitAttack(int cost) { if (upgradeSystem.upgradeUnitAttack(cost)) for (Unit u : playerUnits) u.setAttack((int)(u.getAttack() * UpgradeSystem.UNIT_ATTACK_MULTIPLIER)); }
 
     /**
      * Upgrades the health points of all current and future player units.
      * @param cost The cost of the upgrade.
      */
-    public void upgradeUnitHp(int cost) { if (upgradeSystem.upgradeUnitHp(cost) && Unit.isUpgradedHp()) for (Unit u : playerUnits) { u.setMaxHp((int)(u.getMaxHp() * 1.5)); u.setHp((int)(u.getHp() * 1.5)); } }
+    public void upgradeUnitHp(int cost) { if (upgradeSystem.upgradeUnitHp(cost)) for (Unit u : playerUnits) { u.setMaxHp((int)(u.getMaxHp() * UpgradeSystem.UNIT_HP_MULTIPLIER)); u.setHp((int)(u.getHp() * UpgradeSystem.UNIT_HP_MULTIPLIER)); } }
 
     /**
-     * Upgrades the attack power of all turrets.
+     * Upgrades the attack power of all current and future player turrets.
      * @param cost The cost of the upgrade.
      */
-    public void upgradeTurretAttack(int cost) { upgradeSystem.upgradeTurretAttack(cost); }
+    public void upgradeTurretAttack(int cost) { if (upgradeSystem.upgradeTurretAttack(cost)) for (Turret t : playerTurrets) upgradeSystem.applyTo(t); }
 
     /**
-     * Upgrades the range of all turrets.
+     * Upgrades the range of all current and future player turrets.
      * @param cost The cost of the upgrade.
      */
-    public void upgradeTurretRange(int cost) { upgradeSystem.upgradeTurretRange(cost); }
+    public void upgradeTurretRange(int cost) { if (upgradeSystem.upgradeTurretRange(cost)) for (Turret t : playerTurrets) upgradeSystem.applyTo(t); }
 
     /**
      * Upgrades the turret slot capacity of the player's base.
@@ -462,12 +692,333 @@ public class GameManager {
      */
     public void upgradeBaseCapacity(int cost) { upgradeSystem.upgradeBaseCapacity(playerBase, cost); }
 
+    /**
+     * Returns the number of bytes {@link #saveSnapshot(ByteBuffer)} writes for the current state.
+     * @return The size of a snapshot in bytes.
+     */
+    public int getSnapshotSize() {
+        int size = SNAPSHOT_HEADER_BYTES
+                + 3 * 8          // clock
+                + 3 * 8          // timers
+                + 3 * 8          // random streams
+                + 4 + 1          // currency, upgrades
+                + 2 * 4 * 4      // bases
+                + 4 + 4 * abilities.size()
+                + 1 + (currentTrainingUnit != null ? SNAPSHOT_UNIT_BYTES : 0)
+                + 4 + SNAPSHOT_UNIT_BYTES * trainingQueue.size()
+                + 2 * 4 + (8 + SNAPSHOT_UNIT_BYTES) * (playerUnits.size() + enemyUnits.size())
+                + 2 * 4 + SNAPSHOT_TURRET_BYTES * (playerTurrets.size() + enemyTurrets.size())
+                + 4;
+        for (int i = 0; i < projectiles.size(); i++) {
+            size += SNAPSHOT_PROJECTILE_BYTES + 2 * projectiles.get(i).getImagePath().length();
+        }
+        return size;
+    }
+
+    /**
+     * Writes the whole live state of the match to a buffer.
+     * <p>
+     * The snapshot holds the clock, both bases, every unit with its hp, coordinate and attack
+     * cooldown, the turrets, the projectiles in flight, the training queue, the currency, the
+     * ability cooldowns, the upgrades and the state of every random stream. Passing the buffer
+     * returned by the previous call lets a match be snapshotted periodically without allocating.
+     * </p>
+     * @param reuse A buffer to write into from its start, or {@code null}; a new buffer is allocated if it is too small.
+     * @return The buffer holding the snapshot, positioned at its start and limited to its end.
+     */
+    public ByteBuffer saveSnapshot(ByteBuffer reuse) {
+        int size = getSnapshotSize();
+        ByteBuffer out = (reuse != null && reuse.capacity() >= size) ? reuse.clear() : ByteBuffer.allocate(size + size / 2);
+
+        out.putInt(SNAPSHOT_MAGIC).put(SNAPSHOT_VERSION).putInt(size).putLong(seed).putLong(clock.getStepNanos());
+        out.putLong(clock.getTime()).putLong(clock.getStepCount()).putLong(clock.getAccumulator());
+        out.putLong(lastCurrencyRegenTime).putLong(nextEnemySpawnTime).putLong(trainingStartTime);
+        out.putLong(damageRandom.getState()).putLong(turretRandom.getState()).putLong(aiRandom.getState());
+
+        out.putInt(currencySystem.getBalance());
+        int upgrades = (upgradeSystem.isUnitAttackUpgraded() ? 1 : 0) | (upgradeSystem.isUnitHpUpgraded() ? 2 : 0)
+                | (upgradeSystem.isTurretAttackUpgraded() ? 4 : 0) | (upgradeSystem.isTurretRangeUpgraded() ? 8 : 0);
+        out.put((byte) upgrades);
+        writeBase(out, playerBase);
+        writeBase(out, enemyBase);
+
+        out.putInt(abilities.size());
+        for (SpecialAbility ability : abilities) out.putInt(ability.getCurrentCooldown());
+
+        out.put((byte) (currentTrainingUnit != null ? 1 : 0));
+        if (currentTrainingUnit != null) writeUnit(out, currentTrainingUnit);
+        out.putInt(trainingQueue.size());
+        for (Unit unit : trainingQueue) writeUnit(out, unit);
+
+        writeUnits(out, playerUnits);
+        writeUnits(out, enemyUnits);
+        writeTurrets(out, playerTurrets);
+        writeTurrets(out, enemyTurrets);
+
+        out.putInt(projectiles.size());
+        for (int i = 0; i < projectiles.size(); i++) writeProjectile(out, projectiles.get(i));
+
+        return out.flip();
+    }
+
+    /**
+     * Replaces the live state of this match with a snapshot written by {@link #saveSnapshot(ByteBuffer)}.
+     * <p>
+     * The snapshot must come from a match with the same seed, since the random streams are
+     * restored into the streams split from it. Units, turrets and projectiles are rebuilt, so
+     * references to the old ones no longer belong to the match. The buffer is read from its
+     * position, which ends up just past the snapshot.
+     * </p>
+     * @param in The buffer holding the snapshot.
+     * @throws IllegalArgumentException If the buffer does not hold a complete snapshot of a match with this seed.
+     */
+    public void restoreSnapshot(ByteBuffer in) {
+        checkSnapshotHeader(in);
+        if (in.getLong(in.position() + 9) != seed) {
+            throw new IllegalArgumentException("Snapshot belongs to a match with a different seed");
+        }
+        in.position(in.position() + 17);
+        long stepNanos = in.getLong();
+        if (stepNanos != clock.getStepNanos()) {
+            throw new IllegalArgumentException("Snapshot was taken with a step of " + stepNanos + " ns");
+        }
+
+        long time = in.getLong();
+        long stepCount = in.getLong();
+        clock.restore(time, stepCount, in.getLong());
+        lastCurrencyRegenTime = in.getLong();
+        nextEnemySpawnTime = in.getLong();
+        trainingStartTime = in.getLong();
+        damageRandom.setState(in.getLong());
+        turretRandom.setState(in.getLong());
+        aiRandom.setState(in.getLong());
+
+        currencySystem.setBalance(in.getInt());
+        int upgrades = in.get();
+        upgradeSystem.setUnitAttackUpgraded((upgrades & 1) != 0);
+        upgradeSystem.setUnitHpUpgraded((upgrades & 2) != 0);
+        upgradeSystem.setTurretAttackUpgraded((upgrades & 4) != 0);
+        upgradeSystem.setTurretRangeUpgraded((upgrades & 8) != 0);
+        readBase(in, playerBase);
+        readBase(in, enemyBase);
+
+        int abilityCount = in.getInt();
+        if (abilityCount != abilities.size()) throw new IllegalArgumentException("Snapshot has " + abilityCount + " abilities");
+        for (SpecialAbility ability : abilities) ability.setCurrentCooldown(in.getInt());
+
+        currentTrainingUnit = (in.get() != 0) ? readUnit(in) : null;
+        trainingQueue.clear();
+        for (int i = readCount(in, SNAPSHOT_UNIT_BYTES, "queued units"); i > 0; i--) trainingQueue.add(readUnit(in));
+
+        readUnits(in, playerUnits);
+        readUnits(in, enemyUnits);
+        readTurrets(in, playerTurrets, playerBase);
+        readTurrets(in, enemyTurrets, enemyBase);
+
+        projectiles.clear();
+        for (int i = readCount(in, SNAPSHOT_PROJECTILE_BYTES, "projectiles"); i > 0; i--) readProjectile(in);
+
+        for (GameEventListener l : listeners) l.stateRestored();
+    }
+
+    /**
+     * Creates a match from a snapshot written by {@link #saveSnapshot(ByteBuffer)}, such as one saved before a crash.
+     * @param in The buffer holding the snapshot, read from its position.
+     * @return A new game manager in the state of the snapshot.
+     * @throws IllegalArgumentException If the buffer does not hold a complete snapshot.
+     */
+    public static GameManager fromSnapshot(ByteBuffer in) {
+        checkSnapshotHeader(in);
+        GameManager gm = new GameManager(0, 0, in.getLong(in.position() + 9));
+        gm.restoreSnapshot(in);
+        return gm;
+    }
+
+    // Checks everything that can be checked before any state is overwritten, so a truncated file is rejected cleanly.
+    private static void checkSnapshotHeader(ByteBuffer in) {
+        int start = in.position();
+        if (in.remaining() < SNAPSHOT_HEADER_BYTES || in.getInt(start) != SNAPSHOT_MAGIC) {
+            throw new IllegalArgumentException("Not a game snapshot");
+        }
+        if (in.get(start + 4) != SNAPSHOT_VERSION) {
+            throw new IllegalArgumentException("Unsupported snapshot version " + in.get(start + 4));
+        }
+        int size = in.getInt(start + 5);
+        if (size < SNAPSHOT_HEADER_BYTES || in.remaining() < size) {
+            throw new IllegalArgumentException("Snapshot is truncated");
+        }
+    }
+
+    // Reads a count and checks that that many entries fit in the rest of the buffer before anything is sized from it.
+    private static int readCount(ByteBuffer in, int bytesEach, String what) {
+        return readLength(in, in.getInt(), bytesEach, what);
+    }
+
+    private static int readLength(ByteBuffer in, int count, int bytesEach, String what) {
+        if (count < 0 || count > in.remaining() / bytesEach) {
+            throw new IllegalArgumentException("Snapshot has " + count + " " + what + " but only " + in.remaining() + " bytes left");
+        }
+        return count;
+    }
+
+    private static void writeBase(ByteBuffer out, Base base) {
+        out.putInt(base.getHp()).putInt(base.getMaxHp()).putInt(base.getTurretCapacity()).putInt(base.getCapacityUpgrades());
+    }
+
+    private static void readBase(ByteBuffer in, Base base) {
+        base.setHp(in.getInt());
+        base.setMaxHp(in.getInt());
+        base.setTurretCapacity(in.getInt());
+        base.setCapacityUpgrades(in.getInt());
+    }
+
+    private static void writeUnits(ByteBuffer out, UnitStore units) {
+        out.putInt(units.size());
+        for (int i = 0; i < units.size(); i++) {
+            out.putLong(units.getLastAttackTime(i));
+            writeUnit(out, units.get(i));
+        }
+    }
+
+    private static void readUnits(ByteBuffer in, UnitStore units) {
+        int count = readCount(in, 8 + SNAPSHOT_UNIT_BYTES, "units");
+        units.clear();
+        for (int i = count; i > 0; i--) {
+            long lastAttackTime = in.getLong();
+            units.add(readUnit(in));
+            units.setLastAttackTime(units.size() - 1, lastAttackTime);
+        }
+    }
+
+    // The attack cooldown lives in the side's store, so writeUnits writes it in front of each unit.
+    private static void writeUnit(ByteBuffer out, Unit unit) {
+        out.put((byte) UnitType.of(unit).ordinal());
+        out.putInt(unit.getHp()).putInt(unit.getMaxHp()).putInt(unit.getAttack())
+                .putInt(unit.getSpeed()).putInt(unit.getCost()).putInt(unit.getRange());
+        out.putLong(unit.getTrainingTime()).putDouble(unit.getCoordinate());
+    }
+
+    private static Unit readUnit(ByteBuffer in) {
+        UnitType type = UnitType.values()[in.get()];
+        int hp = in.getInt();
+        int maxHp = in.getInt();
+        Unit unit = type.create(maxHp, in.getInt(), in.getInt(), in.getInt(), in.getInt(), in.getLong());
+        unit.setHp(hp);
+        unit.setCoordinate(in.getDouble());
+        return unit;
+    }
+
+    private static void writeTurrets(ByteBuffer out, List<Turret> turrets) {
+        out.putInt(turrets.size());
+        for (Turret turret : turrets) {
+            out.put((byte) TurretType.of(turret).ordinal());
+            out.putInt(turret.getBaseAttack()).putInt(turret.getBaseRange()).putInt(turret.getCost());
+            out.putLong(turret.getCooldown()).putLong(turret.getLastAttackTime());
+            out.put((byte) ((turret.isUpgradedAttack() ? 1 : 0) | (turret.isUpgradedRange() ? 2 : 0)));
+        }
+    }
+
+    // The turrets of a side and the turret slots of its base hold the same turrets in the same order.
+    private void readTurrets(ByteBuffer in, List<Turret> turrets, Base base) {
+        int count = readCount(in, SNAPSHOT_TURRET_BYTES, "turrets");
+        turrets.clear();
+        base.getTurrets().clear();
+        for (int i = count; i > 0; i--) {
+            Turret turret = TurretType.values()[in.get()].create();
+            turret.setAttack(in.getInt());
+            turret.setRange(in.getInt());
+            turret.setCost(in.getInt());
+            turret.setCooldown(in.getLong());
+            turret.setLastAttackTime(in.getLong());
+            int upgrades = in.get();
+            turret.setUpgradedAttack((upgrades & 1) != 0);
+            turret.setUpgradedRange((upgrades & 2) != 0);
+            turret.setRandom(turretRandom);
+            turrets.add(turret);
+            base.getTurrets().add(turret);
+        }
+    }
+
+    private void writeProjectile(ByteBuffer out, Projectile p) {
+        out.putDouble(p.getX()).putDouble(p.getY()).putDouble(p.getSpeed()).putInt(p.getDamage());
+        Attackable target = p.getTarget();
+        int playerSlot = playerUnits.indexOf(target);
+        int enemySlot = enemyUnits.indexOf(target);
+        if (target == playerBase) out.put(TARGET_PLAYER_BASE).putInt(0);
+        else if (target == enemyBase) out.put(TARGET_ENEMY_BASE).putInt(0);
+        else if (playerSlot >= 0) out.put(TARGET_PLAYER_UNIT).putInt(playerSlot);
+        else if (enemySlot >= 0) out.put(TARGET_ENEMY_UNIT).putInt(enemySlot);
+        else out.put(TARGET_NONE).putInt(0); // a unit already removed; the projectile fizzles on its next tick either way
+        out.put((byte) ((p.hasHit() ? 1 : 0) | (p.isCritical() ? 2 : 0)));
+        String imagePath = p.getImagePath();
+        out.putShort((short) imagePath.length());
+        for (int i = 0; i < imagePath.length(); i++) out.putChar(imagePath.charAt(i));
+    }
+
+    private void readProjectile(ByteBuffer in) {
+        double x = in.getDouble();
+        double y = in.getDouble();
+        double speed = in.getDouble();
+        int damage = in.getInt();
+        byte kind = in.get();
+        int slot = in.getInt();
+        Attackable target = switch (kind) {
+            case TARGET_PLAYER_BASE -> playerBase;
+            case TARGET_ENEMY_BASE -> enemyBase;
+            case TARGET_PLAYER_UNIT -> playerUnits.get(slot);
+            case TARGET_ENEMY_UNIT -> enemyUnits.get(slot);
+            default -> null;
+        };
+        int flags = in.get();
+        char[] imagePath = new char[readLength(in, in.getShort(), 2, "image path characters")];
+        for (int i = 0; i < imagePath.length; i++) imagePath[i] = in.getChar();
+        Projectile p = projectiles.fire(x, y, speed, damage, target, new String(imagePath).intern(), (flags & 2) != 0);
+        p.setHit((flags & 1) != 0);
+    }
+
+    /**
+     * Registers a listener for the lifecycle events of this match.
+     * @param listener The listener to add.
+     */
+    public void addListener(GameEventListener listener) {
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    /**
+     * Unregisters a listener added with {@link #addListener(GameEventListener)}.
+     * @param listener The listener to remove.
+     */
+    public void removeListener(GameEventListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                GameEventListener[] remaining = new GameEventListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, remaining, 0, i);
+                System.arraycopy(listeners, i + 1, remaining, i, remaining.length - i);
+                listeners = remaining;
+                return;
+            }
+        }
+    }
+
     /**
      * Returns the currency system associated with this game manager.
      * @return The CurrencySystem object.
      */
     public CurrencySystem getCurrencySystem() { return currencySystem; }
 
+    /**
+     * Returns the upgrades purchased in this match.
+     * @return The upgrade system.
+     */
+    public UpgradeSystem getUpgradeSystem() { return upgradeSystem; }
+
+    /**
+     * Returns the seed the random streams of this match were split from.
+     * @return The match seed.
+     */
+    public long getSeed() { return seed; }
+
     /**
      * Returns the player's base.
      * @return The player's Base object.
@@ -481,16 +1032,22 @@ public class GameManager {
     public Base getEnemyBase() { return enemyBase; }
 
     /**
-     * Returns the list of currently active player units.
-     * @return A list of player Units.
+     * Returns the store of currently active player units, in spawn order.
+     * @return The UnitStore of player Units.
+     */
+    public UnitStore getPlayerUnits() { return playerUnits; }
+
+    /**
+     * Returns the store of currently active enemy units, in spawn order.
+     * @return The UnitStore of enemy Units.
      */
-    public List<Unit> getPlayerUnits() { return playerUnits; }
+    public UnitStore getEnemyUnits() { return enemyUnits; }
 
     /**
-     * Returns the list of currently active enemy units.
-     * @return A list of enemy Units.
+     * Returns the simulation clock that drives this game.
+     * @return The SimulationClock object.
      */
-    public List<Unit> getEnemyUnits() { return enemyUnits; }
+    public SimulationClock getClock() { return clock; }
 
     /**
      * Returns the unit currently being trained.
@@ -505,10 +1062,11 @@ public class GameManager {
     public int getQueueSize() { return trainingQueue.size(); }
 
     /**
-     * Returns a list of recent damage events for UI visualization.
-     * @return A list of DamageEvent objects.
+     * Returns the buffer damage events are published to.
+     * Consumers create their own {@link DamageEventBuffer.Reader} to drain it.
+     * @return The DamageEventBuffer of this game.
      */
-    public List<DamageEvent> getRecentDamageEvents() { return recentDamageEvents; }
+    public DamageEventBuffer getDamageEvents() { return damageEvents; }
 
     /**
      * Returns the Nuke ability instance.
@@ -517,8 +1075,14 @@ public class GameManager {
     public NukeAbility getNukeAbility() { return nukeAbility; }
 
     /**
-     * Returns the list of active projectiles.
-     * @return A list of Projectile objects.
+     * Returns the profiler timing the phases of each step. It is disabled until switched on.
+     * @return The TickProfiler of this game.
+     */
+    public TickProfiler getProfiler() { return profiler; }
+
+    /**
+     * Returns the store of active projectiles.
+     * @return The ProjectileStore holding every projectile in flight.
      */
-    public List<Projectile> getProjectiles() { return projectiles; }
+    public ProjectileStore getProjectiles() { return projectiles; }
 }
\ No newline at end of file
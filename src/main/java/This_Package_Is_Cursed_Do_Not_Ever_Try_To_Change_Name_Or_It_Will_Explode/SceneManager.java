@@ -1,11 +1,24 @@
 package This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode;
 
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
 import controllers.GameController;
+import controllers.Replay;
+import systems.AssetLoader;
 import ui.BattlefieldView;
 import ui.MenuView;
+import ui.RenderMode;
+import ui.renderer.SpriteCache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Manages the transitions between different scenes in the JavaFX application.
@@ -14,6 +27,14 @@ import ui.MenuView;
  * active Battlefield game view. It also manages background music playback
  * appropriate for each scene.
  * </p>
+ * <p>
+ * It also starts the {@link AssetLoader} that decodes the sprites and sounds in the background;
+ * menus show its progress, and a battle cannot be started until it is done.
+ * </p>
+ * <p>
+ * Each scene is built the first time it is shown and reused from then on. A new battle
+ * restarts the same {@link BattlefieldView} on the new match instead of building another.
+ * </p>
  */
 public class SceneManager {
 
@@ -22,7 +43,17 @@ public class SceneManager {
     private final SoundManager soundManager;
 
     private Scene menuScene;
+    private Scene tutorialScene;
     private Scene battlefieldScene;
+    private BattlefieldView battlefieldView;
+    private Path replayDirectory;
+    private RenderMode renderMode = RenderMode.NODES;
+    private int maxPopups = BattlefieldView.DEFAULT_MAX_POPUPS;
+    private boolean simulationThread;
+
+    private AssetLoader assets;
+    // 1 until loading starts, so a SceneManager that never loads anything is ready at once.
+    private final ReadOnlyDoubleWrapper assetProgress = new ReadOnlyDoubleWrapper(1);
 
     /**
      * Initializes the SceneManager with the primary stage and game controller.
@@ -35,6 +66,30 @@ public class SceneManager {
         this.soundManager = new SoundManager();
     }
 
+    /**
+     * Starts loading every sprite and sound on background threads.
+     * @return The loader, whose {@link AssetLoader#whenDone()} completes once everything is loaded.
+     * @throws IllegalStateException If loading was already started.
+     */
+    public AssetLoader loadAssets() {
+        if (assets != null) throw new IllegalStateException("Assets are already loading");
+        List<Runnable> tasks = new ArrayList<>(SpriteCache.shared().preloadTasks());
+        tasks.addAll(soundManager.loadTasks());
+        int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+        assets = new AssetLoader(tasks, threads);
+        assetProgress.set(0);
+        assets.start(Platform::runLater, assetProgress::set);
+        return assets;
+    }
+
+    /**
+     * Returns the fraction of the assets loaded so far; only changes on the FX thread.
+     * @return The progress property, from {@code 0} to {@code 1}.
+     */
+    public ReadOnlyDoubleProperty assetProgressProperty() {
+        return assetProgress.getReadOnlyProperty();
+    }
+
     /**
      * Displays the main menu scene.
      * Stops battle BGM and plays menu BGM.
@@ -43,8 +98,7 @@ public class SceneManager {
         soundManager.stopBattleBGM();
         soundManager.playMenuBGM();
 
-        MenuView menuView = new MenuView(this);
-        menuScene = new Scene(menuView.getRoot(), 1800, 1000);
+        if (menuScene == null) menuScene = new Scene(new MenuView(this).getRoot(), 1800, 1000);
         primaryStage.setScene(menuScene);
     }
 
@@ -53,17 +107,93 @@ public class SceneManager {
      * Resets the game state, stops menu BGM, and plays battle BGM.
      */
     public void showBattlefield() {
-        soundManager.stopMenuBGM();
-
         gameController.resetGame();
+        gameController.setSpeed(1.0);
+        showBattlefieldView();
+    }
 
+    /**
+     * Displays the battlefield scene and plays a recorded match back on it.
+     * The game speed can be changed while watching with the battlefield's speed key.
+     * @param replay The replay to watch.
+     */
+    public void showReplay(Replay replay) {
+        gameController.startReplay(replay);
+        showBattlefieldView();
+    }
+
+    private void showBattlefieldView() {
+        soundManager.stopMenuBGM();
         soundManager.playBattleBGM();
 
-        BattlefieldView battlefieldView = new BattlefieldView(this, gameController, soundManager);
-        battlefieldScene = new Scene(battlefieldView.getRoot(), 1800, 1000);
+        if (battlefieldView == null) {
+            battlefieldView = new BattlefieldView(this, gameController, soundManager, renderMode, maxPopups, simulationThread);
+            battlefieldScene = new Scene(battlefieldView.getRoot(), 1800, 1000);
+        }
+        battlefieldView.start();
         primaryStage.setScene(battlefieldScene);
     }
 
+    /**
+     * Chooses how the battlefield draws its units, projectiles and damage numbers from the next battle on.
+     * @param renderMode The render mode.
+     */
+    public void setRenderMode(RenderMode renderMode) {
+        this.renderMode = renderMode;
+        discardBattlefield();
+    }
+
+    /**
+     * Caps the damage popups shown at once from the next battle on; beyond it the oldest popup gives way.
+     * @param maxPopups The cap; must be positive.
+     */
+    public void setMaxPopups(int maxPopups) {
+        if (maxPopups <= 0) throw new IllegalArgumentException("maxPopups must be positive: " + maxPopups);
+        this.maxPopups = maxPopups;
+        discardBattlefield();
+    }
+
+    /**
+     * Chooses whether battles from the next one on run the simulation on its own thread instead of in the frames.
+     * @param simulationThread True for a dedicated simulation thread.
+     */
+    public void setSimulationThread(boolean simulationThread) {
+        this.simulationThread = simulationThread;
+        discardBattlefield();
+    }
+
+    // The next battle builds a new view with the current settings.
+    private void discardBattlefield() {
+        battlefieldView = null;
+        battlefieldScene = null;
+    }
+
+    /**
+     * Records every match played from now on and saves its replay into the given directory when it ends.
+     * @param replayDirectory The directory to save replays in, or {@code null} to stop recording.
+     */
+    public void setReplayDirectory(Path replayDirectory) {
+        this.replayDirectory = replayDirectory;
+        gameController.setRecording(replayDirectory != null);
+    }
+
+    /**
+     * Saves the replay of the match that just ended, if matches are being recorded.
+     * A replay that cannot be written is reported and skipped, so it never interrupts the game.
+     */
+    public void saveRecording() {
+        Replay replay = gameController.getRecording();
+        if (replayDirectory == null || replay == null) return;
+        Path file = replayDirectory.resolve("match-" + System.currentTimeMillis() + ".pdrp");
+        try {
+            Files.createDirectories(replayDirectory);
+            replay.writeTo(file);
+            System.out.println("Replay saved to " + file);
+        } catch (IOException e) {
+            System.err.println("Could not save replay: " + e.getMessage());
+        }
+    }
+
     /**
      * Displays the tutorial scene.
      * Stops battle BGM.
@@ -71,9 +201,8 @@ public class SceneManager {
     public void showTutorial() {
         soundManager.stopBattleBGM();
 
-        MenuView tutorialView = new MenuView(this, true);
-        menuScene = new Scene(tutorialView.getRoot(), 1800, 1000);
-        primaryStage.setScene(menuScene);
+        if (tutorialScene == null) tutorialScene = new Scene(new MenuView(this, true).getRoot(), 1800, 1000);
+        primaryStage.setScene(tutorialScene);
     }
 
     /**
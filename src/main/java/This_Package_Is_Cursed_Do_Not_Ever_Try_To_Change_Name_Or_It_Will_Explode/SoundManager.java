@@ -1,8 +1,11 @@
 package This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode;
 
+import javafx.application.Platform;
 import javafx.scene.media.AudioClip;
 import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
+import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 
 /**
@@ -12,54 +15,95 @@ import java.util.Objects;
  * providing methods to play specific sounds for game events like shooting,
  * damage taking, and explosions.
  * </p>
+ * <p>
+ * The combat sounds (unit and base damage, shots) can be asked for many times per frame, so
+ * each goes through a {@link VoiceLimiter}: the calls only count a trigger, and
+ * {@link #endFrame(long)} plays each sound at most once per frame, louder when several
+ * triggers were merged, within a per-sound voice cap and minimum retrigger interval.
+ * </p>
+ * <p>
+ * Nothing is loaded on construction. {@link #loadTasks()} hands out one task per sound, which
+ * may run on background threads, and until a sound is loaded playing it does nothing. Music that
+ * was asked for before it finished loading starts as soon as it has, on the FX thread, unless it
+ * was stopped in the meantime.
+ * </p>
  */
 public class SoundManager {
-    private MediaPlayer bgmPlayer;
-    private MediaPlayer menuBgmPlayer;
+    // Written by the load tasks, possibly on other threads.
+    private volatile MediaPlayer bgmPlayer;
+    private volatile MediaPlayer menuBgmPlayer;
+
+    private volatile AudioClip unitTakeDamageSfx;
+    private volatile AudioClip baseTakeDamageSfx;
+    private volatile AudioClip shootSfx;
+    private volatile AudioClip explosionSfx;
+    private volatile AudioClip nukeSfx;
+
+    // Only read and written on the FX thread, like the play and stop calls that set them.
+    private boolean battleBgmWanted;
+    private boolean menuBgmWanted;
 
-    private AudioClip unitTakeDamageSfx;
-    private AudioClip baseTakeDamageSfx;
-    private AudioClip shootSfx;
-    private AudioClip explosionSfx;
-    private AudioClip nukeSfx;
+    // Voice lengths are estimates of the clips' durations; a voice past its length no longer counts.
+    private final VoiceLimiter unitTakeDamageVoices = new VoiceLimiter(4, 60_000_000L, 250_000_000L);
+    private final VoiceLimiter baseTakeDamageVoices = new VoiceLimiter(2, 150_000_000L, 400_000_000L);
+    private final VoiceLimiter shootVoices = new VoiceLimiter(4, 50_000_000L, 300_000_000L);
 
     /**
-     * Initializes the SoundManager, loading all BGM and SFX resources.
+     * Initializes the SoundManager without loading anything; see {@link #load()} and {@link #loadTasks()}.
      */
     public SoundManager() {
+    }
+
+    /**
+     * Loads all BGM and SFX resources on the calling thread.
+     */
+    public void load() {
+        loadTasks().forEach(Runnable::run);
+    }
+
+    /**
+     * Returns one task per BGM and SFX resource that loads it.
+     * The tasks may run on any thread and in any order.
+     * @return The load tasks.
+     */
+    public List<Runnable> loadTasks() {
+        return List.of(
+                this::loadBattleBgm,
+                this::loadMenuBgm,
+                () -> unitTakeDamageSfx = loadClip("/audioes/unit_take_damage.mp3", 0.4),
+                () -> baseTakeDamageSfx = loadClip("/audioes/base_take_damage.mp3", 0.5),
+                () -> shootSfx = loadClip("/audioes/shoot.mp3", 0.5),
+                () -> explosionSfx = loadClip("/audioes/loud_explosion.mp3", 1.0),
+                () -> nukeSfx = loadClip("/audioes/nuke.mp3", 1.0));
+    }
+
+    private void loadBattleBgm() {
         try {
             String bgmPath = Objects.requireNonNull(getClass().getResource("/audioes/BGM.mp3")).toExternalForm();
-            bgmMediaInit(bgmPath);
+            MediaPlayer player = createBgmPlayer(bgmPath);
+            bgmPlayer = player;
+            Platform.runLater(() -> { if (battleBgmWanted) player.play(); });
         } catch (Exception e) {
             System.err.println("Error loading Battle BGM: " + e.getMessage());
         }
+    }
 
+    private void loadMenuBgm() {
         try {
             String menuBgmPath = Objects.requireNonNull(getClass().getResource("/audioes/main_menu_BGM.mp3")).toExternalForm();
-            menuBgmMediaInit(menuBgmPath);
+            MediaPlayer player = createBgmPlayer(menuBgmPath);
+            menuBgmPlayer = player;
+            Platform.runLater(() -> { if (menuBgmWanted) player.play(); });
         } catch (Exception e) {
             System.err.println("Error loading Menu BGM: " + e.getMessage());
         }
-
-        unitTakeDamageSfx = loadClip("/audioes/unit_take_damage.mp3", 0.4);
-        baseTakeDamageSfx = loadClip("/audioes/base_take_damage.mp3", 0.5);
-        shootSfx = loadClip("/audioes/shoot.mp3", 0.5);
-        explosionSfx = loadClip("/audioes/loud_explosion.mp3", 1.0);
-        nukeSfx = loadClip("/audioes/nuke.mp3", 1.0);
     }
 
-    private void bgmMediaInit(String path) {
-        Media bgmMedia = new Media(path);
-        bgmPlayer = new MediaPlayer(bgmMedia);
-        bgmPlayer.setCycleCount(MediaPlayer.INDEFINITE);
-        bgmPlayer.setVolume(0.2);
-    }
-
-    private void menuBgmMediaInit(String path) {
-        Media menuBgMedia = new Media(path);
-        menuBgmPlayer = new MediaPlayer(menuBgMedia);
-        menuBgmPlayer.setCycleCount(MediaPlayer.INDEFINITE);
-        menuBgmPlayer.setVolume(0.2);
+    private static MediaPlayer createBgmPlayer(String path) {
+        MediaPlayer player = new MediaPlayer(new Media(path));
+        player.setCycleCount(MediaPlayer.INDEFINITE);
+        player.setVolume(0.2);
+        return player;
     }
 
     private AudioClip loadClip(String path, double volume) {
@@ -75,69 +119,132 @@ public class SoundManager {
     }
 
     /**
-     * Plays the Battle Background Music (BGM).
+     * Plays the Battle Background Music (BGM), or starts it as soon as it has loaded.
      */
     public void playBattleBGM() {
-        if (bgmPlayer != null) bgmPlayer.play();
+        battleBgmWanted = true;
+        MediaPlayer player = bgmPlayer;
+        if (player != null) player.play();
     }
 
     /**
      * Stops the Battle Background Music (BGM).
      */
     public void stopBattleBGM() {
-        if (bgmPlayer != null) bgmPlayer.stop();
+        battleBgmWanted = false;
+        MediaPlayer player = bgmPlayer;
+        if (player != null) player.stop();
     }
 
     /**
-     * Plays the Main Menu Background Music (BGM).
+     * Plays the Main Menu Background Music (BGM), or starts it as soon as it has loaded.
      */
     public void playMenuBGM() {
-        if (menuBgmPlayer != null) menuBgmPlayer.play();
+        menuBgmWanted = true;
+        MediaPlayer player = menuBgmPlayer;
+        if (player != null) player.play();
     }
 
     /**
      * Stops the Main Menu Background Music (BGM).
      */
     public void stopMenuBGM() {
-        if (menuBgmPlayer != null) menuBgmPlayer.stop();
+        menuBgmWanted = false;
+        MediaPlayer player = menuBgmPlayer;
+        if (player != null) player.stop();
     }
 
     /**
-     * Plays the sound effect for a unit taking damage.
+     * Plays the sound effect for a unit taking damage at the end of the frame.
      */
     public void playUnitTakeDamage() {
-        if (unitTakeDamageSfx != null) {
-            unitTakeDamageSfx.play();
-        }
+        unitTakeDamageVoices.trigger();
     }
 
     /**
-     * Plays the sound effect for the base taking damage.
+     * Plays the sound effect for the base taking damage at the end of the frame.
      */
     public void playBaseTakeDamage() {
-        if (baseTakeDamageSfx != null) {
-            baseTakeDamageSfx.play();
-        }
+        baseTakeDamageVoices.trigger();
     }
 
     /**
-     * Plays the sound effect for a projectile shooting.
+     * Plays the sound effect for a projectile shooting at the end of the frame.
      */
     public void playShootSound() {
-        if (shootSfx != null) shootSfx.play();
+        shootVoices.trigger();
+    }
+
+    /**
+     * Plays the combat sounds triggered during this frame, each at most once. Called once per frame.
+     * @param now The frame time in nanoseconds.
+     */
+    public void endFrame(long now) {
+        flush(unitTakeDamageVoices, unitTakeDamageSfx, now);
+        flush(baseTakeDamageVoices, baseTakeDamageSfx, now);
+        flush(shootVoices, shootSfx, now);
+    }
+
+    /**
+     * Forgets the combat sounds still sounding or waiting for the end of the frame, so a new battle
+     * does not start with the last one's triggers or voice cap. The counters are kept.
+     */
+    public void resetCombatSounds() {
+        unitTakeDamageVoices.reset();
+        baseTakeDamageVoices.reset();
+        shootVoices.reset();
+    }
+
+    private static void flush(VoiceLimiter voices, AudioClip clip, long now) {
+        voices.flush(now, scale -> {
+            if (clip != null) clip.play(Math.min(1.0, clip.getVolume() * scale));
+        });
+    }
+
+    /**
+     * Returns the number of combat sound triggers merged into another trigger's play.
+     * @return The merged trigger count.
+     */
+    public long getMergedTriggers() {
+        return unitTakeDamageVoices.getMerged() + baseTakeDamageVoices.getMerged() + shootVoices.getMerged();
+    }
+
+    /**
+     * Returns the number of combat sound triggers dropped by a voice cap or retrigger interval.
+     * @return The dropped trigger count.
+     */
+    public long getDroppedTriggers() {
+        return unitTakeDamageVoices.getDropped() + baseTakeDamageVoices.getDropped() + shootVoices.getDropped();
+    }
+
+    /**
+     * Formats the played, merged and dropped triggers of every combat sound.
+     * @return The report, one line per sound.
+     */
+    public String report() {
+        return reportLine("unit damage", unitTakeDamageVoices)
+                + reportLine("base damage", baseTakeDamageVoices)
+                + reportLine("shoot", shootVoices);
+    }
+
+    private static String reportLine(String name, VoiceLimiter voices) {
+        return String.format(Locale.ROOT, "sfx %-12s played %d, merged %d, dropped %d%n",
+                name, voices.getPlayed(), voices.getMerged(), voices.getDropped());
     }
 
     /**
      * Plays the sound effect for a large explosion (e.g., base destruction).
      */
     public void playBaseExplosion() {
-        if (explosionSfx != null) explosionSfx.play();
+        AudioClip clip = explosionSfx;
+        if (clip != null) clip.play();
     }
 
     /**
      * Plays the sound effect for the Nuke ability.
      */
     public void playNukeSound() {
-        if (nukeSfx != null) nukeSfx.play();
+        AudioClip clip = nukeSfx;
+        if (clip != null) clip.play();
     }
 }
\ No newline at end of file
@@ -0,0 +1,131 @@
+package This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode;
+
+import java.util.function.DoubleConsumer;
+
+/**
+ * Decides when one sound effect actually plays, so a big fight does not start dozens of copies per frame.
+ * <p>
+ * Callers {@link #trigger() trigger} the sound as often as the game asks for it, and once per frame
+ * {@link #flush(long, DoubleConsumer)} turns that frame's triggers into at most one play:
+ * <ul>
+ * <li>Triggers in the same frame are merged into one play, a little louder for each doubling
+ * of their number.</li>
+ * <li>A play within the minimum retrigger interval of the previous one is dropped.</li>
+ * <li>A play while the voice cap's worth of copies are still sounding is dropped.</li>
+ * </ul>
+ * Every trigger ends up counted exactly once, as played, merged into a play or dropped, so the
+ * limits can be tuned from the numbers.
+ * </p>
+ */
+public class VoiceLimiter {
+    /** The extra volume for each doubling of the triggers merged into one play. */
+    public static final double GAIN_PER_DOUBLING = 0.2;
+    /** The most a merged play is scaled up. */
+    public static final double MAX_VOLUME_SCALE = 2.0;
+
+    private final long minIntervalNanos;
+    private final long voiceNanos;
+    // Start times of the voices that may still be sounding, oldest first, as a ring.
+    private final long[] voiceStarts;
+    private int voiceHead;
+    private int voiceCount;
+
+    private long lastPlay = Long.MIN_VALUE;
+    private int pending;
+
+    private long played;
+    private long merged;
+    private long dropped;
+
+    /**
+     * Initializes a limiter with no voice sounding.
+     * @param maxVoices The most copies of the sound playing at once.
+     * @param minIntervalNanos The shortest time between two plays, in nanoseconds.
+     * @param voiceNanos How long one copy of the sound plays, in nanoseconds.
+     */
+    public VoiceLimiter(int maxVoices, long minIntervalNanos, long voiceNanos) {
+        if (maxVoices <= 0) throw new IllegalArgumentException("maxVoices must be positive: " + maxVoices);
+        this.voiceStarts = new long[maxVoices];
+        this.minIntervalNanos = minIntervalNanos;
+        this.voiceNanos = voiceNanos;
+    }
+
+    /**
+     * Asks for the sound to be played at the end of this frame.
+     */
+    public void trigger() {
+        pending++;
+    }
+
+    /**
+     * Plays the sound once for every trigger since the last flush, if the limits allow it.
+     * @param now The frame time in nanoseconds.
+     * @param play Called with the volume scale if the sound should play now.
+     * @return {@code true} if the sound was played, {@code false} otherwise.
+     */
+    public boolean flush(long now, DoubleConsumer play) {
+        if (pending == 0) return false;
+        int triggers = pending;
+        pending = 0;
+
+        while (voiceCount > 0 && now - voiceStarts[voiceHead] >= voiceNanos) {
+            voiceHead = (voiceHead + 1) % voiceStarts.length;
+            voiceCount--;
+        }
+        if ((lastPlay != Long.MIN_VALUE && now - lastPlay < minIntervalNanos) || voiceCount == voiceStarts.length) {
+            dropped += triggers;
+            return false;
+        }
+
+        voiceStarts[(voiceHead + voiceCount) % voiceStarts.length] = now;
+        voiceCount++;
+        lastPlay = now;
+        played++;
+        merged += triggers - 1;
+        play.accept(volumeScale(triggers));
+        return true;
+    }
+
+    /**
+     * Returns the volume scale of one play that stands for several triggers.
+     * @param triggers The number of triggers merged into the play.
+     * @return {@code 1} for a single trigger, growing by {@link #GAIN_PER_DOUBLING} per doubling up to {@link #MAX_VOLUME_SCALE}.
+     */
+    public static double volumeScale(int triggers) {
+        double doublings = Math.log(Math.max(triggers, 1)) / Math.log(2);
+        return Math.min(MAX_VOLUME_SCALE, 1 + GAIN_PER_DOUBLING * doublings);
+    }
+
+    /**
+     * Forgets the voices still sounding and any triggers not flushed yet. The counters are kept.
+     */
+    public void reset() {
+        voiceCount = 0;
+        pending = 0;
+        lastPlay = Long.MIN_VALUE;
+    }
+
+    /**
+     * Returns the number of times the sound was played, one trigger each.
+     * @return The play count.
+     */
+    public long getPlayed() {
+        return played;
+    }
+
+    /**
+     * Returns the number of triggers that were merged into another trigger's play.
+     * @return The merged trigger count.
+     */
+    public long getMerged() {
+        return merged;
+    }
+
+    /**
+     * Returns the number of triggers that made no sound because of the retrigger interval or the voice cap.
+     * @return The dropped trigger count.
+     */
+    public long getDropped() {
+        return dropped;
+    }
+}
@@ -5,7 +5,8 @@ import turrets.Turret;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * The base of the player for deploying Unit and setup Turret; if hp is 0 or less than 0, the game ends.
@@ -17,9 +18,9 @@ public class Base implements Attackable
     private final List<Turret> TURRETS;
     private int turretCapacity;
 
-    private static int capacityUpgrades = 0;
+    private int capacityUpgrades;
 
-    private static final Random random = new Random();
+    private RandomGenerator random;
 
     /**
      * Initializes the field according to the given parameter, sets turretCapacity to 1,
@@ -78,23 +79,18 @@ public class Base implements Attackable
         }
     }
 
-    /**
-     * Sets capacityUpgrades to 0.
-     */
-    public static void resetUpgrades() {
-        capacityUpgrades = 0;
-    }
-
     /**
      * Reduce base's hp by damage from the calculation.
      * Calculate by rounding baseDamage multiply by 0.75 + (0.5 * random double in range of 0.0 &lt;= value &lt; 1.0).
+     * The random double comes from the base's generator, or from the current thread's generator if none was set.
      * @param baseDamage The damage that the base is received without further calculation.
      * @return The acutal damage that is taking
      */
     @Override
     public int takeDamage(int baseDamage)
     {
-        double variation = 0.75 + (0.5 * random.nextDouble());
+        RandomGenerator rng = random != null ? random : ThreadLocalRandom.current();
+        double variation = 0.75 + (0.5 * rng.nextDouble());
         int actualDamage = (int) Math.round(baseDamage * variation);
         this.setHp(this.getHp() - actualDamage);
         return actualDamage;
@@ -171,8 +167,27 @@ public class Base implements Attackable
      * Returns capacityUpgrades of the base.
      * @return The capacityUpgrades of the base as int.
      */
-    public static int getCapacityUpgrades()
+    public int getCapacityUpgrades()
     {
         return capacityUpgrades;
     }
+
+    /**
+     * Sets capacityUpgrades of the base.
+     * It cannot be less than 0.
+     * @param capacityUpgrades The new capacityUpgrades for the base.
+     */
+    public void setCapacityUpgrades(int capacityUpgrades)
+    {
+        this.capacityUpgrades = Math.max(capacityUpgrades, 0);
+    }
+
+    /**
+     * Sets the generator used for the damage variance of the base.
+     * @param random The new generator, or {@code null} to use the current thread's generator.
+     */
+    public void setRandom(RandomGenerator random)
+    {
+        this.random = random;
+    }
 }
\ No newline at end of file
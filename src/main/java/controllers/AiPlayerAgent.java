@@ -0,0 +1,87 @@
+package controllers;
+
+import This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode.GameManager;
+import turrets.TurretType;
+import units.Unit;
+import units.UnitType;
+
+import java.util.List;
+
+/**
+ * A simple rule-based player agent for headless matches.
+ * <p>
+ * Every few steps it looks at the enemy unit closest to the player's base and trains its counter,
+ * buys turrets and upgrades once it has money to spare, and fires the nuke when the enemy
+ * has built up a large push. It is meant as a repeatable opponent for engine measurements,
+ * not as a strong player.
+ * </p>
+ */
+public class AiPlayerAgent implements PlayerAgent
+{
+    private static final long DECISION_INTERVAL = 15;
+    private static final int NUKE_THRESHOLD = 6;
+    private static final int UPGRADE_COST = 300;
+    private static final int ARMY_CAP = 8;
+
+    /**
+     * Makes one decision every {@code DECISION_INTERVAL} steps.
+     * @param controller The controller of the running match.
+     * @param step The number of steps already run in this match.
+     */
+    @Override
+    public void act(GameController controller, long step)
+    {
+        if (step % DECISION_INTERVAL != 0) return;
+        GameManager gm = controller.getGameManager();
+        int balance = gm.getCurrencySystem().getBalance();
+        List<Unit> enemies = gm.getEnemyUnits();
+
+        if (enemies.size() >= NUKE_THRESHOLD && gm.getNukeAbility().isReady()
+                && balance >= gm.getNukeAbility().getCost())
+        {
+            controller.playerUseAbility(gm.getNukeAbility(), enemies);
+            return;
+        }
+
+        if (gm.getPlayerBase().getTurrets().size() < gm.getPlayerBase().getTurretCapacity()
+                && balance >= TurretType.LONG_RANGE.getCost() + 200)
+        {
+            controller.playerPlaceTurret(TurretType.LONG_RANGE.create());
+            return;
+        }
+
+        if (!gm.getPlayerUnits().isEmpty() && saveForUpgrades(controller, balance)) return;
+
+        if (gm.getPlayerUnits().size() + gm.getQueueSize() >= ARMY_CAP) return;
+
+        UnitType next = UnitType.MELEE;
+        Unit front = null;
+        for (Unit enemy : enemies)
+        {
+            if (enemy.isAlive() && (front == null || enemy.getCoordinate() < front.getCoordinate())) front = enemy;
+        }
+        if (front != null) next = UnitType.of(front).counteredBy();
+        controller.playerQueueUnit(next.create());
+    }
+
+    // Buys the next missing unit upgrade, or holds back training while saving for it.
+    private boolean saveForUpgrades(GameController controller, int balance)
+    {
+        if (!controller.getGameManager().getUpgradeSystem().isUnitAttackUpgraded())
+        {
+            if (balance >= UPGRADE_COST) controller.playerUpgradeUnitAttack(UPGRADE_COST);
+            return gameIsCalm(controller);
+        }
+        if (!controller.getGameManager().getUpgradeSystem().isUnitHpUpgraded())
+        {
+            if (balance >= UPGRADE_COST) controller.playerUpgradeUnitHp(UPGRADE_COST);
+            return gameIsCalm(controller);
+        }
+        return false;
+    }
+
+    private boolean gameIsCalm(GameController controller)
+    {
+        return controller.getGameManager().getPlayerUnits().size() > controller.getGameManager().getEnemyUnits().size();
+    }
+}
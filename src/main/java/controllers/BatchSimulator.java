@@ -0,0 +1,206 @@
+package controllers;
+
+import This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode.GameManager.GameState;
+import controllers.HeadlessMatchRunner.MatchReport;
+import systems.MatchRandom;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Plays many headless matches in parallel and aggregates their outcomes.
+ * <p>
+ * Every worker thread owns one {@link GameController} and plays matches on it one after
+ * another. Matches share no mutable state, so workers never synchronize while playing; the
+ * only shared value is the counter they claim match numbers from, which keeps every core busy
+ * even when match lengths vary. Each worker tallies its own results, and the tallies are
+ * merged once all matches are done.
+ * </p>
+ */
+public class BatchSimulator
+{
+    /**
+     * The aggregated results of a batch.
+     * @param matches The number of matches played.
+     * @param playerWins The number of matches the player won.
+     * @param enemyWins The number of matches the enemy won.
+     * @param undecided The number of matches stopped at the time limit.
+     * @param steps The number of simulation steps run over all matches.
+     * @param simNanos The simulated time covered by all matches, in nanoseconds.
+     * @param wallNanos The real time the whole batch took, in nanoseconds.
+     * @param threads The number of worker threads used.
+     */
+    public record BatchReport(int matches, int playerWins, int enemyWins, int undecided,
+                              long steps, long simNanos, long wallNanos, int threads)
+    {
+        /**
+         * Returns the share of matches the player won.
+         * @return The player win rate, from 0 to 1.
+         */
+        public double playerWinRate() { return matches == 0 ? 0 : (double) playerWins / matches; }
+
+        /**
+         * Returns the share of matches the enemy won.
+         * @return The enemy win rate, from 0 to 1.
+         */
+        public double enemyWinRate() { return matches == 0 ? 0 : (double) enemyWins / matches; }
+
+        /**
+         * Returns the number of matches finished per real second.
+         * @return The match throughput.
+         */
+        public double matchesPerSecond() { return matches / (wallNanos / 1e9); }
+
+        /**
+         * Returns the number of simulation steps run per real second over all threads.
+         * @return The combined tick rate.
+         */
+        public double ticksPerSecond() { return steps / (wallNanos / 1e9); }
+    }
+
+    private final int threads;
+    private final int startingCurrency;
+    private final int baseHp;
+    private final double maxSimSeconds;
+
+    /**
+     * Initializes a simulator using one thread per available processor.
+     * @param startingCurrency The currency each match starts with.
+     * @param baseHp The hp of both bases in each match.
+     * @param maxSimSeconds The simulated time after which a match is stopped as undecided.
+     */
+    public BatchSimulator(int startingCurrency, int baseHp, double maxSimSeconds)
+    {
+        this(Runtime.getRuntime().availableProcessors(), startingCurrency, baseHp, maxSimSeconds);
+    }
+
+    /**
+     * Initializes a simulator with a fixed number of threads.
+     * @param threads The number of worker threads; must be positive.
+     * @param startingCurrency The currency each match starts with.
+     * @param baseHp The hp of both bases in each match.
+     * @param maxSimSeconds The simulated time after which a match is stopped as undecided.
+     */
+    public BatchSimulator(int threads, int startingCurrency, int baseHp, double maxSimSeconds)
+    {
+        if (threads <= 0) throw new IllegalArgumentException("threads must be positive: " + threads);
+        this.threads = threads;
+        this.startingCurrency = startingCurrency;
+        this.baseHp = baseHp;
+        this.maxSimSeconds = maxSimSeconds;
+    }
+
+    /**
+     * Plays the given number of matches with random seeds and waits for all of them to finish.
+     * @param matches The number of matches to play.
+     * @param agents Creates the agent of each match; called from the worker threads.
+     * @return The aggregated results.
+     * @throws InterruptedException If the calling thread is interrupted while waiting.
+     */
+    public BatchReport run(int matches, Supplier<PlayerAgent> agents) throws InterruptedException
+    {
+        return run(matches, agents, MatchRandom.newSeed());
+    }
+
+    /**
+     * Plays the given number of matches and waits for all of them to finish.
+     * Match {@code i} is played with seed {@code seed + i}, whichever thread picks it up,
+     * so with deterministic agents the whole batch is reproducible.
+     * @param matches The number of matches to play.
+     * @param agents Creates the agent of each match; called from the worker threads.
+     * @param seed The seed of the first match.
+     * @return The aggregated results.
+     * @throws InterruptedException If the calling thread is interrupted while waiting.
+     */
+    public BatchReport run(int matches, Supplier<PlayerAgent> agents, long seed) throws InterruptedException
+    {
+        int workers = Math.max(1, Math.min(threads, matches));
+        AtomicInteger nextMatch = new AtomicInteger();
+        List<Callable<Tally>> tasks = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++)
+        {
+            tasks.add(() -> playUntilDone(matches, nextMatch, agents, seed));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        long start = System.nanoTime();
+        try
+        {
+            Tally total = new Tally();
+            for (Future<Tally> result : pool.invokeAll(tasks))
+            {
+                total.merge(getResult(result));
+            }
+            long wall = Math.max(1, System.nanoTime() - start);
+            return new BatchReport(total.matches, total.playerWins, total.enemyWins, total.undecided,
+                    total.steps, total.simNanos, wall, workers);
+        }
+        finally
+        {
+            pool.shutdownNow();
+        }
+    }
+
+    private Tally playUntilDone(int matches, AtomicInteger nextMatch, Supplier<PlayerAgent> agents, long seed)
+    {
+        HeadlessMatchRunner runner = new HeadlessMatchRunner(new GameController(startingCurrency, baseHp), maxSimSeconds);
+        Tally tally = new Tally();
+        for (int match = nextMatch.getAndIncrement(); match < matches; match = nextMatch.getAndIncrement())
+        {
+            tally.add(runner.play(agents.get(), seed + match));
+        }
+        return tally;
+    }
+
+    private static Tally getResult(Future<Tally> result) throws InterruptedException
+    {
+        try
+        {
+            return result.get();
+        }
+        catch (ExecutionException e)
+        {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw new IllegalStateException("Match failed", e.getCause());
+        }
+    }
+
+    // Per-worker totals; only touched by the thread that owns it until it is merged.
+    private static final class Tally
+    {
+        private int matches;
+        private int playerWins;
+        private int enemyWins;
+        private int undecided;
+        private long steps;
+        private long simNanos;
+
+        private void add(MatchReport report)
+        {
+            matches++;
+            if (report.outcome() == GameState.PLAYER_WIN) playerWins++;
+            else if (report.outcome() == GameState.ENEMY_WIN) enemyWins++;
+            else undecided++;
+            steps += report.steps();
+            simNanos += report.simNanos();
+        }
+
+        private void merge(Tally other)
+        {
+            matches += other.matches;
+            playerWins += other.playerWins;
+            enemyWins += other.enemyWins;
+            undecided += other.undecided;
+            steps += other.steps;
+            simNanos += other.simNanos;
+        }
+    }
+}
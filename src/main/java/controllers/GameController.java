@@ -3,11 +3,19 @@ package controllers;
 import abilities.SpecialAbility;
 import This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode.GameManager;
 import This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode.GameManager.GameState;
+import controllers.Replay.Action;
+import systems.MatchRandom;
+import systems.SimulationClock;
 import turrets.Turret;
+import turrets.TurretType;
 import units.Unit;
-import base.Base;
+import units.UnitType;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
 
 /**
  * Controller class that bridges the game logic (GameManager) and the user interface.
@@ -16,6 +24,23 @@ import java.util.List;
  * and using abilities, delegating the actual logic execution to the GameManager.
  * It also manages the initialization and resetting of the game state.
  * </p>
+ * <p>
+ * Each turn measures the real time elapsed since the previous turn with an injectable
+ * time source and hands it to the GameManager's fixed-step simulation clock, scaled by the
+ * playback speed.
+ * </p>
+ * <p>
+ * While recording is on, every player action is logged with the step it was issued at, and
+ * {@link #getRecording()} turns the log into a {@link Replay}. {@link #startReplay(Replay)}
+ * starts a new game from a replay's seed and issues its commands at their recorded steps.
+ * Units and turrets are recorded by their {@link UnitType} and {@link TurretType}, so
+ * replays assume the shop stats; the nuke is recorded as targeting every enemy unit.
+ * </p>
+ * <p>
+ * While a replay plays, a snapshot of the match is kept every {@link #KEYFRAME_STEPS} steps.
+ * {@link #seekReplay(long)} restores the nearest snapshot before the target step and runs
+ * the remaining steps at full speed, so seeking costs at most one second of simulation.
+ * </p>
  */
 public class GameController
 {
@@ -23,28 +48,168 @@ public class GameController
 
     private final int startCurrency;
     private final int baseHp;
+    private final LongSupplier timeSource;
+    private long lastTurnTime = NO_TURN_YET;
+    private double speed = 1.0;
+
+    private boolean recording;
+    private List<Replay.Command> recordedCommands;
+    private ReplayAgent replayAgent;
+    private final List<ByteBuffer> keyframes = new ArrayList<>();
+    private final LongConsumer beforeStep = this::beforeReplayStep;
+
+    private static final long NO_TURN_YET = Long.MIN_VALUE;
+
+    /**
+     * The number of steps between the snapshots kept while a replay plays; one second at the default step length.
+     */
+    public static final long KEYFRAME_STEPS = 60;
 
     /**
      * Initializes the fields according to given parameters and initializes gamaManager with the given parameters as parameters.
+     * Real time is read from {@link System#nanoTime()}.
      * @param startingCurrency The currency which is given at start.
      * @param baseHp The hp of the base.
      */
     public GameController(int startingCurrency, int baseHp)
+    {
+        this(startingCurrency, baseHp, System::nanoTime);
+    }
+
+    /**
+     * Initializes the fields according to given parameters with a custom time source.
+     * @param startingCurrency The currency which is given at start.
+     * @param baseHp The hp of the base.
+     * @param timeSource Supplies the current real time in nanoseconds for measuring turn lengths.
+     */
+    public GameController(int startingCurrency, int baseHp, LongSupplier timeSource)
     {
         this.startCurrency = startingCurrency;
         this.baseHp = baseHp;
+        this.timeSource = timeSource;
         this.gameManager = new GameManager(startingCurrency, baseHp);
     }
 
     /**
-     * Reset upgrades on unit, turret, and base, then initializes gameManager with startCurrency and baseHp as paramters.
+     * Initializes a new gameManager with startCurrency and baseHp as paramters.
+     * Upgrades belong to the gameManager, so the new match starts without any.
      */
     public void resetGame() {
-        Unit.resetUpgrades();
-        Turret.resetUpgrades();
-        Base.resetUpgrades();
+        resetGame(MatchRandom.newSeed());
+    }
+
+    /**
+     * Initializes a new gameManager whose random streams are split from the given seed,
+     * so the match can be reproduced by replaying the same commands.
+     * Stops any running replay and, if recording is on, starts a new recording.
+     * @param seed The seed of the new match.
+     */
+    public void resetGame(long seed) {
+        this.gameManager = new GameManager(startCurrency, baseHp, seed);
+        this.lastTurnTime = NO_TURN_YET;
+        this.replayAgent = null;
+        this.keyframes.clear();
+        this.recordedCommands = recording ? new ArrayList<>() : null;
+    }
+
+    /**
+     * Continues a match from a snapshot written by {@link GameManager#saveSnapshot(java.nio.ByteBuffer)},
+     * such as one saved before the game was closed.
+     * Stops any running replay; a recording in progress is dropped, since a replay cannot start mid-match.
+     * @param snapshot The buffer holding the snapshot, read from its position.
+     * @throws IllegalArgumentException If the buffer does not hold a complete snapshot.
+     */
+    public void restoreSnapshot(ByteBuffer snapshot) {
+        this.gameManager = GameManager.fromSnapshot(snapshot);
+        this.lastTurnTime = NO_TURN_YET;
+        this.replayAgent = null;
+        this.keyframes.clear();
+        this.recordedCommands = null;
+    }
 
-        this.gameManager = new GameManager(startCurrency, baseHp);
+    /**
+     * Starts a new game that plays back a replay.
+     * The replay's commands are issued by {@link #nextTurn()} at the steps they were recorded at.
+     * @param replay The replay to play; it must have been recorded with this controller's settings.
+     * @throws IllegalArgumentException If the replay's starting currency or base hp differ.
+     */
+    public void startReplay(Replay replay) {
+        if (replay.getStartingCurrency() != startCurrency || replay.getBaseHp() != baseHp) {
+            throw new IllegalArgumentException("Replay was recorded with different game settings");
+        }
+        resetGame(replay.getSeed());
+        this.replayAgent = new ReplayAgent(replay);
+    }
+
+    /**
+     * Moves the running replay to the given step, backwards or forwards.
+     * <p>
+     * The match is restored from the last snapshot at or before the step, when that is closer than
+     * the current step, and then stepped forward without waiting for real time. Seeking past the end
+     * of the match stops at the step it ended on.
+     * </p>
+     * @param step The step to move to.
+     * @throws IllegalStateException If no replay is running.
+     */
+    public void seekReplay(long step) {
+        if (replayAgent == null) throw new IllegalStateException("No replay is running");
+        SimulationClock clock = gameManager.getClock();
+        int keyframe = (int) Math.min(Math.max(step, 0) / KEYFRAME_STEPS, keyframes.size() - 1);
+        if (keyframe >= 0 && (step < clock.getStepCount() || keyframe * KEYFRAME_STEPS > clock.getStepCount())) {
+            gameManager.restoreSnapshot(keyframes.get(keyframe).duplicate());
+            replayAgent.seek(clock.getStepCount());
+        }
+        while (clock.getStepCount() < step && gameManager.tick(clock.getStepNanos(), beforeStep) == GameState.ONGOING) {
+            // each tick runs exactly one step
+        }
+        this.lastTurnTime = NO_TURN_YET;
+    }
+
+    // Keeps a snapshot at every keyframe step the first time playback reaches it, then issues the replay's commands.
+    private void beforeReplayStep(long step) {
+        if (step % KEYFRAME_STEPS == 0 && step / KEYFRAME_STEPS == keyframes.size()) {
+            keyframes.add(gameManager.saveSnapshot(null));
+        }
+        replayAgent.act(this, step);
+    }
+
+    /**
+     * Check whether a replay is being played back.
+     * @return {@code true} if a replay is running, {@code false} otherwise.
+     */
+    public boolean isReplaying() {
+        return replayAgent != null;
+    }
+
+    /**
+     * Switches recording of player actions on or off. Takes effect from the next {@link #resetGame()}.
+     * @param recording The new recording setting.
+     */
+    public void setRecording(boolean recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * Check whether player actions are being recorded.
+     * @return {@code true} if recording is on, {@code false} otherwise.
+     */
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * Returns the recording of the current match up to now.
+     * @return The replay, or {@code null} if the current match is not being recorded.
+     */
+    public Replay getRecording() {
+        if (recordedCommands == null) return null;
+        return new Replay(gameManager.getSeed(), startCurrency, baseHp, recordedCommands, gameManager.getClock().getStepCount());
+    }
+
+    private void record(Action action, int argument) {
+        if (recordedCommands != null) {
+            recordedCommands.add(new Replay.Command(gameManager.getClock().getStepCount(), action, argument));
+        }
     }
 
     /**
@@ -53,6 +218,7 @@ public class GameController
      * @return Return value of gameManager.queueUnit method.
      */
     public boolean playerQueueUnit(Unit unit) {
+        record(Action.QUEUE_UNIT, UnitType.of(unit).ordinal());
         return gameManager.queueUnit(unit);
     }
 
@@ -62,6 +228,7 @@ public class GameController
      * @return Return value of gameManager.placePlayerTurret method.
      */
     public int playerPlaceTurret(Turret turret) {
+        record(Action.PLACE_TURRET, TurretType.of(turret).ordinal());
         return gameManager.placePlayerTurret(turret);
     }
 
@@ -70,6 +237,7 @@ public class GameController
      * @param slotIndex The slot number of player's turret.
      */
     public void playerSellTurret(int slotIndex) {
+        if (slotIndex >= 0) record(Action.SELL_TURRET, slotIndex);
         gameManager.sellTurret(slotIndex);
     }
 
@@ -81,6 +249,7 @@ public class GameController
      */
     public boolean playerUseAbility(SpecialAbility ability, List<Unit> targets)
     {
+        if (ability == gameManager.getNukeAbility()) record(Action.USE_NUKE, 0);
         return gameManager.useAbility(ability, targets);
     }
 
@@ -90,6 +259,7 @@ public class GameController
      */
     public void playerUpgradeUnitAttack(int cost)
     {
+        record(Action.UPGRADE_UNIT_ATTACK, cost);
         gameManager.upgradeUnitAttack(cost);
     }
 
@@ -99,6 +269,7 @@ public class GameController
      */
     public void playerUpgradeUnitHp(int cost)
     {
+        record(Action.UPGRADE_UNIT_HP, cost);
         gameManager.upgradeUnitHp(cost);
     }
 
@@ -108,6 +279,7 @@ public class GameController
      */
     public void playerUpgradeTurretAttack(int cost)
     {
+        record(Action.UPGRADE_TURRET_ATTACK, cost);
         gameManager.upgradeTurretAttack(cost);
     }
 
@@ -117,6 +289,7 @@ public class GameController
      */
     public void playerUpgradeTurretRange(int cost)
     {
+        record(Action.UPGRADE_TURRET_RANGE, cost);
         gameManager.upgradeTurretRange(cost);
     }
 
@@ -125,16 +298,43 @@ public class GameController
      * @param cost The cost to upgrade player's base capacity.
      */
     public void playerUpgradeBaseCapacity(int cost) {
+        record(Action.UPGRADE_BASE_CAPACITY, cost);
         gameManager.upgradeBaseCapacity(cost);
     }
 
     /**
-     * Returns tick method in gameManager class.
+     * Advances gameManager by the real time elapsed since the previous turn, multiplied by the speed.
+     * The first turn after construction or {@link #resetGame()} only starts the measurement.
+     * During a replay its commands are issued before the steps they were recorded at.
      * @return Return value of tick method in gameManager class as GameState.
      */
     public GameState nextTurn()
     {
-        return gameManager.tick();
+        long now = timeSource.getAsLong();
+        long elapsed = (lastTurnTime == NO_TURN_YET) ? 0 : now - lastTurnTime;
+        lastTurnTime = now;
+        long scaled = (long) (elapsed * speed);
+        return replayAgent == null ? gameManager.tick(scaled) : gameManager.tick(scaled, beforeStep);
+    }
+
+    /**
+     * Returns the playback speed.
+     * @return The factor applied to elapsed real time.
+     */
+    public double getSpeed()
+    {
+        return speed;
+    }
+
+    /**
+     * Sets the playback speed. The simulation still runs at most
+     * {@link systems.SimulationClock#MAX_STEPS_PER_ADVANCE} steps per turn.
+     * @param speed The factor applied to elapsed real time; must be positive.
+     */
+    public void setSpeed(double speed)
+    {
+        if (!(speed > 0)) throw new IllegalArgumentException("speed must be positive: " + speed);
+        this.speed = speed;
     }
 
     /**
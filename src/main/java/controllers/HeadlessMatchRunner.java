@@ -0,0 +1,127 @@
+package controllers;
+
+import This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode.GameManager;
+import This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode.GameManager.GameState;
+import systems.MatchRandom;
+
+/**
+ * Plays whole matches without a user interface, as fast as the CPU allows.
+ * <p>
+ * The runner steps the {@link GameManager} one fixed simulation step at a time with no frame
+ * pacing, letting a {@link PlayerAgent} issue player commands before each step. It measures
+ * the simulation on its own, separate from any rendering cost.
+ * </p>
+ */
+public class HeadlessMatchRunner
+{
+    /**
+     * The result and throughput of one headless match.
+     * @param outcome The final game state; {@code ONGOING} if the match hit the time limit.
+     * @param steps The number of simulation steps run.
+     * @param simNanos The simulated time covered, in nanoseconds.
+     * @param wallNanos The real time the match took, in nanoseconds.
+     */
+    public record MatchReport(GameState outcome, long steps, long simNanos, long wallNanos)
+    {
+        /**
+         * Returns the number of simulation steps run per real second.
+         * @return The tick rate.
+         */
+        public double ticksPerSecond() { return steps / (wallNanos / 1e9); }
+
+        /**
+         * Returns how many simulated seconds passed per real second.
+         * @return The speed-up over real time.
+         */
+        public double simSecondsPerWallSecond() { return (double) simNanos / wallNanos; }
+    }
+
+    private final GameController controller;
+    private final long maxSteps;
+    private boolean profiling;
+
+    /**
+     * Initializes the runner.
+     * @param controller The controller whose game is played; it is reset before every match.
+     * @param maxSimSeconds The simulated time after which a match is stopped as undecided.
+     */
+    public HeadlessMatchRunner(GameController controller, double maxSimSeconds)
+    {
+        this((long) (maxSimSeconds * 1e9 / controller.getGameManager().getClock().getStepNanos()), controller);
+    }
+
+    private HeadlessMatchRunner(long maxSteps, GameController controller)
+    {
+        this.controller = controller;
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * Plays a replay back headlessly, as fast as the CPU allows.
+     * The match runs with the replay's seed and settings until it ends or the recording runs out.
+     * @param replay The replay to play.
+     * @return The report of the replayed match.
+     */
+    public static MatchReport playReplay(Replay replay)
+    {
+        return playReplay(replay, new GameController(replay.getStartingCurrency(), replay.getBaseHp()));
+    }
+
+    /**
+     * Plays a replay back headlessly on the given controller, so its final state can be inspected.
+     * @param replay The replay to play.
+     * @param controller The controller to play on; it must use the replay's settings.
+     * @return The report of the replayed match.
+     */
+    public static MatchReport playReplay(Replay replay, GameController controller)
+    {
+        HeadlessMatchRunner runner = new HeadlessMatchRunner(replay.getLength(), controller);
+        return runner.play(new ReplayAgent(replay), replay.getSeed());
+    }
+
+    /**
+     * Sets whether the tick profiler of each match is switched on.
+     * The profile of the last match can be read from the controller's game manager after {@link #play(PlayerAgent)}.
+     * @param profiling The new profiling setting.
+     */
+    public void setProfiling(boolean profiling)
+    {
+        this.profiling = profiling;
+    }
+
+    /**
+     * Resets the game with a random seed and plays one match to the end or to the time limit.
+     * @param agent The agent issuing the player's commands.
+     * @return The report of the match.
+     */
+    public MatchReport play(PlayerAgent agent)
+    {
+        return play(agent, MatchRandom.newSeed());
+    }
+
+    /**
+     * Resets the game with the given seed and plays one match to the end or to the time limit.
+     * A deterministic agent playing the same seed always produces the same match.
+     * @param agent The agent issuing the player's commands.
+     * @param seed The seed of the match.
+     * @return The report of the match.
+     */
+    public MatchReport play(PlayerAgent agent, long seed)
+    {
+        controller.resetGame(seed);
+        GameManager gm = controller.getGameManager();
+        gm.getProfiler().setEnabled(profiling);
+
+        GameState state = GameState.ONGOING;
+        long steps = 0;
+        long start = System.nanoTime();
+        while (state == GameState.ONGOING && steps < maxSteps)
+        {
+            agent.act(controller, steps);
+            state = gm.tick();
+            steps++;
+        }
+        long wall = Math.max(1, System.nanoTime() - start);
+        return new MatchReport(state, steps, steps * gm.getClock().getStepNanos(), wall);
+    }
+}
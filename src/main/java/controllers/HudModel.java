@@ -0,0 +1,310 @@
+package controllers;
+
+import turrets.TurretType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The part of a match that the HUD and the base hp bars show, told apart by what changed.
+ * <p>
+ *     The view calls {@link #update(RenderSnapshot)} once per frame. Each group of values is compared
+ *     with what was shown last, and the listeners of a {@link Field} only run when one of its values
+ *     has moved, so labels and buttons are only touched when there is something new to show. After
+ *     {@link #invalidate()} the next update runs every listener, as the first one does.
+ * </p>
+ * <p>
+ *     Listeners run on the thread that calls {@link #update(RenderSnapshot)}, in the order they were added.
+ * </p>
+ */
+public class HudModel
+{
+    /**
+     * The groups of values that are reported as one change.
+     */
+    public enum Field
+    {
+        /** The player's currency. */
+        CURRENCY,
+        /** The training queue size and whether a unit is in training. */
+        QUEUE,
+        /** The player base's hp and max hp. */
+        PLAYER_BASE_HP,
+        /** The enemy base's hp and max hp. */
+        ENEMY_BASE_HP,
+        /** Whether the nuke is ready and its remaining cooldown. */
+        NUKE,
+        /** The bought upgrades, including base capacity. */
+        UPGRADES,
+        /** The type of the player's turret in each slot. */
+        TURRETS
+    }
+
+    private final Map<Field, List<Runnable>> listeners = new EnumMap<>(Field.class);
+    private boolean valid;
+
+    private int currency;
+    private int queueSize;
+    private boolean training;
+    private int playerBaseHp;
+    private int playerBaseMaxHp;
+    private int enemyBaseHp;
+    private int enemyBaseMaxHp;
+    private boolean nukeReady;
+    private int nukeCooldown;
+    private boolean unitAttackUpgraded;
+    private boolean unitHpUpgraded;
+    private boolean turretAttackUpgraded;
+    private boolean turretRangeUpgraded;
+    private int capacityUpgrades;
+    private TurretType[] turrets = new TurretType[4];
+    private int turretCount;
+
+    /**
+     * Initializes a model whose first update reports every field as changed.
+     */
+    public HudModel()
+    {
+        for (Field field : Field.values()) listeners.put(field, new ArrayList<>());
+    }
+
+    /**
+     * Adds a listener that runs whenever a field changes.
+     * @param field The field to watch.
+     * @param listener Runs after the field's new values are stored; read them through the getters.
+     */
+    public void addListener(Field field, Runnable listener)
+    {
+        listeners.get(field).add(listener);
+    }
+
+    /**
+     * Forgets the values shown so far, so the next update reports every field as changed.
+     * Used when the view starts showing a different match.
+     */
+    public void invalidate()
+    {
+        valid = false;
+    }
+
+    /**
+     * Stores the values of a snapshot and runs the listeners of every field that changed.
+     * @param snapshot The snapshot drawn this frame.
+     */
+    public void update(RenderSnapshot snapshot)
+    {
+        boolean all = !valid;
+        valid = true;
+
+        if (all || currency != snapshot.getCurrency())
+        {
+            currency = snapshot.getCurrency();
+            fire(Field.CURRENCY);
+        }
+        if (all || queueSize != snapshot.getQueueSize() || training != snapshot.isTraining())
+        {
+            queueSize = snapshot.getQueueSize();
+            training = snapshot.isTraining();
+            fire(Field.QUEUE);
+        }
+        if (all || playerBaseHp != snapshot.getPlayerBaseHp() || playerBaseMaxHp != snapshot.getPlayerBaseMaxHp())
+        {
+            playerBaseHp = snapshot.getPlayerBaseHp();
+            playerBaseMaxHp = snapshot.getPlayerBaseMaxHp();
+            fire(Field.PLAYER_BASE_HP);
+        }
+        if (all || enemyBaseHp != snapshot.getEnemyBaseHp() || enemyBaseMaxHp != snapshot.getEnemyBaseMaxHp())
+        {
+            enemyBaseHp = snapshot.getEnemyBaseHp();
+            enemyBaseMaxHp = snapshot.getEnemyBaseMaxHp();
+            fire(Field.ENEMY_BASE_HP);
+        }
+        if (all || nukeReady != snapshot.isNukeReady() || nukeCooldown != snapshot.getNukeCooldown())
+        {
+            nukeReady = snapshot.isNukeReady();
+            nukeCooldown = snapshot.getNukeCooldown();
+            fire(Field.NUKE);
+        }
+        if (all || unitAttackUpgraded != snapshot.isUnitAttackUpgraded() || unitHpUpgraded != snapshot.isUnitHpUpgraded()
+                || turretAttackUpgraded != snapshot.isTurretAttackUpgraded() || turretRangeUpgraded != snapshot.isTurretRangeUpgraded()
+                || capacityUpgrades != snapshot.getCapacityUpgrades())
+        {
+            unitAttackUpgraded = snapshot.isUnitAttackUpgraded();
+            unitHpUpgraded = snapshot.isUnitHpUpgraded();
+            turretAttackUpgraded = snapshot.isTurretAttackUpgraded();
+            turretRangeUpgraded = snapshot.isTurretRangeUpgraded();
+            capacityUpgrades = snapshot.getCapacityUpgrades();
+            fire(Field.UPGRADES);
+        }
+        if (all || turretsChanged(snapshot))
+        {
+            turretCount = snapshot.getTurretCount();
+            if (turrets.length < turretCount) turrets = Arrays.copyOf(turrets, Math.max(turretCount, turrets.length * 2));
+            for (int slot = 0; slot < turretCount; slot++) turrets[slot] = TurretType.of(snapshot.turret(slot));
+            fire(Field.TURRETS);
+        }
+    }
+
+    private boolean turretsChanged(RenderSnapshot snapshot)
+    {
+        if (turretCount != snapshot.getTurretCount()) return true;
+        for (int slot = 0; slot < turretCount; slot++)
+        {
+            if (turrets[slot] != TurretType.of(snapshot.turret(slot))) return true;
+        }
+        return false;
+    }
+
+    private void fire(Field field)
+    {
+        for (Runnable listener : listeners.get(field)) listener.run();
+    }
+
+    /**
+     * Returns the player's currency.
+     * @return The balance as int.
+     */
+    public int getCurrency()
+    {
+        return currency;
+    }
+
+    /**
+     * Returns the number of units waiting in the training queue.
+     * @return The queue size as int.
+     */
+    public int getQueueSize()
+    {
+        return queueSize;
+    }
+
+    /**
+     * Check whether a unit is being trained.
+     * @return {@code true} if a unit is in training, {@code false} otherwise.
+     */
+    public boolean isTraining()
+    {
+        return training;
+    }
+
+    /**
+     * Returns the player base's hp.
+     * @return The hp as int.
+     */
+    public int getPlayerBaseHp()
+    {
+        return playerBaseHp;
+    }
+
+    /**
+     * Returns the player base's max hp.
+     * @return The max hp as int.
+     */
+    public int getPlayerBaseMaxHp()
+    {
+        return playerBaseMaxHp;
+    }
+
+    /**
+     * Returns the enemy base's hp.
+     * @return The hp as int.
+     */
+    public int getEnemyBaseHp()
+    {
+        return enemyBaseHp;
+    }
+
+    /**
+     * Returns the enemy base's max hp.
+     * @return The max hp as int.
+     */
+    public int getEnemyBaseMaxHp()
+    {
+        return enemyBaseMaxHp;
+    }
+
+    /**
+     * Check whether the nuke can be used.
+     * @return {@code true} if the nuke is off cooldown, {@code false} otherwise.
+     */
+    public boolean isNukeReady()
+    {
+        return nukeReady;
+    }
+
+    /**
+     * Returns the remaining cooldown of the nuke.
+     * @return The cooldown as int.
+     */
+    public int getNukeCooldown()
+    {
+        return nukeCooldown;
+    }
+
+    /**
+     * Check whether the unit attack upgrade was bought.
+     * @return {@code true} if it was bought, {@code false} otherwise.
+     */
+    public boolean isUnitAttackUpgraded()
+    {
+        return unitAttackUpgraded;
+    }
+
+    /**
+     * Check whether the unit hp upgrade was bought.
+     * @return {@code true} if it was bought, {@code false} otherwise.
+     */
+    public boolean isUnitHpUpgraded()
+    {
+        return unitHpUpgraded;
+    }
+
+    /**
+     * Check whether the turret attack upgrade was bought.
+     * @return {@code true} if it was bought, {@code false} otherwise.
+     */
+    public boolean isTurretAttackUpgraded()
+    {
+        return turretAttackUpgraded;
+    }
+
+    /**
+     * Check whether the turret range upgrade was bought.
+     * @return {@code true} if it was bought, {@code false} otherwise.
+     */
+    public boolean isTurretRangeUpgraded()
+    {
+        return turretRangeUpgraded;
+    }
+
+    /**
+     * Returns the number of base capacity upgrades bought.
+     * @return The capacity upgrade count as int.
+     */
+    public int getCapacityUpgrades()
+    {
+        return capacityUpgrades;
+    }
+
+    /**
+     * Returns the number of turrets the player has.
+     * @return The turret count as int.
+     */
+    public int getTurretCount()
+    {
+        return turretCount;
+    }
+
+    /**
+     * Returns the type of the player's turret in a slot.
+     * @param slot The slot, below {@link #getTurretCount()}.
+     * @return The turret type.
+     */
+    public TurretType turretType(int slot)
+    {
+        return turrets[slot];
+    }
+}
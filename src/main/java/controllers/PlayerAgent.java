@@ -0,0 +1,18 @@
+package controllers;
+
+/**
+ * Issues player commands during a headless match.
+ * <p>
+ * An agent plays the role of the human at the HUD: before every simulation step it may call
+ * any of the player actions on the {@link GameController}, exactly as the buttons would.
+ * </p>
+ */
+public interface PlayerAgent
+{
+    /**
+     * Called once before every simulation step.
+     * @param controller The controller of the running match.
+     * @param step The number of steps already run in this match.
+     */
+    void act(GameController controller, long step);
+}
@@ -0,0 +1,42 @@
+package controllers;
+
+/**
+ * A lifecycle event of a match, copied out of the simulation for the view.
+ * <p>
+ * Everything the view needs is captured when the event happens, so the event can be handled on
+ * another thread without reading the unit, projectile or turret it refers to; the subject is only
+ * used as an identity key. Events are numbered in the order they happened, and a
+ * {@link RenderSnapshot} records the number of the last event it includes.
+ * </p>
+ * @param sequence The number of the event, counting from 1.
+ * @param kind What happened.
+ * @param subject The unit, projectile or turret the event is about; {@code null} for {@link Kind#STATE_RESTORED}.
+ * @param flag For unit events, whether the unit is the player's; for a fired projectile, whether it is an arrow.
+ * @param slot For turret events, the slot index.
+ * @param handle For projectile events, the handle of the shot.
+ * @param x For a spawned unit or fired projectile, its x-coordinate.
+ * @param y For a fired projectile, its y-coordinate.
+ */
+public record RenderEvent(long sequence, Kind kind, Object subject, boolean flag, int slot, long handle, double x, double y)
+{
+    /**
+     * The kinds of lifecycle events.
+     */
+    public enum Kind
+    {
+        /** A unit entered the battlefield. */
+        UNIT_SPAWNED,
+        /** A dead unit was removed. */
+        UNIT_DIED,
+        /** A projectile was fired. */
+        PROJECTILE_FIRED,
+        /** A projectile hit or expired. */
+        PROJECTILE_RESOLVED,
+        /** The player placed a turret. */
+        TURRET_PLACED,
+        /** The player sold a turret. */
+        TURRET_SOLD,
+        /** The whole match was replaced; everything has to be rebuilt from the snapshot. */
+        STATE_RESTORED
+    }
+}
@@ -0,0 +1,589 @@
+package controllers;
+
+import This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode.GameManager;
+import This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode.GameManager.GameState;
+import abilities.NukeAbility;
+import base.Base;
+import objects.Projectile;
+import objects.ProjectileStore;
+import systems.UpgradeSystem;
+import turrets.Turret;
+import units.Unit;
+import units.UnitStore;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A copy of everything the battlefield view and HUD draw, taken between two simulation turns.
+ * <p>
+ *     The view reads a snapshot instead of the live {@link GameManager}, so the simulation can keep
+ *     running on another thread while a frame is drawn. Snapshots are reused through a
+ *     {@link systems.TripleBuffer}: {@link #capture(GameController, long)} rewrites every field and
+ *     grows the arrays when needed, so a steady match stops allocating. To the reader a snapshot is
+ *     read-only. Units, projectiles and turrets are included by reference only as identity keys for
+ *     their renderers; their values are copied into primitive arrays.
+ * </p>
+ * <p>
+ *     Positions are kept both from before and after the last simulation step, together with how
+ *     far the clock was into the next step. A renderer draws each entity at
+ *     {@code previous + (current - previous) * alpha}, with the alpha from {@link #getAlpha(long)},
+ *     so motion stays smooth when frames and steps do not line up.
+ * </p>
+ */
+public final class RenderSnapshot
+{
+    /**
+     * The units of one side, copied out of its {@link UnitStore} in spawn order.
+     */
+    public static final class UnitTable
+    {
+        private int size;
+        private Unit[] units = new Unit[16];
+        private double[] x = new double[16];
+        private double[] previousX = new double[16];
+        private int[] hp = new int[16];
+        private int[] maxHp = new int[16];
+
+        private void capture(UnitStore store)
+        {
+            size = store.size();
+            if (size > units.length)
+            {
+                int capacity = Math.max(size, units.length * 2);
+                units = Arrays.copyOf(units, capacity);
+                x = Arrays.copyOf(x, capacity);
+                previousX = Arrays.copyOf(previousX, capacity);
+                hp = Arrays.copyOf(hp, capacity);
+                maxHp = Arrays.copyOf(maxHp, capacity);
+            }
+            for (int i = 0; i < size; i++)
+            {
+                Unit unit = store.get(i);
+                units[i] = unit;
+                x[i] = store.getCoordinate(i);
+                previousX[i] = store.getPreviousCoordinate(i);
+                hp[i] = unit.getHp();
+                maxHp[i] = unit.getMaxHp();
+            }
+            Arrays.fill(units, size, units.length, null);
+        }
+
+        /**
+         * Returns the number of units.
+         * @return The size of table as int.
+         */
+        public int size()
+        {
+            return size;
+        }
+
+        /**
+         * Returns a unit, to be used as an identity key only.
+         * @param i The index of the unit, in spawn order.
+         * @return The unit.
+         */
+        public Unit unit(int i)
+        {
+            return units[i];
+        }
+
+        /**
+         * Returns the x-coordinate of a unit.
+         * @param i The index of the unit.
+         * @return The coordinate.
+         */
+        public double x(int i)
+        {
+            return x[i];
+        }
+
+        /**
+         * Returns the x-coordinate a unit had before the last step.
+         * @param i The index of the unit.
+         * @return The coordinate.
+         */
+        public double previousX(int i)
+        {
+            return previousX[i];
+        }
+
+        /**
+         * Returns the x-coordinate of a unit between the last two steps.
+         * @param i The index of the unit.
+         * @param alpha How far between the steps, from {@code 0} (before) to {@code 1} (after).
+         * @return The interpolated coordinate.
+         */
+        public double x(int i, double alpha)
+        {
+            return previousX[i] + (x[i] - previousX[i]) * alpha;
+        }
+
+        /**
+         * Returns the hp of a unit.
+         * @param i The index of the unit.
+         * @return The hp as int.
+         */
+        public int hp(int i)
+        {
+            return hp[i];
+        }
+
+        /**
+         * Returns the max hp of a unit.
+         * @param i The index of the unit.
+         * @return The max hp as int.
+         */
+        public int maxHp(int i)
+        {
+            return maxHp[i];
+        }
+    }
+
+    private GameManager game;
+    private long eventSequence;
+    private long step;
+    private GameState state = GameState.ONGOING;
+    private double speed;
+    private boolean replaying;
+    private double stepAlpha;
+    private long stepNanos;
+    private long capturedAt;
+
+    private int currency;
+    private int queueSize;
+    private boolean training;
+    private boolean nukeReady;
+    private int nukeCooldown;
+    private boolean unitAttackUpgraded;
+    private boolean unitHpUpgraded;
+    private boolean turretAttackUpgraded;
+    private boolean turretRangeUpgraded;
+    private int capacityUpgrades;
+
+    private int playerBaseHp;
+    private int playerBaseMaxHp;
+    private int enemyBaseHp;
+    private int enemyBaseMaxHp;
+
+    private final UnitTable playerUnits = new UnitTable();
+    private final UnitTable enemyUnits = new UnitTable();
+
+    private int projectileCount;
+    private Projectile[] projectiles = new Projectile[16];
+    private long[] projectileHandles = new long[16];
+    private double[] projectileX = new double[16];
+    private double[] projectileY = new double[16];
+    private double[] previousProjectileX = new double[16];
+    private double[] previousProjectileY = new double[16];
+    private boolean[] arrows = new boolean[16];
+
+    private int turretCount;
+    private Turret[] turrets = new Turret[4];
+
+    /**
+     * Copies the current state of the controller's match into this snapshot.
+     * Must be called on the thread that runs the match.
+     * @param controller The controller whose match to copy.
+     * @param eventSequence The number of the last {@link RenderEvent} that happened before this state.
+     */
+    public void capture(GameController controller, long eventSequence)
+    {
+        GameManager gm = controller.getGameManager();
+        this.game = gm;
+        this.eventSequence = eventSequence;
+        this.step = gm.getClock().getStepCount();
+        this.state = gm.getGameState();
+        this.speed = controller.getSpeed();
+        this.replaying = controller.isReplaying();
+        this.stepAlpha = gm.getClock().getAlpha();
+        this.stepNanos = gm.getClock().getStepNanos();
+        this.capturedAt = System.nanoTime();
+
+        currency = gm.getCurrencySystem().getBalance();
+        queueSize = gm.getQueueSize();
+        training = gm.getCurrentTrainingUnit() != null;
+        NukeAbility nuke = gm.getNukeAbility();
+        nukeReady = nuke.isReady();
+        nukeCooldown = nuke.getCurrentCooldown();
+        UpgradeSystem upgrades = gm.getUpgradeSystem();
+        unitAttackUpgraded = upgrades.isUnitAttackUpgraded();
+        unitHpUpgraded = upgrades.isUnitHpUpgraded();
+        turretAttackUpgraded = upgrades.isTurretAttackUpgraded();
+        turretRangeUpgraded = upgrades.isTurretRangeUpgraded();
+
+        Base playerBase = gm.getPlayerBase();
+        Base enemyBase = gm.getEnemyBase();
+        capacityUpgrades = playerBase.getCapacityUpgrades();
+        playerBaseHp = playerBase.getHp();
+        playerBaseMaxHp = playerBase.getMaxHp();
+        enemyBaseHp = enemyBase.getHp();
+        enemyBaseMaxHp = enemyBase.getMaxHp();
+
+        playerUnits.capture(gm.getPlayerUnits());
+        enemyUnits.capture(gm.getEnemyUnits());
+        captureProjectiles(gm.getProjectiles());
+        captureTurrets(playerBase.getTurrets());
+    }
+
+    private void captureProjectiles(ProjectileStore store)
+    {
+        projectileCount = store.size();
+        if (projectileCount > projectiles.length)
+        {
+            int capacity = Math.max(projectileCount, projectiles.length * 2);
+            projectiles = Arrays.copyOf(projectiles, capacity);
+            projectileHandles = Arrays.copyOf(projectileHandles, capacity);
+            projectileX = Arrays.copyOf(projectileX, capacity);
+            projectileY = Arrays.copyOf(projectileY, capacity);
+            previousProjectileX = Arrays.copyOf(previousProjectileX, capacity);
+            previousProjectileY = Arrays.copyOf(previousProjectileY, capacity);
+            arrows = Arrays.copyOf(arrows, capacity);
+        }
+        for (int i = 0; i < projectileCount; i++)
+        {
+            Projectile projectile = store.get(i);
+            projectiles[i] = projectile;
+            projectileHandles[i] = projectile.getHandle();
+            projectileX[i] = projectile.getX();
+            projectileY[i] = projectile.getY();
+            previousProjectileX[i] = projectile.getPreviousX();
+            previousProjectileY[i] = projectile.getPreviousY();
+            arrows[i] = "ARROW".equals(projectile.getImagePath());
+        }
+        Arrays.fill(projectiles, projectileCount, projectiles.length, null);
+    }
+
+    private void captureTurrets(List<Turret> list)
+    {
+        turretCount = list.size();
+        if (turretCount > turrets.length) turrets = Arrays.copyOf(turrets, Math.max(turretCount, turrets.length * 2));
+        for (int i = 0; i < turretCount; i++) turrets[i] = list.get(i);
+        Arrays.fill(turrets, turretCount, turrets.length, null);
+    }
+
+    /**
+     * Returns the match this snapshot was taken from, to be used as an identity key only.
+     * @return The GameManager, or {@code null} if nothing has been captured yet.
+     */
+    public GameManager getGame()
+    {
+        return game;
+    }
+
+    /**
+     * Returns the number of the last event that happened before this snapshot was taken.
+     * @return The event sequence number, or {@code 0} if none.
+     */
+    public long getEventSequence()
+    {
+        return eventSequence;
+    }
+
+    /**
+     * Returns the number of simulation steps run before this snapshot was taken.
+     * @return The step count.
+     */
+    public long getStep()
+    {
+        return step;
+    }
+
+    /**
+     * Returns the state of the match.
+     * @return The game state.
+     */
+    public GameState getState()
+    {
+        return state;
+    }
+
+    /**
+     * Returns the playback speed of the controller.
+     * @return The factor applied to elapsed real time.
+     */
+    public double getSpeed()
+    {
+        return speed;
+    }
+
+    /**
+     * Check whether the match is a replay being played back.
+     * @return {@code true} if a replay is running, {@code false} otherwise.
+     */
+    public boolean isReplaying()
+    {
+        return replaying;
+    }
+
+    /**
+     * Returns how far the simulation is between its last step and the next one at the given time.
+     * <p>
+     *     At capture this is the clock's own alpha; since then real time has kept running at the
+     *     playback speed while the snapshot waited to be drawn, so that time is added on. It is
+     *     capped at {@code 1}: a late simulation holds entities at their latest position rather
+     *     than guessing where they go next.
+     * </p>
+     * @param now The current time from {@link System#nanoTime()}.
+     * @return The alpha, in the range {@code [0, 1]}.
+     */
+    public double getAlpha(long now)
+    {
+        if (state != GameState.ONGOING || stepNanos == 0) return 1;
+        double alpha = stepAlpha + Math.max(0, now - capturedAt) * speed / stepNanos;
+        return Math.min(alpha, 1);
+    }
+
+    /**
+     * Returns the time this snapshot was taken at.
+     * @return The time from {@link System#nanoTime()}.
+     */
+    public long getCapturedAt()
+    {
+        return capturedAt;
+    }
+
+    /**
+     * Returns the player's currency.
+     * @return The balance as int.
+     */
+    public int getCurrency()
+    {
+        return currency;
+    }
+
+    /**
+     * Returns the number of units waiting in the training queue.
+     * @return The queue size as int.
+     */
+    public int getQueueSize()
+    {
+        return queueSize;
+    }
+
+    /**
+     * Check whether a unit is being trained.
+     * @return {@code true} if a unit is in training, {@code false} otherwise.
+     */
+    public boolean isTraining()
+    {
+        return training;
+    }
+
+    /**
+     * Check whether the nuke can be used.
+     * @return {@code true} if the nuke is off cooldown, {@code false} otherwise.
+     */
+    public boolean isNukeReady()
+    {
+        return nukeReady;
+    }
+
+    /**
+     * Returns the remaining cooldown of the nuke.
+     * @return The cooldown as int.
+     */
+    public int getNukeCooldown()
+    {
+        return nukeCooldown;
+    }
+
+    /**
+     * Check whether the unit attack upgrade was bought.
+     * @return {@code true} if it was bought, {@code false} otherwise.
+     */
+    public boolean isUnitAttackUpgraded()
+    {
+        return unitAttackUpgraded;
+    }
+
+    /**
+     * Check whether the unit hp upgrade was bought.
+     * @return {@code true} if it was bought, {@code false} otherwise.
+     */
+    public boolean isUnitHpUpgraded()
+    {
+        return unitHpUpgraded;
+    }
+
+    /**
+     * Check whether the turret attack upgrade was bought.
+     * @return {@code true} if it was bought, {@code false} otherwise.
+     */
+    public boolean isTurretAttackUpgraded()
+    {
+        return turretAttackUpgraded;
+    }
+
+    /**
+     * Check whether the turret range upgrade was bought.
+     * @return {@code true} if it was bought, {@code false} otherwise.
+     */
+    public boolean isTurretRangeUpgraded()
+    {
+        return turretRangeUpgraded;
+    }
+
+    /**
+     * Returns the number of capacity upgrades of the player's base.
+     * @return The capacity upgrades as int.
+     */
+    public int getCapacityUpgrades()
+    {
+        return capacityUpgrades;
+    }
+
+    /**
+     * Returns the hp of the player's base.
+     * @return The hp as int.
+     */
+    public int getPlayerBaseHp()
+    {
+        return playerBaseHp;
+    }
+
+    /**
+     * Returns the max hp of the player's base.
+     * @return The max hp as int.
+     */
+    public int getPlayerBaseMaxHp()
+    {
+        return playerBaseMaxHp;
+    }
+
+    /**
+     * Returns the hp of the enemy's base.
+     * @return The hp as int.
+     */
+    public int getEnemyBaseHp()
+    {
+        return enemyBaseHp;
+    }
+
+    /**
+     * Returns the max hp of the enemy's base.
+     * @return The max hp as int.
+     */
+    public int getEnemyBaseMaxHp()
+    {
+        return enemyBaseMaxHp;
+    }
+
+    /**
+     * Returns the player's units.
+     * @return The UnitTable of player units.
+     */
+    public UnitTable getPlayerUnits()
+    {
+        return playerUnits;
+    }
+
+    /**
+     * Returns the enemy's units.
+     * @return The UnitTable of enemy units.
+     */
+    public UnitTable getEnemyUnits()
+    {
+        return enemyUnits;
+    }
+
+    /**
+     * Returns the number of projectiles in flight.
+     * @return The projectile count as int.
+     */
+    public int getProjectileCount()
+    {
+        return projectileCount;
+    }
+
+    /**
+     * Returns a projectile, to be used as an identity key only.
+     * @param i The index of the projectile, in firing order.
+     * @return The projectile.
+     */
+    public Projectile projectile(int i)
+    {
+        return projectiles[i];
+    }
+
+    /**
+     * Returns the handle of the shot a projectile is flying.
+     * @param i The index of the projectile.
+     * @return The handle.
+     */
+    public long projectileHandle(int i)
+    {
+        return projectileHandles[i];
+    }
+
+    /**
+     * Returns the x-coordinate of a projectile.
+     * @param i The index of the projectile.
+     * @return The coordinate.
+     */
+    public double projectileX(int i)
+    {
+        return projectileX[i];
+    }
+
+    /**
+     * Returns the y-coordinate of a projectile.
+     * @param i The index of the projectile.
+     * @return The coordinate.
+     */
+    public double projectileY(int i)
+    {
+        return projectileY[i];
+    }
+
+    /**
+     * Returns the x-coordinate of a projectile between the last two steps.
+     * @param i The index of the projectile.
+     * @param alpha How far between the steps, from {@code 0} (before) to {@code 1} (after).
+     * @return The interpolated coordinate.
+     */
+    public double projectileX(int i, double alpha)
+    {
+        return previousProjectileX[i] + (projectileX[i] - previousProjectileX[i]) * alpha;
+    }
+
+    /**
+     * Returns the y-coordinate of a projectile between the last two steps.
+     * @param i The index of the projectile.
+     * @param alpha How far between the steps, from {@code 0} (before) to {@code 1} (after).
+     * @return The interpolated coordinate.
+     */
+    public double projectileY(int i, double alpha)
+    {
+        return previousProjectileY[i] + (projectileY[i] - previousProjectileY[i]) * alpha;
+    }
+
+    /**
+     * Check whether a projectile is an arrow.
+     * @param i The index of the projectile.
+     * @return {@code true} for an arrow, {@code false} for a cannonball.
+     */
+    public boolean isArrow(int i)
+    {
+        return arrows[i];
+    }
+
+    /**
+     * Returns the number of turrets the player has placed.
+     * @return The turret count as int.
+     */
+    public int getTurretCount()
+    {
+        return turretCount;
+    }
+
+    /**
+     * Returns the turret in a slot, to be used as an identity key only; its type is safe to read.
+     * @param slot The slot index.
+     * @return The turret.
+     */
+    public Turret turret(int slot)
+    {
+        return turrets[slot];
+    }
+}
@@ -0,0 +1,305 @@
+package controllers;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A recorded match: its seed, its settings and every player command with the step it ran at.
+ * <p>
+ * Because a match is fully determined by its seed and its commands, this is all that is needed
+ * to play it again. The binary format is small enough to archive in bulk:
+ * </p>
+ * <pre>
+ * magic "PDRP", version byte
+ * seed                  8 bytes, big-endian
+ * startingCurrency      varint
+ * baseHp                varint
+ * command count         varint
+ * per command:
+ *   step delta          varint, steps since the previous command
+ *   action              1 byte
+ *   argument            varint, only for actions that take one
+ * length delta          varint, steps from the last command to the end of the recording
+ * </pre>
+ * <p>
+ * Varints store seven bits per byte, so a typical command takes three or four bytes.
+ * </p>
+ */
+public final class Replay
+{
+    /**
+     * The player commands a replay can hold, one per {@link GameController} player action.
+     */
+    public enum Action
+    {
+        /** Queues a unit; the argument is the {@link units.UnitType} ordinal. */
+        QUEUE_UNIT(true),
+        /** Places a turret; the argument is the {@link turrets.TurretType} ordinal. */
+        PLACE_TURRET(true),
+        /** Sells a turret; the argument is the slot index. */
+        SELL_TURRET(true),
+        /** Uses the nuke on every enemy unit. */
+        USE_NUKE(false),
+        /** Buys the unit attack upgrade; the argument is the cost. */
+        UPGRADE_UNIT_ATTACK(true),
+        /** Buys the unit hp upgrade; the argument is the cost. */
+        UPGRADE_UNIT_HP(true),
+        /** Buys the turret attack upgrade; the argument is the cost. */
+        UPGRADE_TURRET_ATTACK(true),
+        /** Buys the turret range upgrade; the argument is the cost. */
+        UPGRADE_TURRET_RANGE(true),
+        /** Buys the base capacity upgrade; the argument is the cost. */
+        UPGRADE_BASE_CAPACITY(true);
+
+        private static final Action[] VALUES = values();
+
+        private final boolean hasArgument;
+
+        Action(boolean hasArgument)
+        {
+            this.hasArgument = hasArgument;
+        }
+    }
+
+    /**
+     * One recorded player command.
+     * @param step The number of simulation steps run before the command was issued.
+     * @param action The command.
+     * @param argument The argument of the command, or {@code 0} if it takes none.
+     */
+    public record Command(long step, Action action, int argument) {}
+
+    private static final byte[] MAGIC = {'P', 'D', 'R', 'P'};
+    private static final int VERSION = 1;
+
+    private final long seed;
+    private final int startingCurrency;
+    private final int baseHp;
+    private final List<Command> commands;
+    private final long length;
+
+    /**
+     * Initializes a replay.
+     * @param seed The seed of the match.
+     * @param startingCurrency The currency the player started with.
+     * @param baseHp The starting hp of both bases.
+     * @param commands The commands in the order they were issued; their steps must not decrease.
+     * @param length The number of steps the recording covers; at least the step of the last command.
+     */
+    public Replay(long seed, int startingCurrency, int baseHp, List<Command> commands, long length)
+    {
+        long previous = 0;
+        for (Command command : commands)
+        {
+            if (command.step() < previous) throw new IllegalArgumentException("Command steps must not decrease: " + command);
+            previous = command.step();
+        }
+        if (length < previous) throw new IllegalArgumentException("length is before the last command: " + length);
+        this.seed = seed;
+        this.startingCurrency = startingCurrency;
+        this.baseHp = baseHp;
+        this.commands = List.copyOf(commands);
+        this.length = length;
+    }
+
+    /**
+     * Returns the seed of the recorded match.
+     * @return The seed.
+     */
+    public long getSeed()
+    {
+        return seed;
+    }
+
+    /**
+     * Returns the currency the player started with.
+     * @return The starting currency as int.
+     */
+    public int getStartingCurrency()
+    {
+        return startingCurrency;
+    }
+
+    /**
+     * Returns the starting hp of both bases.
+     * @return The base hp as int.
+     */
+    public int getBaseHp()
+    {
+        return baseHp;
+    }
+
+    /**
+     * Returns the recorded commands in the order they were issued.
+     * @return An unmodifiable list of commands.
+     */
+    public List<Command> getCommands()
+    {
+        return commands;
+    }
+
+    /**
+     * Returns the number of simulation steps the recording covers.
+     * @return The length in steps.
+     */
+    public long getLength()
+    {
+        return length;
+    }
+
+    /**
+     * Writes the replay in its binary format.
+     * @param out The stream to write to; it is not closed.
+     * @throws IOException If writing fails.
+     */
+    public void write(OutputStream out) throws IOException
+    {
+        out.write(MAGIC);
+        out.write(VERSION);
+        for (int shift = 56; shift >= 0; shift -= 8) out.write((int) (seed >>> shift));
+        writeVarint(out, startingCurrency);
+        writeVarint(out, baseHp);
+        writeVarint(out, commands.size());
+        long previous = 0;
+        for (Command command : commands)
+        {
+            writeVarint(out, command.step() - previous);
+            out.write(command.action().ordinal());
+            if (command.action().hasArgument) writeVarint(out, command.argument());
+            previous = command.step();
+        }
+        writeVarint(out, length - previous);
+    }
+
+    /**
+     * Returns the replay in its binary format.
+     * @return The encoded bytes.
+     */
+    public byte[] toBytes()
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + commands.size() * 4);
+        try
+        {
+            write(out);
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Writes the replay to a file, replacing it if it exists.
+     * @param file The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void writeTo(Path file) throws IOException
+    {
+        Files.write(file, toBytes());
+    }
+
+    /**
+     * Reads a replay written by {@link #write(OutputStream)}.
+     * @param in The stream to read from; it is not closed.
+     * @return The replay.
+     * @throws IOException If reading fails or the data is not a valid replay.
+     */
+    public static Replay read(InputStream in) throws IOException
+    {
+        for (byte b : MAGIC)
+        {
+            if (readByte(in) != b) throw new IOException("Not a replay file");
+        }
+        int version = readByte(in);
+        if (version != VERSION) throw new IOException("Unsupported replay version " + version);
+
+        long seed = 0;
+        for (int i = 0; i < 8; i++) seed = (seed << 8) | readByte(in);
+        int startingCurrency = (int) readVarint(in);
+        int baseHp = (int) readVarint(in);
+        long count = readVarint(in);
+        if (count > Integer.MAX_VALUE) throw new IOException("Replay has " + count + " commands");
+
+        // Every command takes at least two bytes, so a count larger than what is left cannot be honest.
+        int available = in.available();
+        if (available > 0 && count > available / 2)
+        {
+            throw new IOException("Replay has " + count + " commands but only " + available + " bytes left");
+        }
+        List<Command> commands = new ArrayList<>((int) Math.min(count, 1024));
+        long step = 0;
+        for (int i = 0; i < count; i++)
+        {
+            step += readVarint(in);
+            int ordinal = readByte(in);
+            if (ordinal >= Action.VALUES.length) throw new IOException("Unknown replay action " + ordinal);
+            Action action = Action.VALUES[ordinal];
+            int argument = action.hasArgument ? (int) readVarint(in) : 0;
+            commands.add(new Command(step, action, argument));
+        }
+        long length = step + readVarint(in);
+        return new Replay(seed, startingCurrency, baseHp, commands, length);
+    }
+
+    /**
+     * Reads a replay from its binary format.
+     * @param bytes The encoded bytes.
+     * @return The replay.
+     * @throws IOException If the data is not a valid replay.
+     */
+    public static Replay fromBytes(byte[] bytes) throws IOException
+    {
+        return read(new ByteArrayInputStream(bytes));
+    }
+
+    /**
+     * Reads a replay from a file.
+     * @param file The file to read.
+     * @return The replay.
+     * @throws IOException If the file cannot be read or is not a valid replay.
+     */
+    public static Replay readFrom(Path file) throws IOException
+    {
+        return fromBytes(Files.readAllBytes(file));
+    }
+
+    // Unsigned LEB128; every value written here is non-negative.
+    private static void writeVarint(OutputStream out, long value) throws IOException
+    {
+        if (value < 0) throw new IllegalArgumentException("Negative varint: " + value);
+        while ((value & ~0x7FL) != 0)
+        {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(InputStream in) throws IOException
+    {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7)
+        {
+            int b = readByte(in);
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static int readByte(InputStream in) throws IOException
+    {
+        int b = in.read();
+        if (b < 0) throw new EOFException("Truncated replay");
+        return b;
+    }
+}
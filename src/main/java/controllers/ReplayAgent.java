@@ -0,0 +1,82 @@
+package controllers;
+
+import controllers.Replay.Command;
+import turrets.TurretType;
+import units.UnitType;
+
+import java.util.List;
+
+/**
+ * A player agent that issues the commands of a {@link Replay} at the steps they were recorded at.
+ * <p>
+ * Played on a game created with the replay's seed and settings, the agent reproduces the
+ * recorded match exactly, whether it is stepped by a {@link HeadlessMatchRunner} or by the
+ * game loop of the battlefield view.
+ * </p>
+ */
+public class ReplayAgent implements PlayerAgent
+{
+    private final List<Command> commands;
+    private int next = 0;
+
+    /**
+     * Initializes the agent at the start of the replay.
+     * @param replay The replay to play.
+     */
+    public ReplayAgent(Replay replay)
+    {
+        this.commands = replay.getCommands();
+    }
+
+    /**
+     * Runs every command recorded at or before the given step.
+     * @param controller The controller of the running match.
+     * @param step The number of steps already run in this match.
+     */
+    @Override
+    public void act(GameController controller, long step)
+    {
+        while (next < commands.size() && commands.get(next).step() <= step)
+        {
+            execute(controller, commands.get(next++));
+        }
+    }
+
+    /**
+     * Moves the agent to a step of the replay, such as the step of a restored snapshot.
+     * The commands recorded before that step count as issued; the rest are issued again as the match reaches them.
+     * @param step The number of steps already run in the match.
+     */
+    public void seek(long step)
+    {
+        next = 0;
+        while (next < commands.size() && commands.get(next).step() < step) next++;
+    }
+
+    /**
+     * Check whether every command has been issued.
+     * @return {@code true} if the replay has no commands left, {@code false} otherwise.
+     */
+    public boolean isFinished()
+    {
+        return next == commands.size();
+    }
+
+    private static void execute(GameController controller, Command command)
+    {
+        int argument = command.argument();
+        switch (command.action())
+        {
+            case QUEUE_UNIT -> controller.playerQueueUnit(UnitType.values()[argument].create());
+            case PLACE_TURRET -> controller.playerPlaceTurret(TurretType.values()[argument].create());
+            case SELL_TURRET -> controller.playerSellTurret(argument);
+            case USE_NUKE -> controller.playerUseAbility(controller.getGameManager().getNukeAbility(),
+                    controller.getGameManager().getEnemyUnits());
+            case UPGRADE_UNIT_ATTACK -> controller.playerUpgradeUnitAttack(argument);
+            case UPGRADE_UNIT_HP -> controller.playerUpgradeUnitHp(argument);
+            case UPGRADE_TURRET_ATTACK -> controller.playerUpgradeTurretAttack(argument);
+            case UPGRADE_TURRET_RANGE -> controller.playerUpgradeTurretRange(argument);
+            case UPGRADE_BASE_CAPACITY -> controller.playerUpgradeBaseCapacity(argument);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package controllers;
+
+import turrets.TurretType;
+import units.UnitType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A player agent that replays a fixed script of timed commands.
+ * <p>
+ * Scripts are plain text, one command per line, each prefixed with the simulation step it runs at:
+ * </p>
+ * <pre>
+ * # step  command   argument
+ * 0       queue     melee
+ * 120     turret    long_range
+ * 600     upgrade   unit_attack
+ * 1800    sell      0
+ * 3600    nuke
+ * </pre>
+ * <p>
+ * Unit arguments are {@link UnitType} names, turret arguments are {@link TurretType} names and
+ * upgrade arguments are {@code unit_attack}, {@code unit_hp}, {@code turret_attack},
+ * {@code turret_range} or {@code base_capacity}. Blank lines and lines starting with {@code #}
+ * are ignored. When {@code repeat} is set the script starts over after its last command.
+ * </p>
+ */
+public class ScriptedPlayerAgent implements PlayerAgent
+{
+    private record Command(long step, String action, String argument) {}
+
+    private final List<Command> commands;
+    private final boolean repeat;
+    private final long period;
+    private int next = 0;
+    private long offset = 0;
+
+    /**
+     * Parses a script into an agent.
+     * @param lines The script lines.
+     * @param repeat Whether the script loops after its last command.
+     * @throws IllegalArgumentException If a line cannot be parsed.
+     */
+    public ScriptedPlayerAgent(List<String> lines, boolean repeat)
+    {
+        this.commands = new ArrayList<>();
+        long lastStep = 0;
+        for (String raw : lines)
+        {
+            String line = raw.strip();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            String[] parts = line.split("\\s+");
+            if (parts.length < 2) throw new IllegalArgumentException("Missing command: " + raw);
+            long step = Long.parseLong(parts[0]);
+            if (step < lastStep) throw new IllegalArgumentException("Script steps must not decrease: " + raw);
+            String action = parts[1].toLowerCase(Locale.ROOT);
+            String argument = parts.length > 2 ? parts[2].toUpperCase(Locale.ROOT) : "";
+            validate(action, argument, raw);
+            commands.add(new Command(step, action, argument));
+            lastStep = step;
+        }
+        this.repeat = repeat;
+        this.period = lastStep + 1;
+    }
+
+    private static void validate(String action, String argument, String raw)
+    {
+        switch (action)
+        {
+            case "queue" -> UnitType.valueOf(argument);
+            case "turret" -> TurretType.valueOf(argument);
+            case "sell" -> Integer.parseInt(argument);
+            case "upgrade" -> {
+                if (!List.of("UNIT_ATTACK", "UNIT_HP", "TURRET_ATTACK", "TURRET_RANGE", "BASE_CAPACITY").contains(argument))
+                {
+                    throw new IllegalArgumentException("Unknown upgrade: " + raw);
+                }
+            }
+            case "nuke" -> { }
+            default -> throw new IllegalArgumentException("Unknown command: " + raw);
+        }
+    }
+
+    /**
+     * Returns a small default build order that trains a mixed army and buys a turret.
+     * @return An agent running the default script on repeat.
+     */
+    public static ScriptedPlayerAgent defaultScript()
+    {
+        return new ScriptedPlayerAgent(List.of(
+                "0    queue  melee",
+                "60   queue  ranged",
+                "120  turret standard",
+                "180  queue  armored",
+                "300  queue  anti_armored",
+                "420  queue  melee",
+                "540  queue  ranged"
+        ), true);
+    }
+
+    /**
+     * Runs every command scheduled at or before the given step.
+     * @param controller The controller of the running match.
+     * @param step The number of steps already run in this match.
+     */
+    @Override
+    public void act(GameController controller, long step)
+    {
+        while (!commands.isEmpty())
+        {
+            if (next == commands.size())
+            {
+                if (!repeat) return;
+                next = 0;
+                offset += period;
+            }
+            Command command = commands.get(next);
+            if (command.step() + offset > step) return;
+            execute(controller, command);
+            next++;
+        }
+    }
+
+    private void execute(GameController controller, Command command)
+    {
+        switch (command.action())
+        {
+            case "queue" -> controller.playerQueueUnit(UnitType.valueOf(command.argument()).create());
+            case "turret" -> controller.playerPlaceTurret(TurretType.valueOf(command.argument()).create());
+            case "sell" -> controller.playerSellTurret(Integer.parseInt(command.argument()));
+            case "nuke" -> controller.playerUseAbility(controller.getGameManager().getNukeAbility(),
+                    controller.getGameManager().getEnemyUnits());
+            case "upgrade" -> {
+                switch (command.argument())
+                {
+                    case "UNIT_ATTACK" -> controller.playerUpgradeUnitAttack(300);
+                    case "UNIT_HP" -> controller.playerUpgradeUnitHp(300);
+                    case "TURRET_ATTACK" -> controller.playerUpgradeTurretAttack(400);
+                    case "TURRET_RANGE" -> controller.playerUpgradeTurretRange(400);
+                    default -> controller.playerUpgradeBaseCapacity(800);
+                }
+            }
+            default -> { }
+        }
+    }
+}
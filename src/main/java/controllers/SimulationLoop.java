@@ -0,0 +1,186 @@
+package controllers;
+
+import This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode.GameManager.GameState;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Runs a match for a view, either on a dedicated simulation thread or inline in the view's frames.
+ * <p>
+ *     On its own thread the loop calls {@link GameController#nextTurn()} once per simulation step
+ *     period and publishes a {@link RenderSnapshot} after each turn, so a slow frame no longer
+ *     delays the simulation and a long turn no longer drops frames. The view calls {@link #frame()}
+ *     every frame to get the latest snapshot, and never touches the controller directly: player
+ *     commands are {@link #submit(Function) submitted} and run on the simulation thread between two
+ *     turns. Inline, the same calls run the turn in {@link #frame()} and commands immediately, which
+ *     is how the game ran before and what tests use.
+ * </p>
+ * <p>
+ *     {@link #frame()}, {@link #pollEvent()}, {@link #submit(Function)} and {@link #stop()} must all be
+ *     called from the same view thread.
+ * </p>
+ */
+public class SimulationLoop
+{
+    private final GameController controller;
+    private final boolean threaded;
+    private final SnapshotPublisher publisher = new SnapshotPublisher();
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * Initializes the loop. Nothing runs until {@link #start()}.
+     * @param controller The controller whose match to run.
+     * @param threaded {@code true} to run the match on its own thread, {@code false} to run it in {@link #frame()}.
+     */
+    public SimulationLoop(GameController controller, boolean threaded)
+    {
+        this.controller = controller;
+        this.threaded = threaded;
+    }
+
+    /**
+     * Publishes the first snapshot and, if threaded, starts the simulation thread.
+     * @throws IllegalStateException If the loop is already running.
+     */
+    public void start()
+    {
+        if (running) throw new IllegalStateException("Simulation loop is already running");
+        publisher.publish(controller);
+        running = true;
+        if (threaded)
+        {
+            thread = new Thread(this::run, "simulation");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Stops the loop and waits for the simulation thread to finish its turn. Commands still queued
+     * are run on the calling thread, and later {@link #submit(Function) submissions} run immediately.
+     */
+    public void stop()
+    {
+        running = false;
+        if (thread != null)
+        {
+            boolean interrupted = false;
+            while (thread.isAlive())
+            {
+                try
+                {
+                    thread.join();
+                }
+                catch (InterruptedException e)
+                {
+                    interrupted = true;
+                }
+            }
+            thread = null;
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+        runCommands();
+        publisher.unfollow();
+    }
+
+    /**
+     * Check whether the loop has been started and not stopped.
+     * @return {@code true} if it is running, {@code false} otherwise.
+     */
+    public boolean isRunning()
+    {
+        return running;
+    }
+
+    /**
+     * Check whether the match runs on its own thread.
+     * @return {@code true} if threaded, {@code false} if the match runs in {@link #frame()}.
+     */
+    public boolean isThreaded()
+    {
+        return threaded;
+    }
+
+    /**
+     * Advances the view by one frame: inline, runs one turn and publishes it; then takes the latest
+     * published snapshot. After the match has ended, no more turns are run.
+     * @return The snapshot to draw this frame; valid until the next call.
+     */
+    public RenderSnapshot frame()
+    {
+        if (!threaded && running)
+        {
+            if (controller.getGameManager().getGameState() == GameState.ONGOING) controller.nextTurn();
+            publisher.publish(controller);
+        }
+        publisher.update();
+        return publisher.getSnapshot();
+    }
+
+    /**
+     * Removes and returns the next lifecycle event included in the snapshot of the last {@link #frame()}.
+     * @return The event, or {@code null} if there is none.
+     */
+    public RenderEvent pollEvent()
+    {
+        return publisher.pollEvent();
+    }
+
+    /**
+     * Runs a command against the controller on the simulation thread, between two turns.
+     * Inline or after {@link #stop()}, the command runs immediately on the calling thread.
+     * @param command The command; it may return a result for the caller.
+     * @param <T> The type of the result.
+     * @return A future completed with the command's result on the thread that ran it, or
+     *         exceptionally if the command threw.
+     */
+    public <T> CompletableFuture<T> submit(Function<GameController, T> command)
+    {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable task = () ->
+        {
+            try
+            {
+                result.complete(command.apply(controller));
+            }
+            catch (RuntimeException e)
+            {
+                result.completeExceptionally(e);
+            }
+        };
+        if (thread == null) task.run();
+        else commands.add(task);
+        return result;
+    }
+
+    private void runCommands()
+    {
+        Runnable command;
+        while ((command = commands.poll()) != null) command.run();
+    }
+
+    // Keeps one turn per step period; a late turn catches up through the clock's accumulator
+    // instead of running back-to-back turns.
+    private void run()
+    {
+        long deadline = System.nanoTime();
+        while (running)
+        {
+            runCommands();
+            if (controller.getGameManager().getGameState() == GameState.ONGOING) controller.nextTurn();
+            publisher.publish(controller);
+
+            deadline += controller.getGameManager().getClock().getStepNanos();
+            long wait = deadline - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+            else deadline = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package controllers;
+
+import This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode.GameManager;
+import controllers.RenderEvent.Kind;
+import events.GameEventListener;
+import objects.Projectile;
+import systems.TripleBuffer;
+import turrets.Turret;
+import units.Unit;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hands the state of a match from the thread that runs it to the thread that draws it.
+ * <p>
+ *     The simulation side calls {@link #publish(GameController)} after its turns; it copies the match
+ *     into a {@link RenderSnapshot} and publishes it through a {@link TripleBuffer}. Lifecycle events
+ *     are copied into {@link RenderEvent}s as they happen and queued, numbered in order, since a
+ *     snapshot the reader skips must not take its spawns and deaths with it.
+ * </p>
+ * <p>
+ *     The view side calls {@link #update()} once per frame and then drains {@link #pollEvent()}, which
+ *     only hands out the events that the current snapshot already includes, so a spawned unit is never
+ *     drawn before the snapshot that has its position.
+ * </p>
+ */
+public class SnapshotPublisher implements GameEventListener
+{
+    private final TripleBuffer<RenderSnapshot> snapshots = new TripleBuffer<>(RenderSnapshot::new);
+    private final Queue<RenderEvent> events = new ConcurrentLinkedQueue<>();
+
+    // writer side
+    private GameManager followed;
+    private long sequence;
+
+    /**
+     * Copies the controller's match into a snapshot and publishes it.
+     * If the controller has started a new match since the last call, the old match's events are
+     * no longer followed and a {@link Kind#STATE_RESTORED} event is queued first.
+     * Must be called on the thread that runs the match.
+     * @param controller The controller whose match to publish.
+     */
+    public void publish(GameController controller)
+    {
+        follow(controller.getGameManager());
+        snapshots.getWriteBuffer().capture(controller, sequence);
+        snapshots.publish();
+    }
+
+    /**
+     * Starts following the events of a match, replacing the one followed so far.
+     * Must be called on the thread that runs the match.
+     * @param game The match to follow.
+     */
+    public void follow(GameManager game)
+    {
+        if (game == followed) return;
+        if (followed != null) followed.removeListener(this);
+        followed = game;
+        game.addListener(this);
+        enqueue(Kind.STATE_RESTORED, null, false, -1, 0, 0, 0);
+    }
+
+    /**
+     * Stops following the current match. Must be called on the thread that runs the match, or after it has stopped.
+     */
+    public void unfollow()
+    {
+        if (followed != null) followed.removeListener(this);
+        followed = null;
+    }
+
+    /**
+     * Takes the latest published snapshot, if there is a newer one. Must only be called from the view thread.
+     * @return {@code true} if the snapshot changed, {@code false} otherwise.
+     */
+    public boolean update()
+    {
+        return snapshots.swap();
+    }
+
+    /**
+     * Returns the snapshot taken by the last {@link #update()}. Must only be called from the view thread,
+     * and the snapshot must not be kept past the next update.
+     * @return The current snapshot; its game is {@code null} until the first one has been published.
+     */
+    public RenderSnapshot getSnapshot()
+    {
+        return snapshots.getReadBuffer();
+    }
+
+    /**
+     * Removes and returns the next event that the current snapshot includes. Must only be called from the view thread.
+     * @return The event, or {@code null} if there is none up to the current snapshot.
+     */
+    public RenderEvent pollEvent()
+    {
+        RenderEvent event = events.peek();
+        if (event == null || event.sequence() > getSnapshot().getEventSequence()) return null;
+        return events.poll();
+    }
+
+    private void enqueue(Kind kind, Object subject, boolean flag, int slot, long handle, double x, double y)
+    {
+        events.add(new RenderEvent(++sequence, kind, subject, flag, slot, handle, x, y));
+    }
+
+    @Override
+    public void unitSpawned(Unit unit, boolean isPlayer)
+    {
+        enqueue(Kind.UNIT_SPAWNED, unit, isPlayer, -1, 0, unit.getCoordinate(), 0);
+    }
+
+    @Override
+    public void unitDied(Unit unit, boolean isPlayer)
+    {
+        enqueue(Kind.UNIT_DIED, unit, isPlayer, -1, 0, 0, 0);
+    }
+
+    @Override
+    public void projectileFired(Projectile projectile)
+    {
+        boolean arrow = "ARROW".equals(projectile.getImagePath());
+        enqueue(Kind.PROJECTILE_FIRED, projectile, arrow, -1, projectile.getHandle(), projectile.getX(), projectile.getY());
+    }
+
+    @Override
+    public void projectileResolved(Projectile projectile)
+    {
+        enqueue(Kind.PROJECTILE_RESOLVED, projectile, false, -1, projectile.getHandle(), 0, 0);
+    }
+
+    @Override
+    public void turretPlaced(Turret turret, int slot)
+    {
+        enqueue(Kind.TURRET_PLACED, turret, true, slot, 0, 0, 0);
+    }
+
+    @Override
+    public void turretSold(Turret turret, int slot)
+    {
+        enqueue(Kind.TURRET_SOLD, turret, true, slot, 0, 0, 0);
+    }
+
+    @Override
+    public void stateRestored()
+    {
+        enqueue(Kind.STATE_RESTORED, null, false, -1, 0, 0, 0);
+    }
+}
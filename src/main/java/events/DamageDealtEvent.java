@@ -0,0 +1,32 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Damage was dealt and published to the damage event buffer.
+ */
+@Name("prasart.DamageDealt")
+@Label("Damage Dealt")
+@Category({"Prasart Dang Battle", "Simulation"})
+@Description("Damage was dealt and published to the damage event buffer.")
+public final class DamageDealtEvent extends Event
+{
+    @Label("Type")
+    String type;
+
+    @Label("X")
+    double x;
+
+    @Label("Amount")
+    int amount;
+
+    @Label("Critical")
+    boolean critical;
+
+    @Label("Base Hit")
+    boolean base;
+}
@@ -0,0 +1,87 @@
+package events;
+
+import base.Base;
+import objects.Projectile;
+import turrets.Turret;
+import units.Unit;
+
+/**
+ * Receives the lifecycle events of a match from its GameManager.
+ * <p>
+ *     Listeners are called synchronously on the thread stepping the match, in the order the
+ *     changes happen, so a view can create and remove its nodes only when something actually
+ *     changes instead of comparing its state with the game every frame. Every method does
+ *     nothing by default; a listener overrides only the events it needs.
+ * </p>
+ */
+public interface GameEventListener
+{
+    /**
+     * A unit entered the battlefield.
+     * @param unit The spawned unit, already at its spawn coordinate.
+     * @param isPlayer {@code true} for a player unit, {@code false} for an enemy unit.
+     */
+    default void unitSpawned(Unit unit, boolean isPlayer)
+    {
+    }
+
+    /**
+     * A dead unit was removed from the battlefield.
+     * @param unit The removed unit.
+     * @param isPlayer {@code true} for a player unit, {@code false} for an enemy unit.
+     */
+    default void unitDied(Unit unit, boolean isPlayer)
+    {
+    }
+
+    /**
+     * A projectile was fired.
+     * @param projectile The projectile now in flight.
+     */
+    default void projectileFired(Projectile projectile)
+    {
+    }
+
+    /**
+     * A projectile hit its target or expired, and is about to be reused.
+     * @param projectile The projectile; still readable during the call only.
+     */
+    default void projectileResolved(Projectile projectile)
+    {
+    }
+
+    /**
+     * The player placed a turret.
+     * @param turret The placed turret.
+     * @param slot The slot index the turret occupies.
+     */
+    default void turretPlaced(Turret turret, int slot)
+    {
+    }
+
+    /**
+     * The player sold a turret.
+     * @param turret The sold turret.
+     * @param slot The slot index the turret occupied.
+     */
+    default void turretSold(Turret turret, int slot)
+    {
+    }
+
+    /**
+     * A base took damage.
+     * @param base The damaged base.
+     * @param amount The damage dealt.
+     */
+    default void baseDamaged(Base base, int amount)
+    {
+    }
+
+    /**
+     * The match was restored from a snapshot. Units, turrets and projectiles were all replaced
+     * without individual events, so anything built from them has to be built again.
+     */
+    default void stateRestored()
+    {
+    }
+}
@@ -0,0 +1,26 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The player activated the nuke ability.
+ */
+@Name("prasart.Nuke")
+@Label("Nuke")
+@Category({"Prasart Dang Battle", "Simulation"})
+@Description("The player activated the nuke ability.")
+public final class NukeEvent extends Event
+{
+    @Label("Targets")
+    int targets;
+
+    @Label("Damage")
+    int damage;
+
+    @Label("Killed")
+    int killed;
+}
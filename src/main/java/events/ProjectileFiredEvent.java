@@ -0,0 +1,32 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A turret or ranged unit fired a projectile.
+ */
+@Name("prasart.ProjectileFired")
+@Label("Projectile Fired")
+@Category({"Prasart Dang Battle", "Simulation"})
+@Description("A turret or ranged unit fired a projectile.")
+public final class ProjectileFiredEvent extends Event
+{
+    @Label("Side")
+    String side;
+
+    @Label("Kind")
+    String kind;
+
+    @Label("X")
+    double x;
+
+    @Label("Damage")
+    int damage;
+
+    @Label("Target Class")
+    String targetClass;
+}
@@ -0,0 +1,30 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A projectile hit its target or expired because the target died.
+ */
+@Name("prasart.ProjectileResolved")
+@Label("Projectile Resolved")
+@Category({"Prasart Dang Battle", "Simulation"})
+@Description("A projectile hit its target or expired because the target died.")
+public final class ProjectileResolvedEvent extends Event
+{
+    @Label("Kind")
+    String kind;
+
+    @Label("X")
+    double x;
+
+    @Label("Hit")
+    @Description("False if the projectile expired without dealing damage")
+    boolean hit;
+
+    @Label("Damage Dealt")
+    int damageDealt;
+}
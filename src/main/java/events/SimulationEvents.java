@@ -0,0 +1,185 @@
+package events;
+
+import interfaces.Attackable;
+import units.Unit;
+
+/**
+ * Emits the Java Flight Recorder events of the battle simulation.
+ * <p>
+ *     Every method creates its event and returns straight away unless a recording has the event
+ *     enabled, so the fields are only filled in while recording. With recording off the JIT
+ *     removes the unused event object, leaving a single enabled check per call site.
+ * </p>
+ * <p>
+ *     Start a recording with {@code -XX:StartFlightRecording} or from JDK Mission Control; the
+ *     events appear under "Prasart Dang Battle / Simulation" next to the GC and JIT events.
+ * </p>
+ */
+public final class SimulationEvents
+{
+    /**
+     * The side value of events about the player's units and turrets.
+     */
+    public static final String PLAYER = "PLAYER";
+
+    /**
+     * The side value of events about the enemy's units and turrets.
+     */
+    public static final String ENEMY = "ENEMY";
+
+    private SimulationEvents()
+    {
+    }
+
+    /**
+     * Starts timing a tick.
+     * @return The event to pass to {@link #endTick(TickEvent, int, long, int, int, int)}.
+     */
+    public static TickEvent beginTick()
+    {
+        TickEvent event = new TickEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Finishes timing a tick and commits it if it is recorded.
+     * @param event The event returned by {@link #beginTick()}.
+     * @param stepsRun The number of steps run by the tick.
+     * @param stepCount The total number of steps run so far.
+     * @param playerUnits The number of player units after the tick.
+     * @param enemyUnits The number of enemy units after the tick.
+     * @param projectiles The number of projectiles in flight after the tick.
+     */
+    public static void endTick(TickEvent event, int stepsRun, long stepCount, int playerUnits, int enemyUnits, int projectiles)
+    {
+        event.end();
+        if (event.shouldCommit())
+        {
+            event.stepsRun = stepsRun;
+            event.stepCount = stepCount;
+            event.playerUnits = playerUnits;
+            event.enemyUnits = enemyUnits;
+            event.projectiles = projectiles;
+            event.commit();
+        }
+    }
+
+    /**
+     * Records a unit entering the battlefield.
+     * @param side {@link #PLAYER} or {@link #ENEMY}.
+     * @param unit The spawned unit.
+     */
+    public static void unitSpawned(String side, Unit unit)
+    {
+        UnitSpawnEvent event = new UnitSpawnEvent();
+        if (event.isEnabled())
+        {
+            event.side = side;
+            event.unitClass = unit.getClass().getSimpleName();
+            event.coordinate = unit.getCoordinate();
+            event.hp = unit.getHp();
+            event.commit();
+        }
+    }
+
+    /**
+     * Records a dead unit being removed from the battlefield.
+     * @param side {@link #PLAYER} or {@link #ENEMY}.
+     * @param unit The removed unit.
+     */
+    public static void unitDied(String side, Unit unit)
+    {
+        UnitDeathEvent event = new UnitDeathEvent();
+        if (event.isEnabled())
+        {
+            event.side = side;
+            event.unitClass = unit.getClass().getSimpleName();
+            event.coordinate = unit.getCoordinate();
+            event.cost = unit.getCost();
+            event.commit();
+        }
+    }
+
+    /**
+     * Records a projectile being fired.
+     * @param side {@link #PLAYER} or {@link #ENEMY}.
+     * @param kind The projectile kind, {@code "TURRET"} or {@code "ARROW"}.
+     * @param x The X-Coordinate the projectile starts from.
+     * @param damage The damage the projectile carries.
+     * @param target The target of the projectile.
+     */
+    public static void projectileFired(String side, String kind, double x, int damage, Attackable target)
+    {
+        ProjectileFiredEvent event = new ProjectileFiredEvent();
+        if (event.isEnabled())
+        {
+            event.side = side;
+            event.kind = kind;
+            event.x = x;
+            event.damage = damage;
+            event.targetClass = target.getClass().getSimpleName();
+            event.commit();
+        }
+    }
+
+    /**
+     * Records a projectile leaving the battlefield.
+     * @param kind The projectile kind, {@code "TURRET"} or {@code "ARROW"}.
+     * @param x The X-Coordinate of the projectile when it resolved.
+     * @param hit Whether the projectile hit, as opposed to expiring because its target died.
+     * @param damageDealt The damage dealt, {@code 0} if it did not hit.
+     */
+    public static void projectileResolved(String kind, double x, boolean hit, int damageDealt)
+    {
+        ProjectileResolvedEvent event = new ProjectileResolvedEvent();
+        if (event.isEnabled())
+        {
+            event.kind = kind;
+            event.x = x;
+            event.hit = hit;
+            event.damageDealt = damageDealt;
+            event.commit();
+        }
+    }
+
+    /**
+     * Records damage being dealt and published to the damage event buffer.
+     * @param type The kind of attack, {@code "MELEE"} or {@code "RANGE"}.
+     * @param x The X-Coordinate of the hit.
+     * @param amount The damage dealt.
+     * @param critical Whether the hit was critical.
+     * @param base Whether a base was hit.
+     */
+    public static void damageDealt(String type, double x, int amount, boolean critical, boolean base)
+    {
+        DamageDealtEvent event = new DamageDealtEvent();
+        if (event.isEnabled())
+        {
+            event.type = type;
+            event.x = x;
+            event.amount = amount;
+            event.critical = critical;
+            event.base = base;
+            event.commit();
+        }
+    }
+
+    /**
+     * Records a nuke activation.
+     * @param targets The number of units in the blast.
+     * @param damage The base damage of the nuke.
+     * @param killed The number of units the nuke killed.
+     */
+    public static void nuke(int targets, int damage, int killed)
+    {
+        NukeEvent event = new NukeEvent();
+        if (event.isEnabled())
+        {
+            event.targets = targets;
+            event.damage = damage;
+            event.killed = killed;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One call to GameManager.tick, covering every simulation step it ran.
+ */
+@Name("prasart.Tick")
+@Label("Tick")
+@Category({"Prasart Dang Battle", "Simulation"})
+@Description("One call to GameManager.tick, covering every simulation step it ran.")
+public final class TickEvent extends Event
+{
+    @Label("Steps Run")
+    int stepsRun;
+
+    @Label("Step Count")
+    @Description("Simulation steps run since the game started")
+    long stepCount;
+
+    @Label("Player Units")
+    int playerUnits;
+
+    @Label("Enemy Units")
+    int enemyUnits;
+
+    @Label("Projectiles")
+    int projectiles;
+}
@@ -0,0 +1,29 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A dead unit was removed from the battlefield.
+ */
+@Name("prasart.UnitDeath")
+@Label("Unit Death")
+@Category({"Prasart Dang Battle", "Simulation"})
+@Description("A dead unit was removed from the battlefield.")
+public final class UnitDeathEvent extends Event
+{
+    @Label("Side")
+    String side;
+
+    @Label("Unit Class")
+    String unitClass;
+
+    @Label("Coordinate")
+    double coordinate;
+
+    @Label("Cost")
+    int cost;
+}
@@ -0,0 +1,29 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A unit entered the battlefield.
+ */
+@Name("prasart.UnitSpawn")
+@Label("Unit Spawn")
+@Category({"Prasart Dang Battle", "Simulation"})
+@Description("A unit entered the battlefield.")
+public final class UnitSpawnEvent extends Event
+{
+    @Label("Side")
+    String side;
+
+    @Label("Unit Class")
+    String unitClass;
+
+    @Label("Coordinate")
+    double coordinate;
+
+    @Label("Hp")
+    int hp;
+}
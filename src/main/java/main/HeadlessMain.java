@@ -0,0 +1,167 @@
+package main;
+
+import controllers.AiPlayerAgent;
+import controllers.BatchSimulator;
+import controllers.BatchSimulator.BatchReport;
+import controllers.GameController;
+import controllers.HeadlessMatchRunner;
+import controllers.HeadlessMatchRunner.MatchReport;
+import controllers.PlayerAgent;
+import controllers.Replay;
+import controllers.ScriptedPlayerAgent;
+import systems.MatchRandom;
+import This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode.GameManager.GameState;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Command-line entry point that plays matches without JavaFX.
+ * <p>
+ * Usage: {@code HeadlessMain [--matches N] [--agent ai|script|idle] [--script FILE] [--max-seconds S] [--profile] [--threads N] [--seed S] [--record DIR] [--replay FILE]}.
+ * Each match is played as fast as the CPU allows and the tick rate, simulated seconds per
+ * wall second and outcome are printed, followed by a summary over all matches. With
+ * {@code --profile} the per-phase tick profile of every match is printed after its result.
+ * </p>
+ * <p>
+ * With {@code --threads N} the matches are spread over N worker threads by a {@link BatchSimulator}
+ * ({@code --threads 0} uses every available processor) and only the aggregated win rates and
+ * matches per second are printed.
+ * </p>
+ * <p>
+ * With {@code --seed S} match {@code i} (counting from 0) is played with seed {@code S + i}, so
+ * a run with a deterministic agent can be repeated exactly. Without it every match gets a random seed,
+ * which is printed with its result.
+ * </p>
+ * <p>
+ * {@code --record DIR} writes a {@link Replay} of every match into DIR. {@code --replay FILE} plays a
+ * recorded match back instead of running new ones and prints its result and playback speed.
+ * </p>
+ */
+public class HeadlessMain {
+
+    /**
+     * Parses the arguments and runs the matches.
+     * @param args Command-line arguments.
+     * @throws IOException If the script file cannot be read.
+     * @throws InterruptedException If interrupted while waiting for a parallel batch.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int matches = 1;
+        String agentName = "ai";
+        Path script = null;
+        double maxSeconds = 600;
+        boolean profile = false;
+        int threads = -1;
+        Long seed = null;
+        Path recordDir = null;
+        Path replayFile = null;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--matches" -> matches = Integer.parseInt(args[++i]);
+                case "--agent" -> agentName = args[++i];
+                case "--script" -> { script = Path.of(args[++i]); agentName = "script"; }
+                case "--max-seconds" -> maxSeconds = Double.parseDouble(args[++i]);
+                case "--profile" -> profile = true;
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--record" -> recordDir = Path.of(args[++i]);
+                case "--replay" -> replayFile = Path.of(args[++i]);
+                default -> {
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.err.println("Usage: HeadlessMain [--matches N] [--agent ai|script|idle] [--script FILE] [--max-seconds S] [--profile] [--threads N] [--seed S] [--record DIR] [--replay FILE]");
+                    System.exit(2);
+                }
+            }
+        }
+
+        if (replayFile != null) {
+            Replay replay = Replay.readFrom(replayFile);
+            MatchReport report = HeadlessMatchRunner.playReplay(replay);
+            System.out.printf("replay %s (seed %d, %d commands): %s after %.1f sim s, %d ticks in %.3f s (%.0f ticks/s, %.1fx real time)%n",
+                    replayFile, replay.getSeed(), replay.getCommands().size(), describe(report.outcome()), report.simNanos() / 1e9,
+                    report.steps(), report.wallNanos() / 1e9, report.ticksPerSecond(), report.simSecondsPerWallSecond());
+            return;
+        }
+
+        Supplier<PlayerAgent> agents = agentFactory(agentName, script);
+        if (threads >= 0) {
+            if (recordDir != null) {
+                System.err.println("--record is not supported with --threads");
+                System.exit(2);
+            }
+            if (profile) {
+                System.err.println("--profile is not supported with --threads");
+                System.exit(2);
+            }
+            BatchSimulator simulator = threads == 0
+                    ? new BatchSimulator(1000, 500, maxSeconds)
+                    : new BatchSimulator(threads, 1000, 500, maxSeconds);
+            printBatch(seed == null ? simulator.run(matches, agents) : simulator.run(matches, agents, seed));
+            return;
+        }
+
+        GameController controller = new GameController(1000, 500);
+        HeadlessMatchRunner runner = new HeadlessMatchRunner(controller, maxSeconds);
+        runner.setProfiling(profile);
+        if (recordDir != null) {
+            Files.createDirectories(recordDir);
+            controller.setRecording(true);
+        }
+
+        Map<GameState, Integer> outcomes = new EnumMap<>(GameState.class);
+        long totalSteps = 0, totalSim = 0, totalWall = 0;
+        for (int m = 1; m <= matches; m++) {
+            long matchSeed = seed == null ? MatchRandom.newSeed() : seed + m - 1;
+            MatchReport report = runner.play(agents.get(), matchSeed);
+            outcomes.merge(report.outcome(), 1, Integer::sum);
+            totalSteps += report.steps();
+            totalSim += report.simNanos();
+            totalWall += report.wallNanos();
+            System.out.printf("match %d (seed %d): %s after %.1f sim s, %d ticks in %.3f s (%.0f ticks/s, %.1fx real time)%n",
+                    m, matchSeed, describe(report.outcome()), report.simNanos() / 1e9, report.steps(), report.wallNanos() / 1e9,
+                    report.ticksPerSecond(), report.simSecondsPerWallSecond());
+            if (profile) System.out.print(controller.getGameManager().getProfiler().report());
+            if (recordDir != null) controller.getRecording().writeTo(recordDir.resolve("match-" + m + "-" + matchSeed + ".pdrp"));
+        }
+
+        MatchReport total = new MatchReport(GameState.ONGOING, totalSteps, totalSim, Math.max(1, totalWall));
+        System.out.printf("%d matches: %d player wins, %d enemy wins, %d undecided; %.0f ticks/s, %.1fx real time%n",
+                matches, outcomes.getOrDefault(GameState.PLAYER_WIN, 0), outcomes.getOrDefault(GameState.ENEMY_WIN, 0),
+                outcomes.getOrDefault(GameState.ONGOING, 0), total.ticksPerSecond(), total.simSecondsPerWallSecond());
+    }
+
+    private static void printBatch(BatchReport report) {
+        System.out.printf("%d matches on %d threads: %d player wins (%.1f%%), %d enemy wins (%.1f%%), %d undecided%n",
+                report.matches(), report.threads(), report.playerWins(), report.playerWinRate() * 100,
+                report.enemyWins(), report.enemyWinRate() * 100, report.undecided());
+        System.out.printf("%.3f s wall, %.1f matches/s, %.0f ticks/s%n",
+                report.wallNanos() / 1e9, report.matchesPerSecond(), report.ticksPerSecond());
+    }
+
+    private static Supplier<PlayerAgent> agentFactory(String name, Path script) throws IOException {
+        return switch (name) {
+            case "ai" -> AiPlayerAgent::new;
+            case "idle" -> () -> (controller, step) -> { };
+            case "script" -> {
+                if (script == null) yield ScriptedPlayerAgent::defaultScript;
+                var lines = Files.readAllLines(script);
+                yield () -> new ScriptedPlayerAgent(lines, false);
+            }
+            default -> throw new IllegalArgumentException("Unknown agent: " + name);
+        };
+    }
+
+    private static String describe(GameState outcome) {
+        return switch (outcome) {
+            case PLAYER_WIN -> "player win";
+            case ENEMY_WIN -> "enemy win";
+            case ONGOING -> "undecided";
+        };
+    }
+}
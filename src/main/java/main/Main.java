@@ -2,9 +2,19 @@ package main;
 
 import This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode.SceneManager;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.stage.Stage;
 
 import controllers.GameController;
+import controllers.Replay;
+import systems.AssetLoader;
+import ui.RenderMode;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
 
 /**
  * The entry point of the Prasart Dang Battle application.
@@ -12,6 +22,17 @@ import controllers.GameController;
  * This class extends {@link Application} to set up the primary stage, initialize
  * the game controller, and launch the SceneManager.
  * </p>
+ * <p>
+ * Optional arguments: {@code --record DIR} saves a replay of every finished match into DIR,
+ * {@code --replay FILE} opens straight into watching a recorded match, and {@code --render canvas}
+ * draws the battlefield into a single canvas instead of one node per unit ({@code --render nodes},
+ * the default). {@code --max-popups N} caps the damage numbers shown at once (128 by default).
+ * {@code --sim-thread} runs the simulation on its own thread instead of in the frames.
+ * </p>
+ * <p>
+ * The window opens on the menu at once while the sprites and sounds load in the background,
+ * and the time from launch until everything is loaded is printed once it is.
+ * </p>
  */
 public class Main extends Application {
 
@@ -23,25 +44,52 @@ public class Main extends Application {
      * <p>
      * This method sets up the core game components, including the game controller
      * with initial game parameters and the scene manager responsible for handling
-     * scene transitions. It then displays the main menu as the first screen and
-     * shows the primary application window.
+     * scene transitions. It then starts loading the assets, displays the main menu
+     * as the first screen and shows the primary application window.
      * </p>
      * @param primaryStage the primary stage for this application, used to display and manage application scenes
+     * @throws IOException If the replay given on the command line cannot be read.
      */
     @Override
-    public void start(Stage primaryStage) {
+    public void start(Stage primaryStage) throws IOException {
+        long launched = System.nanoTime();
         int startingCurrency = 1000;
         int baseHp = 500;
         gameController = new GameController(startingCurrency, baseHp);
 
         sceneManager = new SceneManager(primaryStage, gameController);
+        AssetLoader assets = sceneManager.loadAssets();
+
+        List<String> args = getParameters().getRaw();
+        int record = args.indexOf("--record");
+        if (record >= 0 && record + 1 < args.size()) sceneManager.setReplayDirectory(Path.of(args.get(record + 1)));
 
+        int render = args.indexOf("--render");
+        if (render >= 0 && render + 1 < args.size()) sceneManager.setRenderMode(RenderMode.parse(args.get(render + 1)));
+
+        int maxPopups = args.indexOf("--max-popups");
+        if (maxPopups >= 0 && maxPopups + 1 < args.size()) sceneManager.setMaxPopups(Integer.parseInt(args.get(maxPopups + 1)));
+
+        sceneManager.setSimulationThread(args.contains("--sim-thread"));
+
+        int replay = args.indexOf("--replay");
         sceneManager.showMenu();
+        if (replay >= 0 && replay + 1 < args.size()) {
+            Replay recorded = Replay.readFrom(Path.of(args.get(replay + 1)));
+            assets.whenDone().thenRunAsync(() -> sceneManager.showReplay(recorded), Platform::runLater);
+        }
+        assets.whenDone().thenRunAsync(() -> reportStartup(launched, assets), Platform::runLater);
 
         primaryStage.setTitle("Prasart Dang Battle");
         primaryStage.show();
     }
 
+    private static void reportStartup(long launched, AssetLoader assets) {
+        System.out.printf(Locale.ROOT, "Startup to interactive: %d ms (%d ms since JVM start); %d assets loaded in %d ms on %d threads, %d failed%n",
+                (System.nanoTime() - launched) / 1_000_000, ManagementFactory.getRuntimeMXBean().getUptime(),
+                assets.getTaskCount(), assets.getLoadNanos() / 1_000_000, assets.getThreadCount(), assets.getFailedCount());
+    }
+
     /**
      * Launch args
      * @param args Command-line arguments passed to the application.
@@ -10,16 +10,28 @@ import base.Base;
  * Projectiles travel towards a target and deal damage upon impact.
  * They handle their own movement logic and hit detection in the {@link #tick()} method.
  * </p>
+ * <p>
+ * Projectiles fired during a game are owned by a {@link ProjectileStore}, which reuses them
+ * once they have hit. Each reuse changes the projectile's {@link #getHandle() handle}, so
+ * anything holding on to a projectile (such as a renderer) can tell whether it still refers
+ * to the same shot.
+ * </p>
  */
 public class Projectile {
+    private final int id;
+    private int generation;
+    private boolean active;
+
     private double x;
     private double y;
-    private final double speed;
-    private final int damage;
-    private final Attackable target;
+    private double previousX;
+    private double previousY;
+    private double speed;
+    private int damage;
+    private Attackable target;
     private boolean hit;
-    private final String imagePath;
-    private final boolean isCritical;
+    private String imagePath;
+    private boolean isCritical;
 
     /**
      * Initializes the fields according to given parameters and sets hit to false.
@@ -32,21 +44,50 @@ public class Projectile {
      * @param isCritical The status which projectile deals critical damage or not.
      */
     public Projectile(double startX, double startY, double speed, int damage, Attackable target, String imagePath, boolean isCritical) {
+        this.id = -1;
+        launch(startX, startY, speed, damage, target, imagePath, isCritical);
+    }
+
+    /**
+     * Legacy constructor for backward compatibility or non-critical projectiles.
+     */
+    public Projectile(double startX, double startY, double speed, int damage, Attackable target, String imagePath) {
+        this(startX, startY, speed, damage, target, imagePath, false);
+    }
+
+    /**
+     * Creates an idle pooled projectile with the given slot id.
+     * @param id The id of the projectile within its store.
+     */
+    Projectile(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Resets every field for a new shot and marks the projectile as in flight.
+     */
+    final void launch(double startX, double startY, double speed, int damage, Attackable target, String imagePath, boolean isCritical) {
         this.x = startX;
         this.y = startY;
+        this.previousX = startX;
+        this.previousY = startY;
         this.speed = speed;
         this.damage = damage;
         this.target = target;
         this.hit = false;
         this.imagePath = imagePath;
         this.isCritical = isCritical;
+        this.active = true;
     }
 
     /**
-     * Legacy constructor for backward compatibility or non-critical projectiles.
+     * Takes the projectile out of flight so it can be reused.
+     * The generation is bumped, which invalidates every handle taken while it was in flight.
      */
-    public Projectile(double startX, double startY, double speed, int damage, Attackable target, String imagePath) {
-        this(startX, startY, speed, damage, target, imagePath, false);
+    void retire() {
+        this.active = false;
+        this.target = null;
+        this.generation++;
     }
 
     /**
@@ -67,6 +108,8 @@ public class Projectile {
      *
      */
     public void tick() {
+        previousX = x;
+        previousY = y;
         if (target == null || !target.isAlive()) {
             this.hit = true;
             return;
@@ -114,6 +157,24 @@ public class Projectile {
      */
     public double getY() { return y; }
 
+    /**
+     * Returns the X-Coordinate the projectile had before its last tick.
+     * @return The previous x of projectile as double.
+     */
+    public double getPreviousX() { return previousX; }
+
+    /**
+     * Returns the Y-Coordinate the projectile had before its last tick.
+     * @return The previous y of projectile as double.
+     */
+    public double getPreviousY() { return previousY; }
+
+    /**
+     * Returns speed of the projectile; its sign is the direction it was fired in.
+     * @return The speed of projectile as double.
+     */
+    public double getSpeed() { return speed; }
+
     /**
      * Returns damge of the projectile.
      * @return The damage of projectile as int.
@@ -149,4 +210,26 @@ public class Projectile {
      * @return {@code true} if isCritical is true, {@code false} otherwise.
      */
     public boolean isCritical() { return isCritical; }
-}
\ No newline at end of file
+
+    /**
+     * Returns the stable handle of the projectile.
+     * <p>
+     * The handle combines the projectile's slot id with a generation that changes every time
+     * the slot is reused, so a handle taken for one shot never matches a later shot.
+     * </p>
+     * @return The handle of projectile as long.
+     */
+    public long getHandle() { return ((long) generation << 32) | (id & 0xFFFFFFFFL); }
+
+    /**
+     * Returns the slot id of the projectile within its store.
+     * @return The id of projectile as int, or {@code -1} if it is not owned by a store.
+     */
+    public int getId() { return id; }
+
+    /**
+     * Check whether the projectile is currently in flight.
+     * @return {@code true} if the projectile has been fired and not yet reused, {@code false} otherwise.
+     */
+    public boolean isActive() { return active; }
+}
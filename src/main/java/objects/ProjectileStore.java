@@ -0,0 +1,145 @@
+package objects;
+
+import interfaces.Attackable;
+
+import java.util.Arrays;
+
+/**
+ * Owns every projectile in flight and recycles them once they have hit.
+ * <p>
+ * Firing takes an idle projectile from the pool (or creates one if the pool is empty) and
+ * re-initializes it, so a steady fight reaches a fixed number of projectile objects and stops
+ * allocating. Projectiles in flight are kept in firing order; {@link #removeFinished()} drops
+ * the ones that have hit with a single in-place pass that keeps the rest in that order.
+ * </p>
+ * <p>
+ * Every projectile has a {@link Projectile#getHandle() handle} that stays valid until the
+ * projectile is reused, which lets the UI follow a shot without holding on to it past its life.
+ * </p>
+ */
+public class ProjectileStore {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private Projectile[] inFlight = new Projectile[INITIAL_CAPACITY];
+    private int size;
+
+    private Projectile[] idle = new Projectile[INITIAL_CAPACITY];
+    private int idleCount;
+
+    private Projectile[] byId = new Projectile[INITIAL_CAPACITY];
+    private int created;
+
+    /**
+     * Fires a projectile, reusing an idle one when available.
+     * @param startX The beginning X-Coordinate of the projectile.
+     * @param startY The beginning Y-Coordinate of the projectile.
+     * @param speed The speed of the projectile.
+     * @param damage The damage deal to target of the projectile.
+     * @param target The target which projectile is heading toward to.
+     * @param imagePath The image file of projectile.
+     * @param isCritical The status which projectile deals critical damage or not.
+     * @return The projectile now in flight.
+     */
+    public Projectile fire(double startX, double startY, double speed, int damage, Attackable target, String imagePath, boolean isCritical) {
+        Projectile projectile;
+        if (idleCount > 0) {
+            projectile = idle[--idleCount];
+            idle[idleCount] = null;
+        } else {
+            projectile = create();
+        }
+        projectile.launch(startX, startY, speed, damage, target, imagePath, isCritical);
+
+        if (size == inFlight.length) inFlight = Arrays.copyOf(inFlight, size * 2);
+        inFlight[size++] = projectile;
+        return projectile;
+    }
+
+    private Projectile create() {
+        if (created == byId.length) {
+            byId = Arrays.copyOf(byId, created * 2);
+            idle = Arrays.copyOf(idle, created * 2);
+        }
+        Projectile projectile = new Projectile(created);
+        byId[created++] = projectile;
+        return projectile;
+    }
+
+    /**
+     * Removes every projectile that has hit and returns it to the pool.
+     * The remaining projectiles keep their firing order.
+     * @return The number of projectiles removed.
+     */
+    public int removeFinished() {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            Projectile projectile = inFlight[i];
+            if (projectile.hasHit()) {
+                release(projectile);
+            } else {
+                inFlight[kept++] = projectile;
+            }
+        }
+        Arrays.fill(inFlight, kept, size, null);
+        int removed = size - kept;
+        size = kept;
+        return removed;
+    }
+
+    /**
+     * Removes every projectile in flight and returns them to the pool.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            release(inFlight[i]);
+        }
+        Arrays.fill(inFlight, 0, size, null);
+        size = 0;
+    }
+
+    private void release(Projectile projectile) {
+        projectile.retire();
+        idle[idleCount++] = projectile;
+    }
+
+    /**
+     * Returns the projectile a handle refers to, if it is still in flight.
+     * @param handle A handle obtained from {@link Projectile#getHandle()}.
+     * @return The projectile, or {@code null} if it has since been reused or was never fired from this store.
+     */
+    public Projectile resolve(long handle) {
+        int id = (int) handle;
+        if (id < 0 || id >= created) return null;
+        Projectile projectile = byId[id];
+        return projectile.isActive() && projectile.getHandle() == handle ? projectile : null;
+    }
+
+    /**
+     * Returns the projectile in flight at the given position, in firing order.
+     * @param index The position of the projectile, from {@code 0} to {@link #size()} exclusive.
+     * @return The projectile at that position.
+     */
+    public Projectile get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        return inFlight[index];
+    }
+
+    /**
+     * Returns the number of projectiles in flight.
+     * @return The size of store as int.
+     */
+    public int size() { return size; }
+
+    /**
+     * Check whether no projectile is in flight.
+     * @return {@code true} if the store is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Returns the number of projectile objects this store has ever created.
+     * This is the high-water mark of projectiles in flight at the same time.
+     * @return The created count of store as int.
+     */
+    public int getCreatedCount() { return created; }
+}
@@ -0,0 +1,165 @@
+package systems;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Runs a list of asset loading tasks on a few background threads and reports their progress.
+ * <p>
+ *     Each task loads one asset (decodes an image, opens a sound) and is independent of the
+ *     others, so they run in any order on a small pool of daemon threads while the UI stays
+ *     responsive. A task that fails is reported on the error stream and still counts as finished,
+ *     the way a missing sound has always been skipped, so the loader always completes. Progress
+ *     updates are handed to an executor of the caller's choice, such as the UI thread's.
+ * </p>
+ * <p>
+ *     Whatever the tasks stored is visible to any code that runs after {@link #whenDone()} completes.
+ * </p>
+ */
+public class AssetLoader
+{
+    private final List<Runnable> tasks;
+    private final int threads;
+    private final AtomicInteger finished = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+    private boolean started;
+    private volatile long startNanos;
+    private volatile long loadNanos = -1;
+
+    /**
+     * Initializes a loader. Nothing runs until {@link #start(Executor, DoubleConsumer)}.
+     * @param tasks The tasks, one per asset.
+     * @param threads The most tasks run at once; must be positive.
+     */
+    public AssetLoader(List<Runnable> tasks, int threads)
+    {
+        if (threads <= 0) throw new IllegalArgumentException("threads must be positive: " + threads);
+        this.tasks = List.copyOf(tasks);
+        this.threads = Math.min(threads, Math.max(this.tasks.size(), 1));
+    }
+
+    /**
+     * Starts every task on the background threads.
+     * @param callbacks Runs the progress updates, for example on the UI thread.
+     * @param onProgress Called with the finished fraction, from {@code 0} to {@code 1}, once per task.
+     *                   Updates are handed to {@code callbacks} as tasks finish on different threads, so
+     *                   some may still be pending or running when {@link #whenDone()} completes.
+     * @return The future completed once every task has finished; the same as {@link #whenDone()}.
+     * @throws IllegalStateException If the loader was already started.
+     */
+    public CompletableFuture<Void> start(Executor callbacks, DoubleConsumer onProgress)
+    {
+        if (started) throw new IllegalStateException("Asset loader was already started");
+        started = true;
+        startNanos = System.nanoTime();
+        if (tasks.isEmpty())
+        {
+            loadNanos = 0;
+            done.complete(null);
+            return done;
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r ->
+        {
+            Thread thread = new Thread(r, "asset-loader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (Runnable task : tasks)
+        {
+            executor.execute(() ->
+            {
+                try
+                {
+                    task.run();
+                }
+                catch (RuntimeException e)
+                {
+                    failed.incrementAndGet();
+                    System.err.println("Error loading asset: " + e.getMessage());
+                }
+                int count = finished.incrementAndGet();
+                // Reads the count when the callback runs, so progress never goes backwards.
+                callbacks.execute(() -> onProgress.accept(getProgress()));
+                if (count == tasks.size())
+                {
+                    loadNanos = System.nanoTime() - startNanos;
+                    executor.shutdown();
+                    done.complete(null);
+                }
+            });
+        }
+        return done;
+    }
+
+    /**
+     * Returns the future completed once every task has finished.
+     * @return The completion of this loader.
+     */
+    public CompletableFuture<Void> whenDone()
+    {
+        return done;
+    }
+
+    /**
+     * Check whether every task has finished.
+     * @return {@code true} if loading is done, {@code false} otherwise.
+     */
+    public boolean isDone()
+    {
+        return done.isDone();
+    }
+
+    /**
+     * Returns the fraction of tasks finished.
+     * @return The progress, from {@code 0} to {@code 1}.
+     */
+    public double getProgress()
+    {
+        return tasks.isEmpty() ? 1 : (double) finished.get() / tasks.size();
+    }
+
+    /**
+     * Returns the number of tasks.
+     * @return The task count as int.
+     */
+    public int getTaskCount()
+    {
+        return tasks.size();
+    }
+
+    /**
+     * Returns the number of tasks that failed.
+     * @return The failed count as int.
+     */
+    public int getFailedCount()
+    {
+        return failed.get();
+    }
+
+    /**
+     * Returns the number of threads the tasks run on.
+     * @return The thread count as int.
+     */
+    public int getThreadCount()
+    {
+        return threads;
+    }
+
+    /**
+     * Returns how long loading took, from {@link #start(Executor, DoubleConsumer)} to the last task finishing.
+     * @return The load time in nanoseconds, or {@code -1} if loading is not done.
+     */
+    public long getLoadNanos()
+    {
+        return loadNanos;
+    }
+}
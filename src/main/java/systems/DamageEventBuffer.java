@@ -0,0 +1,267 @@
+package systems;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A fixed-size ring of damage events written by the simulation and read by any number of consumers.
+ * <p>
+ *     Events are stored field by field in preallocated primitive arrays, so publishing an event
+ *     allocates nothing. Each consumer reads through its own {@link Reader}, which keeps a private
+ *     cursor into the sequence of published events; consumers never block the simulation or each
+ *     other, and one that falls behind by a few frames still sees every event it missed.
+ * </p>
+ * <p>
+ *     The buffer has a single writer. A reader that falls a full {@link #capacity()} of events behind
+ *     skips ahead to the oldest event still safe to read and counts the skipped ones as dropped, so
+ *     losses are visible rather than silent.
+ * </p>
+ */
+public class DamageEventBuffer
+{
+    /**
+     * The kind of attack that caused a damage event.
+     */
+    public enum DamageType
+    {
+        MELEE, RANGE;
+
+        private static final DamageType[] VALUES = values();
+    }
+
+    /**
+     * The default number of events kept in the ring.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private static final byte FLAG_CRITICAL = 1;
+    private static final byte FLAG_BASE = 2;
+
+    private final int mask;
+    private final double[] xs;
+    private final double[] ys;
+    private final int[] amounts;
+    private final byte[] types;
+    private final byte[] flags;
+
+    // Sequence number of the next event to be written; every event below it is readable.
+    private final AtomicLong published = new AtomicLong();
+
+    /**
+     * Initializes a buffer with the default capacity.
+     */
+    public DamageEventBuffer()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initializes a buffer holding up to the given number of unread events per reader.
+     * @param capacity The size of the ring; must be a positive power of two.
+     */
+    public DamageEventBuffer(int capacity)
+    {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1)
+        {
+            throw new IllegalArgumentException("capacity must be a positive power of two: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.xs = new double[capacity];
+        this.ys = new double[capacity];
+        this.amounts = new int[capacity];
+        this.types = new byte[capacity];
+        this.flags = new byte[capacity];
+    }
+
+    /**
+     * Appends an event to the ring. Must only be called from the simulation thread.
+     * @param x The X-Coordinate to show the event at.
+     * @param y The Y-Coordinate to show the event at.
+     * @param amount The damage actually dealt.
+     * @param isCritical Whether the hit was a critical (counter) hit.
+     * @param type The kind of attack that dealt the damage.
+     * @param isBase Whether the damage was dealt to a base.
+     */
+    public void publish(double x, double y, int amount, boolean isCritical, DamageType type, boolean isBase)
+    {
+        long sequence = published.get();
+        int slot = (int) sequence & mask;
+        xs[slot] = x;
+        ys[slot] = y;
+        amounts[slot] = amount;
+        types[slot] = (byte) type.ordinal();
+        flags[slot] = (byte) ((isCritical ? FLAG_CRITICAL : 0) | (isBase ? FLAG_BASE : 0));
+        published.lazySet(sequence + 1);
+    }
+
+    /**
+     * Creates a new reader that will see every event published from now on.
+     * @return A reader positioned at the end of the buffer.
+     */
+    public Reader newReader()
+    {
+        return new Reader(published.get());
+    }
+
+    /**
+     * Returns the total number of events published since the buffer was created.
+     * @return The published count.
+     */
+    public long getPublishedCount()
+    {
+        return published.get();
+    }
+
+    /**
+     * Returns the number of events the ring holds.
+     * @return The capacity of the buffer.
+     */
+    public int capacity()
+    {
+        return mask + 1;
+    }
+
+    /**
+     * A cursor over the events of one consumer.
+     * <p>
+     *     {@link #next()} copies the next event into the reader, where it can be inspected with the
+     *     accessor methods until the following call. A reader must only be used by one thread.
+     * </p>
+     */
+    public final class Reader
+    {
+        private long cursor;
+        private long dropped;
+
+        private double x;
+        private double y;
+        private int amount;
+        private DamageType type;
+        private byte flags;
+
+        private Reader(long cursor)
+        {
+            this.cursor = cursor;
+        }
+
+        /**
+         * Moves to the next unread event.
+         * @return {@code true} if an event was read, {@code false} if the reader is caught up.
+         */
+        public boolean next()
+        {
+            while (true)
+            {
+                long end = published.get();
+                if (cursor >= end) return false;
+                skipOverwritten(end);
+
+                int slot = (int) cursor & mask;
+                x = xs[slot];
+                y = ys[slot];
+                amount = amounts[slot];
+                type = DamageType.VALUES[types[slot]];
+                flags = DamageEventBuffer.this.flags[slot];
+
+                // The writer may have lapped us while we were copying; if so the copy is torn.
+                VarHandle.acquireFence();
+                if (published.get() - cursor <= mask)
+                {
+                    cursor++;
+                    return true;
+                }
+            }
+        }
+
+        private void skipOverwritten(long end)
+        {
+            // The slot of end - capacity may be rewritten at any moment, so it is not readable.
+            long oldest = end - mask;
+            if (cursor < oldest)
+            {
+                dropped += oldest - cursor;
+                cursor = oldest;
+            }
+        }
+
+        /**
+         * Skips every unread event.
+         */
+        public void skipAll()
+        {
+            cursor = published.get();
+        }
+
+        /**
+         * Returns the number of events published but not yet read.
+         * @return The backlog of this reader.
+         */
+        public long available()
+        {
+            return published.get() - cursor;
+        }
+
+        /**
+         * Returns the number of events this reader lost by falling more than a full ring behind.
+         * @return The dropped count.
+         */
+        public long getDropped()
+        {
+            return dropped;
+        }
+
+        /**
+         * Returns X-Coordinate of the current event.
+         * @return The x of event as double.
+         */
+        public double x()
+        {
+            return x;
+        }
+
+        /**
+         * Returns Y-Coordinate of the current event.
+         * @return The y of event as double.
+         */
+        public double y()
+        {
+            return y;
+        }
+
+        /**
+         * Returns the damage dealt by the current event.
+         * @return The amount of event as int.
+         */
+        public int amount()
+        {
+            return amount;
+        }
+
+        /**
+         * Returns the kind of attack of the current event.
+         * @return The type of event as DamageType.
+         */
+        public DamageType type()
+        {
+            return type;
+        }
+
+        /**
+         * Check whether the current event was a critical hit.
+         * @return {@code true} if the hit was critical, {@code false} otherwise.
+         */
+        public boolean isCritical()
+        {
+            return (flags & FLAG_CRITICAL) != 0;
+        }
+
+        /**
+         * Check whether the current event hit a base.
+         * @return {@code true} if a base was hit, {@code false} otherwise.
+         */
+        public boolean isBase()
+        {
+            return (flags & FLAG_BASE) != 0;
+        }
+    }
+}
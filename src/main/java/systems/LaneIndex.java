@@ -0,0 +1,323 @@
+package systems;
+
+import units.Unit;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A spatial index over the units of one side of the lane, kept sorted by {@link Unit#getCoordinate()}.
+ * <p>
+ *     The index answers the range questions asked by the combat loop (enemies within range,
+ *     nearest blocker, ally directly in front, closest target to a turret) with a binary search
+ *     followed by a scan of the matching window only, instead of a scan of the whole side.
+ * </p>
+ * <p>
+ *     Every query uses the same floating point expressions as a plain linear scan over the
+ *     unit list, and ties are broken by the unit's position in that list, so the results are
+ *     identical to scanning the list in order. Dead units stay in the index until the next
+ *     {@link #rebuild(List)} and are skipped by every query.
+ * </p>
+ */
+public class LaneIndex
+{
+    private static final Comparator<Entry> BY_POSITION = (a, b) -> {
+        int cmp = Double.compare(a.coordinate, b.coordinate);
+        return cmp != 0 ? cmp : Integer.compare(a.order, b.order);
+    };
+
+    /**
+     * One indexed unit. Entries of removed units are reused for new ones to keep the tick allocation free.
+     */
+    private static final class Entry
+    {
+        private Unit unit;
+        private double coordinate;
+        private int order;
+        private int position;
+    }
+
+    private Entry[] byOrder = new Entry[0];
+    private Entry[] sorted = new Entry[0];
+    private Entry[] nextByOrder = new Entry[0];
+    private Entry[] idle = new Entry[0];
+    private int idleCount;
+    private int size;
+
+    /**
+     * Rebuilds the index from the given lane.
+     * <p>
+     *     The position of each unit in the list becomes its order, which is used to break ties
+     *     the same way a scan in list order would.
+     * </p>
+     * <p>
+     *     Between two steps a lane usually only loses dead units and gains new ones at the end,
+     *     with the survivors in the same relative order. Units found again in that order keep
+     *     their place in the previous sorted order, which {@link #move(int, double)} kept up to
+     *     date, so the adaptive sort that follows only has to merge in the new units. Any other
+     *     change to the lane is still handled correctly, just with more sorting work.
+     * </p>
+     * @param lane The units of one side, in spawn order.
+     */
+    public void rebuild(List<Unit> lane)
+    {
+        int newSize = lane.size();
+        ensureCapacity(newSize);
+
+        // Match the previous entries against the lane in order; unmatched ones were removed
+        int matched = 0;
+        for (int i = 0; i < size; i++)
+        {
+            Entry entry = byOrder[i];
+            if (matched < newSize && lane.get(matched) == entry.unit)
+            {
+                entry.order = matched++;
+            }
+            else
+            {
+                entry.order = -1;
+            }
+        }
+
+        // Survivors keep their previous sorted order, new units are appended after them
+        int count = 0;
+        for (int p = 0; p < size; p++)
+        {
+            Entry entry = sorted[p];
+            if (entry.order < 0)
+            {
+                entry.unit = null;
+                idle[idleCount++] = entry;
+                continue;
+            }
+            entry.coordinate = entry.unit.getCoordinate();
+            nextByOrder[entry.order] = entry;
+            sorted[count++] = entry;
+        }
+        for (int i = matched; i < newSize; i++)
+        {
+            Entry entry = idleCount > 0 ? idle[--idleCount] : new Entry();
+            Unit unit = lane.get(i);
+            entry.unit = unit;
+            entry.coordinate = unit.getCoordinate();
+            entry.order = i;
+            nextByOrder[i] = entry;
+            sorted[count++] = entry;
+        }
+
+        Entry[] swap = byOrder;
+        byOrder = nextByOrder;
+        nextByOrder = swap;
+        Arrays.fill(nextByOrder, 0, Math.max(size, newSize), null);
+        Arrays.fill(sorted, newSize, Math.max(size, newSize), null);
+        size = newSize;
+
+        Arrays.sort(sorted, 0, size, BY_POSITION);
+        for (int i = 0; i < size; i++)
+        {
+            sorted[i].position = i;
+        }
+    }
+
+    private void ensureCapacity(int capacity)
+    {
+        if (sorted.length >= capacity) return;
+        int newCapacity = Math.max(capacity, sorted.length * 2);
+        byOrder = Arrays.copyOf(byOrder, newCapacity);
+        sorted = Arrays.copyOf(sorted, newCapacity);
+        nextByOrder = new Entry[newCapacity];
+        idle = Arrays.copyOf(idle, newCapacity);
+    }
+
+    /**
+     * Moves an indexed unit to a new coordinate, keeping the index sorted.
+     * <p>
+     *     Units only move a few pixels per tick, so the entry is shifted into place by
+     *     neighbouring swaps, which is constant time in practice.
+     * </p>
+     * @param order The position of the unit in the list the index was built from.
+     * @param coordinate The new coordinate of the unit.
+     */
+    public void move(int order, double coordinate)
+    {
+        Entry entry = byOrder[order];
+        entry.coordinate = coordinate;
+        int p = entry.position;
+        while (p + 1 < size && BY_POSITION.compare(sorted[p + 1], entry) < 0)
+        {
+            swap(p, p + 1);
+            p++;
+        }
+        while (p > 0 && BY_POSITION.compare(sorted[p - 1], entry) > 0)
+        {
+            swap(p, p - 1);
+            p--;
+        }
+    }
+
+    private void swap(int i, int j)
+    {
+        Entry a = sorted[i];
+        Entry b = sorted[j];
+        sorted[i] = b;
+        sorted[j] = a;
+        a.position = j;
+        b.position = i;
+    }
+
+    /**
+     * Returns the alive unit that comes first in list order among those within range of a point.
+     * @param center The point to measure from.
+     * @param range The maximum distance, inclusive.
+     * @return The first alive unit with {@code |center - coordinate| <= range}, or {@code null} if none.
+     */
+    public Unit firstInRange(double center, double range)
+    {
+        int from = firstAtOrAfter(center, range);
+        Entry best = null;
+        for (int p = from; p < size; p++)
+        {
+            Entry entry = sorted[p];
+            if (entry.coordinate - center > range) break;
+            if (!entry.unit.isAlive()) continue;
+            if (best == null || entry.order < best.order) best = entry;
+        }
+        return best == null ? null : best.unit;
+    }
+
+    /**
+     * Checks whether any alive unit is within the given distance of a point.
+     * @param center The point to measure from.
+     * @param radius The maximum distance, inclusive.
+     * @return {@code true} if an alive unit has {@code |center - coordinate| <= radius}, {@code false} otherwise.
+     */
+    public boolean anyWithin(double center, double radius)
+    {
+        for (int p = firstAtOrAfter(center, radius); p < size; p++)
+        {
+            Entry entry = sorted[p];
+            if (entry.coordinate - center > radius) break;
+            if (entry.unit.isAlive()) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether any alive unit is strictly ahead of a point and closer than the given distance.
+     * @param from The point to measure from.
+     * @param distance The exclusive upper bound on the distance ahead.
+     * @param direction The direction that counts as ahead ({@code 1} for right, {@code -1} for left).
+     * @return {@code true} if an alive unit has {@code 0 < (coordinate - from) * direction < distance}.
+     */
+    public boolean anyAhead(double from, double distance, int direction)
+    {
+        if (direction > 0)
+        {
+            for (int p = firstAfter(from); p < size; p++)
+            {
+                Entry entry = sorted[p];
+                if (entry.coordinate - from >= distance) break;
+                if (entry.unit.isAlive()) return true;
+            }
+        }
+        else
+        {
+            for (int p = firstAtOrAfterPoint(from) - 1; p >= 0; p--)
+            {
+                Entry entry = sorted[p];
+                if (from - entry.coordinate >= distance) break;
+                if (entry.unit.isAlive()) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the alive unit closest to a point within the given range.
+     * Units at the same distance are resolved in favour of the one that comes first in list order.
+     * @param x The point to measure from.
+     * @param range The maximum distance, inclusive.
+     * @return The closest alive unit with {@code |coordinate - x| <= range}, or {@code null} if none.
+     */
+    public Unit nearestTo(double x, double range)
+    {
+        int split = firstAtOrAfterPoint(x);
+        Entry best = null;
+        double bestDist = Double.MAX_VALUE;
+
+        for (int p = split; p < size; p++)
+        {
+            Entry entry = sorted[p];
+            double dist = Math.abs(entry.coordinate - x);
+            if (dist > range || dist > bestDist) break;
+            if (!entry.unit.isAlive()) continue;
+            if (best == null || dist < bestDist || entry.order < best.order)
+            {
+                best = entry;
+                bestDist = dist;
+            }
+        }
+        for (int p = split - 1; p >= 0; p--)
+        {
+            Entry entry = sorted[p];
+            double dist = Math.abs(entry.coordinate - x);
+            if (dist > range || dist > bestDist) break;
+            if (!entry.unit.isAlive()) continue;
+            if (best == null || dist < bestDist || entry.order < best.order)
+            {
+                best = entry;
+                bestDist = dist;
+            }
+        }
+        return best == null ? null : best.unit;
+    }
+
+    /**
+     * Returns the number of indexed units, alive or not.
+     * @return The size of the index.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    // First position p with center - coordinate <= range; the left edge of a range window.
+    private int firstAtOrAfter(double center, double range)
+    {
+        int lo = 0, hi = size;
+        while (lo < hi)
+        {
+            int mid = (lo + hi) >>> 1;
+            if (center - sorted[mid].coordinate <= range) hi = mid;
+            else lo = mid + 1;
+        }
+        return lo;
+    }
+
+    // First position p with coordinate - from > 0.
+    private int firstAfter(double from)
+    {
+        int lo = 0, hi = size;
+        while (lo < hi)
+        {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid].coordinate - from > 0) hi = mid;
+            else lo = mid + 1;
+        }
+        return lo;
+    }
+
+    // First position p with coordinate - x >= 0.
+    private int firstAtOrAfterPoint(double x)
+    {
+        int lo = 0, hi = size;
+        while (lo < hi)
+        {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid].coordinate - x >= 0) hi = mid;
+            else lo = mid + 1;
+        }
+        return lo;
+    }
+}
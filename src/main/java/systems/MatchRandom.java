@@ -0,0 +1,119 @@
+package systems;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * A seeded SplitMix64 random stream owned by a single match.
+ * <p>
+ *     The generator produces the same sequence as {@link java.util.SplittableRandom} for the same
+ *     seed, but its state is one plain {@code long} that can be read and written with
+ *     {@link #getState()} and {@link #setState(long)}, so a match can be saved and resumed with
+ *     its random streams exactly where they were.
+ * </p>
+ * <p>
+ *     {@link #split()} derives an independent child stream. A match splits its root stream
+ *     once per subsystem, so each subsystem draws its own numbers and adding a roll in one of
+ *     them does not shift the numbers seen by the others. The generator is not thread-safe;
+ *     it is meant to be used only by the thread stepping its match.
+ * </p>
+ */
+public final class MatchRandom implements RandomGenerator
+{
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long state;
+    private final long gamma;
+
+    /**
+     * Initializes a stream with the given seed.
+     * @param seed The seed of the stream.
+     */
+    public MatchRandom(long seed)
+    {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    private MatchRandom(long seed, long gamma)
+    {
+        this.state = seed;
+        this.gamma = gamma;
+    }
+
+    /**
+     * Returns a fresh seed for a match that does not need to be reproduced.
+     * @return A random seed.
+     */
+    public static long newSeed()
+    {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * Creates an independent stream and advances this one.
+     * @return The child stream.
+     */
+    public MatchRandom split()
+    {
+        return new MatchRandom(nextLong(), mixGamma(nextState()));
+    }
+
+    @Override
+    public long nextLong()
+    {
+        return mix64(nextState());
+    }
+
+    @Override
+    public int nextInt()
+    {
+        return mix32(nextState());
+    }
+
+    /**
+     * Returns the current state of the stream.
+     * @return The state, to be passed to {@link #setState(long)} later.
+     */
+    public long getState()
+    {
+        return state;
+    }
+
+    /**
+     * Moves the stream to a state previously returned by {@link #getState()}.
+     * The stream must have been created the same way as the one the state was read from.
+     * @param state The state to restore.
+     */
+    public void setState(long state)
+    {
+        this.state = state;
+    }
+
+    private long nextState()
+    {
+        return state += gamma;
+    }
+
+    private static long mix64(long z)
+    {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int mix32(long z)
+    {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    // An odd gamma with enough bit transitions to give a well-mixed child stream.
+    private static long mixGamma(long z)
+    {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int transitions = Long.bitCount(z ^ (z >>> 1));
+        return (transitions < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+}
@@ -0,0 +1,149 @@
+package systems;
+
+/**
+ * Fixed-timestep clock that drives the battle simulation.
+ * <p>
+ *     Elapsed real time is fed in through {@link #advance(long)} and collected in an accumulator,
+ *     which is paid out in whole steps of {@link #getStepNanos()}. The simulation only ever
+ *     sees the time returned by {@link #step()}, so cooldowns, training and spawn timers run on
+ *     simulated time and the game plays at the same speed regardless of the frame rate.
+ * </p>
+ * <p>
+ *     Simulated time starts at {@link #START_TIME_NANOS} rather than zero, so timers whose last
+ *     trigger is initialised to {@code 0} (unit attacks, turret shots, currency regeneration) are
+ *     already elapsed on the first step, the same way they were under {@link System#nanoTime()}.
+ * </p>
+ */
+public class SimulationClock
+{
+    /**
+     * The default step length, one sixtieth of a second.
+     */
+    public static final long DEFAULT_STEP_NANOS = 1_000_000_000L / 60;
+
+    /**
+     * The simulated time before the first step.
+     */
+    public static final long START_TIME_NANOS = 10_000_000_000L;
+
+    /**
+     * The most steps paid out by a single {@link #advance(long)}; any backlog beyond that is dropped
+     * so a long stall slows the game down instead of freezing it while it catches up.
+     */
+    public static final int MAX_STEPS_PER_ADVANCE = 8;
+
+    private final long stepNanos;
+    private long time;
+    private long accumulator;
+    private long stepCount;
+
+    /**
+     * Initializes a clock with the default step length.
+     */
+    public SimulationClock()
+    {
+        this(DEFAULT_STEP_NANOS);
+    }
+
+    /**
+     * Initializes a clock with the given step length.
+     * @param stepNanos The length of one simulation step in nanoseconds; must be positive.
+     */
+    public SimulationClock(long stepNanos)
+    {
+        if (stepNanos <= 0) throw new IllegalArgumentException("stepNanos must be positive: " + stepNanos);
+        this.stepNanos = stepNanos;
+        this.time = START_TIME_NANOS;
+    }
+
+    /**
+     * Adds elapsed real time to the accumulator and returns how many steps are now due.
+     * Negative elapsed time is ignored.
+     * @param elapsedNanos The real time elapsed since the previous call, in nanoseconds.
+     * @return The number of steps the caller should run, at most {@link #MAX_STEPS_PER_ADVANCE}.
+     */
+    public int advance(long elapsedNanos)
+    {
+        if (elapsedNanos > 0) accumulator += elapsedNanos;
+        long due = accumulator / stepNanos;
+        if (due > MAX_STEPS_PER_ADVANCE)
+        {
+            accumulator %= stepNanos;
+            return MAX_STEPS_PER_ADVANCE;
+        }
+        accumulator -= due * stepNanos;
+        return (int) due;
+    }
+
+    /**
+     * Moves simulated time forward by one step.
+     * @return The simulated time at the end of the step, in nanoseconds.
+     */
+    public long step()
+    {
+        time += stepNanos;
+        stepCount++;
+        return time;
+    }
+
+    /**
+     * Returns the current simulated time.
+     * @return The simulated time in nanoseconds.
+     */
+    public long getTime()
+    {
+        return time;
+    }
+
+    /**
+     * Returns the number of steps run so far.
+     * @return The step count.
+     */
+    public long getStepCount()
+    {
+        return stepCount;
+    }
+
+    /**
+     * Returns the length of one step.
+     * @return The step length in nanoseconds.
+     */
+    public long getStepNanos()
+    {
+        return stepNanos;
+    }
+
+    /**
+     * Returns the real time collected towards the next step.
+     * @return The accumulator in nanoseconds, less than one step.
+     */
+    public long getAccumulator()
+    {
+        return accumulator;
+    }
+
+    /**
+     * Moves the clock to a state read earlier from {@link #getTime()}, {@link #getStepCount()}
+     * and {@link #getAccumulator()}.
+     * @param time The simulated time in nanoseconds.
+     * @param stepCount The number of steps run.
+     * @param accumulator The real time collected towards the next step; from 0 to one step exclusive.
+     */
+    public void restore(long time, long stepCount, long accumulator)
+    {
+        if (stepCount < 0) throw new IllegalArgumentException("stepCount must not be negative: " + stepCount);
+        if (accumulator < 0 || accumulator >= stepNanos) throw new IllegalArgumentException("accumulator out of range: " + accumulator);
+        this.time = time;
+        this.stepCount = stepCount;
+        this.accumulator = accumulator;
+    }
+
+    /**
+     * Returns how far the accumulator is into the next step, for interpolating between steps.
+     * @return A value in the range {@code [0, 1)}.
+     */
+    public double getAlpha()
+    {
+        return (double) accumulator / stepNanos;
+    }
+}
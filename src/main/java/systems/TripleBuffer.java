@@ -0,0 +1,85 @@
+package systems;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Three reusable buffers that hand the latest complete value from one writer thread to one reader
+ * thread without locks.
+ * <p>
+ *     The writer always fills its own back buffer and then {@link #publish() publishes} it, which
+ *     swaps it with the middle buffer in one atomic step. The reader {@link #swap() swaps} the middle
+ *     buffer into its own front buffer when something new has been published. Neither side ever
+ *     waits for the other or sees a buffer the other side is still using; a reader that is slower
+ *     than the writer simply skips the values it had no time for.
+ * </p>
+ * <p>
+ *     The buffers are created once and reused, so a value must be fully rewritten by the writer
+ *     before each publish, and the reader must not modify or keep the front buffer past its next swap.
+ * </p>
+ * @param <T> The type of the buffers.
+ */
+public class TripleBuffer<T>
+{
+    // The low two bits hold the index of the middle buffer; FRESH marks it as published and unread.
+    private static final int INDEX_MASK = 3;
+    private static final int FRESH = 4;
+
+    private final Object[] buffers = new Object[3];
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0;
+    private int front = 2;
+
+    /**
+     * Initializes the three buffers.
+     * @param factory Creates each of the buffers.
+     */
+    public TripleBuffer(Supplier<T> factory)
+    {
+        for (int i = 0; i < buffers.length; i++) buffers[i] = factory.get();
+    }
+
+    /**
+     * Returns the buffer the writer fills next. Must only be called from the writer thread.
+     * @return The back buffer.
+     */
+    @SuppressWarnings("unchecked")
+    public T getWriteBuffer()
+    {
+        return (T) buffers[back];
+    }
+
+    /**
+     * Makes the back buffer the latest value and takes the previous middle buffer as the new back buffer.
+     * Must only be called from the writer thread.
+     * @return {@code true} if the value replaced in the middle had never been read, {@code false} otherwise.
+     */
+    public boolean publish()
+    {
+        int previous = middle.getAndSet(back | FRESH);
+        back = previous & INDEX_MASK;
+        return (previous & FRESH) != 0;
+    }
+
+    /**
+     * Takes the latest published value as the front buffer, if one was published since the last swap.
+     * Must only be called from the reader thread.
+     * @return {@code true} if the front buffer now holds a newer value, {@code false} if it is unchanged.
+     */
+    public boolean swap()
+    {
+        if ((middle.get() & FRESH) == 0) return false;
+        front = middle.getAndSet(front) & INDEX_MASK;
+        return true;
+    }
+
+    /**
+     * Returns the buffer the reader reads. Must only be called from the reader thread.
+     * @return The front buffer, holding the value taken by the last {@link #swap()}.
+     */
+    @SuppressWarnings("unchecked")
+    public T getReadBuffer()
+    {
+        return (T) buffers[front];
+    }
+}
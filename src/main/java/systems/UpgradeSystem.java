@@ -6,11 +6,31 @@ import units.Unit;
 
 /**
  * Upgrading System for Unit Attack, Unit HP, Turret Attack, Turret Range and Turret Capacity.
+ * <p>
+ *     Upgrades belong to one match: every GameManager owns its own UpgradeSystem, so matches
+ *     running side by side never see each other's upgrades. Purchased upgrades are applied to
+ *     units and turrets with {@link #applyTo(Unit)} and {@link #applyTo(Turret)}.
+ * </p>
  */
 public class UpgradeSystem
 {
+    /**
+     * The factor applied to a unit's attack by the unit attack upgrade.
+     */
+    public static final double UNIT_ATTACK_MULTIPLIER = 1.2;
+
+    /**
+     * The factor applied to a unit's hp and maxHp by the unit hp upgrade.
+     */
+    public static final double UNIT_HP_MULTIPLIER = 1.5;
+
     private final CurrencySystem currency;
 
+    private boolean unitAttackUpgraded;
+    private boolean unitHpUpgraded;
+    private boolean turretAttackUpgraded;
+    private boolean turretRangeUpgraded;
+
     /**
      * Initializes the field according to the given parameters.
      * @param currency The amount of currency to purchase upgrades.
@@ -21,76 +41,173 @@ public class UpgradeSystem
     }
 
     /**
-     * Sets upgradedAttack of Unit class to true if Unit.isUpgradedAttack is false and currency.spend(cost) is true.
+     * Sets unitAttackUpgraded to true if it is false and currency.spend(cost) is true.
      * @param cost The amount of currency to purchase the upgrade.
      * @return {@code true} if upgrade successfully, {@code false} otherwise.
      */
     public boolean upgradeUnitAttack(int cost)
     {
-        if (!Unit.isUpgradedAttack() && currency.spend(cost))
+        if (!unitAttackUpgraded && currency.spend(cost))
         {
-            Unit.setUpgradedAttack(true);
+            unitAttackUpgraded = true;
             return true;
         }
         return false;
     }
 
     /**
-     * Sets upgradedHp of Unit class to true if Unit.isUpgradedHp is false and currency.spend(cost) is true.
+     * Sets unitHpUpgraded to true if it is false and currency.spend(cost) is true.
      * @param cost The amount of currency to purchase the upgrade.
      * @return {@code true} if upgrade successfully, {@code false} otherwise.
      */
     public boolean upgradeUnitHp(int cost)
     {
-        if (!Unit.isUpgradedHp() && currency.spend(cost))
+        if (!unitHpUpgraded && currency.spend(cost))
         {
-            Unit.setUpgradedHp(true);
+            unitHpUpgraded = true;
             return true;
         }
         return false;
     }
 
     /**
-     * Sets upgradedAttack of Turret class to true if Turret.isUpgradedAttack is false and currency.spend(cost) is true.
+     * Sets turretAttackUpgraded to true if it is false and currency.spend(cost) is true.
      * @param cost The amount of currency to purchase the upgrade.
      * @return {@code true} if upgrade successfully, {@code false} otherwise.
      */
     public boolean upgradeTurretAttack(int cost)
     {
-        if (!Turret.isUpgradedAttack() && currency.spend(cost))
+        if (!turretAttackUpgraded && currency.spend(cost))
         {
-            Turret.setUpgradedAttack(true);
+            turretAttackUpgraded = true;
             return true;
         }
         return false;
     }
 
     /**
-     * Sets upgradedRange of Turret class to true if Turret.isUpgradedRange is false and currency.spend(cost) is true.
+     * Sets turretRangeUpgraded to true if it is false and currency.spend(cost) is true.
      * @param cost The amount of currency to purchase the upgrade.
      * @return {@code true} if upgrade successfully, {@code false} otherwise.
      */
     public boolean upgradeTurretRange(int cost)
     {
-        if (!Turret.isUpgradedRange() && currency.spend(cost))
+        if (!turretRangeUpgraded && currency.spend(cost))
         {
-            Turret.setUpgradedRange(true);
+            turretRangeUpgraded = true;
             return true;
         }
         return false;
     }
 
     /**
-     * Calls upgradeTurretCapacity of the base parameter if Base.getCapacityUpgrades is less than 1 and currency.spend(cost) is true.
+     * Calls upgradeTurretCapacity of the base parameter if base.getCapacityUpgrades is less than 1 and currency.spend(cost) is true.
      * @param base The base to upgrade turret's capacity
      * @param cost The amount of currency to purchase the upgrade.
      * @return {@code true} if upgrade successfully, {@code false} otherwise.
      */
     public boolean upgradeBaseCapacity(Base base, int cost) {
-        if (Base.getCapacityUpgrades() < 1 && currency.spend(cost)) {
+        if (base.getCapacityUpgrades() < 1 && currency.spend(cost)) {
             base.upgradeTurretCapacity();
             return true;
         }
         return false;
     }
-}
\ No newline at end of file
+
+    /**
+     * Applies the purchased unit upgrades to a unit that is about to enter the battlefield.
+     * Must be called once per unit.
+     * @param unit The unit to upgrade.
+     */
+    public void applyTo(Unit unit)
+    {
+        if (unitAttackUpgraded) unit.setAttack((int) (unit.getAttack() * UNIT_ATTACK_MULTIPLIER));
+        if (unitHpUpgraded)
+        {
+            unit.setMaxHp((int) (unit.getMaxHp() * UNIT_HP_MULTIPLIER));
+            unit.setHp((int) (unit.getHp() * UNIT_HP_MULTIPLIER));
+        }
+    }
+
+    /**
+     * Copies the purchased turret upgrades onto a turret.
+     * @param turret The turret to upgrade.
+     */
+    public void applyTo(Turret turret)
+    {
+        turret.setUpgradedAttack(turretAttackUpgraded);
+        turret.setUpgradedRange(turretRangeUpgraded);
+    }
+
+    /**
+     * Check whether the unit attack upgrade has been purchased.
+     * @return {@code true} if purchased, {@code false} otherwise.
+     */
+    public boolean isUnitAttackUpgraded()
+    {
+        return unitAttackUpgraded;
+    }
+
+    /**
+     * Sets whether the unit attack upgrade has been purchased, without charging for it.
+     * @param unitAttackUpgraded The new state of the upgrade.
+     */
+    public void setUnitAttackUpgraded(boolean unitAttackUpgraded)
+    {
+        this.unitAttackUpgraded = unitAttackUpgraded;
+    }
+
+    /**
+     * Check whether the unit hp upgrade has been purchased.
+     * @return {@code true} if purchased, {@code false} otherwise.
+     */
+    public boolean isUnitHpUpgraded()
+    {
+        return unitHpUpgraded;
+    }
+
+    /**
+     * Sets whether the unit hp upgrade has been purchased, without charging for it.
+     * @param unitHpUpgraded The new state of the upgrade.
+     */
+    public void setUnitHpUpgraded(boolean unitHpUpgraded)
+    {
+        this.unitHpUpgraded = unitHpUpgraded;
+    }
+
+    /**
+     * Check whether the turret attack upgrade has been purchased.
+     * @return {@code true} if purchased, {@code false} otherwise.
+     */
+    public boolean isTurretAttackUpgraded()
+    {
+        return turretAttackUpgraded;
+    }
+
+    /**
+     * Sets whether the turret attack upgrade has been purchased, without charging for it.
+     * @param turretAttackUpgraded The new state of the upgrade.
+     */
+    public void setTurretAttackUpgraded(boolean turretAttackUpgraded)
+    {
+        this.turretAttackUpgraded = turretAttackUpgraded;
+    }
+
+    /**
+     * Check whether the turret range upgrade has been purchased.
+     * @return {@code true} if purchased, {@code false} otherwise.
+     */
+    public boolean isTurretRangeUpgraded()
+    {
+        return turretRangeUpgraded;
+    }
+
+    /**
+     * Sets whether the turret range upgrade has been purchased, without charging for it.
+     * @param turretRangeUpgraded The new state of the upgrade.
+     */
+    public void setTurretRangeUpgraded(boolean turretRangeUpgraded)
+    {
+        this.turretRangeUpgraded = turretRangeUpgraded;
+    }
+}
@@ -1,13 +1,15 @@
 package turrets;
 
 import interfaces.Attackable;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Abstract base class for all defensive turrets.
  * <p>
  * This class defines the common properties of turrets such as attack power, range, cost,
- * and cooldowns. It also manages global upgrades for turret stats.
+ * and cooldowns. Upgrades and the generator for the damage variance belong to each turret,
+ * and are set by the match the turret is placed in.
  * </p>
  */
 public abstract class Turret {
@@ -17,13 +19,12 @@ public abstract class Turret {
     private long cooldown;
     private long lastAttackTime;
 
-    private static boolean upgradedAttack = false;
-    private static boolean upgradedRange = false;
+    private boolean upgradedAttack;
+    private boolean upgradedRange;
+    private RandomGenerator random;
 
     protected static final double DAMAGE_MULTIPLIER = 1.5;
 
-    private static final Random RANDOM = new Random();
-
     /**
      * Initializes a new Turret with specified attack power, range, and cost.
      * Sets the default cooldown to 1.5 seconds and last attack time to 0.
@@ -48,12 +49,14 @@ public abstract class Turret {
 
     /**
      * Applies a random variance to the base damage.
-     * The variation is between 0.75 and 1.25 of the base damage.
+     * The variation is between 0.75 and 1.25 of the base damage, rolled with the turret's generator,
+     * or with the current thread's generator if none was set.
      * @param baseDamage The initial damage amount.
      * @return The damage after applying variance.
      */
     protected int applyVariance(int baseDamage) {
-        double variation = 0.75 + (0.5 * RANDOM.nextDouble());
+        RandomGenerator rng = random != null ? random : ThreadLocalRandom.current();
+        double variation = 0.75 + (0.5 * rng.nextDouble());
         return (int) Math.round(baseDamage * variation);
     }
 
@@ -77,11 +80,6 @@ public abstract class Turret {
      */
     public void resetCooldown(long now) { this.setLastAttackTime(now); }
 
-    /**
-     * Resets the static upgrade flags for all turrets to false.
-     */
-    public static void resetUpgrades() { upgradedAttack = false; upgradedRange = false; }
-
     /**
      * Returns the attack damage of the turret, applying the upgrade multiplier if active.
      * @return The effective attack damage.
@@ -94,6 +92,18 @@ public abstract class Turret {
      */
     public int getRange() { return upgradedRange ? (int)(range * 1.2) : range; }
 
+    /**
+     * Returns the attack damage of the turret without the upgrade multiplier.
+     * @return The base attack damage.
+     */
+    public int getBaseAttack() { return attack; }
+
+    /**
+     * Returns the range of the turret without the upgrade multiplier.
+     * @return The base range.
+     */
+    public int getBaseRange() { return range; }
+
     /**
      * Returns the cost of the turret.
      * @return The cost.
@@ -146,23 +156,29 @@ public abstract class Turret {
      * Checks if the turret attack upgrade is active.
      * @return {@code true} if upgraded, {@code false} otherwise.
      */
-    public static boolean isUpgradedAttack() { return upgradedAttack; }
+    public boolean isUpgradedAttack() { return upgradedAttack; }
 
     /**
      * Sets the status of the turret attack upgrade.
      * @param upgradedAttack The new upgrade status.
      */
-    public static void setUpgradedAttack(boolean upgradedAttack) { Turret.upgradedAttack = upgradedAttack; }
+    public void setUpgradedAttack(boolean upgradedAttack) { this.upgradedAttack = upgradedAttack; }
 
     /**
      * Checks if the turret range upgrade is active.
      * @return {@code true} if upgraded, {@code false} otherwise.
      */
-    public static boolean isUpgradedRange() { return upgradedRange; }
+    public boolean isUpgradedRange() { return upgradedRange; }
 
     /**
      * Sets the status of the turret range upgrade.
      * @param upgradedRange The new upgrade status.
      */
-    public static void setUpgradedRange(boolean upgradedRange) { Turret.upgradedRange = upgradedRange; }
+    public void setUpgradedRange(boolean upgradedRange) { this.upgradedRange = upgradedRange; }
+
+    /**
+     * Sets the generator used for the damage variance of this turret.
+     * @param random The new generator, or {@code null} to use the current thread's generator.
+     */
+    public void setRandom(RandomGenerator random) { this.random = random; }
 }
\ No newline at end of file
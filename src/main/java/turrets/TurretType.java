@@ -0,0 +1,40 @@
+package turrets;
+
+/**
+ * The turret types the player can buy, with their shop stats.
+ */
+public enum TurretType {
+    STANDARD,
+    LONG_RANGE;
+
+    /**
+     * Creates a new turret of this type with the shop stats.
+     * @return The new turret, not yet placed.
+     */
+    public Turret create() {
+        return switch (this) {
+            case STANDARD -> new StandardTurret(20, 600, 300);
+            case LONG_RANGE -> new LongRangeTurret(20, 900, 450);
+        };
+    }
+
+    /**
+     * Returns the purchase cost of this turret type.
+     * @return The cost as int.
+     */
+    public int getCost() {
+        return switch (this) {
+            case STANDARD -> 300;
+            case LONG_RANGE -> 450;
+        };
+    }
+
+    /**
+     * Returns the type of the given turret.
+     * @param turret The turret to classify.
+     * @return The TurretType matching the turret's class.
+     */
+    public static TurretType of(Turret turret) {
+        return (turret instanceof LongRangeTurret) ? LONG_RANGE : STANDARD;
+    }
+}
@@ -4,30 +4,48 @@ import This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode.
 import This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode.SoundManager;
 import This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode.GameManager;
 import javafx.animation.AnimationTimer;
+import javafx.event.EventHandler;
 import javafx.scene.control.Label;
 import javafx.scene.control.ProgressBar;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.effect.BoxBlur;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import controllers.GameController;
+import controllers.HudModel;
+import controllers.RenderEvent;
+import controllers.RenderSnapshot;
+import controllers.SimulationLoop;
+import objects.Projectile;
+import systems.DamageEventBuffer;
+import systems.TickProfiler;
 import ui.renderer.AbilityRenderer;
+import ui.renderer.CanvasBattlefieldRenderer;
+import ui.renderer.DamagePopupRenderer;
+import ui.renderer.NodeBatch;
 import ui.renderer.ProjectileRenderer;
+import ui.renderer.RendererPool;
+import ui.renderer.SpriteCache;
 import ui.renderer.TurretRenderer;
 import ui.renderer.UnitRenderer;
+import ui.renderer.Viewport;
+import turrets.Turret;
+import turrets.TurretType;
 import units.Unit;
-import units.RangedUnit;
-import units.ArmoredUnit;
-import units.AntiArmoredUnit;
+import units.UnitType;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * The primary view for the game battlefield.
@@ -35,21 +53,58 @@ import java.util.Objects;
  * This class handles the rendering of the scrolling map, units, turrets, projectiles,
  * and base health. It also orchestrates the main game loop {@link AnimationTimer}.
  * </p>
+ * <p>
+ * The match is run by a {@link SimulationLoop}, inline in each frame or on its own thread, and
+ * the view only ever draws the loop's latest {@link RenderSnapshot}. Renderers are created from
+ * the loop's {@link RenderEvent}s when a unit spawns, a projectile is fired or a turret is placed,
+ * and removed when it dies, resolves or is sold. Each frame then only moves the renderers of the
+ * entities in the snapshot, interpolated between the last two simulation steps by how far the
+ * clock has moved on since, so motion is smooth at any refresh rate.
+ * </p>
+ * <p>
+ * Unit and projectile renderers are looked up by entity identity and recycled through
+ * {@link RendererPool}s, and the nodes they add or remove during a frame reach the unit layer
+ * in one batch at the end of the frame. Damage popups reuse a fixed pool of text nodes on a
+ * layer above the units.
+ * </p>
+ * <p>
+ * Only what is inside the scrolled {@link Viewport} (plus a margin) is updated: off-screen
+ * units and projectiles are hidden and skip their updates and animation, and damage off screen
+ * shows no popup.
+ * </p>
+ * <p>
+ * In {@link RenderMode#CANVAS} mode units, projectiles and damage numbers are not nodes at all:
+ * a {@link CanvasBattlefieldRenderer} redraws them into one canvas every frame. Turrets, bases
+ * and ability effects are nodes in both modes.
+ * </p>
  */
 public class BattlefieldView {
 
     private final StackPane root;
-    private final GameController gameController;
+    private final SceneManager sceneManager;
+    private final SimulationLoop loop;
     private final SoundManager soundManager;
     private final ScrollPane scrollPane;
     private final Pane battlefieldPane;
     private final Pane turretLayer;
+    private final Pane unitLayer;
     private final HUD hud;
+    private final HudModel hudModel = new HudModel();
     private final StackPane gameContentLayer;
 
-    private final List<UnitRenderer> unitRenderers = new ArrayList<>();
-    private final List<TurretRenderer> turretRenderers = new ArrayList<>();
-    private final List<ProjectileRenderer> projectileRenderers = new ArrayList<>();
+    private final RendererPool<Unit, UnitRenderer> unitRenderers = new RendererPool<>(() -> new UnitRenderer(UNIT_GROUND_Y));
+    private final RendererPool<Projectile, ProjectileRenderer> projectileRenderers = new RendererPool<>(ProjectileRenderer::new);
+    private final Map<Turret, TurretRenderer> turretRenderers = new IdentityHashMap<>();
+    private final NodeBatch battlefieldNodes;
+    private final Viewport viewport = new Viewport(CULL_MARGIN);
+    // Null in NODES mode.
+    private final CanvasBattlefieldRenderer canvasRenderer;
+    // Null in CANVAS mode, where the canvas draws the popups itself.
+    private final DamagePopupRenderer popupRenderer;
+
+    // The game the damage readers belong to; replaced when the controller starts another.
+    private GameManager boundGame;
+    private final List<RenderEvent> frameEvents = new ArrayList<>();
 
     private ProgressBar playerHpBar;
     private ProgressBar enemyHpBar;
@@ -57,16 +112,51 @@ public class BattlefieldView {
     private Label enemyHpLabel;
 
     private AnimationTimer gameLoop;
+    private EndGameView endGameView;
+    private long startedAt;
+    // From start() to the first frame that draws the match, for the F4 report; -1 until then.
+    private long startToFirstFrameNanos = -1;
+
+    // Popups and sounds drain the damage events independently; created when a game is bound.
+    private DamageEventBuffer.Reader popupEvents;
+    private DamageEventBuffer.Reader soundEvents;
+
+    private final EventHandler<KeyEvent> debugKeys = this::handleDebugKey;
+
+    private static final double[] SPEEDS = {0.5, 1, 2, 4, 8};
+    private static final double UNIT_GROUND_Y = 900;
+    // How far off screen entities keep being drawn, so nothing pops in at the edge.
+    private static final double CULL_MARGIN = 100;
+
+    /** The default cap on damage popups shown at once. */
+    public static final int DEFAULT_MAX_POPUPS = 128;
 
     /**
-     * Initializes the battlefield view.
+     * Initializes the battlefield view with one node per entity, running the match in its frames.
+     * Nothing runs until {@link #start()}.
      *
      * @param sceneManager   The SceneManager used to transition between scenes.
      * @param gameController The GameController used for game logic and state updates.
      * @param soundManager   The SoundManager used for audio playback.
      */
     public BattlefieldView(SceneManager sceneManager, GameController gameController, SoundManager soundManager) {
-        this.gameController = gameController;
+        this(sceneManager, gameController, soundManager, RenderMode.NODES, DEFAULT_MAX_POPUPS, false);
+    }
+
+    /**
+     * Initializes the battlefield view. Nothing runs until {@link #start()}.
+     *
+     * @param sceneManager     The SceneManager used to transition between scenes.
+     * @param gameController   The GameController used for game logic and state updates.
+     * @param soundManager     The SoundManager used for audio playback.
+     * @param renderMode       How units, projectiles and damage numbers are drawn.
+     * @param maxPopups        The most damage popups shown at once; the oldest gives way beyond that.
+     * @param simulationThread True to run the match on its own thread, false to run it in the frames.
+     */
+    public BattlefieldView(SceneManager sceneManager, GameController gameController, SoundManager soundManager,
+                           RenderMode renderMode, int maxPopups, boolean simulationThread) {
+        this.sceneManager = sceneManager;
+        this.loop = new SimulationLoop(gameController, simulationThread);
         this.soundManager = soundManager;
         root = new StackPane();
 
@@ -77,6 +167,19 @@ public class BattlefieldView {
         turretLayer.setPrefSize(3000, 1000);
         turretLayer.setPickOnBounds(false);
 
+        unitLayer = new Pane();
+        unitLayer.setPrefSize(3000, 1000);
+        unitLayer.setPickOnBounds(false);
+        battlefieldNodes = new NodeBatch(unitLayer);
+
+        if (renderMode == RenderMode.CANVAS) {
+            canvasRenderer = new CanvasBattlefieldRenderer(3000, 1000, UNIT_GROUND_Y, maxPopups);
+            popupRenderer = null;
+        } else {
+            canvasRenderer = null;
+            popupRenderer = new DamagePopupRenderer(maxPopups);
+        }
+
         scrollPane = new ScrollPane(battlefieldPane);
         scrollPane.setPannable(false);
         scrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
@@ -85,7 +188,7 @@ public class BattlefieldView {
         BorderPane gameLayer = new BorderPane();
         gameLayer.setCenter(scrollPane);
 
-        hud = new HUD(sceneManager, gameController, this, soundManager);
+        hud = new HUD(sceneManager, loop, hudModel, this, soundManager);
         BorderPane uiLayer = new BorderPane();
         uiLayer.setPickOnBounds(false);
         uiLayer.setTop(hud.getRoot());
@@ -106,17 +209,83 @@ public class BattlefieldView {
             }
         });
 
+        root.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (oldScene != null) oldScene.removeEventHandler(KeyEvent.KEY_PRESSED, debugKeys);
+            if (newScene != null) newScene.addEventHandler(KeyEvent.KEY_PRESSED, debugKeys);
+        });
+
         addBaseVisuals();
+        if (canvasRenderer != null) {
+            battlefieldPane.getChildren().add(canvasRenderer.getCanvas());
+        } else {
+            battlefieldPane.getChildren().addAll(unitLayer, popupRenderer.getLayer());
+        }
+    }
+
+    /**
+     * Starts showing the controller's current match, from the player's base.
+     * <p>
+     * The view is built once and started again for every match: the end game overlay is taken
+     * down and, on the first frame, every renderer is cleared and rebuilt from the new match,
+     * so a rematch creates no new scene, HUD or battlefield nodes.
+     * </p>
+     */
+    public void start() {
+        if (gameLoop != null) {
+            gameLoop.stop();
+            gameLoop = null;
+            loop.stop();
+        }
+        if (endGameView != null) root.getChildren().remove(endGameView.getRoot());
+        gameContentLayer.setEffect(null);
+        scrollPane.setHvalue(0);
+        hud.closeMenu();
+        soundManager.resetCombatSounds();
+        boundGame = null;
+        startedAt = System.nanoTime();
+        startToFirstFrameNanos = -1;
+
+        loop.start();
         startGameLoop(sceneManager);
     }
 
+    /**
+     * Handles the debug keys: F3 switches the tick profiler on or off, F4 prints its report, the
+     * sprite cache statistics, the sound effect counters and how long the battle took to start, F6
+     * cycles the game speed (useful when watching a replay).
+     * The profiler and speed belong to the match, so they are changed on the simulation's thread.
+     */
+    private void handleDebugKey(KeyEvent e) {
+        if (e.getCode() == KeyCode.F3) {
+            loop.submit(c -> {
+                TickProfiler profiler = c.getGameManager().getProfiler();
+                profiler.setEnabled(!profiler.isEnabled());
+                return profiler.isEnabled();
+            }).thenAccept(enabled -> System.out.println("Tick profiler " + (enabled ? "enabled" : "disabled")));
+        } else if (e.getCode() == KeyCode.F4) {
+            String viewReport = SpriteCache.shared().report() + soundManager.report()
+                    + String.format(Locale.ROOT, "battle start to first frame %.1f ms%n", startToFirstFrameNanos / 1e6);
+            loop.submit(c -> c.getGameManager().getProfiler().report())
+                    .thenAccept(report -> System.out.print(report + viewReport));
+        } else if (e.getCode() == KeyCode.F6) {
+            loop.submit(c -> {
+                double next = SPEEDS[0];
+                for (int i = 0; i < SPEEDS.length - 1; i++) {
+                    if (SPEEDS[i] == c.getSpeed()) next = SPEEDS[i + 1];
+                }
+                c.setSpeed(next);
+                return next;
+            }).thenAccept(next -> System.out.println("Game speed " + next + "x"));
+        }
+    }
+
     private void addBaseVisuals() {
-        try {
-            Image bg = new Image(Objects.requireNonNull(getClass().getResource("/images/background.png")).toExternalForm());
+        Image bg = SpriteCache.shared().find("/images/background.png", 0);
+        if (bg != null) {
             ImageView bgView = new ImageView(bg);
             bgView.setFitHeight(1000);
             battlefieldPane.getChildren().add(bgView);
-        } catch (Exception e) {
+        } else {
             Rectangle sky = new Rectangle(3000, 1000, Color.LIGHTBLUE);
             Rectangle ground = new Rectangle(3000, 300, Color.FORESTGREEN);
             ground.setLayoutY(700);
@@ -127,8 +296,8 @@ public class BattlefieldView {
 
         battlefieldPane.getChildren().add(turretLayer);
 
-        ImageView playerBase = new ImageView(new Image(Objects.requireNonNull(getClass().getResource("/images/base_1.png")).toExternalForm()));
-        playerBase.setFitWidth(300);
+        ImageView playerBase = new ImageView(SpriteCache.shared().base(true));
+        playerBase.setFitWidth(SpriteCache.BASE_WIDTH);
         playerBase.setPreserveRatio(true);
         playerBase.setLayoutX(-20);
         playerBase.setLayoutY(620);
@@ -143,8 +312,8 @@ public class BattlefieldView {
         playerHpLabel.setLayoutY(598);
         playerHpLabel.setStyle("-fx-text-fill: black; -fx-font-weight: bold; -fx-font-size: 14px;");
 
-        ImageView enemyBase = new ImageView(new Image(Objects.requireNonNull(getClass().getResource("/images/base_2.png")).toExternalForm()));
-        enemyBase.setFitWidth(300);
+        ImageView enemyBase = new ImageView(SpriteCache.shared().base(false));
+        enemyBase.setFitWidth(SpriteCache.BASE_WIDTH);
         enemyBase.setPreserveRatio(true);
         enemyBase.setLayoutX(2720);
         enemyBase.setLayoutY(620);
@@ -161,11 +330,16 @@ public class BattlefieldView {
 
         battlefieldPane.getChildren().addAll(playerBase, playerHpBar, playerHpLabel,
                 enemyBase, enemyHpBar, enemyHpLabel);
+
+        hudModel.addListener(HudModel.Field.PLAYER_BASE_HP,
+                () -> updateBaseHp(hudModel.getPlayerBaseHp(), hudModel.getPlayerBaseMaxHp(), playerHpBar, playerHpLabel));
+        hudModel.addListener(HudModel.Field.ENEMY_BASE_HP,
+                () -> updateBaseHp(hudModel.getEnemyBaseHp(), hudModel.getEnemyBaseMaxHp(), enemyHpBar, enemyHpLabel));
     }
 
     /**
      * Displays the end game overlay with the result message.
-     * Stops the game loop and battle background music.
+     * Stops the game loop, the simulation and battle background music.
      *
      * @param playerWon    True if the player won, false otherwise.
      * @param sceneManager The SceneManager used to return to the menu.
@@ -175,13 +349,27 @@ public class BattlefieldView {
             gameLoop.stop();
             gameLoop = null;
         }
+        loop.stop();
+        boundGame = null;
         soundManager.stopBattleBGM();
 
+        // The simulation has stopped, so the match can be read from this thread again.
+        loop.submit(c -> {
+            TickProfiler profiler = c.getGameManager().getProfiler();
+            if (profiler.isEnabled()) System.out.print(profiler.report());
+            return null;
+        });
+        sceneManager.saveRecording();
+
         BoxBlur blur = new BoxBlur(10, 10, 3);
         gameContentLayer.setEffect(blur);
 
-        EndGameView endView = new EndGameView(sceneManager, playerWon);
-        root.getChildren().add(endView.getRoot());
+        if (endGameView == null) {
+            endGameView = new EndGameView(sceneManager, playerWon);
+        } else {
+            endGameView.setPlayerWon(playerWon);
+        }
+        root.getChildren().add(endGameView.getRoot());
     }
 
     /**
@@ -190,7 +378,7 @@ public class BattlefieldView {
      * @param renderer The renderer for the turret to be added.
      */
     public void addTurretRenderer(TurretRenderer renderer) {
-        turretRenderers.add(renderer);
+        turretRenderers.put(renderer.getTurret(), renderer);
         renderer.addToPane(turretLayer);
     }
 
@@ -198,69 +386,46 @@ public class BattlefieldView {
         gameLoop = new AnimationTimer() {
             @Override
             public void handle(long now) {
-                GameManager.GameState state = gameController.nextTurn();
-                GameManager gm = gameController.getGameManager();
-
-                hud.updateCurrency();
-
-                double maxHp = gm.getPlayerBase().getMaxHp();
-                playerHpBar.setProgress((double) gm.getPlayerBase().getHp() / maxHp);
-                playerHpLabel.setText(gm.getPlayerBase().getHp() + "/" + (int)maxHp);
-
-                double eMaxHp = gm.getEnemyBase().getMaxHp();
-                enemyHpBar.setProgress((double) gm.getEnemyBase().getHp() / eMaxHp);
-                enemyHpLabel.setText(gm.getEnemyBase().getHp() + "/" + (int)eMaxHp);
-
-                syncUnits(gm.getPlayerUnits(), true);
-                syncUnits(gm.getEnemyUnits(), false);
-
-                turretRenderers.removeIf(r -> {
-                    if (!gm.getPlayerBase().getTurrets().contains(r.getTurret())) {
-                        r.removeFromPane(turretLayer);
-                        return true;
-                    }
-                    return false;
-                });
-
-                List<objects.Projectile> activeProjectiles = gm.getProjectiles();
-
-                projectileRenderers.removeIf(pr -> {
-                    if (!activeProjectiles.contains(pr.getProjectile())) {
-                        pr.removeFromPane(battlefieldPane);
-                        return true;
+                RenderSnapshot snapshot = loop.frame();
+                GameManager gm = snapshot.getGame();
+                if (gm == null) return;
+                if (gm != boundGame) bind(gm);
+                if (startToFirstFrameNanos < 0) startToFirstFrameNanos = System.nanoTime() - startedAt;
+                applyEvents(snapshot);
+
+                hudModel.update(snapshot);
+                double alpha = snapshot.getAlpha(System.nanoTime());
+                viewport.setFromScroll(scrollPane.getHvalue(), battlefieldPane.getWidth(), scrollPane.getViewportBounds().getWidth());
+
+                if (canvasRenderer != null) {
+                    while (popupEvents.next()) {
+                        if (!viewport.isVisible(popupEvents.x(), 0)) continue;
+                        canvasRenderer.addPopup(popupEvents.x(), popupEvents.y(), popupEvents.amount(), popupEvents.isCritical(), now);
                     }
-                    return false;
-                });
-
-                for (objects.Projectile p : activeProjectiles) {
-                    boolean found = false;
-                    for (ProjectileRenderer pr : projectileRenderers) {
-                        if (pr.getProjectile() == p) {
-                            pr.update();
-                            found = true;
-                            break;
-                        }
-                    }
-                    if (!found) {
-                        ProjectileRenderer newPr = new ProjectileRenderer(p);
-                        newPr.addToPane(battlefieldPane);
-                        projectileRenderers.add(newPr);
-                        soundManager.playShootSound();
+                    canvasRenderer.draw(snapshot, alpha, viewport, now);
+                } else {
+                    updateUnits(snapshot.getPlayerUnits(), alpha);
+                    updateUnits(snapshot.getEnemyUnits(), alpha);
+                    updateProjectiles(snapshot, alpha);
+                    battlefieldNodes.flush();
+
+                    while (popupEvents.next()) {
+                        if (!viewport.isVisible(popupEvents.x(), 0)) continue;
+                        popupRenderer.showDamage(popupEvents.x(), popupEvents.y(), popupEvents.amount(), popupEvents.isCritical(), now);
                     }
+                    popupRenderer.update(now);
                 }
 
-                for (GameManager.DamageEvent event : gm.getRecentDamageEvents()) {
-                    if (event.isBase()) {
+                while (soundEvents.next()) {
+                    if (soundEvents.isBase()) {
                         soundManager.playBaseTakeDamage();
                     } else {
                         soundManager.playUnitTakeDamage();
                     }
-
-                    ui.renderer.DamagePopupRenderer.showDamage(
-                            battlefieldPane, event.x(), event.y(), event.amount(), event.isCritical()
-                    );
                 }
+                soundManager.endFrame(now);
 
+                GameManager.GameState state = snapshot.getState();
                 if (state == GameManager.GameState.PLAYER_WIN) {
                     soundManager.playBaseExplosion();
                     showEndGameOverlay(true, sceneManager);
@@ -273,55 +438,168 @@ public class BattlefieldView {
         gameLoop.start();
     }
 
-    private void syncUnits(List<Unit> logicUnits, boolean isPlayer) {
-        unitRenderers.removeIf(renderer -> {
-            if (!renderer.getUnit().isAlive()) {
-                renderer.removeFromPane(battlefieldPane);
-                return true;
-            }
-            return false;
-        });
+    // Off-screen units and projectiles are hidden and skipped; the first update back in view catches them up.
+    private void updateUnits(RenderSnapshot.UnitTable units, double alpha) {
+        for (int i = 0; i < units.size(); i++) {
+            UnitRenderer renderer = unitRenderers.get(units.unit(i));
+            if (renderer == null) continue;
+            double x = units.x(i, alpha);
+            boolean visible = viewport.isVisible(x, SpriteCache.UNIT_WIDTH);
+            renderer.setCulled(!visible);
+            if (visible) renderer.update(x, units.hp(i), units.maxHp(i));
+        }
+    }
 
-        for (Unit unit : logicUnits) {
-            UnitRenderer renderer = unitRenderers.stream()
-                    .filter(r -> r.getUnit() == unit)
-                    .findFirst()
-                    .orElse(null);
+    private void updateProjectiles(RenderSnapshot snapshot, double alpha) {
+        for (int i = 0; i < snapshot.getProjectileCount(); i++) {
+            ProjectileRenderer renderer = projectileRenderers.get(snapshot.projectile(i));
+            if (renderer == null || renderer.getHandle() != snapshot.projectileHandle(i)) continue;
+            double x = snapshot.projectileX(i, alpha);
+            boolean visible = viewport.isVisible(x - 5, 10);
+            renderer.setCulled(!visible);
+            if (visible) renderer.update(x, snapshot.projectileY(i, alpha));
+        }
+    }
+
+    /**
+     * Starts reading the damage events of the given game, skipping none of them.
+     * Called for the first game and again whenever the controller replaces it.
+     */
+    private void bind(GameManager gm) {
+        boundGame = gm;
+        popupEvents = gm.getDamageEvents().newReader();
+        soundEvents = gm.getDamageEvents().newReader();
+    }
 
-            if (renderer != null) {
-                renderer.update(unit.getCoordinate());
+    /**
+     * Handles the events the snapshot includes. After a {@link RenderEvent.Kind#STATE_RESTORED}
+     * the snapshot already holds everything that followed, so every renderer is rebuilt from it
+     * and only the shots fired since are still heard.
+     */
+    private void applyEvents(RenderSnapshot snapshot) {
+        frameEvents.clear();
+        boolean restored = false;
+        RenderEvent event;
+        while ((event = loop.pollEvent()) != null) {
+            if (event.kind() == RenderEvent.Kind.STATE_RESTORED) {
+                restored = true;
+                frameEvents.clear();
             } else {
-                String imagePath = getUnitImagePath(unit, isPlayer);
-                renderer = new UnitRenderer(unit, imagePath, unit.getCoordinate(), 900);
-                addUnitRenderer(renderer);
+                frameEvents.add(event);
             }
         }
+        if (restored) rebuild(snapshot);
+        for (int i = 0; i < frameEvents.size(); i++) {
+            RenderEvent e = frameEvents.get(i);
+            if (e.kind() == RenderEvent.Kind.PROJECTILE_FIRED) soundManager.playShootSound();
+            if (!restored) apply(e);
+        }
     }
 
-    private String getUnitImagePath(Unit unit, boolean isPlayer) {
-        String baseName = "melee";
-        if (unit instanceof RangedUnit) baseName = "ranged";
-        else if (unit instanceof ArmoredUnit) baseName = "armored";
-        else if (unit instanceof AntiArmoredUnit) baseName = "anti_armored";
-        return "/images/" + baseName + (isPlayer ? "_1" : "_2") + ".png";
+    private void apply(RenderEvent event) {
+        switch (event.kind()) {
+            case UNIT_SPAWNED -> addUnit((Unit) event.subject(), event.flag(), event.x());
+            case UNIT_DIED -> removeUnit((Unit) event.subject());
+            case PROJECTILE_FIRED -> {
+                if (canvasRenderer == null) {
+                    addProjectileRenderer((Projectile) event.subject(), event.handle(), event.flag(), event.x(), event.y());
+                }
+            }
+            case PROJECTILE_RESOLVED -> removeProjectileRenderer((Projectile) event.subject());
+            case TURRET_PLACED -> addTurret((Turret) event.subject(), event.slot());
+            case TURRET_SOLD -> removeTurret((Turret) event.subject());
+            default -> { }
+        }
     }
 
     /**
-     * Returns the root node of the battlefield view.
-     *
-     * @return The root StackPane.
+     * Throws away every renderer and creates new ones for the units, turrets and projectiles
+     * of the snapshot, then refreshes both base hp bars.
      */
-    public StackPane getRoot() { return root; }
+    private void rebuild(RenderSnapshot snapshot) {
+        for (UnitRenderer r : unitRenderers.live()) {
+            r.removeFrom(battlefieldNodes);
+            r.detach();
+        }
+        unitRenderers.releaseAll();
+        for (ProjectileRenderer r : projectileRenderers.live()) r.removeFrom(battlefieldNodes);
+        projectileRenderers.releaseAll();
+        if (canvasRenderer != null) canvasRenderer.clear();
+        if (popupRenderer != null) popupRenderer.clear();
+        turretRenderers.values().forEach(r -> r.removeFromPane(turretLayer));
+        turretRenderers.clear();
+
+        RenderSnapshot.UnitTable players = snapshot.getPlayerUnits();
+        for (int i = 0; i < players.size(); i++) addUnit(players.unit(i), true, players.x(i));
+        RenderSnapshot.UnitTable enemies = snapshot.getEnemyUnits();
+        for (int i = 0; i < enemies.size(); i++) addUnit(enemies.unit(i), false, enemies.x(i));
+        for (int slot = 0; slot < snapshot.getTurretCount(); slot++) addTurret(snapshot.turret(slot), slot);
+        if (canvasRenderer == null) {
+            for (int i = 0; i < snapshot.getProjectileCount(); i++) {
+                addProjectileRenderer(snapshot.projectile(i), snapshot.projectileHandle(i), snapshot.isArrow(i),
+                        snapshot.projectileX(i), snapshot.projectileY(i));
+            }
+            battlefieldNodes.flush();
+        }
+
+        hudModel.invalidate();
+    }
+
+    private void addUnit(Unit unit, boolean isPlayer, double x) {
+        Image image = SpriteCache.shared().unit(UnitType.of(unit), isPlayer);
+        if (canvasRenderer != null) {
+            canvasRenderer.addUnit(unit, image, x);
+            return;
+        }
+        UnitRenderer renderer = unitRenderers.acquire(unit);
+        renderer.attach(unit, image, x);
+        renderer.addTo(battlefieldNodes);
+    }
+
+    private void removeUnit(Unit unit) {
+        if (canvasRenderer != null) {
+            canvasRenderer.removeUnit(unit);
+            return;
+        }
+        UnitRenderer renderer = unitRenderers.release(unit);
+        if (renderer != null) {
+            renderer.removeFrom(battlefieldNodes);
+            renderer.detach();
+        }
+    }
+
+    private void addProjectileRenderer(Projectile projectile, long handle, boolean arrow, double x, double y) {
+        ProjectileRenderer renderer = projectileRenderers.acquire(projectile);
+        renderer.attach(handle, arrow, x, y);
+        renderer.addTo(battlefieldNodes);
+    }
+
+    private void removeProjectileRenderer(Projectile projectile) {
+        ProjectileRenderer renderer = projectileRenderers.release(projectile);
+        if (renderer != null) renderer.removeFrom(battlefieldNodes);
+    }
+
+    // Turrets are placed from the HUD or by a replay; either way they get a renderer here.
+    private void addTurret(Turret turret, int slot) {
+        addTurretRenderer(new TurretRenderer(turret, SpriteCache.shared().turret(TurretType.of(turret), true), 80, 705, slot));
+    }
+
+    private void removeTurret(Turret turret) {
+        TurretRenderer renderer = turretRenderers.remove(turret);
+        if (renderer != null) renderer.removeFromPane(turretLayer);
+    }
+
+    private static void updateBaseHp(int hp, int maxHp, ProgressBar bar, Label label) {
+        bar.setProgress((double) hp / maxHp);
+        label.setText(hp + "/" + maxHp);
+    }
 
     /**
-     * Adds a UnitRenderer to the battlefield view.
+     * Returns the root node of the battlefield view.
      *
-     * @param renderer The renderer for the unit to be added.
+     * @return The root StackPane.
      */
-    public void addUnitRenderer(UnitRenderer renderer) {
-        unitRenderers.add(renderer);
-        renderer.addToPane(battlefieldPane);
-    }
+    public StackPane getRoot() { return root; }
 
     /**
      * Triggers the rendering of an ability effect.
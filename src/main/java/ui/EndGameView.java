@@ -16,6 +16,7 @@ import javafx.scene.layout.VBox;
 public class EndGameView {
 
     private final StackPane root;
+    private final Label resultLabel;
 
     /**
      * Initializes the end game view with the game result.
@@ -27,8 +28,8 @@ public class EndGameView {
         root = new StackPane();
         root.setStyle("-fx-background-color: rgba(0,0,0,0.6);");
 
-        String message = playerWon ? "You Win!" : "Enemy Wins!";
-        Label resultLabel = new Label(message);
+        resultLabel = new Label();
+        setPlayerWon(playerWon);
         resultLabel.setStyle("-fx-text-fill: white; -fx-font-size: 36px; -fx-font-weight: bold; -fx-effect: dropshadow(one-pass-box, black, 5, 0.0, 2, 2);");
 
         Button menuButton = new Button("Return to Main Menu");
@@ -44,6 +45,15 @@ public class EndGameView {
         root.getChildren().add(box);
     }
 
+    /**
+     * Shows the result of another match, so the overlay can be reused.
+     *
+     * @param playerWon True if the player won, false if the enemy won.
+     */
+    public void setPlayerWon(boolean playerWon) {
+        resultLabel.setText(playerWon ? "You Win!" : "Enemy Wins!");
+    }
+
     /**
      * Returns the root node of the end game view.
      *
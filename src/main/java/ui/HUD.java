@@ -9,13 +9,18 @@ import javafx.scene.control.Tooltip;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
+import javafx.application.Platform;
 import controllers.GameController;
-import ui.renderer.TurretRenderer;
+import controllers.HudModel;
+import controllers.SimulationLoop;
 import units.*;
 import turrets.*;
 import abilities.NukeAbility;
 import ui.renderer.AbilityRenderer;
-import base.Base;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * The Heads-Up Display (HUD) containing game controls and status information.
@@ -23,16 +28,33 @@ import base.Base;
  * This class manages the UI for training units, buying/selling turrets, upgrades,
  * and abilities, as well as displaying current currency and queue status.
  * </p>
+ * <p>
+ * The HUD reads the match only from a {@link HudModel}, and its labels and buttons only change
+ * when the model reports that the values they show have changed. The sub-menus are built once
+ * and shown again as they are.
+ * </p>
+ * <p>
+ * Player commands are submitted to the {@link SimulationLoop}, which may run them on the simulation
+ * thread; anything that depends on a command's result is done back on the FX thread once it
+ * has run. Bought upgrades and sold turrets show up through the model with the next snapshot.
+ * </p>
  */
 public class HUD {
     private final BorderPane root;
-    private final GameController gameController;
+    private final SimulationLoop loop;
+    private final HudModel model;
     private final BattlefieldView battlefieldView;
     private final SoundManager soundManager;
     private final Label currencyLabel;
     private final Label queueLabel;
+    private final HBox sellTurretsContainer;
 
     private Button nukeButton;
+    private Button unitAttackBtn;
+    private Button unitHpBtn;
+    private Button turretAttackBtn;
+    private Button turretRangeBtn;
+    private Button baseCapacityBtn;
     private VBox activeMenu = null;
 
     private static final String BUTTON_STYLE =
@@ -55,14 +77,17 @@ public class HUD {
 
     /**
      * Initializes the HUD with necessary controllers and managers.
+     * The sub-menus are built here once; they and the labels are only updated when the model reports a change.
      *
      * @param sceneManager    The scene manager for scene transitions.
-     * @param gameController  The game controller for logic interactions.
+     * @param loop            The simulation loop that runs the player's commands.
+     * @param model           The model of the values the HUD shows, updated by the battlefield view every frame.
      * @param battlefieldView The battlefield view for visual updates.
      * @param soundManager    The sound manager for playing UI sounds.
      */
-    public HUD(SceneManager sceneManager, GameController gameController, BattlefieldView battlefieldView, SoundManager soundManager) {
-        this.gameController = gameController;
+    public HUD(SceneManager sceneManager, SimulationLoop loop, HudModel model, BattlefieldView battlefieldView, SoundManager soundManager) {
+        this.loop = loop;
+        this.model = model;
         this.battlefieldView = battlefieldView;
         this.soundManager = soundManager;
 
@@ -92,11 +117,38 @@ public class HUD {
         root.setLeft(leftBox);
         root.setRight(rightBox);
 
-        trainUnitsBtn.setOnAction(e -> toggleMenu(createTrainUnitsMenu()));
-        buyTurretsBtn.setOnAction(e -> toggleMenu(createTurretsMenu()));
-        sellTurretsBtn.setOnAction(e -> toggleMenu(createSellTurretsMenu()));
-        upgradesBtn.setOnAction(e -> toggleMenu(createUpgradesMenu()));
-        abilitiesBtn.setOnAction(e -> toggleMenu(createAbilitiesMenu()));
+        VBox trainUnitsMenu = createTrainUnitsMenu();
+        VBox turretsMenu = createTurretsMenu();
+        sellTurretsContainer = new HBox(10);
+        VBox sellTurretsMenu = createSellTurretsMenu();
+        VBox upgradesMenu = createUpgradesMenu();
+        VBox abilitiesMenu = createAbilitiesMenu();
+
+        trainUnitsBtn.setOnAction(e -> toggleMenu(trainUnitsMenu));
+        buyTurretsBtn.setOnAction(e -> toggleMenu(turretsMenu));
+        sellTurretsBtn.setOnAction(e -> toggleMenu(sellTurretsMenu));
+        upgradesBtn.setOnAction(e -> toggleMenu(upgradesMenu));
+        abilitiesBtn.setOnAction(e -> toggleMenu(abilitiesMenu));
+
+        model.addListener(HudModel.Field.CURRENCY, () -> currencyLabel.setText("Currency: " + model.getCurrency()));
+        model.addListener(HudModel.Field.QUEUE, () -> {
+            String trainingStatus = model.isTraining() ? "Training..." : "Idle";
+            queueLabel.setText("Queue: " + model.getQueueSize() + "/5 (" + trainingStatus + ")");
+        });
+        model.addListener(HudModel.Field.NUKE, this::updateNukeButton);
+        model.addListener(HudModel.Field.UPGRADES, this::updateUpgradeButtons);
+        model.addListener(HudModel.Field.TURRETS, this::updateSellButtons);
+    }
+
+    // Runs a command on the simulation and hands its result to a follow-up on the FX thread;
+    // inline the command has already run, so the follow-up runs right away.
+    private <T> void submit(Function<GameController, T> command, Consumer<T> then) {
+        CompletableFuture<T> result = loop.submit(command);
+        if (result.isDone()) {
+            then.accept(result.join());
+        } else {
+            result.thenAcceptAsync(then, Platform::runLater);
+        }
     }
 
     private Button createStyledButton(String text) {
@@ -107,191 +159,143 @@ public class HUD {
         return btn;
     }
 
-    private void toggleMenu(VBox newMenu) {
-        if (activeMenu != null && activeMenu.getUserData().equals(newMenu.getUserData())) {
+    private void toggleMenu(VBox menu) {
+        if (activeMenu == menu) {
             root.setBottom(null);
             activeMenu = null;
         } else {
-            showMenu(newMenu);
+            root.setBottom(menu);
+            activeMenu = menu;
         }
     }
 
-    private void showMenu(VBox newMenu) {
-        newMenu.setStyle(SUB_MENU_STYLE);
-        newMenu.setAlignment(Pos.CENTER);
-        newMenu.setMaxHeight(120);
-        root.setBottom(newMenu);
-        activeMenu = newMenu;
+    private static VBox createMenu(HBox container) {
+        container.setAlignment(Pos.CENTER);
+        VBox menu = new VBox(10, container);
+        menu.setStyle(SUB_MENU_STYLE);
+        menu.setAlignment(Pos.CENTER);
+        menu.setMaxHeight(120);
+        return menu;
     }
 
     private VBox createTrainUnitsMenu() {
-        VBox menu = new VBox(10);
-        menu.setUserData("TRAIN");
-        HBox container = new HBox(10);
-        container.setAlignment(Pos.CENTER);
-
-        container.getChildren().addAll(
-                createUnitBtn("Melee", "Deal 2 times damage against Ranged unit", new MeleeUnit(100, 20, 20, 50, 80, 1.0)),
-                createUnitBtn("Ranged", "Deal 2 times damage against Anti-Armor unit", new RangedUnit(80, 15, 24, 75, 200, 1.0)),
-                createUnitBtn("Anti-Armor", "Deal 2 times damage against Armored unit", new AntiArmoredUnit(90, 25, 20, 90, 80, 2.0)),
-                createUnitBtn("Armored", "Deal 2 times damage against Melee unit", new ArmoredUnit(150, 30, 16, 120, 80, 4.0))
-        );
-
-        menu.getChildren().add(container);
-        return menu;
+        return createMenu(new HBox(10,
+                createUnitBtn("Melee", "Deal 2 times damage against Ranged unit", UnitType.MELEE),
+                createUnitBtn("Ranged", "Deal 2 times damage against Anti-Armor unit", UnitType.RANGED),
+                createUnitBtn("Anti-Armor", "Deal 2 times damage against Armored unit", UnitType.ANTI_ARMORED),
+                createUnitBtn("Armored", "Deal 2 times damage against Melee unit", UnitType.ARMORED)
+        ));
     }
 
-    private Button createUnitBtn(String text, String tooltip, Unit protoType) {
-        Button btn = createStyledButton(text + " (" + protoType.getCost() + ")");
+    private Button createUnitBtn(String text, String tooltip, UnitType type) {
+        Button btn = createStyledButton(text + " (" + type.getCost() + ")");
         btn.setTooltip(new Tooltip(tooltip));
-        btn.setOnAction(e -> {
-            Unit unit = null;
-            if (protoType instanceof MeleeUnit) unit = new MeleeUnit(100, 20, 20, 50, 80, 1.0);
-            else if (protoType instanceof RangedUnit) unit = new RangedUnit(80, 15, 24, 75, 200, 1.0);
-            else if (protoType instanceof AntiArmoredUnit) unit = new AntiArmoredUnit(90, 25, 20, 90, 80, 2.0);
-            else if (protoType instanceof ArmoredUnit) unit = new ArmoredUnit(150, 30, 16, 120, 80, 4.0);
-            gameController.playerQueueUnit(unit);
-        });
+        btn.setOnAction(e -> loop.submit(c -> c.playerQueueUnit(type.create())));
         return btn;
     }
 
     private VBox createTurretsMenu() {
-        VBox menu = new VBox(10);
-        menu.setUserData("BUY_TURRET");
         Button stdBtn = createStyledButton("Turret (300)");
-        stdBtn.setOnAction(e -> placeTurretVisuals(new StandardTurret(20, 600, 300), "/images/turret_1.png"));
+        stdBtn.setOnAction(e -> loop.submit(c -> c.playerPlaceTurret(TurretType.STANDARD.create())));
 
         Button rangeBtn = createStyledButton("LongRange (450)");
-        rangeBtn.setOnAction(e -> placeTurretVisuals(new LongRangeTurret(20, 900, 450), "/images/long_ranged_turret_1.png"));
+        rangeBtn.setOnAction(e -> loop.submit(c -> c.playerPlaceTurret(TurretType.LONG_RANGE.create())));
 
-        HBox container = new HBox(10, stdBtn, rangeBtn);
-        container.setAlignment(Pos.CENTER);
-        menu.getChildren().add(container);
-        return menu;
-    }
-
-    private void placeTurretVisuals(Turret turret, String imagePath) {
-        int slot = gameController.playerPlaceTurret(turret);
-        if (slot >= 0) {
-            TurretRenderer renderer = new TurretRenderer(
-                    turret,
-                    java.util.Objects.requireNonNull(getClass().getResource(imagePath)).toExternalForm(),
-                    80, 705, slot
-            );
-            battlefieldView.addTurretRenderer(renderer);
-        }
+        return createMenu(new HBox(10, stdBtn, rangeBtn));
     }
 
+    // The sell buttons are filled in by updateSellButtons whenever the turrets change.
     private VBox createSellTurretsMenu() {
-        VBox menu = new VBox(10);
-        menu.setUserData("SELL_TURRET");
-        HBox container = new HBox(10);
-        container.setAlignment(Pos.CENTER);
+        return createMenu(sellTurretsContainer);
+    }
 
-        var turrets = gameController.getGameManager().getPlayerBase().getTurrets();
-        if (turrets.isEmpty()) {
+    private void updateSellButtons() {
+        sellTurretsContainer.getChildren().clear();
+        if (model.getTurretCount() == 0) {
             Label emptyLbl = new Label("No Turrets to Sell");
             emptyLbl.setStyle("-fx-text-fill: #FFD700; -fx-font-weight: bold; -fx-font-size: 14px;");
-            container.getChildren().add(emptyLbl);
-        } else {
-            for (int i = 0; i < turrets.size(); i++) {
-                int index = i;
-                Turret t = turrets.get(i);
-                String name = (t instanceof StandardTurret) ? "Std" : "Long";
-                Button btn = createStyledButton("Sell " + name + " (Slot " + (i + 1) + ")");
-                btn.setOnAction(e -> {
-                    gameController.playerSellTurret(index);
-                    showMenu(createSellTurretsMenu());
-                });
-                container.getChildren().add(btn);
-            }
+            sellTurretsContainer.getChildren().add(emptyLbl);
+            return;
+        }
+        for (int i = 0; i < model.getTurretCount(); i++) {
+            int index = i;
+            String name = (model.turretType(i) == TurretType.STANDARD) ? "Std" : "Long";
+            Button btn = createStyledButton("Sell " + name + " (Slot " + (i + 1) + ")");
+            btn.setOnAction(e -> loop.submit(c -> c.playerSellTurret(index)));
+            sellTurretsContainer.getChildren().add(btn);
         }
-
-        menu.getChildren().add(container);
-        return menu;
     }
 
     private VBox createUpgradesMenu() {
-        VBox menu = new VBox(10);
-        menu.setUserData("UPGRADE");
-        HBox container = new HBox(10);
-        container.setAlignment(Pos.CENTER);
+        unitAttackBtn = createStyledButton("Unit Atk (300)");
+        unitAttackBtn.setOnAction(e -> loop.submit(c -> c.playerUpgradeUnitAttack(300)));
 
-        Button uAtk = createStyledButton("Unit Atk (300)");
-        if(Unit.isUpgradedAttack()) disableButton(uAtk);
-        uAtk.setOnAction(e -> {
-            gameController.playerUpgradeUnitAttack(300);
-            if(Unit.isUpgradedAttack()) disableButton(uAtk);
-        });
+        unitHpBtn = createStyledButton("Unit HP (300)");
+        unitHpBtn.setOnAction(e -> loop.submit(c -> c.playerUpgradeUnitHp(300)));
 
-        Button uHp = createStyledButton("Unit HP (300)");
-        if(Unit.isUpgradedHp()) disableButton(uHp);
-        uHp.setOnAction(e -> {
-            gameController.playerUpgradeUnitHp(300);
-            if(Unit.isUpgradedHp()) disableButton(uHp);
-        });
+        turretAttackBtn = createStyledButton("Turret Atk (400)");
+        turretAttackBtn.setOnAction(e -> loop.submit(c -> c.playerUpgradeTurretAttack(400)));
 
-        Button tAtk = createStyledButton("Turret Atk (400)");
-        if(Turret.isUpgradedAttack()) disableButton(tAtk);
-        tAtk.setOnAction(e -> {
-            gameController.playerUpgradeTurretAttack(400);
-            if(Turret.isUpgradedAttack()) disableButton(tAtk);
-        });
+        turretRangeBtn = createStyledButton("Turret Rng (400)");
+        turretRangeBtn.setOnAction(e -> loop.submit(c -> c.playerUpgradeTurretRange(400)));
 
-        Button tRange = createStyledButton("Turret Rng (400)");
-        if(Turret.isUpgradedRange()) disableButton(tRange);
-        tRange.setOnAction(e -> {
-            gameController.playerUpgradeTurretRange(400);
-            if(Turret.isUpgradedRange()) disableButton(tRange);
-        });
+        baseCapacityBtn = createStyledButton("Slot Cap (800)");
+        baseCapacityBtn.setOnAction(e -> loop.submit(c -> c.playerUpgradeBaseCapacity(800)));
 
-        Button baseCap = createStyledButton("Slot Cap (800)");
-        if(Base.getCapacityUpgrades() >= 1) disableButton(baseCap);
-        baseCap.setOnAction(e -> {
-            gameController.playerUpgradeBaseCapacity(800);
-            if(Base.getCapacityUpgrades() >= 1) disableButton(baseCap);
-        });
+        return createMenu(new HBox(10, unitAttackBtn, unitHpBtn, turretAttackBtn, turretRangeBtn, baseCapacityBtn));
+    }
 
-        container.getChildren().addAll(uAtk, uHp, tAtk, tRange, baseCap);
-        menu.getChildren().add(container);
-        return menu;
+    private void updateUpgradeButtons() {
+        setMaxed(unitAttackBtn, model.isUnitAttackUpgraded());
+        setMaxed(unitHpBtn, model.isUnitHpUpgraded());
+        setMaxed(turretAttackBtn, model.isTurretAttackUpgraded());
+        setMaxed(turretRangeBtn, model.isTurretRangeUpgraded());
+        setMaxed(baseCapacityBtn, model.getCapacityUpgrades() >= 1);
     }
 
-    private void disableButton(Button btn) {
-        btn.setDisable(true);
-        btn.setStyle(BUTTON_DISABLED_STYLE);
-        if (!btn.getText().contains("(Max)")) {
+    private void setMaxed(Button btn, boolean maxed) {
+        if (btn.isDisable() == maxed) return;
+        btn.setDisable(maxed);
+        btn.setStyle(maxed ? BUTTON_DISABLED_STYLE : BUTTON_STYLE);
+        if (maxed) {
             btn.setText(btn.getText() + " (Max)");
+        } else {
+            btn.setText(btn.getText().replace(" (Max)", ""));
         }
     }
 
     private VBox createAbilitiesMenu() {
-        VBox menu = new VBox(10);
-        menu.setUserData("ABILITY");
-
-        NukeAbility nuke = gameController.getGameManager().getNukeAbility();
-        String btnText = "Nuke (1500)";
-        if (!nuke.isReady()) {
-            btnText += " [" + nuke.getCurrentCooldown() + "]";
-        }
-
-        nukeButton = createStyledButton(btnText);
+        nukeButton = createStyledButton("Nuke (1500)");
         nukeButton.setTooltip(new Tooltip("Wipes all enemy units. Cooldown: 60s"));
 
-        if (!nuke.isReady()) {
-            nukeButton.setDisable(true);
-            nukeButton.setStyle(BUTTON_DISABLED_STYLE);
-        }
-
-        nukeButton.setOnAction(e -> {
-            if (gameController.playerUseAbility(nuke, gameController.getGameManager().getEnemyUnits())) {
+        nukeButton.setOnAction(e -> submit(c -> {
+            NukeAbility nuke = c.getGameManager().getNukeAbility();
+            return c.playerUseAbility(nuke, c.getGameManager().getEnemyUnits()) ? nuke : null;
+        }, nuke -> {
+            if (nuke != null) {
                 soundManager.playNukeSound();
                 AbilityRenderer renderer = new AbilityRenderer(nuke);
                 battlefieldView.addAbilityRenderer(renderer);
             }
-        });
-        menu.getChildren().add(nukeButton);
-        return menu;
+        }));
+        return createMenu(new HBox(10, nukeButton));
+    }
+
+    private void updateNukeButton() {
+        boolean ready = model.isNukeReady();
+        nukeButton.setText(ready ? "Nuke (1500)" : "Nuke (1500) [" + model.getNukeCooldown() + "]");
+        if (nukeButton.isDisable() == ready) {
+            nukeButton.setDisable(!ready);
+            nukeButton.setStyle(ready ? BUTTON_STYLE : BUTTON_DISABLED_STYLE);
+        }
+    }
+
+    /**
+     * Hides the open sub-menu, if any.
+     */
+    public void closeMenu() {
+        root.setBottom(null);
+        activeMenu = null;
     }
 
     /**
@@ -300,35 +304,4 @@ public class HUD {
      * @return The BorderPane acting as the root node.
      */
     public BorderPane getRoot() { return root; }
-
-    /**
-     * Updates the currency and queue status labels, and refreshes button states.
-     * <p>
-     * This method is called every game loop tick to keep the UI in sync with the game state.
-     * </p>
-     */
-    public void updateCurrency() {
-        var gm = gameController.getGameManager();
-        currencyLabel.setText("Currency: " + gm.getCurrencySystem().getBalance());
-        String trainingStatus = gm.getCurrentTrainingUnit() != null ? "Training..." : "Idle";
-        queueLabel.setText("Queue: " + gm.getQueueSize() + "/5 (" + trainingStatus + ")");
-
-        if (activeMenu != null && "ABILITY".equals(activeMenu.getUserData()) && nukeButton != null) {
-            NukeAbility nuke = gm.getNukeAbility();
-            String text = "Nuke (1500)";
-            if (!nuke.isReady()) {
-                text += " [" + nuke.getCurrentCooldown() + "]";
-                if (!nukeButton.isDisabled()) {
-                    nukeButton.setDisable(true);
-                    nukeButton.setStyle(BUTTON_DISABLED_STYLE);
-                }
-            } else {
-                if (nukeButton.isDisabled()) {
-                    nukeButton.setDisable(false);
-                    nukeButton.setStyle(BUTTON_STYLE);
-                }
-            }
-            nukeButton.setText(text);
-        }
-    }
-}
\ No newline at end of file
+}
@@ -2,9 +2,12 @@ package ui;
 
 import This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode.SceneManager;
 import javafx.application.Platform;
+import javafx.beans.binding.BooleanBinding;
+import javafx.beans.property.ReadOnlyDoubleProperty;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.image.Image;
@@ -15,7 +18,8 @@ import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
 import javafx.scene.text.TextFlow;
 
-import java.util.Objects;
+import ui.renderer.SpriteCache;
+import units.UnitType;
 
 /**
  * Represents the main menu and tutorial screens of the application.
@@ -35,6 +39,7 @@ public class MenuView {
 
     /**
      * Initializes the standard main menu view.
+     * While the assets are still loading, it shows their progress and the start button stays disabled.
      *
      * @param sceneManager The SceneManager to handle navigation.
      */
@@ -69,6 +74,27 @@ public class MenuView {
         exitButton.setOnAction(e -> Platform.exit());
 
         mainBox.getChildren().addAll(title, startButton, tutorialButton, exitButton);
+
+        ReadOnlyDoubleProperty progress = sceneManager.assetProgressProperty();
+        if (progress.get() < 1) {
+            ProgressBar loadingBar = new ProgressBar();
+            loadingBar.setPrefWidth(300);
+            loadingBar.progressProperty().bind(progress);
+
+            Label loadingLabel = new Label("Loading...");
+            loadingLabel.setStyle("-fx-text-fill: white; -fx-font-size: 14px;");
+
+            VBox loadingBox = new VBox(5, loadingBar, loadingLabel);
+            loadingBox.setAlignment(Pos.CENTER);
+
+            BooleanBinding loading = progress.lessThan(1);
+            loadingBox.visibleProperty().bind(loading);
+            loadingBox.managedProperty().bind(loading);
+            startButton.disableProperty().bind(loading);
+
+            mainBox.getChildren().add(1, loadingBox);
+        }
+
         root.getChildren().add(mainBox);
     }
 
@@ -99,10 +125,10 @@ public class MenuView {
                 createRuleLine("Resources:", "Currency generates over time. Use it to buy units."),
                 new Label(""), // Spacer
                 createRuleLine("Unit Counters (Rock-Paper-Scissors):", ""),
-                createCounterLine("Melee", "beats", "Ranged", "images/melee_1.png"),
-                createCounterLine("Ranged", "beats", "Anti-Armor", "images/ranged_1.png"),
-                createCounterLine("Anti-Armor", "beats", "Armored", "images/anti_armored_1.png"),
-                createCounterLine("Armored", "beats", "Melee", "images/armored_1.png")
+                createCounterLine("Melee", "beats", "Ranged", UnitType.MELEE),
+                createCounterLine("Ranged", "beats", "Anti-Armor", UnitType.RANGED),
+                createCounterLine("Anti-Armor", "beats", "Armored", UnitType.ANTI_ARMORED),
+                createCounterLine("Armored", "beats", "Melee", UnitType.ARMORED)
         );
 
         ScrollPane scroll = new ScrollPane(rulesBox);
@@ -119,17 +145,17 @@ public class MenuView {
     }
 
     private void addBackground() {
-        try {
-            Image bgImage = new Image(Objects.requireNonNull(getClass().getResource("/images/background.png")).toExternalForm());
-            ImageView bgView = new ImageView(bgImage);
-
-            bgView.setPreserveRatio(true);
-            bgView.fitHeightProperty().bind(root.heightProperty());
-
-            root.getChildren().add(bgView);
-        } catch (Exception e) {
+        Image bgImage = SpriteCache.shared().find("/images/background.png", 0);
+        if (bgImage == null) {
             root.setStyle("-fx-background-color: #1a1a1a;");
+            return;
         }
+        ImageView bgView = new ImageView(bgImage);
+
+        bgView.setPreserveRatio(true);
+        bgView.fitHeightProperty().bind(root.heightProperty());
+
+        root.getChildren().add(bgView);
     }
 
     private Button createStyledButton(String text) {
@@ -154,7 +180,11 @@ public class MenuView {
         return line;
     }
 
-    private HBox createCounterLine(String winner, String action, String loser, String iconPath) {
+    private HBox createCounterLine(String winner, String action, String loser, UnitType icon) {
+        ImageView iconView = new ImageView(SpriteCache.shared().unit(icon, true));
+        iconView.setFitWidth(32);
+        iconView.setPreserveRatio(true);
+
         Text t1 = new Text(winner + " ");
         t1.setFill(Color.LIGHTGREEN);
         t1.setStyle("-fx-font-weight: bold; -fx-font-size: 16px;");
@@ -169,7 +199,7 @@ public class MenuView {
 
         TextFlow flow = new TextFlow(t1, t2, t3);
 
-        HBox box = new HBox(10, flow);
+        HBox box = new HBox(10, iconView, flow);
         box.setAlignment(Pos.CENTER_LEFT);
         box.setStyle("-fx-padding: 5; -fx-background-color: rgba(255,255,255,0.1); -fx-background-radius: 5;");
         return box;
@@ -0,0 +1,24 @@
+package ui;
+
+import java.util.Locale;
+
+/**
+ * How the battlefield draws its units, projectiles and damage numbers.
+ */
+public enum RenderMode {
+    /** One node per unit, projectile and popup in the battlefield pane's scene graph. */
+    NODES,
+    /** Everything that moves is drawn into a single canvas every frame. */
+    CANVAS;
+
+    /**
+     * Returns the mode with the given name, ignoring case.
+     *
+     * @param name The name given on the command line, such as {@code canvas}.
+     * @return The matching mode.
+     * @throws IllegalArgumentException If no mode has that name.
+     */
+    public static RenderMode parse(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
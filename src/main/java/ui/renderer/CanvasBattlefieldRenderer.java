@@ -0,0 +1,224 @@
+package ui.renderer;
+
+import controllers.RenderSnapshot;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import units.Unit;
+
+/**
+ * Draws every unit, health bar, projectile and damage number of the battlefield into one canvas.
+ * <p>
+ * The node renderers keep an {@code ImageView}, a {@code ProgressBar}, a {@code Circle} or a
+ * {@code Label} per entity, so the scene graph, and the CSS and layout passes over it, grow
+ * with the fight. This renderer adds a single {@link Canvas} to the scene graph and redraws it
+ * from a {@link RenderSnapshot} every frame, so a frame costs a few draw calls per entity and nothing
+ * per node. The output matches the node renderers: units bob while walking, health bars sit
+ * above the sprites and damage numbers float up and fade out. Only entities inside the
+ * {@link Viewport} are drawn, and only the part of the canvas that was or is visible is cleared.
+ * </p>
+ */
+public class CanvasBattlefieldRenderer {
+    private static final double UNIT_WIDTH = 75;
+    private static final double HP_BAR_WIDTH = 50;
+    private static final double HP_BAR_HEIGHT = 10;
+    private static final double BOB_AMPLITUDE = 3.0;
+    private static final double BOB_SPEED = 0.25;
+
+    private static final Color HP_BACKGROUND = Color.web("#444");
+    private static final Color HP_FILL = Color.LIGHTGREEN;
+
+    private static final double POPUP_RISE = 40;
+    // Labels are placed by their top edge, text on a canvas by its baseline.
+    private static final double POPUP_BASELINE = 16;
+    private static final Font POPUP_FONT = Font.font("Arial", FontWeight.BOLD, 14);
+    private static final Font CRITICAL_POPUP_FONT = Font.font("Arial", FontWeight.BOLD, 20);
+
+    private final Canvas canvas;
+    private final GraphicsContext gc;
+    private final double groundY;
+
+    private final RendererPool<Unit, UnitState> units = new RendererPool<>(UnitState::new);
+    private final DamagePopupQueue popups;
+
+    // The range drawn into last frame; nothing outside it needs clearing.
+    private double drawnMinX = Double.NEGATIVE_INFINITY;
+    private double drawnMaxX = Double.POSITIVE_INFINITY;
+
+    /**
+     * The per-unit state that is not part of the game: the sprite and the walking animation.
+     */
+    private static final class UnitState {
+        private Image image;
+        private double lastX;
+        private double walkCycle;
+    }
+
+    /**
+     * Initializes a renderer with a transparent canvas covering the battlefield.
+     *
+     * @param width   The width of the battlefield.
+     * @param height  The height of the battlefield.
+     * @param groundY The y-coordinate the units stand on.
+     * @param maxPopups The most damage popups shown at once; when exceeded the oldest is replaced.
+     */
+    public CanvasBattlefieldRenderer(double width, double height, double groundY, int maxPopups) {
+        this.canvas = new Canvas(width, height);
+        this.gc = canvas.getGraphicsContext2D();
+        this.groundY = groundY;
+        this.popups = new DamagePopupQueue(maxPopups);
+        canvas.setMouseTransparent(true);
+    }
+
+    /**
+     * Starts drawing a unit that entered the battlefield.
+     *
+     * @param unit   The unit logic object, used as a key only.
+     * @param image  The unit's sprite, usually from the {@link SpriteCache}.
+     * @param startX The x-coordinate the unit spawned at.
+     */
+    public void addUnit(Unit unit, Image image, double startX) {
+        UnitState state = units.acquire(unit);
+        state.image = image;
+        state.lastX = startX;
+        state.walkCycle = 0;
+    }
+
+    /**
+     * Stops drawing a unit that left the battlefield.
+     *
+     * @param unit The removed unit.
+     */
+    public void removeUnit(Unit unit) {
+        UnitState state = units.release(unit);
+        if (state != null) state.image = null;
+    }
+
+    /**
+     * Forgets every unit and popup, for when the whole battlefield is replaced.
+     */
+    public void clear() {
+        units.releaseAll();
+        popups.clear();
+    }
+
+    /**
+     * Shows a floating damage number, starting at the given frame time.
+     *
+     * @param x          The x-coordinate for the popup.
+     * @param y          The y-coordinate for the popup.
+     * @param amount     The damage amount to display.
+     * @param isCritical True if the damage is critical (drawn larger and in red), false otherwise (orange).
+     * @param now        The frame time in nanoseconds.
+     */
+    public void addPopup(double x, double y, int amount, boolean isCritical, long now) {
+        popups.add(x, y - 20, amount, isCritical, now);
+    }
+
+    /**
+     * Redraws the canvas from a snapshot of the game.
+     *
+     * @param snapshot The units and projectiles to draw.
+     * @param alpha    How far between the snapshot's last two steps to draw them, from {@code 0} to {@code 1}.
+     * @param viewport The visible part of the battlefield; only what is inside is drawn.
+     * @param now      The frame time in nanoseconds.
+     */
+    public void draw(RenderSnapshot snapshot, double alpha, Viewport viewport, long now) {
+        // Nothing was drawn outside last frame's viewport, so only the union of both needs clearing,
+        // widened by the widest thing that can stick out past its edge.
+        double clearFrom = Math.max(0, Math.min(viewport.getMinX(), drawnMinX) - UNIT_WIDTH);
+        double clearTo = Math.min(canvas.getWidth(), Math.max(viewport.getMaxX(), drawnMaxX) + UNIT_WIDTH);
+        gc.clearRect(clearFrom, 0, clearTo - clearFrom, canvas.getHeight());
+        drawnMinX = viewport.getMinX();
+        drawnMaxX = viewport.getMaxX();
+
+        drawUnits(snapshot.getPlayerUnits(), alpha, viewport);
+        drawUnits(snapshot.getEnemyUnits(), alpha, viewport);
+        drawProjectiles(snapshot, alpha, viewport);
+        drawPopups(viewport, now);
+    }
+
+    private void drawUnits(RenderSnapshot.UnitTable table, double alpha, Viewport viewport) {
+        for (int i = 0; i < table.size(); i++) {
+            UnitState state = units.get(table.unit(i));
+            if (state == null) continue;
+
+            double x = table.x(i, alpha);
+            if (!viewport.isVisible(x, UNIT_WIDTH)) {
+                // Skips the bob too; the walk restarts from lastX when the unit comes back into view.
+                state.lastX = x;
+                continue;
+            }
+            double yOffset = 0;
+            if (Math.abs(x - state.lastX) > 0.01) {
+                state.walkCycle += BOB_SPEED;
+                yOffset = -Math.abs(Math.sin(state.walkCycle)) * BOB_AMPLITUDE;
+            } else {
+                state.walkCycle = 0;
+            }
+            state.lastX = x;
+
+            Image image = state.image;
+            double height = image.getWidth() > 0 ? image.getHeight() * UNIT_WIDTH / image.getWidth() : 0;
+            double top = groundY - height;
+
+            int hp = table.hp(i);
+            if (hp <= 0) {
+                gc.setGlobalAlpha(0.5);
+                gc.drawImage(image, x, top, UNIT_WIDTH, height);
+                gc.setGlobalAlpha(1.0);
+                continue;
+            }
+            gc.drawImage(image, x, top + yOffset, UNIT_WIDTH, height);
+
+            double progress = Math.max(0, (double) hp / table.maxHp(i));
+            gc.setFill(HP_BACKGROUND);
+            gc.fillRect(x, top - 15, HP_BAR_WIDTH, HP_BAR_HEIGHT);
+            gc.setFill(HP_FILL);
+            gc.fillRect(x, top - 15, HP_BAR_WIDTH * progress, HP_BAR_HEIGHT);
+        }
+    }
+
+    private void drawProjectiles(RenderSnapshot snapshot, double alpha, Viewport viewport) {
+        for (int i = 0; i < snapshot.getProjectileCount(); i++) {
+            double x = snapshot.projectileX(i, alpha);
+            if (!viewport.isVisible(x - 5, 10)) continue;
+            boolean arrow = snapshot.isArrow(i);
+            double radius = arrow ? 3 : 5;
+            gc.setFill(arrow ? Color.BROWN : Color.BLACK);
+            gc.fillOval(x - radius, snapshot.projectileY(i, alpha) - radius, radius * 2, radius * 2);
+        }
+    }
+
+    private void drawPopups(Viewport viewport, long now) {
+        popups.expire(now, slot -> { });
+        for (int n = 0; n < popups.size(); n++) {
+            int slot = popups.slot(n);
+            double t = popups.progress(slot, now);
+            double x = popups.x(slot);
+            if (!viewport.isVisible(x, 0)) continue;
+            double y = popups.y(slot) + POPUP_BASELINE - POPUP_RISE * t;
+            String text = popups.text(slot);
+            boolean critical = popups.isCritical(slot);
+            gc.setGlobalAlpha(1.0 - t);
+            gc.setFont(critical ? CRITICAL_POPUP_FONT : POPUP_FONT);
+            gc.setFill(Color.BLACK);
+            gc.fillText(text, x + 1, y + 1);
+            gc.setFill(critical ? Color.RED : Color.ORANGE);
+            gc.fillText(text, x, y);
+        }
+        gc.setGlobalAlpha(1.0);
+    }
+
+    /**
+     * Returns the canvas this renderer draws into.
+     *
+     * @return The Canvas.
+     */
+    public Canvas getCanvas() {
+        return canvas;
+    }
+}
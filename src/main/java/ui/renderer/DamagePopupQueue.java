@@ -0,0 +1,160 @@
+package ui.renderer;
+
+import java.util.function.IntConsumer;
+
+/**
+ * The damage numbers currently floating over the battlefield, in a fixed ring of slots.
+ * <p>
+ * Every popup lives for {@link #LIFETIME_NANOS} and takes one slot. The number of slots is the
+ * cap on concurrent popups: when all are taken, a new popup replaces the oldest one. Renderers
+ * keep one visual per slot, so the slot index tells them which text node or canvas entry to
+ * update, and nothing is created or destroyed while the game runs.
+ * </p>
+ * <p>
+ * Popups are expected to be added in frame-time order, so the oldest popup is always at the
+ * head of the ring and expiring them is a walk from the head.
+ * </p>
+ */
+public class DamagePopupQueue {
+    /** How long a popup stays on screen, in nanoseconds. */
+    public static final long LIFETIME_NANOS = 800_000_000L;
+
+    private final double[] x;
+    private final double[] y;
+    private final String[] text;
+    private final boolean[] critical;
+    private final long[] start;
+    private int head;
+    private int count;
+
+    /**
+     * Initializes an empty queue.
+     * @param capacity The most popups shown at once; must be positive.
+     */
+    public DamagePopupQueue(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        x = new double[capacity];
+        y = new double[capacity];
+        text = new String[capacity];
+        critical = new boolean[capacity];
+        start = new long[capacity];
+    }
+
+    /**
+     * Adds a popup, replacing the oldest one if every slot is taken.
+     * @param px The x-coordinate of the popup.
+     * @param py The y-coordinate of the popup.
+     * @param amount The damage amount to display.
+     * @param isCritical True if the damage is critical.
+     * @param now The frame time in nanoseconds.
+     * @return The slot the popup occupies.
+     */
+    public int add(double px, double py, int amount, boolean isCritical, long now) {
+        int slot = (head + count) % x.length;
+        if (count == x.length) {
+            head = (head + 1) % x.length;
+        } else {
+            count++;
+        }
+        x[slot] = px;
+        y[slot] = py;
+        text[slot] = "-" + amount;
+        critical[slot] = isCritical;
+        start[slot] = now;
+        return slot;
+    }
+
+    /**
+     * Removes every popup that has been shown for its full lifetime.
+     * @param now The frame time in nanoseconds.
+     * @param expired Called with the slot of each removed popup.
+     */
+    public void expire(long now, IntConsumer expired) {
+        while (count > 0 && now - start[head] >= LIFETIME_NANOS) {
+            text[head] = null;
+            expired.accept(head);
+            head = (head + 1) % x.length;
+            count--;
+        }
+    }
+
+    /**
+     * Removes every popup.
+     */
+    public void clear() {
+        for (int n = 0; n < count; n++) text[(head + n) % x.length] = null;
+        head = 0;
+        count = 0;
+    }
+
+    /**
+     * Returns the slot of a live popup, oldest first.
+     * @param n The position of the popup, from {@code 0} to {@code size() - 1}.
+     * @return The slot index.
+     */
+    public int slot(int n) {
+        return (head + n) % x.length;
+    }
+
+    /**
+     * Returns how far a popup is through its lifetime.
+     * @param slot The slot of the popup.
+     * @param now The frame time in nanoseconds.
+     * @return The progress from {@code 0} (just added) to {@code 1} (expiring).
+     */
+    public double progress(int slot, long now) {
+        return Math.min(1.0, (double) (now - start[slot]) / LIFETIME_NANOS);
+    }
+
+    /**
+     * Returns the x-coordinate of a popup.
+     * @param slot The slot of the popup.
+     * @return The x-coordinate.
+     */
+    public double x(int slot) {
+        return x[slot];
+    }
+
+    /**
+     * Returns the y-coordinate of a popup.
+     * @param slot The slot of the popup.
+     * @return The y-coordinate.
+     */
+    public double y(int slot) {
+        return y[slot];
+    }
+
+    /**
+     * Returns the text of a popup.
+     * @param slot The slot of the popup.
+     * @return The text, such as {@code -25}.
+     */
+    public String text(int slot) {
+        return text[slot];
+    }
+
+    /**
+     * Returns whether a popup shows critical damage.
+     * @param slot The slot of the popup.
+     * @return True if the damage was critical.
+     */
+    public boolean isCritical(int slot) {
+        return critical[slot];
+    }
+
+    /**
+     * Returns the number of popups on screen.
+     * @return The size of queue as int.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns the most popups shown at once.
+     * @return The capacity of queue as int.
+     */
+    public int getCapacity() {
+        return x.length;
+    }
+}
@@ -1,52 +1,101 @@
 package ui.renderer;
 
-import javafx.animation.FadeTransition;
-import javafx.animation.ParallelTransition;
-import javafx.animation.TranslateTransition;
-import javafx.scene.control.Label;
-import javafx.scene.layout.Pane;
+import javafx.scene.Group;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
-import javafx.util.Duration;
+import javafx.scene.text.Text;
 
 /**
- * Utility class for rendering floating damage text popups.
+ * Renders floating damage text popups with a fixed pool of text nodes.
+ * <p>
+ * Each popup floats upward and fades out over {@link DamagePopupQueue#LIFETIME_NANOS}. There is
+ * one {@link Text} node per slot of a {@link DamagePopupQueue}; the nodes are created the first
+ * time their slot is used, stay in the popup layer for good and are hidden while their slot is
+ * free. Every popup is moved and faded by a single {@link #update(long)} per frame instead of
+ * by transitions of its own.
+ * </p>
  */
 public class DamagePopupRenderer {
+    private static final double RISE = 40;
+    private static final Font FONT = Font.font("Arial", FontWeight.BOLD, 14);
+    private static final Font CRITICAL_FONT = Font.font("Arial", FontWeight.BOLD, 20);
+
+    private final DamagePopupQueue queue;
+    private final Text[] nodes;
+    private final Group layer = new Group();
 
     /**
-     * Creates and displays a floating damage label at the specified coordinates.
-     * <p>
-     * The label floats upward and fades out over time.
-     * </p>
+     * Initializes an empty popup layer.
      *
-     * @param battlefieldPane The pane to add the popup to.
-     * @param x               The x-coordinate for the popup.
-     * @param y               The y-coordinate for the popup.
-     * @param amount          The damage amount to display.
-     * @param isCritical      True if the damage is critical (displayed in red), false otherwise (orange).
+     * @param maxPopups The most popups shown at once; when exceeded the oldest popup is replaced.
      */
-    public static void showDamage(Pane battlefieldPane, double x, double y, int amount, boolean isCritical) {
-        Label damageLabel = new Label("-" + amount);
-        damageLabel.setLayoutX(x);
-        damageLabel.setLayoutY(y - 20);
-
-        damageLabel.setTextFill(isCritical ? Color.RED : Color.ORANGE);
-        damageLabel.setFont(Font.font("Arial", FontWeight.BOLD, isCritical ? 20 : 14));
-        damageLabel.setStyle("-fx-effect: dropshadow(one-pass-box, black, 2, 0.0, 1, 1);");
+    public DamagePopupRenderer(int maxPopups) {
+        queue = new DamagePopupQueue(maxPopups);
+        nodes = new Text[maxPopups];
+        layer.setMouseTransparent(true);
+        layer.setManaged(false);
+    }
 
-        battlefieldPane.getChildren().add(damageLabel);
+    /**
+     * Shows a damage popup at the specified coordinates.
+     *
+     * @param x          The x-coordinate for the popup.
+     * @param y          The y-coordinate for the popup.
+     * @param amount     The damage amount to display.
+     * @param isCritical True if the damage is critical (displayed in red), false otherwise (orange).
+     * @param now        The frame time in nanoseconds.
+     */
+    public void showDamage(double x, double y, int amount, boolean isCritical, long now) {
+        int slot = queue.add(x, y, amount, isCritical, now);
+        Text node = nodes[slot];
+        if (node == null) {
+            node = new Text();
+            node.setStroke(Color.BLACK);
+            node.setStrokeWidth(0.5);
+            nodes[slot] = node;
+            layer.getChildren().add(node);
+        }
+        node.setText(queue.text(slot));
+        node.setFont(isCritical ? CRITICAL_FONT : FONT);
+        node.setFill(isCritical ? Color.RED : Color.ORANGE);
+        node.setLayoutX(x);
+        // Text is placed by its baseline; the old labels were placed 20 pixels above y by their top.
+        node.setLayoutY(y - 20 + (isCritical ? 20 : 14));
+        node.setVisible(true);
+    }
 
-        TranslateTransition moveUp = new TranslateTransition(Duration.millis(800), damageLabel);
-        moveUp.setByY(-40);
+    /**
+     * Moves and fades every popup for the current frame and hides the ones that have expired.
+     *
+     * @param now The frame time in nanoseconds.
+     */
+    public void update(long now) {
+        queue.expire(now, slot -> nodes[slot].setVisible(false));
+        for (int n = 0; n < queue.size(); n++) {
+            int slot = queue.slot(n);
+            double t = queue.progress(slot, now);
+            nodes[slot].setTranslateY(-RISE * t);
+            nodes[slot].setOpacity(1.0 - t);
+        }
+    }
 
-        FadeTransition fadeOut = new FadeTransition(Duration.millis(800), damageLabel);
-        fadeOut.setFromValue(1.0);
-        fadeOut.setToValue(0.0);
+    /**
+     * Hides every popup.
+     */
+    public void clear() {
+        queue.clear();
+        for (Text node : nodes) {
+            if (node != null) node.setVisible(false);
+        }
+    }
 
-        ParallelTransition animation = new ParallelTransition(moveUp, fadeOut);
-        animation.setOnFinished(e -> battlefieldPane.getChildren().remove(damageLabel));
-        animation.play();
+    /**
+     * Returns the node holding every popup; add it once on top of the battlefield.
+     *
+     * @return The popup layer.
+     */
+    public Group getLayer() {
+        return layer;
     }
-}
\ No newline at end of file
+}
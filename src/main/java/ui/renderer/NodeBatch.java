@@ -0,0 +1,79 @@
+package ui.renderer;
+
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Collects the nodes added to and removed from a pane during a frame and applies them together.
+ * <p>
+ * Every change to a pane's children fires a list change, marks the pane for layout and
+ * re-sorts its children, so adding and removing nodes one at a time costs far more than
+ * applying them in bulk. {@link #flush()} applies all removals with one {@code removeAll}
+ * and all additions with one {@code addAll}. A node removed and added again in the same frame,
+ * as happens when a pooled renderer is reused, never leaves the pane at all.
+ * </p>
+ */
+public class NodeBatch {
+    private final Pane pane;
+    // In the order they were added; entries no longer in pending were removed again and are skipped at the flush.
+    private final List<Node> added = new ArrayList<>();
+    private final Set<Node> pending = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<Node> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Initializes an empty batch for a pane.
+     * @param pane The pane whose children the batch changes.
+     */
+    public NodeBatch(Pane pane) {
+        this.pane = pane;
+    }
+
+    /**
+     * Adds nodes to the pane at the next flush, on top of the nodes already there.
+     * @param nodes The nodes to add.
+     */
+    public void add(Node... nodes) {
+        for (Node node : nodes) {
+            if (!removed.remove(node) && pending.add(node)) added.add(node);
+        }
+    }
+
+    /**
+     * Removes nodes from the pane at the next flush.
+     * @param nodes The nodes to remove.
+     */
+    public void remove(Node... nodes) {
+        for (Node node : nodes) {
+            if (!pending.remove(node)) removed.add(node);
+        }
+    }
+
+    /**
+     * Applies the collected changes to the pane.
+     */
+    public void flush() {
+        if (!removed.isEmpty()) {
+            pane.getChildren().removeAll(removed);
+            removed.clear();
+        }
+        if (!added.isEmpty()) {
+            added.removeIf(node -> !pending.remove(node));
+            if (!added.isEmpty()) pane.getChildren().addAll(added);
+            added.clear();
+        }
+    }
+
+    /**
+     * Returns the pane this batch changes.
+     * @return The pane of batch.
+     */
+    public Pane getPane() {
+        return pane;
+    }
+}
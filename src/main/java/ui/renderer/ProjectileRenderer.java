@@ -3,32 +3,54 @@ package ui.renderer;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
-import objects.Projectile;
 
 /**
  * Renders projectiles on the battlefield.
+ * <p>
+ * Projectiles are reused by the game once they hit, so the renderer remembers the handle of the
+ * shot it was created for rather than the projectile; its position comes in through
+ * {@link #update(double, double)}. The renderer itself can be reused for another shot with
+ * {@link #attach(long, boolean, double, double)}.
+ * </p>
  */
 public class ProjectileRenderer {
-    private final Projectile projectile;
-    private final Circle shape;
+    private long handle;
+    private boolean culled;
+    private final Circle shape = new Circle();
 
     /**
-     * Initializes a renderer for a specific projectile.
-     *
-     * @param projectile The projectile logic object to render.
+     * Initializes a renderer that is not attached to a projectile yet.
      */
-    public ProjectileRenderer(Projectile projectile) {
-        this.projectile = projectile;
-        Color c = Color.BLACK;
-        double radius = 5;
+    public ProjectileRenderer() {
+    }
 
-        if ("ARROW".equals(projectile.getImagePath())) {
-            c = Color.BROWN;
-            radius = 3;
-        }
+    /**
+     * Points the renderer at a shot, styling it by the projectile's kind.
+     *
+     * @param handle The handle of the shot.
+     * @param arrow  True for an arrow, false for a cannonball.
+     * @param x      The x-coordinate the shot starts at.
+     * @param y      The y-coordinate the shot starts at.
+     */
+    public void attach(long handle, boolean arrow, double x, double y) {
+        this.handle = handle;
+        shape.setRadius(arrow ? 3 : 5);
+        shape.setFill(arrow ? Color.BROWN : Color.BLACK);
+        culled = false;
+        shape.setVisible(true);
+        update(x, y);
+    }
 
-        this.shape = new Circle(radius, c);
-        update();
+    /**
+     * Hides the projectile while it is off screen, or shows it again.
+     * A culled renderer should not be updated; the first update after it is shown catches it up.
+     *
+     * @param culled True to hide the projectile, false to show it.
+     */
+    public void setCulled(boolean culled) {
+        if (this.culled == culled) return;
+        this.culled = culled;
+        shape.setVisible(!culled);
     }
 
     /**
@@ -40,6 +62,15 @@ public class ProjectileRenderer {
         pane.getChildren().add(shape);
     }
 
+    /**
+     * Adds the projectile shape to a pane at the batch's next flush.
+     *
+     * @param batch The batch of the pane to add the shape to.
+     */
+    public void addTo(NodeBatch batch) {
+        batch.add(shape);
+    }
+
     /**
      * Removes the projectile shape from the specified pane.
      *
@@ -50,19 +81,31 @@ public class ProjectileRenderer {
     }
 
     /**
-     * Updates the position of the rendered projectile to match its logic coordinates.
+     * Removes the projectile shape from a pane at the batch's next flush.
+     *
+     * @param batch The batch of the pane to remove the shape from.
+     */
+    public void removeFrom(NodeBatch batch) {
+        batch.remove(shape);
+    }
+
+    /**
+     * Moves the rendered projectile.
+     *
+     * @param x The projectile's x-coordinate.
+     * @param y The projectile's y-coordinate.
      */
-    public void update() {
-        this.shape.setLayoutX(projectile.getX());
-        this.shape.setLayoutY(projectile.getY());
+    public void update(double x, double y) {
+        this.shape.setLayoutX(x);
+        this.shape.setLayoutY(y);
     }
 
     /**
-     * Returns the projectile logic object associated with this renderer.
+     * Returns the handle of the shot this renderer draws.
      *
-     * @return The Projectile object.
+     * @return The handle.
      */
-    public Projectile getProjectile() {
-        return projectile;
+    public long getHandle() {
+        return handle;
     }
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+package ui.renderer;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the renderers of live game entities, keyed by entity identity, and recycles the
+ * renderers of entities that are gone.
+ * <p>
+ * Lookups go through an {@link IdentityHashMap}, so finding the renderer of a unit or
+ * projectile takes constant time no matter how many are on the battlefield. A released
+ * renderer is kept in an idle pool and handed out again by the next {@link #acquire(Object)},
+ * so a steady fight stops creating nodes once the pool has grown to its peak size.
+ * </p>
+ *
+ * @param <K> The type of the rendered entities.
+ * @param <R> The type of the renderers.
+ */
+public class RendererPool<K, R> {
+    private final Map<K, R> live = new IdentityHashMap<>();
+    private final ArrayDeque<R> idle = new ArrayDeque<>();
+    private final Supplier<R> factory;
+    private int created;
+
+    /**
+     * Initializes an empty pool.
+     * @param factory Creates a new renderer when the pool has no idle one.
+     */
+    public RendererPool(Supplier<R> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Assigns a renderer to an entity, reusing an idle one when available.
+     * The caller is responsible for pointing the renderer at the entity.
+     * @param entity The entity to render; it must not have a renderer yet.
+     * @return The renderer now assigned to the entity.
+     */
+    public R acquire(K entity) {
+        R renderer = idle.poll();
+        if (renderer == null) {
+            renderer = factory.get();
+            created++;
+        }
+        if (live.putIfAbsent(entity, renderer) != null) {
+            idle.push(renderer);
+            throw new IllegalStateException("Entity already has a renderer: " + entity);
+        }
+        return renderer;
+    }
+
+    /**
+     * Takes the renderer of an entity back into the idle pool.
+     * @param entity The entity that left the battlefield.
+     * @return The released renderer, or {@code null} if the entity had none.
+     */
+    public R release(K entity) {
+        R renderer = live.remove(entity);
+        if (renderer != null) idle.push(renderer);
+        return renderer;
+    }
+
+    /**
+     * Returns the renderer of an entity.
+     * @param entity The entity to look up.
+     * @return The renderer, or {@code null} if the entity has none.
+     */
+    public R get(K entity) {
+        return live.get(entity);
+    }
+
+    /**
+     * Returns the renderers of every live entity.
+     * @return A live view of the assigned renderers; do not modify.
+     */
+    public Collection<R> live() {
+        return live.values();
+    }
+
+    /**
+     * Takes every assigned renderer back into the idle pool.
+     */
+    public void releaseAll() {
+        idle.addAll(live.values());
+        live.clear();
+    }
+
+    /**
+     * Returns the number of renderers assigned to entities.
+     * @return The live count of pool as int.
+     */
+    public int getLiveCount() {
+        return live.size();
+    }
+
+    /**
+     * Returns the number of renderers waiting to be reused.
+     * @return The idle count of pool as int.
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Returns the number of renderers this pool has ever created.
+     * @return The created count of pool as int.
+     */
+    public int getCreatedCount() {
+        return created;
+    }
+}
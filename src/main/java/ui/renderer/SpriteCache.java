@@ -0,0 +1,215 @@
+package ui.renderer;
+
+import javafx.scene.image.Image;
+import turrets.TurretType;
+import units.UnitType;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decodes every sprite once and shares it across the whole application.
+ * <p>
+ * Each image is decoded straight to the size it is drawn at, so the unit sprites are 75 pixels
+ * wide in memory instead of their full PNG resolution, and the same {@link Image} is handed to
+ * every renderer that draws it. Spawning a unit or placing a turret therefore never decodes a
+ * file. Sprites are keyed by what they show (unit or turret type, side) rather than by path.
+ * </p>
+ * <p>
+ * The cache counts hits and misses and can estimate the memory its images take;
+ * {@link #report()} prints both.
+ * </p>
+ */
+public final class SpriteCache {
+    /** The width units are drawn at on the battlefield. */
+    public static final double UNIT_WIDTH = 75;
+    /** The width turrets are drawn at on the battlefield. */
+    public static final double TURRET_WIDTH = 75;
+    /** The width bases are drawn at on the battlefield. */
+    public static final double BASE_WIDTH = 300;
+
+    private static final SpriteCache SHARED = new SpriteCache();
+
+    private final Map<String, Image> images = new ConcurrentHashMap<>();
+    // Resource paths that turned out not to exist.
+    private final Set<String> missing = ConcurrentHashMap.newKeySet();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Returns the cache shared by every view and renderer.
+     *
+     * @return The process-wide SpriteCache.
+     */
+    public static SpriteCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the battlefield sprite of a unit type.
+     *
+     * @param type     The unit type.
+     * @param isPlayer True for the player's sprite, false for the enemy's.
+     * @return The sprite, {@link #UNIT_WIDTH} pixels wide.
+     */
+    public Image unit(UnitType type, boolean isPlayer) {
+        String name = switch (type) {
+            case MELEE -> "melee";
+            case RANGED -> "ranged";
+            case ANTI_ARMORED -> "anti_armored";
+            case ARMORED -> "armored";
+        };
+        return get(sidePath(name, isPlayer), UNIT_WIDTH);
+    }
+
+    /**
+     * Returns the battlefield sprite of a turret type.
+     *
+     * @param type     The turret type.
+     * @param isPlayer True for the player's sprite, false for the enemy's.
+     * @return The sprite, {@link #TURRET_WIDTH} pixels wide.
+     */
+    public Image turret(TurretType type, boolean isPlayer) {
+        String name = type == TurretType.LONG_RANGE ? "long_ranged_turret" : "turret";
+        return get(sidePath(name, isPlayer), TURRET_WIDTH);
+    }
+
+    /**
+     * Returns the sprite of a base.
+     *
+     * @param isPlayer True for the player's base, false for the enemy's.
+     * @return The sprite, {@link #BASE_WIDTH} pixels wide.
+     */
+    public Image base(boolean isPlayer) {
+        return get(sidePath("base", isPlayer), BASE_WIDTH);
+    }
+
+    /**
+     * Returns an image resource decoded at the given width, decoding it on first use.
+     *
+     * @param path  The resource path, such as {@code /images/base_1.png}.
+     * @param width The width to decode to, keeping the aspect ratio, or {@code 0} for the natural size.
+     * @return The shared image.
+     * @throws IllegalArgumentException If there is no such resource.
+     */
+    public Image get(String path, double width) {
+        Image image = find(path, width);
+        if (image == null) throw new IllegalArgumentException("No such image: " + path);
+        return image;
+    }
+
+    /**
+     * Returns an image resource decoded at the given width, or {@code null} if there is no such resource.
+     * <p>
+     * A missing resource is remembered, so asking for it again neither searches the class path
+     * nor counts another miss.
+     * </p>
+     *
+     * @param path  The resource path, such as {@code /images/background.png}.
+     * @param width The width to decode to, keeping the aspect ratio, or {@code 0} for the natural size.
+     * @return The shared image, or {@code null} if the resource does not exist.
+     */
+    public Image find(String path, double width) {
+        String key = width > 0 ? path + "@" + width : path;
+        Image image = images.get(key);
+        if (image != null || missing.contains(path)) {
+            hits.increment();
+            return image;
+        }
+        URL url = SpriteCache.class.getResource(path);
+        if (url == null) {
+            misses.increment();
+            missing.add(path);
+            return null;
+        }
+        return images.computeIfAbsent(key, k -> {
+            misses.increment();
+            return load(url, width);
+        });
+    }
+
+    /**
+     * Decodes every battlefield sprite, so the first battle does not decode any.
+     */
+    public void preload() {
+        preloadTasks().forEach(Runnable::run);
+    }
+
+    /**
+     * Returns one task per battlefield sprite that decodes it into the cache.
+     * The tasks may run on any thread and in any order.
+     *
+     * @return The preload tasks.
+     */
+    public List<Runnable> preloadTasks() {
+        List<Runnable> tasks = new ArrayList<>();
+        for (boolean isPlayer : new boolean[]{true, false}) {
+            for (UnitType type : UnitType.values()) tasks.add(() -> unit(type, isPlayer));
+            for (TurretType type : TurretType.values()) tasks.add(() -> turret(type, isPlayer));
+            tasks.add(() -> base(isPlayer));
+        }
+        return tasks;
+    }
+
+    private static Image load(URL url, double width) {
+        return width > 0 ? new Image(url.toExternalForm(), width, 0, true, true) : new Image(url.toExternalForm());
+    }
+
+    private static String sidePath(String name, boolean isPlayer) {
+        return "/images/" + name + (isPlayer ? "_1" : "_2") + ".png";
+    }
+
+    /**
+     * Returns the number of lookups answered from the cache, including those for a resource already known to be missing.
+     *
+     * @return The hit count of cache as long.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that had to decode an image.
+     *
+     * @return The miss count of cache as long.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of decoded images held.
+     *
+     * @return The image count of cache as int.
+     */
+    public int getImageCount() {
+        return images.size();
+    }
+
+    /**
+     * Returns the memory the decoded pixels take, at four bytes per pixel.
+     *
+     * @return The estimated size of cache in bytes as long.
+     */
+    public long getMemoryBytes() {
+        long bytes = 0;
+        for (Image image : images.values()) bytes += (long) image.getWidth() * (long) image.getHeight() * 4;
+        return bytes;
+    }
+
+    /**
+     * Formats the cache statistics as one line.
+     *
+     * @return The report text.
+     */
+    public String report() {
+        return String.format(Locale.ROOT, "Sprite cache: %d images, %.1f KB, %d hits, %d misses%n",
+                getImageCount(), getMemoryBytes() / 1024.0, getHits(), getMisses());
+    }
+}
@@ -20,15 +20,14 @@ public class TurretRenderer {
      * Initializes the renderer for a turret.
      *
      * @param turret        The turret logic object.
-     * @param imagePath     The path to the image resource.
+     * @param image         The turret's sprite, usually from the {@link SpriteCache}.
      * @param baseX         The starting x-coordinate for the turret slots.
      * @param bottomAnchorY The y-coordinate where the bottom of the turret should align.
      * @param slotIndex     The index of the slot the turret occupies.
      */
-    public TurretRenderer(Turret turret, String imagePath, double baseX, double bottomAnchorY, int slotIndex) {
+    public TurretRenderer(Turret turret, Image image, double baseX, double bottomAnchorY, int slotIndex) {
         this.TURRET = turret;
 
-        Image image = new Image(imagePath);
         IMAGE_VIEW = new ImageView(image);
 
         IMAGE_VIEW.setFitWidth(75);
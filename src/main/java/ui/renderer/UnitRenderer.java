@@ -6,19 +6,28 @@ import javafx.scene.image.ImageView;
 import javafx.scene.layout.Pane;
 import units.Unit;
 
-import java.util.Objects;
-
 /**
  * Renders units on the battlefield, including their sprite and health bar.
+ * <p>
+ * A renderer can be reused: {@link #attach(Unit, Image, double)} points its nodes at another
+ * unit, so the battlefield can pool renderers instead of building new nodes for every spawn.
+ * </p>
+ * <p>
+ * The unit is only kept as the renderer's key; position and hp come in through
+ * {@link #update(double, int, int)}, so the renderer can draw a snapshot while the simulation
+ * keeps changing the unit on another thread.
+ * </p>
  */
 public class UnitRenderer {
 
-    private final Unit unit;
+    private Unit unit;
     private final ImageView imageView;
     private final ProgressBar hpBar;
 
     private double lastX;
     private double walkCycle = 0;
+    private boolean culled;
+    private boolean alive;
     private static final double BOB_AMPLITUDE = 3.0;
     private static final double BOB_SPEED = 0.25;
 
@@ -27,40 +36,88 @@ public class UnitRenderer {
     /**
      * Initializes the renderer for a unit.
      *
-     * @param unit      The unit logic object.
-     * @param imagePath The path to the unit's image resource.
-     * @param startX    The initial x-coordinate.
-     * @param groundY   The y-coordinate representing the ground level.
+     * @param unit    The unit logic object.
+     * @param image   The unit's sprite, usually from the {@link SpriteCache}.
+     * @param startX  The initial x-coordinate.
+     * @param groundY The y-coordinate representing the ground level.
      */
-    public UnitRenderer(Unit unit, String imagePath, double startX, double groundY) {
-        this.unit = unit;
+    public UnitRenderer(Unit unit, Image image, double startX, double groundY) {
+        this(groundY);
+        attach(unit, image, startX);
+    }
+
+    /**
+     * Initializes a renderer that is not attached to a unit yet.
+     *
+     * @param groundY The y-coordinate representing the ground level.
+     */
+    public UnitRenderer(double groundY) {
         this.groundY = groundY;
-        this.lastX = startX;
 
-        Image image = new Image(Objects.requireNonNull(getClass().getResource(imagePath)).toExternalForm());
-        imageView = new ImageView(image);
+        imageView = new ImageView();
         imageView.setFitWidth(75);
         imageView.setPreserveRatio(true);
-        imageView.setLayoutX(startX);
+        // One listener for the renderer's lifetime: a sprite still loading aligns itself once its size is known.
+        imageView.boundsInLocalProperty().addListener((obs, oldVal, newVal) -> alignToGround());
 
         hpBar = new ProgressBar(1.0);
         hpBar.setPrefWidth(50);
         hpBar.setPrefHeight(10);
         hpBar.setStyle("-fx-accent: lightgreen; -fx-control-inner-background: #444; -fx-text-box-border: transparent;");
+    }
+
+    /**
+     * Points the renderer at a unit and resets its animation.
+     *
+     * @param unit   The unit logic object.
+     * @param image  The unit's sprite, usually from the {@link SpriteCache}.
+     * @param startX The initial x-coordinate.
+     */
+    public void attach(Unit unit, Image image, double startX) {
+        this.unit = unit;
+        this.lastX = startX;
+        this.walkCycle = 0;
+        this.culled = false;
+        this.alive = true;
+
+        imageView.setImage(image);
+        imageView.setVisible(true);
+        imageView.setLayoutX(startX);
+        imageView.setTranslateY(0);
+        imageView.setOpacity(1.0);
+
+        hpBar.setProgress(1.0);
+        hpBar.setVisible(true);
         hpBar.setLayoutX(startX);
 
-        if (image.getWidth() > 0) {
-            alignToGround(image.getWidth(), image.getHeight());
-        } else {
-            image.widthProperty().addListener((obs, oldVal, newVal) -> {
-                if (newVal.doubleValue() > 0) {
-                    alignToGround(newVal.doubleValue(), image.getHeight());
-                }
-            });
-        }
+        alignToGround();
+    }
+
+    /**
+     * Hides the unit while it is off screen, or shows it again.
+     * A culled renderer should not be updated; the first update after it is shown catches it up.
+     *
+     * @param culled True to hide the unit, false to show it.
+     */
+    public void setCulled(boolean culled) {
+        if (this.culled == culled) return;
+        this.culled = culled;
+        imageView.setVisible(!culled);
+        hpBar.setVisible(!culled && alive);
+    }
+
+    /**
+     * Lets go of the unit so the renderer can wait in a pool without keeping it alive.
+     */
+    public void detach() {
+        this.unit = null;
     }
 
-    private void alignToGround(double imageW, double imageH) {
+    private void alignToGround() {
+        Image image = imageView.getImage();
+        if (image == null) return;
+        double imageW = image.getWidth();
+        double imageH = image.getHeight();
         if (imageW <= 0) return;
 
         double scale = 75.0 / imageW;
@@ -80,6 +137,15 @@ public class UnitRenderer {
         battlefieldPane.getChildren().addAll(imageView, hpBar);
     }
 
+    /**
+     * Adds the unit's image and health bar to a pane at the batch's next flush.
+     *
+     * @param batch The batch of the pane to add the visuals to.
+     */
+    public void addTo(NodeBatch batch) {
+        batch.add(imageView, hpBar);
+    }
+
     /**
      * Removes the unit's image and health bar from the specified pane.
      *
@@ -89,15 +155,26 @@ public class UnitRenderer {
         battlefieldPane.getChildren().removeAll(imageView, hpBar);
     }
 
+    /**
+     * Removes the unit's image and health bar from a pane at the batch's next flush.
+     *
+     * @param batch The batch of the pane to remove the visuals from.
+     */
+    public void removeFrom(NodeBatch batch) {
+        batch.remove(imageView, hpBar);
+    }
+
     /**
      * Updates the unit's position and health bar.
      * <p>
      * Also applies a simple bobbing animation if the unit is moving.
      * </p>
      *
-     * @param newX The new x-coordinate of the unit.
+     * @param newX  The new x-coordinate of the unit.
+     * @param hp    The unit's current hp.
+     * @param maxHp The unit's max hp.
      */
-    public void update(double newX) {
+    public void update(double newX, int hp, int maxHp) {
         double deltaX = Math.abs(newX - lastX);
         boolean isMoving = deltaX > 0.01;
 
@@ -115,10 +192,11 @@ public class UnitRenderer {
 
         lastX = newX;
 
-        double progress = (double) unit.getHp() / unit.getMaxHp();
+        double progress = (double) hp / maxHp;
         hpBar.setProgress(Math.max(0, progress));
 
-        if (!unit.isAlive()) {
+        alive = hp > 0;
+        if (!alive) {
             imageView.setOpacity(0.5);
             hpBar.setVisible(false);
             imageView.setTranslateY(0);
@@ -126,7 +204,7 @@ public class UnitRenderer {
     }
 
     /**
-     * Returns the unit logic object associated with this renderer.
+     * Returns the unit logic object associated with this renderer, to be used as a key only.
      *
      * @return The Unit object.
      */
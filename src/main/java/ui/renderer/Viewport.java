@@ -0,0 +1,67 @@
+package ui.renderer;
+
+/**
+ * The horizontal slice of the battlefield that is on screen, widened by a margin.
+ * <p>
+ * Renderers ask it whether an entity can be seen before spending any work on it; entities
+ * outside are hidden and skipped until they come back into view. The margin keeps entities that
+ * are just about to scroll or walk in from popping up a frame late.
+ * </p>
+ */
+public class Viewport {
+    private final double margin;
+    private double minX = Double.NEGATIVE_INFINITY;
+    private double maxX = Double.POSITIVE_INFINITY;
+
+    /**
+     * Initializes a viewport that shows everything until it is first set.
+     * @param margin How far outside the visible range an entity still counts as visible, in pixels.
+     */
+    public Viewport(double margin) {
+        this.margin = margin;
+    }
+
+    /**
+     * Sets the visible range from the position of a horizontal scroll bar.
+     * Before the view has been laid out (a width of zero) everything counts as visible.
+     * @param hvalue The scroll position, from {@code 0} (left edge) to {@code 1} (right edge).
+     * @param contentWidth The width of the scrolled content.
+     * @param viewportWidth The width of the visible area.
+     */
+    public void setFromScroll(double hvalue, double contentWidth, double viewportWidth) {
+        if (viewportWidth <= 0 || contentWidth <= 0) {
+            minX = Double.NEGATIVE_INFINITY;
+            maxX = Double.POSITIVE_INFINITY;
+            return;
+        }
+        double left = Math.max(0, contentWidth - viewportWidth) * hvalue;
+        minX = left - margin;
+        maxX = left + viewportWidth + margin;
+    }
+
+    /**
+     * Checks whether anything of an entity can be seen.
+     * @param x The left edge of the entity.
+     * @param width The width of the entity.
+     * @return {@code true} if the entity overlaps the visible range, {@code false} otherwise.
+     */
+    public boolean isVisible(double x, double width) {
+        return x + width >= minX && x <= maxX;
+    }
+
+    /**
+     * Returns the left edge of the visible range, margin included.
+     * @return The min x of viewport.
+     */
+    public double getMinX() {
+        return minX;
+    }
+
+    /**
+     * Returns the right edge of the visible range, margin included.
+     * @return The max x of viewport.
+     */
+    public double getMaxX() {
+        return maxX;
+    }
+}
@@ -1,38 +1,32 @@
 package units;
 
 import interfaces.Attackable;
-import java.util.Random;
+
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * The unit which will available to attack opponent units or base.
  * Unit should never be instantiated into objects, as it is only designed to be a base class.
+ * <p>
+ * Once spawned, the values of a unit live in the {@link UnitStore} of its side and the unit itself
+ * is a view onto its slot. Before that, and after it is removed, the unit keeps them itself.
+ * </p>
  */
 public abstract class Unit implements Attackable {
-    private int hp;
-    private int maxHp;
-    private int attack;
-    private int speed;
-    private int cost;
-    private int range;
-    private long trainingTime;
-
-    private double coordinate;
-
-    private static boolean upgradedAttack = false;
-    private static boolean upgradedHp = false;
+    private UnitStore store;
+    private int slot;
+    private UnitStore.Detached detached;
 
     protected static final double COUNTER_MULTIPLIER = 2.0;
     protected static final double DAMAGE_REDUCTION = 0.8;
 
-    private static final Random RANDOM = new Random();
-    private long lastAttackTime = 0;
-    private long attackCooldown = 1_000_000_000L;
+    static final long ATTACK_COOLDOWN = 1_000_000_000L;
 
     /**
      * Initializes a new unit with specified base attribute and training time.
      * <p>
-     * Sets hp and maxHp to hp * 1.5 if upgradedHp is {@code true}. Otherwise, sets hp and Maxhp to the hp parameter.
-     * Sets attack to attack * 1.2 if upgradedAttack is {@code true}. Otherwise, sets attack to the attack parameter.
+     * Sets hp and maxHp to the hp parameter.
+     * Upgrades are not applied here; the match applies its own upgrades when the unit is spawned.
      * Sets coordinate to 0.
      * Sets trainingTime to trainingTimeSeconds in nanoseconds.
      * Sets the remaining fields to given parameters.
@@ -45,17 +39,49 @@ public abstract class Unit implements Attackable {
      * @param trainingTimeSeconds The time to train of the unit.
      */
     public Unit(int hp, int attack, int speed, int cost, int range, double trainingTimeSeconds) {
-        int finalHp = upgradedHp ? (int)(hp * 1.5) : hp;
-        int finalAttack = upgradedAttack ? (int)(attack * 1.2) : attack;
-
-        this.setHp(finalHp);
-        this.setMaxHp(finalHp);
-        this.setAttack(finalAttack);
-        this.setSpeed(speed);
-        this.setCost(cost);
-        this.setRange(range);
-        this.trainingTime = (long)(trainingTimeSeconds * 1_000_000_000L);
-        this.coordinate = 0;
+        // Filled directly rather than through the setters, which subclasses may override.
+        UnitStats stats = new UnitStats(hp, attack, speed, cost, range, (long)(trainingTimeSeconds * 1_000_000_000L));
+        this.detached = new UnitStore.Detached(hp, stats, 0, 0, 0);
+    }
+
+    /**
+     * Points this view at a new slot; called by {@link UnitStore} when the unit is added or moves.
+     */
+    void bind(UnitStore store, int slot) {
+        this.store = store;
+        this.slot = slot;
+        this.detached = null;
+    }
+
+    /**
+     * Takes the unit out of its store, leaving it with its own copy of its values.
+     */
+    void detach(UnitStore.Detached values) {
+        this.store = null;
+        this.slot = -1;
+        this.detached = values;
+    }
+
+    /**
+     * Returns the store currently holding this unit's values.
+     */
+    UnitStore store() { return store; }
+
+    /**
+     * Returns the values of this unit while it is in no store.
+     */
+    UnitStore.Detached detached() { return detached; }
+
+    /**
+     * Returns the slot of this unit within its store.
+     */
+    int slot() { return slot; }
+
+    private UnitStats stats() { return store != null ? store.stats[slot] : detached.stats; }
+
+    private void setStats(UnitStats stats) {
+        if (store != null) store.stats[slot] = store.intern(stats);
+        else detached.stats = stats;
     }
 
     /**
@@ -82,14 +108,14 @@ public abstract class Unit implements Attackable {
      *     is updated to the provided time.
      * </p>
      *
-     * @param now the current time in nanoseconds, typically obtained from
-     *            {@link System#nanoTime()}
+     * @param now the current simulated time in nanoseconds
      * @return {@code true} if the unit can attack at this time; {@code false}
      *         otherwise
      */
     public boolean canAttack(long now) {
-        if (now - lastAttackTime >= attackCooldown) {
-            lastAttackTime = now;
+        if (store != null) return store.canAttack(slot, now);
+        if (now - detached.lastAttackTime >= ATTACK_COOLDOWN) {
+            detached.lastAttackTime = now;
             return true;
         }
         return false;
@@ -98,12 +124,14 @@ public abstract class Unit implements Attackable {
     /**
      * Reduce unit's hp by damage from the calculation.
      * Calculate by rounding baseDamage multiply by 0.75 + (0.5 * random double in range of 0.0 &lt;= value &lt; 1.0).
+     * The random double comes from the generator of the unit's store, so every match rolls its own numbers;
+     * a unit in no store uses the current thread's generator.
      * @param baseDamage The base amount of damage received.
      * @return The actual damage which comes from the calculation.
      */
     @Override
     public int takeDamage(int baseDamage) {
-        double variation = 0.75 + (0.5 * RANDOM.nextDouble());
+        double variation = 0.75 + (0.5 * (store != null ? store.random() : ThreadLocalRandom.current()).nextDouble());
         int actualDamage = (int) Math.round(baseDamage * variation);
         this.setHp(this.getHp() - actualDamage);
         return actualDamage;
@@ -118,86 +146,92 @@ public abstract class Unit implements Attackable {
         return this.getHp() > 0;
     }
 
-    /**
-     * Sets upgradedAttack and upgradedHp to false.
-     */
-    // NEW: Method to reset upgrades between games
-    public static void resetUpgrades() {
-        upgradedAttack = false;
-        upgradedHp = false;
-    }
-
     /**
      * Returns hp of the unit.
      * @return The hp of the unit as int.
      */
-    public int getHp() { return hp; }
+    public int getHp() { return store != null ? store.hp[slot] : detached.hp; }
 
     /**
      * Returns maxHp of the unit.
      * @return The maxHp of the unit as int.
      */
-    public int getMaxHp() { return maxHp; }
+    public int getMaxHp() { return stats().maxHp(); }
 
     /**
      * Returns attack of the unit.
      * @return The attack of the unit as int.
      */
-    public int getAttack() { return attack; }
+    public int getAttack() { return stats().attack(); }
 
     /**
      * Returns speed of the unit.
      * @return The speed of the unit as int.
      */
-    public int getSpeed() { return speed; }
+    public int getSpeed() { return stats().speed(); }
 
     /**
      * Sets speed of the unit.
      * @param speed The new speed for the unit.
      */
-    public void setSpeed(int speed) { this.speed = speed; }
+    public void setSpeed(int speed) { setStats(stats().withSpeed(speed)); }
 
     /**
      * Returns cost of the unit.
      * @return The cost of the unit as int.
      */
-    public int getCost() { return cost; }
+    public int getCost() { return stats().cost(); }
 
     /**
      * Sets cost of the unit.
      * @param cost The new cost for the unit.
      */
-    public void setCost(int cost) { this.cost = cost; }
+    public void setCost(int cost) { setStats(stats().withCost(cost)); }
 
     /**
      * Returns range of the unit.
      * @return The range of the unit as int
      */
-    public int getRange() { return range; }
+    public int getRange() { return stats().range(); }
 
     /**
      * Sets range of the unit.
      * @param range The new range for the unit.
      */
-    public void setRange(int range) { this.range = range; }
+    public void setRange(int range) { setStats(stats().withRange(range)); }
 
     /**
      * Returns trainingTime of the unit.
      * @return The trainingTime of the unit as long.
      */
-    public long getTrainingTime() { return trainingTime; }
+    public long getTrainingTime() { return stats().trainingTime(); }
+
+    /**
+     * Sets trainingTime of the unit; used when a unit is rebuilt from a snapshot.
+     * @param trainingTime The new trainingTime in nanoseconds.
+     */
+    void setTrainingTime(long trainingTime) { setStats(stats().withTrainingTime(Math.max(trainingTime, 0))); }
 
     /**
      * Returns coordinate of the unit.
      * @return The coordinate of the unit as double.
      */
-    public double getCoordinate() { return coordinate; }
+    public double getCoordinate() { return store != null ? store.coordinate[slot] : detached.coordinate; }
 
     /**
-     * Sets the coordinate of the unit
+     * Places the unit at a coordinate, as where it was before the current step too,
+     * so a renderer does not draw it sliding in from its old position.
      * @param coordinate The new coordinate for the unit.
      */
-    public void setCoordinate(double coordinate) { this.coordinate = coordinate; }
+    public void setCoordinate(double coordinate) {
+        if (store != null) {
+            store.coordinate[slot] = coordinate;
+            store.previousCoordinate[slot] = coordinate;
+        } else {
+            detached.coordinate = coordinate;
+            detached.previousCoordinate = coordinate;
+        }
+    }
 
     /**
      * Sets the hp of the unit.
@@ -206,7 +240,10 @@ public abstract class Unit implements Attackable {
      * </p>
      * @param hp The new hp for the unit.
      */
-    public void setHp(int hp) { this.hp = Math.max(hp, 0); }
+    public void setHp(int hp) {
+        if (store != null) store.hp[slot] = Math.max(hp, 0);
+        else detached.hp = Math.max(hp, 0);
+    }
 
     /**
      * Sets the maxHp of the unit.
@@ -215,7 +252,7 @@ public abstract class Unit implements Attackable {
      * </p>
      * @param maxHp The new maxHp for the unit.
      */
-    public void setMaxHp(int maxHp) { this.maxHp = Math.max(maxHp, 0); }
+    public void setMaxHp(int maxHp) { setStats(stats().withMaxHp(Math.max(maxHp, 0))); }
 
     /**
      * Sets the attack of the unit
@@ -224,30 +261,5 @@ public abstract class Unit implements Attackable {
      * </p>
      * @param attack The new attack for the unit.
      */
-    public void setAttack(int attack) { this.attack = Math.max(attack, 0); }
-
-
-    /**
-     * Check if upgradedAttack is enabled.
-     * @return {@code true} if the upgradedAttack is enabled, {@code false} otherwise.
-     */
-    public static boolean isUpgradedAttack() { return upgradedAttack; }
-
-    /**
-     * Sets upgradedAttack of the unit.
-     * @param upgradedAttack The new upgradedAttack for the unit.
-     */
-    public static void setUpgradedAttack(boolean upgradedAttack) { Unit.upgradedAttack = upgradedAttack; }
-
-    /**
-     * Check if upgradedHp is enabled.
-     * @return {@code true} if the upgradedHp is enabled, {@code false} otherwise.
-     */
-    public static boolean isUpgradedHp() { return upgradedHp; }
-
-    /**
-     * Sets upgradedHp of the unit.
-     * @param upgradedHp The new upgradedHp for the unit.
-     */
-    public static void setUpgradedHp(boolean upgradedHp) { Unit.upgradedHp = upgradedHp; }
+    public void setAttack(int attack) { setStats(stats().withAttack(Math.max(attack, 0))); }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package units;
+
+/**
+ * The stats a unit is trained with, shared by every unit that has the same values.
+ * <p>
+ *     Units of one type and upgrade level all have the same stats, so a {@link UnitStore} keeps one
+ *     instance per distinct set of values and each slot only refers to it. Changing a stat of one
+ *     unit gives that unit a new instance; the others keep theirs.
+ * </p>
+ * @param maxHp The max hp of the unit.
+ * @param attack The attack of the unit.
+ * @param speed The speed of the unit.
+ * @param cost The cost of the unit.
+ * @param range The attack range of the unit.
+ * @param trainingTime The time to train of the unit, in nanoseconds.
+ */
+record UnitStats(int maxHp, int attack, int speed, int cost, int range, long trainingTime)
+{
+    UnitStats withMaxHp(int maxHp)
+    {
+        return new UnitStats(maxHp, attack, speed, cost, range, trainingTime);
+    }
+
+    UnitStats withAttack(int attack)
+    {
+        return new UnitStats(maxHp, attack, speed, cost, range, trainingTime);
+    }
+
+    UnitStats withSpeed(int speed)
+    {
+        return new UnitStats(maxHp, attack, speed, cost, range, trainingTime);
+    }
+
+    UnitStats withCost(int cost)
+    {
+        return new UnitStats(maxHp, attack, speed, cost, range, trainingTime);
+    }
+
+    UnitStats withRange(int range)
+    {
+        return new UnitStats(maxHp, attack, speed, cost, range, trainingTime);
+    }
+
+    UnitStats withTrainingTime(long trainingTime)
+    {
+        return new UnitStats(maxHp, attack, speed, cost, range, trainingTime);
+    }
+}
@@ -0,0 +1,386 @@
+package units;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * The units of one side of the battlefield, stored as parallel arrays.
+ * <p>
+ *     Every unit occupies one slot; its hp, coordinate and attack timestamp live at that index in
+ *     arrays shared by the whole side, so the combat loop walks contiguous memory instead of
+ *     following a reference per unit. The slot-based accessors ({@link #getCoordinate(int)},
+ *     {@link #isAlive(int)}, ...) are the iteration API for the tick loop.
+ * </p>
+ * <p>
+ *     Stats that units of one type and upgrade level share ({@link UnitStats}) are kept once per
+ *     distinct set of values, and each slot refers to its set.
+ * </p>
+ * <p>
+ *     {@link Unit} objects are thin views onto a slot, so the rest of the game keeps using the
+ *     {@code Unit} API. A unit that is not on the battlefield, still queued or already removed,
+ *     keeps its values in a small {@link Detached} record instead, which goes away with the unit.
+ * </p>
+ * <p>
+ *     Each slot also keeps the coordinate the unit had before the current step, set by
+ *     {@link #savePositions()}, so renderers can draw units between two steps.
+ * </p>
+ * <p>
+ *     Slots are kept in spawn order. {@link #removeDead()} compacts the store in place, keeping
+ *     the survivors in that order.
+ * </p>
+ */
+public class UnitStore extends AbstractList<Unit> implements RandomAccess
+{
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The values of a unit that is not in any store.
+     */
+    static final class Detached
+    {
+        int hp;
+        UnitStats stats;
+        long lastAttackTime;
+        double coordinate;
+        double previousCoordinate;
+
+        Detached(int hp, UnitStats stats, long lastAttackTime, double coordinate, double previousCoordinate)
+        {
+            this.hp = hp;
+            this.stats = stats;
+            this.lastAttackTime = lastAttackTime;
+            this.coordinate = coordinate;
+            this.previousCoordinate = previousCoordinate;
+        }
+    }
+
+    private Unit[] views;
+    int[] hp;
+    UnitStats[] stats;
+    long[] lastAttackTime;
+    double[] coordinate;
+    double[] previousCoordinate;
+    private int size;
+
+    // One instance per distinct set of stats on this side, so equal slots share it.
+    private final Map<UnitStats, UnitStats> interned = new HashMap<>();
+
+    // Rolls the damage variance of the units in this store; null falls back to the thread's generator.
+    private RandomGenerator random;
+
+    /**
+     * Initializes an empty store with the default capacity.
+     */
+    public UnitStore()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initializes an empty store with room for the given number of units.
+     * @param capacity The initial capacity; the store grows as needed.
+     */
+    public UnitStore(int capacity)
+    {
+        int initial = Math.max(capacity, 1);
+        views = new Unit[initial];
+        hp = new int[initial];
+        stats = new UnitStats[initial];
+        lastAttackTime = new long[initial];
+        coordinate = new double[initial];
+        previousCoordinate = new double[initial];
+    }
+
+    /**
+     * Moves a unit onto this side, copying its values into a new slot at the end of the store.
+     * @param unit The unit to add; it must not already belong to a store.
+     * @return {@code true}, as specified by {@link java.util.Collection#add(Object)}.
+     */
+    @Override
+    public boolean add(Unit unit)
+    {
+        Detached values = unit.detached();
+        if (values == null)
+        {
+            throw new IllegalStateException("Unit is already on the battlefield");
+        }
+        if (size == views.length) grow();
+        int slot = size++;
+        views[slot] = unit;
+        hp[slot] = values.hp;
+        stats[slot] = intern(values.stats);
+        lastAttackTime[slot] = values.lastAttackTime;
+        coordinate[slot] = values.coordinate;
+        previousCoordinate[slot] = values.previousCoordinate;
+        unit.bind(this, slot);
+        modCount++;
+        return true;
+    }
+
+    // Grows by half, as ArrayList does, so a large side carries less unused room than doubling would leave.
+    private void grow()
+    {
+        int capacity = views.length + Math.max(views.length >> 1, 1);
+        views = Arrays.copyOf(views, capacity);
+        hp = Arrays.copyOf(hp, capacity);
+        stats = Arrays.copyOf(stats, capacity);
+        lastAttackTime = Arrays.copyOf(lastAttackTime, capacity);
+        coordinate = Arrays.copyOf(coordinate, capacity);
+        previousCoordinate = Arrays.copyOf(previousCoordinate, capacity);
+    }
+
+    /**
+     * Returns the instance of the given stats shared by this side.
+     * @param values The stats to look up.
+     * @return An equal instance already used by this side, or {@code values} itself if it is new.
+     */
+    UnitStats intern(UnitStats values)
+    {
+        UnitStats shared = interned.putIfAbsent(values, values);
+        return shared != null ? shared : values;
+    }
+
+    /**
+     * Removes every unit whose hp has reached zero, keeping the others in spawn order.
+     * <p>
+     *     Removed units keep their final values, so references held elsewhere (renderers,
+     *     projectiles in flight) can still read them; nothing is kept for them in the store.
+     * </p>
+     * @return The number of units removed.
+     */
+    public int removeDead()
+    {
+        int kept = 0;
+        for (int i = 0; i < size; i++)
+        {
+            if (hp[i] > 0)
+            {
+                if (kept != i)
+                {
+                    hp[kept] = hp[i];
+                    stats[kept] = stats[i];
+                    lastAttackTime[kept] = lastAttackTime[i];
+                    coordinate[kept] = coordinate[i];
+                    previousCoordinate[kept] = previousCoordinate[i];
+                    views[kept] = views[i];
+                    views[kept].bind(this, kept);
+                }
+                kept++;
+            }
+            else
+            {
+                detach(i);
+            }
+        }
+        int removed = size - kept;
+        Arrays.fill(views, kept, size, null);
+        Arrays.fill(stats, kept, size, null);
+        size = kept;
+        if (removed > 0) modCount++;
+        return removed;
+    }
+
+    /**
+     * Removes every unit, each keeping its values as a removed unit does.
+     */
+    @Override
+    public void clear()
+    {
+        for (int i = 0; i < size; i++)
+        {
+            detach(i);
+        }
+        Arrays.fill(views, 0, size, null);
+        Arrays.fill(stats, 0, size, null);
+        size = 0;
+        interned.clear();
+        modCount++;
+    }
+
+    private void detach(int slot)
+    {
+        views[slot].detach(new Detached(hp[slot], stats[slot], lastAttackTime[slot], coordinate[slot], previousCoordinate[slot]));
+    }
+
+    /**
+     * Returns the unit in the given slot.
+     * @param slot The slot of the unit, from {@code 0} to {@link #size()} exclusive.
+     * @return The unit view of that slot.
+     */
+    @Override
+    public Unit get(int slot)
+    {
+        checkSlot(slot);
+        return views[slot];
+    }
+
+    /**
+     * Returns the number of units in the store.
+     * @return The size of store as int.
+     */
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns the slot of a unit in this store.
+     * Units know their slot, so this takes constant time instead of scanning the store.
+     * @param o The unit to look up.
+     * @return The slot of the unit, or {@code -1} if it is not in this store.
+     */
+    @Override
+    public int indexOf(Object o)
+    {
+        if (o instanceof Unit unit && unit.store() == this) return unit.slot();
+        return -1;
+    }
+
+    private void checkSlot(int slot)
+    {
+        if (slot < 0 || slot >= size) throw new IndexOutOfBoundsException("Slot " + slot + " out of bounds for size " + size);
+    }
+
+    /**
+     * Returns the generator used for the damage variance of units in this store.
+     * @return The generator of the store, or the current thread's generator if none was set.
+     */
+    public RandomGenerator random()
+    {
+        return random != null ? random : ThreadLocalRandom.current();
+    }
+
+    /**
+     * Sets the generator used for the damage variance of units in this store.
+     * <p>
+     *     A match gives each side's store its own generator, so concurrent matches never share
+     *     random state. Units detached from the store fall back to the current thread's generator.
+     * </p>
+     * @param random The new generator, or {@code null} to use the current thread's generator.
+     */
+    public void setRandom(RandomGenerator random)
+    {
+        this.random = random;
+    }
+
+    /**
+     * Returns coordinate of the unit in a slot.
+     * @param slot The slot of the unit.
+     * @return The coordinate of the unit as double.
+     */
+    public double getCoordinate(int slot)
+    {
+        return coordinate[slot];
+    }
+
+    /**
+     * Sets coordinate of the unit in a slot.
+     * @param slot The slot of the unit.
+     * @param value The new coordinate for the unit.
+     */
+    public void setCoordinate(int slot, double value)
+    {
+        coordinate[slot] = value;
+    }
+
+    /**
+     * Returns the coordinate the unit in a slot had when {@link #savePositions()} was last called.
+     * @param slot The slot of the unit.
+     * @return The previous coordinate of the unit as double.
+     */
+    public double getPreviousCoordinate(int slot)
+    {
+        return previousCoordinate[slot];
+    }
+
+    /**
+     * Remembers the current coordinate of every unit as its previous one. Called at the start of each step.
+     */
+    public void savePositions()
+    {
+        System.arraycopy(coordinate, 0, previousCoordinate, 0, size);
+    }
+
+    /**
+     * Returns speed of the unit in a slot.
+     * @param slot The slot of the unit.
+     * @return The speed of the unit as int.
+     */
+    public int getSpeed(int slot)
+    {
+        return stats[slot].speed();
+    }
+
+    /**
+     * Returns range of the unit in a slot.
+     * @param slot The slot of the unit.
+     * @return The range of the unit as int.
+     */
+    public int getRange(int slot)
+    {
+        return stats[slot].range();
+    }
+
+    /**
+     * Returns cost of the unit in a slot.
+     * @param slot The slot of the unit.
+     * @return The cost of the unit as int.
+     */
+    public int getCost(int slot)
+    {
+        return stats[slot].cost();
+    }
+
+    /**
+     * Returns the time the unit in a slot last attacked.
+     * @param slot The slot of the unit.
+     * @return The last attack time in simulated nanoseconds.
+     */
+    public long getLastAttackTime(int slot)
+    {
+        return lastAttackTime[slot];
+    }
+
+    /**
+     * Sets the time the unit in a slot last attacked.
+     * @param slot The slot of the unit.
+     * @param value The new last attack time in simulated nanoseconds.
+     */
+    public void setLastAttackTime(int slot, long value)
+    {
+        lastAttackTime[slot] = value;
+    }
+
+    /**
+     * Check whether the unit in a slot is alive.
+     * @param slot The slot of the unit.
+     * @return {@code true} if the unit's hp is more than 0, {@code false} otherwise.
+     */
+    public boolean isAlive(int slot)
+    {
+        return hp[slot] > 0;
+    }
+
+    /**
+     * Determines whether the unit in a slot can attack at the given time, and if so starts its cooldown.
+     * @param slot The slot of the unit.
+     * @param now The current simulated time in nanoseconds.
+     * @return {@code true} if the unit can attack at this time; {@code false} otherwise.
+     * @see Unit#canAttack(long)
+     */
+    public boolean canAttack(int slot, long now)
+    {
+        if (now - lastAttackTime[slot] >= Unit.ATTACK_COOLDOWN)
+        {
+            lastAttackTime[slot] = now;
+            return true;
+        }
+        return false;
+    }
+}
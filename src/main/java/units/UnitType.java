@@ -0,0 +1,93 @@
+package units;
+
+/**
+ * The trainable unit types, with the stats the player's barracks trains them at.
+ */
+public enum UnitType
+{
+    MELEE,
+    RANGED,
+    ANTI_ARMORED,
+    ARMORED;
+
+    /**
+     * Creates a new unit of this type with the player's training stats.
+     * @return The new unit, not yet spawned.
+     */
+    public Unit create()
+    {
+        return switch (this)
+        {
+            case MELEE -> new MeleeUnit(100, 20, 20, 50, 80, 1.0);
+            case RANGED -> new RangedUnit(80, 15, 24, 75, 200, 1.0);
+            case ANTI_ARMORED -> new AntiArmoredUnit(90, 25, 20, 90, 80, 2.0);
+            case ARMORED -> new ArmoredUnit(150, 30, 16, 120, 80, 4.0);
+        };
+    }
+
+    /**
+     * Creates a new unit of this type with the given stats, such as a unit restored from a snapshot.
+     * @param hp The hp and maxHp of the unit.
+     * @param attack The attack of the unit.
+     * @param speed The speed of the unit.
+     * @param cost The cost of the unit.
+     * @param range The attack range of the unit.
+     * @param trainingTime The time to train of the unit, in nanoseconds.
+     * @return The new unit, not yet spawned.
+     */
+    public Unit create(int hp, int attack, int speed, int cost, int range, long trainingTime)
+    {
+        Unit unit = switch (this)
+        {
+            case MELEE -> new MeleeUnit(hp, attack, speed, cost, range, 0);
+            case RANGED -> new RangedUnit(hp, attack, speed, cost, range, 0);
+            case ANTI_ARMORED -> new AntiArmoredUnit(hp, attack, speed, cost, range, 0);
+            case ARMORED -> new ArmoredUnit(hp, attack, speed, cost, range, 0);
+        };
+        unit.setTrainingTime(trainingTime);
+        return unit;
+    }
+
+    /**
+     * Returns the cost of training a unit of this type.
+     * @return The cost as int.
+     */
+    public int getCost()
+    {
+        return switch (this)
+        {
+            case MELEE -> 50;
+            case RANGED -> 75;
+            case ANTI_ARMORED -> 90;
+            case ARMORED -> 120;
+        };
+    }
+
+    /**
+     * Returns the type of the given unit.
+     * @param unit The unit to classify.
+     * @return The UnitType matching the unit's class.
+     */
+    public static UnitType of(Unit unit)
+    {
+        if (unit instanceof RangedUnit) return RANGED;
+        if (unit instanceof AntiArmoredUnit) return ANTI_ARMORED;
+        if (unit instanceof ArmoredUnit) return ARMORED;
+        return MELEE;
+    }
+
+    /**
+     * Returns the type that deals counter damage against this type.
+     * @return The UnitType that counters this one.
+     */
+    public UnitType counteredBy()
+    {
+        return switch (this)
+        {
+            case MELEE -> ARMORED;
+            case RANGED -> MELEE;
+            case ANTI_ARMORED -> RANGED;
+            case ARMORED -> ANTI_ARMORED;
+        };
+    }
+}
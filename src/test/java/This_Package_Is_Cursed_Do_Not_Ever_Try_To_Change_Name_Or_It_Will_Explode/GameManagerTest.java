@@ -1,13 +1,24 @@
 package This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode;
 
 import abilities.NukeAbility;
+import base.Base;
+import events.GameEventListener;
+import objects.Projectile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import systems.DamageEventBuffer;
+import systems.TickProfiler;
 import turrets.StandardTurret;
+import turrets.Turret;
+import turrets.TurretType;
 import units.MeleeUnit;
 import units.Unit;
+import units.UnitType;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -17,7 +28,6 @@ class GameManagerTest {
 
     @BeforeEach
     void setUp() {
-        Unit.resetUpgrades();
         // Give plenty of cash for tests
         gameManager = new GameManager(5000, 1000);
     }
@@ -41,9 +51,8 @@ class GameManagerTest {
         Unit u = new MeleeUnit(100, 10, 10, 100, 10, 0.000000001); // Instant practically
         gameManager.queueUnit(u);
 
-        // Tick twice (start training -> finish training)
+        // Tick twice (start training -> finish training); each tick is one fixed step of simulated time
         gameManager.tick();
-        try { Thread.sleep(1); } catch (Exception e){} // Ensure nanoTime advances
         gameManager.tick();
 
         assertNull(gameManager.getCurrentTrainingUnit());
@@ -51,6 +60,70 @@ class GameManagerTest {
         assertEquals(1, gameManager.getPlayerUnits().size());
     }
 
+    @Test
+    void testTickRunsFixedSteps() {
+        Unit u = new MeleeUnit(100, 10, 10, 100, 10, 1);
+        gameManager.spawnPlayerUnit(u);
+        long step = gameManager.getClock().getStepNanos();
+
+        gameManager.tick(step / 2);
+        assertEquals(0, gameManager.getClock().getStepCount(), "Half a step should only accumulate");
+        assertEquals(150.0, u.getCoordinate());
+
+        gameManager.tick(step / 2 + 2 * step + 1);
+        assertEquals(3, gameManager.getClock().getStepCount());
+        assertEquals(153.0, u.getCoordinate(), 1e-9, "Speed 10 moves 1.0 per step");
+    }
+
+    @Test
+    void testDamageEventsSurviveUnreadTicks() {
+        DamageEventBuffer.Reader reader = gameManager.getDamageEvents().newReader();
+        Unit ally = new MeleeUnit(1000, 10, 10, 100, 10, 1);
+        Unit enemy = new MeleeUnit(1000, 10, 10, 100, 10, 1);
+        gameManager.spawnPlayerUnit(ally);
+        gameManager.spawnEnemyUnit(enemy);
+        ally.setCoordinate(1000);
+        enemy.setCoordinate(1005);
+
+        // Several ticks pass before the reader looks; nothing published in between is lost
+        for (int i = 0; i < 5; i++) gameManager.tick();
+
+        int meleeHits = 0;
+        while (reader.next()) {
+            if (reader.type() == DamageEventBuffer.DamageType.MELEE) meleeHits++;
+        }
+        assertEquals(2, meleeHits, "Both units attack once on the first step and are on cooldown after");
+        assertEquals(0, reader.getDropped());
+    }
+
+    @Test
+    void testProfilerTimesEveryStepWhenEnabled() {
+        TickProfiler profiler = gameManager.getProfiler();
+        gameManager.tick();
+        assertEquals(0, profiler.getHistogram(TickProfiler.Phase.STEP).getCount(), "Profiler is off by default");
+
+        profiler.setEnabled(true);
+        gameManager.tick(3 * gameManager.getClock().getStepNanos());
+        for (TickProfiler.Phase phase : TickProfiler.Phase.values()) {
+            assertEquals(3, profiler.getHistogram(phase).getCount(), phase + " should be timed once per step");
+        }
+    }
+
+    @Test
+    void testTrainingUsesSimulatedTime() {
+        Unit u = new MeleeUnit(100, 10, 10, 100, 10, 1.0);
+        gameManager.queueUnit(u);
+
+        // One second of real time delivered in small frames, no sleeping required
+        long step = gameManager.getClock().getStepNanos();
+        for (int i = 0; i < 60; i++) gameManager.tick(step);
+        assertNotNull(gameManager.getCurrentTrainingUnit(), "Training should not finish before a full second");
+
+        // Training started on the first step, so a full second has passed two steps later
+        gameManager.tick(2 * step);
+        assertEquals(1, gameManager.getPlayerUnits().size());
+    }
+
     @Test
     void testPlaceTurret() {
         StandardTurret t = new StandardTurret(10, 100, 500);
@@ -64,6 +137,124 @@ class GameManagerTest {
         assertEquals(-1, failSlot);
     }
 
+    @Test
+    void testUpgradesStayInTheirMatch() {
+        GameManager other = new GameManager(5000, 1000);
+        Unit queued = new MeleeUnit(100, 10, 10, 100, 10, 1);
+        gameManager.queueUnit(queued);
+        gameManager.upgradeUnitHp(300);
+        gameManager.upgradeTurretAttack(400);
+
+        Unit upgraded = new MeleeUnit(100, 10, 10, 100, 10, 1);
+        Unit plain = new MeleeUnit(100, 10, 10, 100, 10, 1);
+        gameManager.spawnPlayerUnit(upgraded);
+        other.spawnPlayerUnit(plain);
+        assertEquals(150, upgraded.getMaxHp());
+        assertEquals(100, plain.getMaxHp(), "Upgrades of one match should not leak into another");
+
+        for (int i = 0; i < 62; i++) gameManager.tick();
+        assertEquals(150, queued.getMaxHp(), "A unit queued before the upgrade gets it when it spawns");
+
+        StandardTurret mine = new StandardTurret(10, 100, 500);
+        StandardTurret theirs = new StandardTurret(10, 100, 500);
+        gameManager.placePlayerTurret(mine);
+        other.placePlayerTurret(theirs);
+        assertEquals(12, mine.getAttack());
+        assertEquals(10, theirs.getAttack());
+    }
+
+    @Test
+    void testSnapshotResumesTheSameMatch() {
+        GameManager original = new GameManager(5000, 1000, 42);
+        original.upgradeUnitAttack(300);
+        original.upgradeBaseCapacity(200);
+        original.placePlayerTurret(TurretType.LONG_RANGE.create());
+        for (int i = 0; i < 5; i++) original.queueUnit(UnitType.values()[i % 4].create());
+        for (int i = 0; i < 900; i++) original.tick();
+        original.queueUnit(UnitType.ARMORED.create());
+        assertFalse(original.getPlayerUnits().isEmpty());
+        assertFalse(original.getEnemyUnits().isEmpty());
+
+        ByteBuffer snapshot = original.saveSnapshot(null);
+        assertEquals(original.getSnapshotSize(), snapshot.remaining());
+        GameManager resumed = GameManager.fromSnapshot(snapshot.duplicate());
+        assertEquals(original.getClock().getStepCount(), resumed.getClock().getStepCount());
+        assertEquals(original.getPlayerUnits().size(), resumed.getPlayerUnits().size());
+        assertEquals(original.getProjectiles().size(), resumed.getProjectiles().size());
+        assertEquals(snapshot, resumed.saveSnapshot(null), "A restored match should snapshot to the same bytes");
+
+        for (int i = 0; i < 600; i++) {
+            original.tick();
+            resumed.tick();
+        }
+        assertEquals(original.saveSnapshot(null), resumed.saveSnapshot(null), "Both copies should play on identically");
+
+        original.restoreSnapshot(snapshot);
+        assertEquals(900, original.getClock().getStepCount(), "A match can be rewound to an earlier snapshot");
+    }
+
+    @Test
+    void testSnapshotRejectsOtherMatchesAndTruncatedData() {
+        ByteBuffer snapshot = new GameManager(5000, 1000, 7).saveSnapshot(null);
+        assertThrows(IllegalArgumentException.class, () -> new GameManager(5000, 1000, 8).restoreSnapshot(snapshot.duplicate()));
+        assertThrows(IllegalArgumentException.class, () -> GameManager.fromSnapshot(snapshot.duplicate().limit(snapshot.limit() - 1)));
+        assertThrows(IllegalArgumentException.class, () -> GameManager.fromSnapshot(ByteBuffer.wrap(new byte[64])));
+
+        // A fresh match has no projectiles, so its snapshot ends with their count
+        ByteBuffer inflated = snapshot.duplicate();
+        inflated.putInt(inflated.limit() - 4, Integer.MAX_VALUE);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> GameManager.fromSnapshot(inflated));
+        assertTrue(e.getMessage().contains("projectiles"), e.getMessage());
+        ByteBuffer negative = snapshot.duplicate();
+        negative.putInt(negative.limit() - 4, -1);
+        assertThrows(IllegalArgumentException.class, () -> GameManager.fromSnapshot(negative));
+
+        ByteBuffer reused = gameManager.saveSnapshot(ByteBuffer.allocate(4096));
+        assertSame(reused, gameManager.saveSnapshot(reused), "A large enough buffer should be reused");
+    }
+
+    @Test
+    void testListenersSeeEveryLifecycleEvent() {
+        List<String> events = new ArrayList<>();
+        List<Unit> spawned = new ArrayList<>();
+        List<Projectile> inFlight = new ArrayList<>();
+        GameEventListener listener = new GameEventListener() {
+            @Override public void unitSpawned(Unit unit, boolean isPlayer) { spawned.add(unit); }
+            @Override public void unitDied(Unit unit, boolean isPlayer) {
+                assertTrue(spawned.remove(unit), "Only spawned units should die");
+                events.add("died");
+            }
+            @Override public void projectileFired(Projectile projectile) { inFlight.add(projectile); }
+            @Override public void projectileResolved(Projectile projectile) {
+                assertTrue(inFlight.remove(projectile), "Only fired projectiles should resolve");
+            }
+            @Override public void turretPlaced(Turret turret, int slot) { events.add("placed " + slot); }
+            @Override public void turretSold(Turret turret, int slot) { events.add("sold " + slot); }
+            @Override public void baseDamaged(Base base, int amount) { events.add("base"); }
+            @Override public void stateRestored() { events.add("restored"); }
+        };
+        GameManager match = new GameManager(5000, 300, 3);
+        match.addListener(listener);
+
+        int slot = match.placePlayerTurret(new StandardTurret(10, 800, 300));
+        for (int i = 0; i < 3; i++) match.queueUnit(UnitType.MELEE.create());
+        for (int i = 0; i < 6000 && match.tick() == GameManager.GameState.ONGOING; i++) { }
+        assertEquals(List.of("placed 0"), events.subList(0, 1));
+        assertTrue(events.contains("died"));
+        assertTrue(events.contains("base"), "Enemies reaching the player base should damage it");
+        assertEquals(match.getPlayerUnits().size() + match.getEnemyUnits().size(), spawned.size());
+        assertEquals(match.getProjectiles().size(), inFlight.size());
+
+        match.sellTurret(slot);
+        match.restoreSnapshot(match.saveSnapshot(null));
+        assertEquals(List.of("sold 0", "restored"), events.subList(events.size() - 2, events.size()));
+
+        match.removeListener(listener);
+        events.clear();
+        match.placePlayerTurret(new StandardTurret(10, 800, 300));
+        assertTrue(events.isEmpty(), "A removed listener should not be called");
+    }
+
     @Test
     void testNukeAbilityUsage() {
         NukeAbility nuke = gameManager.getNukeAbility();
@@ -0,0 +1,78 @@
+package This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VoiceLimiterTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void testSameFrameTriggersPlayOnceLouder() {
+        VoiceLimiter voices = new VoiceLimiter(4, 50 * MS, 300 * MS);
+        List<Double> plays = new ArrayList<>();
+        for (int i = 0; i < 8; i++) voices.trigger();
+
+        assertTrue(voices.flush(0, plays::add));
+        assertEquals(1, plays.size());
+        assertEquals(1.6, plays.get(0), 1e-9);
+        assertEquals(1, voices.getPlayed());
+        assertEquals(7, voices.getMerged());
+        assertFalse(voices.flush(1 * MS, plays::add), "Nothing was triggered since");
+    }
+
+    @Test
+    void testRetriggerIntervalAndVoiceCapDropPlays() {
+        VoiceLimiter voices = new VoiceLimiter(2, 50 * MS, 300 * MS);
+        List<Double> plays = new ArrayList<>();
+
+        voices.trigger();
+        assertTrue(voices.flush(0, plays::add));
+        voices.trigger();
+        voices.trigger();
+        assertFalse(voices.flush(20 * MS, plays::add), "Within the retrigger interval");
+        assertEquals(2, voices.getDropped());
+
+        voices.trigger();
+        assertTrue(voices.flush(60 * MS, plays::add));
+        voices.trigger();
+        assertFalse(voices.flush(120 * MS, plays::add), "Both voices are still sounding");
+        voices.trigger();
+        assertTrue(voices.flush(300 * MS, plays::add), "The first voice has finished");
+
+        assertEquals(3, plays.size());
+        assertEquals(3, voices.getDropped());
+        assertEquals(6, voices.getPlayed() + voices.getMerged() + voices.getDropped());
+    }
+
+    @Test
+    void testResetForgetsVoicesAndPendingTriggers() {
+        VoiceLimiter voices = new VoiceLimiter(1, 50 * MS, 300 * MS);
+        List<Double> plays = new ArrayList<>();
+        voices.trigger();
+        assertTrue(voices.flush(0, plays::add));
+        voices.trigger();
+        voices.trigger();
+
+        voices.reset();
+        assertFalse(voices.flush(10 * MS, plays::add), "Triggers from before the reset are gone");
+
+        voices.trigger();
+        assertTrue(voices.flush(20 * MS, plays::add), "Neither the interval nor the voice cap carries over");
+        assertEquals(1.0, plays.get(1), 1e-9);
+        assertEquals(2, voices.getPlayed(), "The counters are kept");
+        assertEquals(0, voices.getDropped());
+    }
+
+    @Test
+    void testVolumeScaleIsCapped() {
+        assertEquals(1.0, VoiceLimiter.volumeScale(1), 1e-9);
+        assertEquals(1.2, VoiceLimiter.volumeScale(2), 1e-9);
+        assertEquals(VoiceLimiter.MAX_VOLUME_SCALE, VoiceLimiter.volumeScale(1 << 20), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> new VoiceLimiter(0, 0, 0));
+    }
+}
@@ -13,7 +13,6 @@ class BaseTest {
 
     @BeforeEach
     void setUp() {
-        Base.resetUpgrades(); // Reset static capacity upgrades
         base = new Base(1000);
     }
 
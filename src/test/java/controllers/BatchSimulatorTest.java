@@ -0,0 +1,54 @@
+package controllers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchSimulatorTest {
+
+    @Test
+    void testAggregatesEveryMatch() throws InterruptedException {
+        BatchSimulator simulator = new BatchSimulator(4, 1000, 500, 600);
+        BatchSimulator.BatchReport report = simulator.run(8, () -> (controller, step) -> { });
+
+        assertEquals(8, report.matches());
+        assertEquals(8, report.enemyWins(), "An idle player loses every match");
+        assertEquals(1.0, report.enemyWinRate());
+        assertEquals(4, report.threads());
+        assertTrue(report.matchesPerSecond() > 0);
+    }
+
+    @Test
+    void testParallelMatchesKeepTheirOwnUpgrades() throws InterruptedException {
+        // Every agent buys the upgrade on its first step and checks it was not bought before in its match
+        BatchSimulator simulator = new BatchSimulator(4, 1000, 500, 5);
+        BatchSimulator.BatchReport report = simulator.run(16, () -> (controller, step) -> {
+            if (step == 0) {
+                assertFalse(controller.getGameManager().getUpgradeSystem().isUnitAttackUpgraded());
+                controller.playerUpgradeUnitAttack(300);
+            }
+        });
+
+        assertEquals(16, report.matches());
+        assertEquals(16, report.undecided());
+    }
+
+    @Test
+    void testSeededBatchIsReproducible() throws InterruptedException {
+        BatchSimulator simulator = new BatchSimulator(3, 1000, 500, 60);
+        BatchSimulator.BatchReport first = simulator.run(6, AiPlayerAgent::new, 500);
+        BatchSimulator.BatchReport second = simulator.run(6, AiPlayerAgent::new, 500);
+
+        assertEquals(first.playerWins(), second.playerWins());
+        assertEquals(first.enemyWins(), second.enemyWins());
+        assertEquals(first.steps(), second.steps());
+    }
+
+    @Test
+    void testFailuresReachTheCaller() {
+        BatchSimulator simulator = new BatchSimulator(2, 1000, 500, 1);
+        assertThrows(IllegalStateException.class, () -> simulator.run(2, () -> (controller, step) -> {
+            throw new IllegalStateException("agent failed");
+        }));
+    }
+}
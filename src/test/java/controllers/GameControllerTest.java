@@ -6,8 +6,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import turrets.StandardTurret;
 import turrets.Turret;
+import turrets.TurretType;
 import units.MeleeUnit;
 import units.Unit;
+import units.UnitType;
+
+import java.nio.ByteBuffer;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -31,16 +36,109 @@ class GameControllerTest {
     void testResetGame() {
         // Change state
         controller.playerQueueUnit(new MeleeUnit(10,1,1,1,1,1));
-        Unit.setUpgradedAttack(true);
+        controller.playerUpgradeUnitAttack(300);
+        assertTrue(controller.getGameManager().getUpgradeSystem().isUnitAttackUpgraded());
 
         // Reset
         controller.resetGame();
 
         assertEquals(0, controller.getGameManager().getQueueSize());
-        assertFalse(Unit.isUpgradedAttack(), "Static upgrades should be reset");
+        assertFalse(controller.getGameManager().getUpgradeSystem().isUnitAttackUpgraded(), "Upgrades should be reset");
         assertEquals(1000, controller.getGameManager().getCurrencySystem().getBalance());
     }
 
+    @Test
+    void testNextTurnUsesTimeSource() {
+        long[] fakeTime = {5_000_000_000L};
+        GameController timed = new GameController(1000, 500, () -> fakeTime[0]);
+        long step = timed.getGameManager().getClock().getStepNanos();
+
+        timed.nextTurn();
+        assertEquals(0, timed.getGameManager().getClock().getStepCount(), "First turn only starts the measurement");
+
+        fakeTime[0] += 4 * step;
+        timed.nextTurn();
+        assertEquals(4, timed.getGameManager().getClock().getStepCount());
+
+        timed.nextTurn();
+        assertEquals(4, timed.getGameManager().getClock().getStepCount(), "No time passed, no steps run");
+    }
+
+    @Test
+    void testSpeedScalesElapsedTime() {
+        long[] fakeTime = {0};
+        GameController timed = new GameController(1000, 500, () -> fakeTime[0]);
+        long step = timed.getGameManager().getClock().getStepNanos();
+        timed.setSpeed(4);
+
+        timed.nextTurn();
+        fakeTime[0] += step;
+        timed.nextTurn();
+        assertEquals(4, timed.getGameManager().getClock().getStepCount());
+        assertThrows(IllegalArgumentException.class, () -> timed.setSpeed(0));
+    }
+
+    @Test
+    void testReplayIssuesCommandsAtRecordedSteps() {
+        long[] fakeTime = {0};
+        GameController timed = new GameController(1000, 500, () -> fakeTime[0]);
+        long step = timed.getGameManager().getClock().getStepNanos();
+        Replay replay = new Replay(42, 1000, 500, List.of(
+                new Replay.Command(3, Replay.Action.PLACE_TURRET, TurretType.STANDARD.ordinal())), 10);
+
+        timed.startReplay(replay);
+        assertTrue(timed.isReplaying());
+        assertEquals(42, timed.getGameManager().getSeed());
+
+        timed.nextTurn();
+        fakeTime[0] += 3 * step;
+        timed.nextTurn();
+        assertTrue(timed.getGameManager().getPlayerBase().getTurrets().isEmpty(), "Not yet at step 3");
+        fakeTime[0] += 8 * step;
+        timed.nextTurn();
+        assertEquals(1, timed.getGameManager().getPlayerBase().getTurrets().size());
+
+        assertThrows(IllegalArgumentException.class, () -> timed.startReplay(new Replay(1, 50, 500, List.of(), 0)));
+    }
+
+    @Test
+    void testSeekReplayLandsOnTheSameStateAsPlayingThrough() {
+        Replay replay = new Replay(42, 1000, 500, List.of(
+                new Replay.Command(0, Replay.Action.QUEUE_UNIT, UnitType.MELEE.ordinal()),
+                new Replay.Command(100, Replay.Action.PLACE_TURRET, TurretType.STANDARD.ordinal()),
+                new Replay.Command(250, Replay.Action.QUEUE_UNIT, UnitType.RANGED.ordinal())), 600);
+
+        GameController straight = new GameController(1000, 500);
+        straight.startReplay(replay);
+        straight.seekReplay(130);
+        ByteBuffer expected = straight.getGameManager().saveSnapshot(null);
+
+        controller.startReplay(replay);
+        controller.seekReplay(400);
+        assertEquals(400, controller.getGameManager().getClock().getStepCount());
+        controller.seekReplay(130);
+        assertEquals(expected, controller.getGameManager().saveSnapshot(null), "Seeking back should match playing straight to the step");
+        controller.seekReplay(400);
+        assertEquals(2, controller.getGameManager().getPlayerUnits().size() + controller.getGameManager().getQueueSize()
+                + (controller.getGameManager().getCurrentTrainingUnit() != null ? 1 : 0), "Commands after the keyframe run again");
+
+        controller.resetGame();
+        assertThrows(IllegalStateException.class, () -> controller.seekReplay(10));
+    }
+
+    @Test
+    void testRestoreSnapshotContinuesTheSavedMatch() {
+        controller.playerPlaceTurret(new StandardTurret(10, 100, 200));
+        ByteBuffer saved = controller.getGameManager().saveSnapshot(null);
+        long seed = controller.getGameManager().getSeed();
+
+        controller.resetGame();
+        controller.restoreSnapshot(saved);
+        assertEquals(seed, controller.getGameManager().getSeed());
+        assertEquals(800, controller.getGameManager().getCurrencySystem().getBalance());
+        assertEquals(1, controller.getGameManager().getPlayerBase().getTurrets().size());
+    }
+
     @Test
     void testPlayerTransactions() {
         Turret t = new StandardTurret(10, 100, 200);
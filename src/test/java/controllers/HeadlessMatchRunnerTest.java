@@ -0,0 +1,79 @@
+package controllers;
+
+import This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode.GameManager;
+import This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode.GameManager.GameState;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeadlessMatchRunnerTest {
+
+    @Test
+    void testIdlePlayerLoses() {
+        HeadlessMatchRunner runner = new HeadlessMatchRunner(new GameController(1000, 500), 600);
+        HeadlessMatchRunner.MatchReport report = runner.play((controller, step) -> { });
+
+        assertEquals(GameState.ENEMY_WIN, report.outcome());
+        assertTrue(report.steps() > 0);
+        assertTrue(report.simSecondsPerWallSecond() > 0);
+    }
+
+    @Test
+    void testTimeLimitStopsMatch() {
+        HeadlessMatchRunner runner = new HeadlessMatchRunner(new GameController(1000, 500), 1);
+        HeadlessMatchRunner.MatchReport report = runner.play((controller, step) -> { });
+
+        assertEquals(GameState.ONGOING, report.outcome());
+        assertEquals(60, report.steps());
+    }
+
+    @Test
+    void testSameSeedReplaysTheSameMatch() {
+        GameController controllerA = new GameController(1000, 500);
+        GameController controllerB = new GameController(1000, 500);
+        HeadlessMatchRunner first = new HeadlessMatchRunner(controllerA, 120);
+        HeadlessMatchRunner second = new HeadlessMatchRunner(controllerB, 120);
+
+        HeadlessMatchRunner.MatchReport a = first.play(new AiPlayerAgent(), 1234);
+        HeadlessMatchRunner.MatchReport b = second.play(new AiPlayerAgent(), 1234);
+
+        assertEquals(a.outcome(), b.outcome());
+        assertEquals(a.steps(), b.steps());
+        GameManager gmA = controllerA.getGameManager();
+        GameManager gmB = controllerB.getGameManager();
+        assertEquals(gmA.getPlayerBase().getHp(), gmB.getPlayerBase().getHp());
+        assertEquals(gmA.getEnemyBase().getHp(), gmB.getEnemyBase().getHp());
+        assertEquals(gmA.getCurrencySystem().getBalance(), gmB.getCurrencySystem().getBalance());
+        assertEquals(gmA.getPlayerUnits().size(), gmB.getPlayerUnits().size());
+        assertEquals(gmA.getEnemyUnits().size(), gmB.getEnemyUnits().size());
+        for (int i = 0; i < gmA.getEnemyUnits().size(); i++) {
+            assertEquals(gmA.getEnemyUnits().get(i).getHp(), gmB.getEnemyUnits().get(i).getHp());
+            assertEquals(gmA.getEnemyUnits().get(i).getCoordinate(), gmB.getEnemyUnits().get(i).getCoordinate());
+        }
+    }
+
+    @Test
+    void testScriptRunsCommandsAtTheirStep() {
+        GameController controller = new GameController(1000, 500);
+        ScriptedPlayerAgent agent = new ScriptedPlayerAgent(List.of(
+                "# a comment",
+                "0 queue melee",
+                "5 turret standard"
+        ), false);
+
+        agent.act(controller, 0);
+        assertEquals(1, controller.getGameManager().getQueueSize());
+        assertTrue(controller.getGameManager().getPlayerBase().getTurrets().isEmpty());
+
+        agent.act(controller, 5);
+        assertEquals(1, controller.getGameManager().getPlayerBase().getTurrets().size());
+    }
+
+    @Test
+    void testScriptRejectsUnknownCommands() {
+        assertThrows(IllegalArgumentException.class, () -> new ScriptedPlayerAgent(List.of("0 fly away"), false));
+        assertThrows(IllegalArgumentException.class, () -> new ScriptedPlayerAgent(List.of("0 queue dragon"), false));
+    }
+}
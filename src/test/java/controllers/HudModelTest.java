@@ -0,0 +1,89 @@
+package controllers;
+
+import org.junit.jupiter.api.Test;
+import turrets.TurretType;
+import units.UnitType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HudModelTest {
+
+    private static List<HudModel.Field> record(HudModel model) {
+        List<HudModel.Field> fired = new ArrayList<>();
+        for (HudModel.Field field : HudModel.Field.values()) model.addListener(field, () -> fired.add(field));
+        return fired;
+    }
+
+    private static RenderSnapshot capture(GameController controller) {
+        RenderSnapshot snapshot = new RenderSnapshot();
+        snapshot.capture(controller, 0);
+        return snapshot;
+    }
+
+    @Test
+    void testFirstUpdateReportsEveryField() {
+        GameController controller = new GameController(1000, 500);
+        HudModel model = new HudModel();
+        List<HudModel.Field> fired = record(model);
+
+        model.update(capture(controller));
+
+        assertEquals(List.of(HudModel.Field.values()), fired);
+        assertEquals(1000, model.getCurrency());
+        assertEquals(500, model.getPlayerBaseHp());
+        assertEquals(500, model.getEnemyBaseMaxHp());
+        assertEquals(0, model.getTurretCount());
+    }
+
+    @Test
+    void testUnchangedSnapshotReportsNothing() {
+        GameController controller = new GameController(1000, 500);
+        HudModel model = new HudModel();
+        List<HudModel.Field> fired = record(model);
+        model.update(capture(controller));
+        fired.clear();
+
+        model.update(capture(controller));
+        model.update(capture(controller));
+
+        assertTrue(fired.isEmpty(), "Nothing moved, so no listener runs");
+    }
+
+    @Test
+    void testOnlyChangedFieldsAreReported() {
+        GameController controller = new GameController(1000, 500);
+        HudModel model = new HudModel();
+        List<HudModel.Field> fired = record(model);
+        model.update(capture(controller));
+        fired.clear();
+
+        assertTrue(controller.playerQueueUnit(UnitType.MELEE.create()));
+        model.update(capture(controller));
+        assertEquals(List.of(HudModel.Field.CURRENCY, HudModel.Field.QUEUE), fired);
+        assertEquals(1000 - UnitType.MELEE.getCost(), model.getCurrency());
+        fired.clear();
+
+        assertEquals(0, controller.playerPlaceTurret(TurretType.STANDARD.create()));
+        model.update(capture(controller));
+        assertEquals(List.of(HudModel.Field.CURRENCY, HudModel.Field.TURRETS), fired);
+        assertEquals(1, model.getTurretCount());
+        assertEquals(TurretType.STANDARD, model.turretType(0));
+    }
+
+    @Test
+    void testInvalidateReportsEveryFieldAgain() {
+        GameController controller = new GameController(1000, 500);
+        HudModel model = new HudModel();
+        List<HudModel.Field> fired = record(model);
+        model.update(capture(controller));
+        fired.clear();
+
+        model.invalidate();
+        model.update(capture(controller));
+
+        assertEquals(List.of(HudModel.Field.values()), fired);
+    }
+}
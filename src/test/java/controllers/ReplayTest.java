@@ -0,0 +1,74 @@
+package controllers;
+
+import This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode.GameManager;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayTest {
+
+    @Test
+    void testEncodingRoundTrip() throws IOException {
+        Replay replay = new Replay(-7_123_456_789L, 1000, 500, List.of(
+                new Replay.Command(0, Replay.Action.QUEUE_UNIT, 2),
+                new Replay.Command(0, Replay.Action.USE_NUKE, 0),
+                new Replay.Command(300, Replay.Action.UPGRADE_BASE_CAPACITY, 800),
+                new Replay.Command(100_000, Replay.Action.SELL_TURRET, 1)
+        ), 100_500);
+
+        byte[] bytes = replay.toBytes();
+        Replay decoded = Replay.fromBytes(bytes);
+
+        assertEquals(replay.getSeed(), decoded.getSeed());
+        assertEquals(replay.getStartingCurrency(), decoded.getStartingCurrency());
+        assertEquals(replay.getBaseHp(), decoded.getBaseHp());
+        assertEquals(replay.getCommands(), decoded.getCommands());
+        assertEquals(replay.getLength(), decoded.getLength());
+        // 5 magic/version + 8 seed + 2 + 2 + 1 count + 15 for the commands + 2 length
+        assertEquals(35, bytes.length);
+    }
+
+    @Test
+    void testRejectsGarbage() {
+        assertThrows(IOException.class, () -> Replay.fromBytes(new byte[]{'P', 'D', 'X', 'X', 1}));
+        byte[] truncated = new Replay(1, 1000, 500, List.of(), 10).toBytes();
+        assertThrows(IOException.class, () -> Replay.fromBytes(java.util.Arrays.copyOf(truncated, truncated.length - 1)));
+
+        // The command count sits after 5 bytes of header, 8 of seed and two 2-byte varints
+        byte[] inflated = java.util.Arrays.copyOf(truncated, truncated.length + 1);
+        System.arraycopy(truncated, 18, inflated, 19, truncated.length - 18);
+        inflated[17] = (byte) 0xE8;
+        inflated[18] = 0x07;
+        IOException e = assertThrows(IOException.class, () -> Replay.fromBytes(inflated));
+        assertTrue(e.getMessage().contains("1000 commands"), e.getMessage());
+    }
+
+    @Test
+    void testRecordedMatchReplaysIdentically() throws IOException {
+        GameController recorder = new GameController(1000, 500);
+        recorder.setRecording(true);
+        HeadlessMatchRunner runner = new HeadlessMatchRunner(recorder, 180);
+        HeadlessMatchRunner.MatchReport original = runner.play(new AiPlayerAgent(), 99);
+        Replay replay = Replay.fromBytes(recorder.getRecording().toBytes());
+        assertFalse(replay.getCommands().isEmpty());
+        assertEquals(original.steps(), replay.getLength());
+
+        GameController player = new GameController(1000, 500);
+        HeadlessMatchRunner.MatchReport replayed = HeadlessMatchRunner.playReplay(replay, player);
+
+        assertEquals(original.outcome(), replayed.outcome());
+        assertEquals(original.steps(), replayed.steps());
+        GameManager a = recorder.getGameManager();
+        GameManager b = player.getGameManager();
+        assertEquals(a.getPlayerBase().getHp(), b.getPlayerBase().getHp());
+        assertEquals(a.getEnemyBase().getHp(), b.getEnemyBase().getHp());
+        assertEquals(a.getCurrencySystem().getBalance(), b.getCurrencySystem().getBalance());
+        assertEquals(a.getPlayerUnits().size(), b.getPlayerUnits().size());
+        for (int i = 0; i < a.getPlayerUnits().size(); i++) {
+            assertEquals(a.getPlayerUnits().get(i).getHp(), b.getPlayerUnits().get(i).getHp());
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package controllers;
+
+import org.junit.jupiter.api.Test;
+import turrets.TurretType;
+import units.UnitType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationLoopTest {
+
+    private static List<RenderEvent.Kind> drain(SimulationLoop loop) {
+        List<RenderEvent.Kind> kinds = new ArrayList<>();
+        RenderEvent event;
+        while ((event = loop.pollEvent()) != null) kinds.add(event.kind());
+        return kinds;
+    }
+
+    @Test
+    void testInlineLoopRunsTurnsInFrames() {
+        long[] fakeTime = {5_000_000_000L};
+        GameController controller = new GameController(1000, 500, () -> fakeTime[0]);
+        long step = controller.getGameManager().getClock().getStepNanos();
+        SimulationLoop loop = new SimulationLoop(controller, false);
+        loop.start();
+
+        RenderSnapshot snapshot = loop.frame();
+        assertSame(controller.getGameManager(), snapshot.getGame());
+        assertEquals(List.of(RenderEvent.Kind.STATE_RESTORED), drain(loop));
+
+        CompletableFuture<Boolean> queued = loop.submit(c -> c.playerQueueUnit(UnitType.MELEE.create()));
+        assertTrue(queued.isDone(), "Inline commands run immediately");
+        assertTrue(queued.join());
+
+        long steps = 0;
+        while (snapshot.getPlayerUnits().size() == 0 && steps < 100_000) {
+            fakeTime[0] += 4 * step;
+            snapshot = loop.frame();
+            steps = snapshot.getStep();
+        }
+        assertEquals(1, snapshot.getPlayerUnits().size());
+        assertTrue(drain(loop).contains(RenderEvent.Kind.UNIT_SPAWNED));
+        assertEquals(snapshot.getPlayerUnits().unit(0).getHp(), snapshot.getPlayerUnits().hp(0));
+        loop.stop();
+    }
+
+    @Test
+    void testSnapshotInterpolatesBetweenSteps() {
+        long[] fakeTime = {5_000_000_000L};
+        GameController controller = new GameController(1000, 500, () -> fakeTime[0]);
+        long step = controller.getGameManager().getClock().getStepNanos();
+        SimulationLoop loop = new SimulationLoop(controller, false);
+        loop.start();
+        loop.frame();
+        loop.submit(c -> c.playerQueueUnit(UnitType.MELEE.create()));
+
+        RenderSnapshot snapshot = loop.frame();
+        for (int i = 0; i < 10_000 && (snapshot.getPlayerUnits().size() == 0
+                || snapshot.getPlayerUnits().x(0) == snapshot.getPlayerUnits().previousX(0)); i++) {
+            fakeTime[0] += step;
+            snapshot = loop.frame();
+        }
+        fakeTime[0] += step / 2;
+        snapshot = loop.frame();
+
+        RenderSnapshot.UnitTable units = snapshot.getPlayerUnits();
+        assertNotEquals(units.previousX(0), units.x(0), "The unit walked during the last step");
+        assertEquals(units.previousX(0), units.x(0, 0));
+        assertEquals(units.x(0), units.x(0, 1));
+        assertEquals((units.previousX(0) + units.x(0)) / 2, units.x(0, 0.5), 1e-9);
+        assertEquals(0.5, snapshot.getAlpha(snapshot.getCapturedAt()), 1e-9);
+        assertEquals(1, snapshot.getAlpha(snapshot.getCapturedAt() + step), 1e-9, "Never past the latest step");
+        loop.stop();
+    }
+
+    @Test
+    void testEventsWaitForTheSnapshotThatIncludesThem() {
+        GameController controller = new GameController(1000, 500);
+        SnapshotPublisher publisher = new SnapshotPublisher();
+        publisher.publish(controller);
+        publisher.update();
+        assertEquals(RenderEvent.Kind.STATE_RESTORED, publisher.pollEvent().kind());
+
+        controller.playerPlaceTurret(TurretType.STANDARD.create());
+        assertFalse(publisher.update());
+        assertNull(publisher.pollEvent(), "The turret is not in a published snapshot yet");
+
+        publisher.publish(controller);
+        assertTrue(publisher.update());
+        RenderEvent placed = publisher.pollEvent();
+        assertEquals(RenderEvent.Kind.TURRET_PLACED, placed.kind());
+        assertEquals(0, placed.slot());
+        assertEquals(1, publisher.getSnapshot().getTurretCount());
+        assertSame(placed.subject(), publisher.getSnapshot().turret(0));
+        assertNull(publisher.pollEvent());
+    }
+
+    @Test
+    void testNewMatchIsAnnouncedAsRestored() {
+        GameController controller = new GameController(1000, 500);
+        SimulationLoop loop = new SimulationLoop(controller, false);
+        loop.start();
+        loop.frame();
+        drain(loop);
+
+        loop.submit(c -> {
+            c.resetGame(42);
+            return null;
+        });
+        RenderSnapshot snapshot = loop.frame();
+        assertSame(controller.getGameManager(), snapshot.getGame());
+        assertEquals(List.of(RenderEvent.Kind.STATE_RESTORED), drain(loop));
+        loop.stop();
+    }
+
+    @Test
+    void testThreadedLoopRunsCommandsOnTheSimulationThread() throws Exception {
+        GameController controller = new GameController(1000, 500);
+        SimulationLoop loop = new SimulationLoop(controller, true);
+        loop.start();
+
+        String thread = loop.submit(c -> {
+            c.playerPlaceTurret(TurretType.STANDARD.create());
+            return Thread.currentThread().getName();
+        }).get(5, TimeUnit.SECONDS);
+        assertEquals("simulation", thread);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        RenderSnapshot snapshot = loop.frame();
+        while (snapshot.getTurretCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+            snapshot = loop.frame();
+        }
+        assertEquals(1, snapshot.getTurretCount());
+        assertEquals(List.of(RenderEvent.Kind.STATE_RESTORED, RenderEvent.Kind.TURRET_PLACED), drain(loop));
+
+        loop.stop();
+        assertFalse(loop.isRunning());
+        CompletableFuture<String> after = loop.submit(c -> Thread.currentThread().getName());
+        assertTrue(after.isDone(), "After stop commands run on the caller");
+        assertNotEquals("simulation", after.join());
+    }
+}
@@ -0,0 +1,68 @@
+package events;
+
+import This_Package_Is_Cursed_Do_Not_Ever_Try_To_Change_Name_Or_It_Will_Explode.GameManager;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import units.MeleeUnit;
+import units.RangedUnit;
+import units.Unit;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationEventsTest {
+
+    @Test
+    void testBattleEmitsEvents() throws Exception {
+        GameManager gm = new GameManager(5000, 1000);
+        Path file = Files.createTempFile("battle", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("Tick", "UnitSpawn", "UnitDeath", "ProjectileFired", "ProjectileResolved", "DamageDealt", "Nuke")) {
+                recording.enable("prasart." + name).withoutThreshold();
+            }
+            recording.start();
+
+            Unit archer = new RangedUnit(1000, 10, 10, 100, 300, 1);
+            Unit victim = new MeleeUnit(10, 10, 0, 100, 10, 1);
+            gm.spawnPlayerUnit(archer);
+            gm.spawnEnemyUnit(victim);
+            archer.setCoordinate(1000);
+            victim.setCoordinate(1200);
+            for (int i = 0; i < 120; i++) gm.tick();
+            gm.useAbility(gm.getNukeAbility(), gm.getEnemyUnits());
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        Set<String> seen = new HashSet<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            seen.add(event.getEventType().getName());
+        }
+        Files.deleteIfExists(file);
+
+        assertTrue(seen.contains("prasart.Tick"));
+        assertTrue(seen.contains("prasart.UnitSpawn"));
+        assertTrue(seen.contains("prasart.ProjectileFired"));
+        assertTrue(seen.contains("prasart.ProjectileResolved"));
+        assertTrue(seen.contains("prasart.DamageDealt"));
+        assertTrue(seen.contains("prasart.UnitDeath"), "The archer should kill the 10 hp victim");
+        assertTrue(seen.contains("prasart.Nuke"));
+    }
+
+    @Test
+    void testEventsAreCheapWhenNotRecording() {
+        // With no recording running nothing is committed and nothing throws
+        SimulationEvents.damageDealt("MELEE", 0, 1, false, false);
+        SimulationEvents.endTick(SimulationEvents.beginTick(), 1, 1, 0, 0, 0);
+        assertFalse(new DamageDealtEvent().isEnabled());
+    }
+}
@@ -0,0 +1,86 @@
+package objects;
+
+import org.junit.jupiter.api.Test;
+import units.MeleeUnit;
+import units.Unit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectileStoreTest {
+
+    private static Unit target() {
+        Unit target = new MeleeUnit(100, 10, 10, 10, 10, 1);
+        target.setCoordinate(500);
+        return target;
+    }
+
+    @Test
+    void testFinishedProjectilesAreReused() {
+        ProjectileStore store = new ProjectileStore();
+        Projectile first = store.fire(0, 840, 10, 5, target(), "ARROW", false);
+        first.setHit(true);
+        assertEquals(1, store.removeFinished());
+        assertTrue(store.isEmpty());
+
+        Projectile second = store.fire(10, 840, 12, 7, target(), "TURRET", true);
+        assertSame(first, second, "An idle projectile should be reused instead of allocating a new one");
+        assertEquals(1, store.getCreatedCount());
+        assertFalse(second.hasHit());
+        assertEquals(10, second.getX());
+        assertEquals(7, second.getDamage());
+        assertEquals("TURRET", second.getImagePath());
+        assertTrue(second.isCritical());
+    }
+
+    @Test
+    void testRemoveFinishedKeepsFiringOrder() {
+        ProjectileStore store = new ProjectileStore();
+        Projectile[] fired = new Projectile[200];
+        for (int i = 0; i < fired.length; i++) {
+            fired[i] = store.fire(i, 840, 10, 1, target(), "ARROW", false);
+        }
+        for (int i = 0; i < fired.length; i += 3) {
+            fired[i].setHit(true);
+        }
+
+        store.removeFinished();
+
+        int index = 0;
+        for (int i = 0; i < fired.length; i++) {
+            if (i % 3 == 0) continue;
+            assertSame(fired[i], store.get(index++));
+        }
+        assertEquals(index, store.size());
+    }
+
+    @Test
+    void testHandleExpiresWhenReused() {
+        ProjectileStore store = new ProjectileStore();
+        Projectile p = store.fire(0, 840, 10, 5, target(), "ARROW", false);
+        long handle = p.getHandle();
+        assertSame(p, store.resolve(handle));
+
+        p.setHit(true);
+        store.removeFinished();
+        assertNull(store.resolve(handle), "A finished projectile should no longer resolve");
+        assertFalse(p.isActive());
+
+        Projectile reused = store.fire(0, 840, 10, 5, target(), "ARROW", false);
+        assertSame(p, reused);
+        assertNotEquals(handle, reused.getHandle());
+        assertNull(store.resolve(handle), "An old handle must not resolve to the reused projectile");
+        assertSame(reused, store.resolve(reused.getHandle()));
+    }
+
+    @Test
+    void testClearReturnsEverythingToPool() {
+        ProjectileStore store = new ProjectileStore();
+        for (int i = 0; i < 10; i++) store.fire(0, 840, 10, 5, target(), "ARROW", false);
+        store.clear();
+        assertEquals(0, store.size());
+
+        for (int i = 0; i < 10; i++) store.fire(0, 840, 10, 5, target(), "ARROW", false);
+        assertEquals(10, store.getCreatedCount());
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(10));
+    }
+}
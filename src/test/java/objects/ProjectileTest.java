@@ -24,6 +24,21 @@ class ProjectileTest {
         assertTrue(newDist < initialDist, "Projectile should move closer to target");
     }
 
+    @Test
+    void testTickRemembersPreviousPosition() {
+        Unit target = new MeleeUnit(100, 10, 10, 10, 10, 1);
+        target.setCoordinate(100);
+
+        Projectile p = new Projectile(0, 840, 10, 10, target, "img", false);
+        assertEquals(0, p.getPreviousX());
+        p.tick();
+        assertEquals(0, p.getPreviousX());
+        assertEquals(840, p.getPreviousY());
+        assertEquals(10, p.getX());
+        p.tick();
+        assertEquals(10, p.getPreviousX());
+    }
+
     @Test
     void testHitTarget() {
         Unit target = new MeleeUnit(100, 10, 10, 10, 10, 1);
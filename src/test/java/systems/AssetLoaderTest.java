@@ -0,0 +1,91 @@
+package systems;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssetLoaderTest {
+
+    @Test
+    void testEveryTaskRunsAndProgressReachesOne() throws Exception {
+        Set<Integer> loaded = ConcurrentHashMap.newKeySet();
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            int asset = i;
+            tasks.add(() -> loaded.add(asset));
+        }
+        List<Double> progress = new ArrayList<>();
+        CountDownLatch updates = new CountDownLatch(20);
+        AssetLoader loader = new AssetLoader(tasks, 3);
+
+        loader.start(Runnable::run, p -> {
+            synchronized (progress) {
+                progress.add(p);
+            }
+            updates.countDown();
+        }).get(5, TimeUnit.SECONDS);
+        // Another worker's update may still be running when the loader completes.
+        assertTrue(updates.await(5, TimeUnit.SECONDS));
+
+        assertTrue(loader.isDone());
+        assertEquals(20, loaded.size());
+        assertEquals(1.0, loader.getProgress());
+        assertEquals(0, loader.getFailedCount());
+        assertTrue(loader.getLoadNanos() >= 0);
+        synchronized (progress) {
+            assertEquals(20, progress.size(), "One progress update per task");
+            assertTrue(progress.contains(1.0));
+        }
+    }
+
+    @Test
+    void testFailingTaskIsCountedAndLoadingStillCompletes() throws Exception {
+        List<Runnable> tasks = List.of(
+                () -> { },
+                () -> { throw new IllegalStateException("missing sound"); },
+                () -> { });
+        AssetLoader loader = new AssetLoader(tasks, 2);
+
+        loader.start(Runnable::run, p -> { }).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, loader.getFailedCount());
+        assertEquals(1.0, loader.getProgress());
+    }
+
+    @Test
+    void testNoTasksCompletesImmediately() {
+        AssetLoader loader = new AssetLoader(List.of(), 4);
+        assertEquals(-1, loader.getLoadNanos(), "Not done before it starts");
+
+        loader.start(Runnable::run, p -> fail("No progress without tasks"));
+
+        assertTrue(loader.isDone());
+        assertEquals(1.0, loader.getProgress());
+        assertEquals(0, loader.getLoadNanos());
+    }
+
+    @Test
+    void testThreadsAreCappedByTaskCount() {
+        assertEquals(2, new AssetLoader(List.of(() -> { }, () -> { }), 8).getThreadCount());
+        assertEquals(1, new AssetLoader(List.of(), 8).getThreadCount());
+    }
+
+    @Test
+    void testStartingTwiceThrows() {
+        AssetLoader loader = new AssetLoader(List.of(), 1);
+        loader.start(Runnable::run, p -> { });
+        assertThrows(IllegalStateException.class, () -> loader.start(Runnable::run, p -> { }));
+    }
+
+    @Test
+    void testThreadsMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new AssetLoader(List.of(), 0));
+    }
+}
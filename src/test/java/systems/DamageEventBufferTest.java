@@ -0,0 +1,106 @@
+package systems;
+
+import org.junit.jupiter.api.Test;
+import systems.DamageEventBuffer.DamageType;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DamageEventBufferTest {
+
+    @Test
+    void testReadersDrainIndependently() {
+        DamageEventBuffer buffer = new DamageEventBuffer(16);
+        DamageEventBuffer.Reader fast = buffer.newReader();
+        DamageEventBuffer.Reader slow = buffer.newReader();
+
+        buffer.publish(10, 20, 5, true, DamageType.MELEE, false);
+        buffer.publish(30, 40, 7, false, DamageType.RANGE, true);
+
+        assertTrue(fast.next());
+        assertEquals(10, fast.x());
+        assertEquals(20, fast.y());
+        assertEquals(5, fast.amount());
+        assertTrue(fast.isCritical());
+        assertFalse(fast.isBase());
+        assertEquals(DamageType.MELEE, fast.type());
+
+        assertTrue(fast.next());
+        assertEquals(7, fast.amount());
+        assertTrue(fast.isBase());
+        assertEquals(DamageType.RANGE, fast.type());
+        assertFalse(fast.next());
+
+        // The slow reader still sees both events after the fast one drained them
+        assertEquals(2, slow.available());
+        assertTrue(slow.next());
+        assertEquals(5, slow.amount());
+        assertTrue(slow.next());
+        assertEquals(7, slow.amount());
+        assertFalse(slow.next());
+    }
+
+    @Test
+    void testNewReaderStartsAtEnd() {
+        DamageEventBuffer buffer = new DamageEventBuffer(16);
+        buffer.publish(0, 0, 1, false, DamageType.MELEE, false);
+        DamageEventBuffer.Reader reader = buffer.newReader();
+        assertFalse(reader.next());
+        assertEquals(1, buffer.getPublishedCount());
+    }
+
+    @Test
+    void testOverrunCountsDroppedEvents() {
+        DamageEventBuffer buffer = new DamageEventBuffer(8);
+        DamageEventBuffer.Reader reader = buffer.newReader();
+        for (int i = 0; i < 20; i++) {
+            buffer.publish(i, 0, i, false, DamageType.MELEE, false);
+        }
+
+        int read = 0;
+        int last = -1;
+        while (reader.next()) {
+            assertTrue(reader.amount() > last, "Events should come out in publish order");
+            last = reader.amount();
+            read++;
+        }
+        assertEquals(19, last);
+        assertEquals(20, read + reader.getDropped());
+        assertTrue(reader.getDropped() > 0);
+    }
+
+    @Test
+    void testRejectsCapacityThatIsNotPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new DamageEventBuffer(100));
+        assertThrows(IllegalArgumentException.class, () -> new DamageEventBuffer(0));
+    }
+
+    @Test
+    void testConcurrentReaderNeverSeesTornEvents() throws InterruptedException {
+        DamageEventBuffer buffer = new DamageEventBuffer(64);
+        DamageEventBuffer.Reader reader = buffer.newReader();
+        int total = 200_000;
+
+        Thread writer = new Thread(() -> {
+            for (int i = 1; i <= total; i++) {
+                buffer.publish(i, -i, i, (i & 1) == 0, DamageType.RANGE, false);
+            }
+        });
+        writer.start();
+
+        long seen = 0;
+        int last = 0;
+        while (writer.isAlive() || reader.available() > 0) {
+            while (reader.next()) {
+                assertEquals(reader.amount(), (int) reader.x());
+                assertEquals(-reader.amount(), (int) reader.y());
+                assertEquals((reader.amount() & 1) == 0, reader.isCritical());
+                assertTrue(reader.amount() > last);
+                last = reader.amount();
+                seen++;
+            }
+        }
+        writer.join();
+        assertEquals(total, last);
+        assertEquals(total, seen + reader.getDropped());
+    }
+}
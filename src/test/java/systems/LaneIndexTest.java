@@ -0,0 +1,128 @@
+package systems;
+
+import org.junit.jupiter.api.Test;
+import units.MeleeUnit;
+import units.Unit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LaneIndexTest {
+
+    private static List<Unit> randomLane(Random random, int count) {
+        List<Unit> lane = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Unit u = new MeleeUnit(100, 10, 10, 10, 80, 1);
+            // Coarse coordinates so that ties and stacked units are common
+            u.setCoordinate(random.nextInt(60) * 12.5 + (random.nextBoolean() ? 0.1 : 0));
+            if (random.nextInt(5) == 0) u.setHp(0);
+            lane.add(u);
+        }
+        return lane;
+    }
+
+    @Test
+    void testQueriesMatchLinearScan() {
+        Random random = new Random(42);
+        LaneIndex index = new LaneIndex();
+
+        for (int round = 0; round < 200; round++) {
+            List<Unit> lane = randomLane(random, random.nextInt(40));
+            index.rebuild(lane);
+            assertEquals(lane.size(), index.size());
+
+            for (int q = 0; q < 20; q++) {
+                double center = random.nextInt(800) - 20 + random.nextDouble();
+                double range = random.nextInt(4) * 50;
+
+                Unit first = null;
+                boolean within = false;
+                Unit nearest = null;
+                double nearestDist = Double.MAX_VALUE;
+                for (Unit u : lane) {
+                    if (!u.isAlive()) continue;
+                    double dist = Math.abs(center - u.getCoordinate());
+                    if (dist <= range && first == null) first = u;
+                    if (dist <= 75.0) within = true;
+                    double turretDist = Math.abs(u.getCoordinate() - center);
+                    if (turretDist <= range && turretDist < nearestDist) {
+                        nearestDist = turretDist;
+                        nearest = u;
+                    }
+                }
+                assertSame(first, index.firstInRange(center, range));
+                assertEquals(within, index.anyWithin(center, 75.0));
+                assertSame(nearest, index.nearestTo(center, range));
+
+                for (int direction = -1; direction <= 1; direction += 2) {
+                    boolean ahead = false;
+                    for (Unit u : lane) {
+                        if (!u.isAlive()) continue;
+                        double relativeDist = (u.getCoordinate() - center) * direction;
+                        if (relativeDist > 0 && relativeDist < 75.0) ahead = true;
+                    }
+                    assertEquals(ahead, index.anyAhead(center, 75.0, direction));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testMoveKeepsIndexSorted() {
+        Random random = new Random(7);
+        List<Unit> lane = randomLane(random, 30);
+        for (Unit u : lane) u.setHp(100);
+        LaneIndex index = new LaneIndex();
+        index.rebuild(lane);
+
+        for (int step = 0; step < 500; step++) {
+            int i = random.nextInt(lane.size());
+            double next = lane.get(i).getCoordinate() + random.nextInt(41) - 20;
+            lane.get(i).setCoordinate(next);
+            index.move(i, next);
+        }
+
+        for (Unit u : lane) {
+            assertTrue(index.anyWithin(u.getCoordinate(), 0.0), "Moved unit should be found at its new coordinate");
+        }
+        Unit leftMost = lane.get(0);
+        for (Unit u : lane) if (u.getCoordinate() < leftMost.getCoordinate()) leftMost = u;
+        assertFalse(index.anyAhead(leftMost.getCoordinate(), 1e9, -1), "Nothing should be left of the left-most unit");
+    }
+
+    @Test
+    void testRebuildAfterRemovalsAndSpawns() {
+        Random random = new Random(11);
+        List<Unit> lane = randomLane(random, 40);
+        LaneIndex index = new LaneIndex();
+
+        for (int round = 0; round < 100; round++) {
+            index.rebuild(lane);
+            for (int i = 0; i < lane.size(); i++) {
+                double next = lane.get(i).getCoordinate() + random.nextInt(7) - 3;
+                lane.get(i).setCoordinate(next);
+                index.move(i, next);
+            }
+            // Drop dead units in order, kill a few more and spawn new ones at the end
+            lane.removeIf(u -> !u.isAlive());
+            for (Unit u : lane) if (random.nextInt(8) == 0) u.setHp(0);
+            lane.addAll(randomLane(random, random.nextInt(6)));
+            index.rebuild(lane);
+
+            for (int q = 0; q < 10; q++) {
+                double center = random.nextInt(800);
+                Unit first = null;
+                for (Unit u : lane) {
+                    if (u.isAlive() && Math.abs(center - u.getCoordinate()) <= 100) {
+                        first = u;
+                        break;
+                    }
+                }
+                assertSame(first, index.firstInRange(center, 100));
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package systems;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchRandomTest {
+
+    @Test
+    void testMatchesSplittableRandom() {
+        MatchRandom random = new MatchRandom(42);
+        SplittableRandom reference = new SplittableRandom(42);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(reference.nextLong(), random.nextLong());
+            assertEquals(reference.nextInt(), random.nextInt());
+        }
+    }
+
+    @Test
+    void testSplitStreamsAreReproducible() {
+        MatchRandom first = new MatchRandom(7);
+        MatchRandom second = new MatchRandom(7);
+        MatchRandom a1 = first.split(), b1 = first.split();
+        MatchRandom a2 = second.split(), b2 = second.split();
+
+        // Drawing from one child must not shift its sibling
+        for (int i = 0; i < 10; i++) a1.nextDouble();
+        assertEquals(b1.nextLong(), b2.nextLong());
+        for (int i = 0; i < 10; i++) a2.nextDouble();
+        for (int i = 0; i < 10; i++) assertEquals(a1.nextInt(4), a2.nextInt(4));
+        assertNotEquals(a1.nextLong(), b1.nextLong(), "Sibling streams should differ");
+    }
+
+    @Test
+    void testStateRoundTrip() {
+        MatchRandom random = new MatchRandom(99).split();
+        for (int i = 0; i < 5; i++) random.nextLong();
+        long state = random.getState();
+        long expected = random.nextLong();
+
+        random.nextLong();
+        random.setState(state);
+        assertEquals(expected, random.nextLong());
+    }
+}
@@ -0,0 +1,39 @@
+package systems;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationClockTest {
+
+    @Test
+    void testAccumulatesPartialSteps() {
+        SimulationClock clock = new SimulationClock(100);
+        assertEquals(0, clock.advance(40));
+        assertEquals(0.4, clock.getAlpha(), 1e-9);
+        assertEquals(1, clock.advance(70));
+        assertEquals(0.1, clock.getAlpha(), 1e-9);
+        assertEquals(0, clock.advance(-500), "Negative time should be ignored");
+    }
+
+    @Test
+    void testStepAdvancesSimulatedTime() {
+        SimulationClock clock = new SimulationClock(100);
+        assertEquals(SimulationClock.START_TIME_NANOS, clock.getTime());
+        assertEquals(SimulationClock.START_TIME_NANOS + 100, clock.step());
+        assertEquals(1, clock.getStepCount());
+    }
+
+    @Test
+    void testBacklogIsCapped() {
+        SimulationClock clock = new SimulationClock(100);
+        assertEquals(SimulationClock.MAX_STEPS_PER_ADVANCE, clock.advance(100 * 1000 + 30));
+        assertEquals(0.3, clock.getAlpha(), 1e-9, "The dropped backlog keeps only the partial step");
+        assertEquals(0, clock.advance(0));
+    }
+
+    @Test
+    void testRejectsNonPositiveStep() {
+        assertThrows(IllegalArgumentException.class, () -> new SimulationClock(0));
+    }
+}
@@ -0,0 +1,53 @@
+package systems;
+
+import org.junit.jupiter.api.Test;
+import systems.TickProfiler.Histogram;
+import systems.TickProfiler.Phase;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickProfilerTest {
+
+    @Test
+    void testHistogramPercentilesAreCloseToExact() {
+        Histogram histogram = new Histogram();
+        for (long v = 1; v <= 100_000; v++) histogram.record(v * 1000);
+
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(100_000_000, histogram.getMax());
+        assertEquals(50_000_500.0, histogram.getMean(), 1e-6);
+
+        long p50 = histogram.getPercentile(50);
+        long p99 = histogram.getPercentile(99);
+        assertTrue(p50 >= 50_000_000 && p50 <= 50_000_000 * 1.125, "p50 was " + p50);
+        assertTrue(p99 >= 99_000_000 && p99 <= 100_000_000, "p99 was " + p99);
+        assertEquals(100_000_000, histogram.getPercentile(100));
+    }
+
+    @Test
+    void testSmallValuesAreExact() {
+        Histogram histogram = new Histogram();
+        for (int v = 0; v < 8; v++) histogram.record(v);
+        assertEquals(3, histogram.getPercentile(50));
+        assertEquals(7, histogram.getPercentile(100));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(99));
+    }
+
+    @Test
+    void testDisabledProfilerRecordsNothing() {
+        TickProfiler profiler = new TickProfiler();
+        long t = profiler.begin();
+        assertEquals(0, t);
+        assertEquals(0, profiler.record(Phase.UNITS, t));
+        assertEquals(0, profiler.getHistogram(Phase.UNITS).getCount());
+
+        profiler.setEnabled(true);
+        t = profiler.begin();
+        profiler.record(Phase.UNITS, t);
+        assertEquals(1, profiler.getHistogram(Phase.UNITS).getCount());
+        assertTrue(profiler.report().contains("units"));
+    }
+}
@@ -0,0 +1,73 @@
+package systems;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TripleBufferTest {
+
+    @Test
+    void testReaderGetsTheLatestPublishedValue() {
+        TripleBuffer<long[]> buffer = new TripleBuffer<>(() -> new long[1]);
+        assertFalse(buffer.swap(), "Nothing published yet");
+
+        buffer.getWriteBuffer()[0] = 1;
+        assertFalse(buffer.publish());
+        buffer.getWriteBuffer()[0] = 2;
+        assertTrue(buffer.publish(), "The first value was replaced unread");
+
+        assertTrue(buffer.swap());
+        assertEquals(2, buffer.getReadBuffer()[0]);
+        assertFalse(buffer.swap(), "Nothing new since the last swap");
+        assertEquals(2, buffer.getReadBuffer()[0]);
+    }
+
+    @Test
+    void testWriterNeverWritesIntoTheReadBuffer() {
+        TripleBuffer<long[]> buffer = new TripleBuffer<>(() -> new long[1]);
+        buffer.getWriteBuffer()[0] = 1;
+        buffer.publish();
+        buffer.swap();
+        long[] read = buffer.getReadBuffer();
+
+        for (int i = 2; i < 10; i++) {
+            assertNotSame(read, buffer.getWriteBuffer());
+            buffer.getWriteBuffer()[0] = i;
+            buffer.publish();
+        }
+        assertEquals(1, read[0]);
+    }
+
+    @Test
+    void testConcurrentReaderSeesWholeValuesInOrder() throws InterruptedException {
+        TripleBuffer<long[]> buffer = new TripleBuffer<>(() -> new long[8]);
+        long count = 200_000;
+        Thread writer = new Thread(() -> {
+            for (long v = 1; v <= count; v++) {
+                long[] values = buffer.getWriteBuffer();
+                for (int i = 0; i < values.length; i++) values[i] = v;
+                buffer.publish();
+            }
+        });
+        AtomicReference<String> failure = new AtomicReference<>();
+        writer.start();
+
+        long last = 0;
+        while (last < count && failure.get() == null) {
+            if (!buffer.swap()) continue;
+            long[] values = buffer.getReadBuffer();
+            for (long value : values) {
+                if (value != values[0]) failure.set("Torn value " + Arrays.toString(values));
+            }
+            if (values[0] <= last) failure.set("Value " + values[0] + " after " + last);
+            last = values[0];
+        }
+        writer.join();
+
+        assertNull(failure.get());
+        assertEquals(count, last);
+    }
+}
@@ -3,7 +3,9 @@ package systems;
 import base.Base;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import turrets.StandardTurret;
 import turrets.Turret;
+import units.MeleeUnit;
 import units.Unit;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -17,18 +19,13 @@ class UpgradeSystemTest {
     void setUp() {
         currency = new CurrencySystem(1000);
         upgradeSystem = new UpgradeSystem(currency);
-
-        // Reset statics
-        Unit.resetUpgrades();
-        Turret.resetUpgrades();
-        Base.resetUpgrades();
     }
 
     @Test
     void testUnitAttackUpgrade() {
-        assertFalse(Unit.isUpgradedAttack());
+        assertFalse(upgradeSystem.isUnitAttackUpgraded());
         assertTrue(upgradeSystem.upgradeUnitAttack(500));
-        assertTrue(Unit.isUpgradedAttack());
+        assertTrue(upgradeSystem.isUnitAttackUpgraded());
         assertEquals(500, currency.getBalance());
 
         // Try again
@@ -40,14 +37,41 @@ class UpgradeSystemTest {
     void testInsufficientFunds() {
         currency.setBalance(10);
         assertFalse(upgradeSystem.upgradeUnitAttack(500));
-        assertFalse(Unit.isUpgradedAttack());
+        assertFalse(upgradeSystem.isUnitAttackUpgraded());
     }
 
     @Test
     void testTurretRangeUpgrade() {
-        assertFalse(Turret.isUpgradedRange());
+        assertFalse(upgradeSystem.isTurretRangeUpgraded());
         assertTrue(upgradeSystem.upgradeTurretRange(100));
-        assertTrue(Turret.isUpgradedRange());
+        assertTrue(upgradeSystem.isTurretRangeUpgraded());
+    }
+
+    @Test
+    void testApplyUpgrades() {
+        upgradeSystem.upgradeUnitAttack(300);
+        upgradeSystem.upgradeUnitHp(300);
+        upgradeSystem.upgradeTurretAttack(100);
+
+        Unit u = new MeleeUnit(100, 10, 10, 10, 10, 1);
+        assertEquals(100, u.getMaxHp(), "Units are created without upgrades");
+        upgradeSystem.applyTo(u);
+        assertEquals(150, u.getMaxHp());
+        assertEquals(150, u.getHp());
+        assertEquals(12, u.getAttack());
+
+        Turret t = new StandardTurret(20, 100, 50);
+        upgradeSystem.applyTo(t);
+        assertEquals(24, t.getAttack());
+        assertEquals(100, t.getRange());
+    }
+
+    @Test
+    void testUpgradesAreNotShared() {
+        UpgradeSystem other = new UpgradeSystem(new CurrencySystem(1000));
+        upgradeSystem.upgradeUnitHp(300);
+        assertTrue(upgradeSystem.isUnitHpUpgraded());
+        assertFalse(other.isUnitHpUpgraded(), "Another match should keep its own upgrades");
     }
 
     @Test
@@ -61,5 +85,7 @@ class UpgradeSystemTest {
         // Try again (maxed out)
         assertFalse(upgradeSystem.upgradeBaseCapacity(base, 500));
         assertEquals(2, base.getTurretCapacity());
+
+        assertEquals(0, new Base(100).getCapacityUpgrades(), "Capacity upgrades belong to one base");
     }
 }
\ No newline at end of file
@@ -14,7 +14,6 @@ class TurretTest {
 
     @BeforeEach
     void setUp() {
-        Turret.resetUpgrades();
         standardTurret = new StandardTurret(20, 100, 50);
         longRangeTurret = new LongRangeTurret(20, 200, 100);
     }
@@ -57,12 +56,14 @@ class TurretTest {
 
     @Test
     void testUpgrades() {
-        Turret.setUpgradedAttack(true);
-        Turret.setUpgradedRange(true);
+        standardTurret.setUpgradedAttack(true);
+        standardTurret.setUpgradedRange(true);
 
         // 20 * 1.2 = 24
         assertEquals(24, standardTurret.getAttack());
         // 100 * 1.2 = 120
         assertEquals(120, standardTurret.getRange());
+        // Upgrades belong to each turret
+        assertEquals(20, longRangeTurret.getAttack());
     }
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package ui.renderer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DamagePopupQueueTest {
+
+    @Test
+    void testPopupsExpireAfterTheirLifetime() {
+        DamagePopupQueue queue = new DamagePopupQueue(4);
+        int first = queue.add(10, 20, 5, false, 0);
+        int second = queue.add(30, 40, 7, true, 100_000_000L);
+
+        assertEquals(2, queue.size());
+        assertEquals("-5", queue.text(first));
+        assertTrue(queue.isCritical(second));
+        assertEquals(0.5, queue.progress(first, DamagePopupQueue.LIFETIME_NANOS / 2), 1e-9);
+
+        List<Integer> expired = new ArrayList<>();
+        queue.expire(DamagePopupQueue.LIFETIME_NANOS, expired::add);
+        assertEquals(List.of(first), expired);
+        assertEquals(1, queue.size());
+        assertEquals(second, queue.slot(0));
+        assertEquals(30, queue.x(second));
+    }
+
+    @Test
+    void testNewestPopupReplacesTheOldestAtTheCap() {
+        DamagePopupQueue queue = new DamagePopupQueue(3);
+        int[] slots = new int[5];
+        for (int i = 0; i < 5; i++) slots[i] = queue.add(i, 0, i, false, i);
+
+        assertEquals(3, queue.size());
+        assertEquals(slots[0], slots[3]);
+        assertEquals(slots[1], slots[4]);
+        assertEquals("-2", queue.text(queue.slot(0)));
+        assertEquals("-4", queue.text(queue.slot(2)));
+    }
+
+    @Test
+    void testClearRemovesEveryPopup() {
+        DamagePopupQueue queue = new DamagePopupQueue(2);
+        queue.add(0, 0, 1, false, 0);
+        queue.add(0, 0, 2, false, 0);
+        queue.clear();
+
+        assertEquals(0, queue.size());
+        assertEquals(0, queue.slot(0));
+        assertThrows(IllegalArgumentException.class, () -> new DamagePopupQueue(0));
+    }
+}
@@ -0,0 +1,65 @@
+package ui.renderer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RendererPoolTest {
+
+    @Test
+    void testReleasedRendererIsReused() {
+        RendererPool<Object, StringBuilder> pool = new RendererPool<>(StringBuilder::new);
+        Object first = new Object();
+        Object second = new Object();
+
+        StringBuilder renderer = pool.acquire(first);
+        assertSame(renderer, pool.get(first));
+        assertSame(renderer, pool.release(first));
+        assertNull(pool.get(first));
+        assertEquals(1, pool.getIdleCount());
+
+        assertSame(renderer, pool.acquire(second));
+        assertEquals(1, pool.getCreatedCount());
+        assertEquals(1, pool.getLiveCount());
+        assertEquals(0, pool.getIdleCount());
+        assertNull(pool.release(first));
+    }
+
+    @Test
+    void testEntitiesAreKeyedByIdentity() {
+        RendererPool<String, StringBuilder> pool = new RendererPool<>(StringBuilder::new);
+        String a = new String("unit");
+        String b = new String("unit");
+
+        StringBuilder ra = pool.acquire(a);
+        StringBuilder rb = pool.acquire(b);
+        assertNotSame(ra, rb);
+        assertSame(ra, pool.get(a));
+        assertSame(rb, pool.get(b));
+        assertEquals(2, pool.getLiveCount());
+    }
+
+    @Test
+    void testAcquireTwiceForSameEntityThrows() {
+        RendererPool<Object, StringBuilder> pool = new RendererPool<>(StringBuilder::new);
+        Object entity = new Object();
+        StringBuilder renderer = pool.acquire(entity);
+
+        assertThrows(IllegalStateException.class, () -> pool.acquire(entity));
+        assertSame(renderer, pool.get(entity));
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    void testReleaseAllKeepsEveryRendererForReuse() {
+        RendererPool<Object, StringBuilder> pool = new RendererPool<>(StringBuilder::new);
+        for (int i = 0; i < 5; i++) pool.acquire(new Object());
+        pool.releaseAll();
+
+        assertEquals(0, pool.getLiveCount());
+        assertEquals(5, pool.getIdleCount());
+        for (int i = 0; i < 5; i++) pool.acquire(new Object());
+        assertEquals(5, pool.getCreatedCount());
+        assertEquals(5, pool.live().size());
+    }
+}
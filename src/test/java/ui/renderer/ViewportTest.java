@@ -0,0 +1,36 @@
+package ui.renderer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ViewportTest {
+
+    @Test
+    void testVisibleRangeFollowsTheScrollBar() {
+        Viewport viewport = new Viewport(100);
+
+        viewport.setFromScroll(0, 3000, 1800);
+        assertEquals(-100, viewport.getMinX());
+        assertEquals(1900, viewport.getMaxX());
+        assertTrue(viewport.isVisible(1850, 75));
+        assertFalse(viewport.isVisible(2000, 75));
+
+        viewport.setFromScroll(1, 3000, 1800);
+        assertEquals(1100, viewport.getMinX());
+        assertEquals(3100, viewport.getMaxX());
+        assertTrue(viewport.isVisible(1030, 75), "A unit straddling the margin is still visible");
+        assertFalse(viewport.isVisible(1000, 75));
+    }
+
+    @Test
+    void testEverythingIsVisibleBeforeLayout() {
+        Viewport viewport = new Viewport(100);
+        assertTrue(viewport.isVisible(-5000, 10));
+
+        viewport.setFromScroll(0.5, 3000, 1800);
+        assertFalse(viewport.isVisible(0, 75));
+        viewport.setFromScroll(0.5, 3000, 0);
+        assertTrue(viewport.isVisible(0, 75));
+    }
+}
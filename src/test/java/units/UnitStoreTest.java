@@ -0,0 +1,150 @@
+package units;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnitStoreTest {
+
+    @Test
+    void testAddKeepsUnitValues() {
+        Unit unit = new RangedUnit(120, 15, 12, 100, 300, 1.5);
+        unit.setCoordinate(42);
+        UnitStore store = new UnitStore(1);
+        store.add(unit);
+
+        assertSame(unit, store.get(0));
+        assertEquals(120, unit.getHp());
+        assertEquals(120, unit.getMaxHp());
+        assertEquals(15, unit.getAttack());
+        assertEquals(12, store.getSpeed(0));
+        assertEquals(100, store.getCost(0));
+        assertEquals(300, store.getRange(0));
+        assertEquals(42, store.getCoordinate(0));
+        assertEquals(1_500_000_000L, unit.getTrainingTime());
+
+        // The view and the slot accessors read and write the same values
+        store.setCoordinate(0, 77);
+        assertEquals(77, unit.getCoordinate());
+        unit.setHp(5);
+        assertTrue(store.isAlive(0));
+    }
+
+    @Test
+    void testSavePositionsKeepsCoordinateBeforeStep() {
+        Unit unit = new MeleeUnit(100, 10, 10, 10, 80, 1);
+        unit.setCoordinate(50);
+        UnitStore store = new UnitStore();
+        store.add(unit);
+        assertEquals(50, store.getPreviousCoordinate(0), "A placed unit has not moved");
+
+        store.savePositions();
+        store.setCoordinate(0, 60);
+        assertEquals(50, store.getPreviousCoordinate(0));
+        assertEquals(60, store.getCoordinate(0));
+
+        unit.setCoordinate(200);
+        assertEquals(200, store.getPreviousCoordinate(0), "Placing a unit is not movement");
+    }
+
+    @Test
+    void testUnitCannotBeAddedTwice() {
+        Unit unit = new MeleeUnit(100, 10, 10, 10, 80, 1);
+        UnitStore store = new UnitStore();
+        store.add(unit);
+        assertThrows(IllegalStateException.class, () -> store.add(unit));
+        assertThrows(IllegalStateException.class, () -> new UnitStore().add(unit));
+    }
+
+    @Test
+    void testRemoveDeadKeepsSpawnOrderAndFinalValues() {
+        UnitStore store = new UnitStore(2);
+        Unit[] units = new Unit[50];
+        for (int i = 0; i < units.length; i++) {
+            units[i] = new MeleeUnit(100, 10, 10, 10, 80, 1);
+            store.add(units[i]);
+            units[i].setCoordinate(i);
+        }
+        for (int i = 0; i < units.length; i += 4) {
+            units[i].setHp(0);
+        }
+
+        assertEquals(13, store.removeDead());
+
+        int slot = 0;
+        for (int i = 0; i < units.length; i++) {
+            if (i % 4 == 0) {
+                assertFalse(units[i].isAlive());
+                assertEquals(i, units[i].getCoordinate(), "A removed unit should keep its final values");
+                continue;
+            }
+            assertSame(units[i], store.get(slot));
+            assertEquals(i, store.getCoordinate(slot));
+            slot++;
+        }
+        assertEquals(slot, store.size());
+
+        // Writing to a removed unit must not touch the slot it used to have
+        units[0].setCoordinate(-1);
+        assertEquals(1, store.getCoordinate(0));
+        assertEquals(4, units[4].getCoordinate(), "Nor the values of another removed unit");
+    }
+
+    @Test
+    void testRemovedUnitsLeaveNothingInStore() {
+        UnitStore store = new UnitStore();
+        Unit first = new MeleeUnit(100, 10, 10, 10, 80, 1);
+        Unit second = new RangedUnit(100, 10, 10, 10, 80, 1);
+        store.add(first);
+        store.add(second);
+        first.setHp(0);
+        store.removeDead();
+
+        assertNull(first.store(), "A removed unit should not hold on to any store");
+        assertEquals(-1, store.indexOf(first));
+        assertEquals(10, first.getAttack());
+        assertNull(store.stats[1], "The freed slot should not keep the removed unit's stats");
+        assertEquals(0, store.indexOf(second));
+    }
+
+    @Test
+    void testEqualStatsAreShared() {
+        UnitStore store = new UnitStore();
+        Unit first = new MeleeUnit(100, 10, 10, 10, 80, 1);
+        Unit second = new MeleeUnit(100, 10, 10, 10, 80, 1);
+        store.add(first);
+        store.add(second);
+        assertSame(store.stats[0], store.stats[1]);
+
+        second.setAttack(20);
+        assertEquals(10, first.getAttack(), "Changing one unit's stats must not change the others");
+        assertEquals(20, second.getAttack());
+        second.setAttack(10);
+        assertSame(store.stats[0], store.stats[1]);
+    }
+
+    @Test
+    void testCanAttackUsesCooldown() {
+        Unit unit = new MeleeUnit(100, 10, 10, 10, 80, 1);
+        UnitStore store = new UnitStore();
+        store.add(unit);
+
+        assertTrue(store.canAttack(0, 5_000_000_000L));
+        assertFalse(unit.canAttack(5_500_000_000L), "Cooldown started through the store applies to the view");
+        assertTrue(unit.canAttack(6_000_000_000L));
+    }
+
+    @Test
+    void testClearDetachesEveryUnit() {
+        UnitStore store = new UnitStore();
+        Unit unit = new ArmoredUnit(300, 10, 5, 10, 80, 1);
+        store.add(unit);
+        store.clear();
+
+        assertTrue(store.isEmpty());
+        assertEquals(300, unit.getHp());
+        UnitStore other = new UnitStore();
+        other.add(unit);
+        assertEquals(1, other.size());
+    }
+}
@@ -1,17 +1,13 @@
 package units;
 
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class UnitsTest {
 
-    @BeforeEach
-    void reset() {
-        Unit.resetUpgrades();
-    }
-
     @Test
     void testRockPaperScissorsLogic() {
         // Melee > Ranged
@@ -59,18 +55,16 @@ class UnitsTest {
     }
 
     @Test
-    void testUnitUpgrades() {
-        Unit.setUpgradedHp(true);
-        Unit.setUpgradedAttack(true);
-
-        // Created AFTER upgrade set
-        Unit u = new MeleeUnit(100, 10, 10, 10, 10, 1);
-
-        // HP * 1.5 -> 150
-        assertEquals(150, u.getMaxHp());
-        assertEquals(150, u.getHp());
-
-        // Atk * 1.2 -> 12
-        assertEquals(12, u.getAttack());
+    void testDamageVarianceUsesStoreGenerator() {
+        UnitStore first = new UnitStore();
+        UnitStore second = new UnitStore();
+        first.setRandom(new Random(3));
+        second.setRandom(new Random(3));
+        first.add(new MeleeUnit(10_000, 10, 10, 10, 10, 1));
+        second.add(new MeleeUnit(10_000, 10, 10, 10, 10, 1));
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(first.get(0).takeDamage(100), second.get(0).takeDamage(100), "Same seed should roll the same damage");
+        }
     }
 }
\ No newline at end of file